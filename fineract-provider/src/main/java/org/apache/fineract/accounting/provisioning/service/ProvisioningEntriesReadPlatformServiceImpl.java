@@ -100,7 +100,12 @@ public class ProvisioningEntriesReadPlatformServiceImpl implements ProvisioningE
         }
 
         public String schema() {
-            return sqlQuery.toString();
+            // one row per provisioning line: the per-loan rows are summed in the database instead of being
+            // fetched and merged one by one
+            return "select x.office_id, x.product_id, x.currency_code, x.numberofdaysoverdue, x.category_id, x.provision_percentage,"
+                    + " x.liability_account, x.expense_account, x.criteriaid, SUM(x.outstandingbalance) as outstandingbalance from ("
+                    + sqlQuery + ") x group by x.office_id, x.product_id, x.currency_code, x.numberofdaysoverdue, x.category_id,"
+                    + " x.provision_percentage, x.liability_account, x.expense_account, x.criteriaid";
         }
     }
 
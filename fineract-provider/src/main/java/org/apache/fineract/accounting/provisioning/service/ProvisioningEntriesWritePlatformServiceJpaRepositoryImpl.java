@@ -20,8 +20,10 @@ package org.apache.fineract.accounting.provisioning.service;
 
 import com.google.gson.JsonObject;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
@@ -205,13 +207,23 @@ public class ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl implements
     private Collection<LoanProductProvisioningEntry> generateLoanProvisioningEntry(ProvisioningEntry parent, LocalDate date) {
         Collection<LoanProductProvisioningEntryData> entries = this.provisioningEntriesReadPlatformService
                 .retrieveLoanProductsProvisioningData(date);
-        Map<Integer, LoanProductProvisioningEntry> provisioningEntries = new HashMap<>();
+        // rows arrive already summed per provisioning line, reference entities are shared by many lines so they are
+        // loaded once each
+        Map<Long, LoanProduct> loanProducts = new HashMap<>();
+        Map<Long, Office> offices = new HashMap<>();
+        Map<Long, ProvisioningCategory> categories = new HashMap<>();
+        Map<Long, GLAccount> glAccounts = new HashMap<>();
+        Map<List<Object>, LoanProductProvisioningEntry> provisioningEntries = new HashMap<>();
         for (LoanProductProvisioningEntryData data : entries) {
-            LoanProduct loanProduct = this.loanProductRepository.findById(data.getProductId()).orElseThrow();
-            Office office = this.officeRepositoryWrapper.findOneWithNotFoundDetection(data.getOfficeId());
-            ProvisioningCategory provisioningCategory = provisioningCategoryRepository.findById(data.getCategoryId()).orElse(null);
-            GLAccount liabilityAccount = glAccountRepository.findById(data.getLiablityAccount()).orElseThrow();
-            GLAccount expenseAccount = glAccountRepository.findById(data.getExpenseAccount()).orElseThrow();
+            LoanProduct loanProduct = loanProducts.computeIfAbsent(data.getProductId(),
+                    id -> this.loanProductRepository.findById(id).orElseThrow());
+            Office office = offices.computeIfAbsent(data.getOfficeId(), this.officeRepositoryWrapper::findOneWithNotFoundDetection);
+            ProvisioningCategory provisioningCategory = categories.computeIfAbsent(data.getCategoryId(),
+                    id -> this.provisioningCategoryRepository.findById(id).orElse(null));
+            GLAccount liabilityAccount = glAccounts.computeIfAbsent(data.getLiablityAccount(),
+                    id -> this.glAccountRepository.findById(id).orElseThrow());
+            GLAccount expenseAccount = glAccounts.computeIfAbsent(data.getExpenseAccount(),
+                    id -> this.glAccountRepository.findById(id).orElseThrow());
             MonetaryCurrency currency = loanProduct.getPrincipalAmount().getCurrency();
             Money money = Money.of(currency, data.getBalance());
             Money amountToReserve = money.percentageOf(data.getPercentage(), MoneyHelper.getRoundingMode());
@@ -220,11 +232,12 @@ public class ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl implements
                     provisioningCategory, data.getOverdueInDays(), amountToReserve.getAmount(), liabilityAccount, expenseAccount,
                     criteraId);
             entry.setProvisioningEntry(parent);
-            if (!provisioningEntries.containsKey(entry.partialHashCode())) {
-                provisioningEntries.put(entry.partialHashCode(), entry);
-            } else {
-                LoanProductProvisioningEntry entry1 = provisioningEntries.get(entry.partialHashCode());
-                entry1.addReservedAmount(entry.getReservedAmount());
+            // keyed on the actual values, an int hash can collide and merge unrelated lines
+            List<Object> key = Arrays.asList(criteraId, data.getOfficeId(), data.getCurrencyCode(), data.getProductId(),
+                    data.getCategoryId(), data.getOverdueInDays(), data.getLiablityAccount(), data.getExpenseAccount());
+            LoanProductProvisioningEntry existing = provisioningEntries.putIfAbsent(key, entry);
+            if (existing != null) {
+                existing.addReservedAmount(entry.getReservedAmount());
             }
         }
         return provisioningEntries.values();
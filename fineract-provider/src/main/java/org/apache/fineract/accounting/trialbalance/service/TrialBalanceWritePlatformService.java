@@ -0,0 +1,32 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.trialbalance.service;
+
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+
+public interface TrialBalanceWritePlatformService {
+
+    /**
+     * Brings m_trial_balance up to date with the journal entries posted before the current business date. Offices are
+     * processed in parallel and every chunk of transaction dates is committed on its own, so an interrupted run resumes
+     * from the last committed date of each office.
+     */
+    void updateTrialBalanceDetails() throws JobExecutionException;
+
+}
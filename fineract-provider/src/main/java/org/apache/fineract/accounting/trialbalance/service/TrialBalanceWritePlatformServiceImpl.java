@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.trialbalance.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.service.JobExecuter;
+import org.apache.fineract.infrastructure.jobs.service.JobRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class TrialBalanceWritePlatformServiceImpl implements TrialBalanceWritePlatformService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TrialBalanceWritePlatformServiceImpl.class);
+
+    public static final String CHUNK_SIZE_PARAM = "chunk-size";
+    private static final int DEFAULT_CHUNK_SIZE = 31;
+    private static final LocalDate INITIAL_CHECKPOINT = LocalDate.of(2010, 1, 1);
+
+    // Amounts are aggregated per account and day, then the closing balance is the running total of those amounts on top
+    // of the last closing balance already stored for the account, all computed in one pass over the office's entries.
+    private static final String INSERT_TRIAL_BALANCE_SQL = "INSERT INTO m_trial_balance(office_id, account_id, amount, entry_date, created_date, closing_balance) "
+            + "SELECT d.office_id, d.account_id, d.amount, d.entry_date, d.created_date, "
+            + "COALESCE(ob.closing_balance, 0) + SUM(d.amount) OVER (PARTITION BY d.account_id ORDER BY d.created_date, d.entry_date "
+            + "ROWS BETWEEN UNBOUNDED PRECEDING AND CURRENT ROW) "
+            + "FROM (SELECT je.office_id, je.account_id, SUM(CASE WHEN je.type_enum=1 THEN (-1) * je.amount ELSE je.amount END) as amount, "
+            + "Date(je.entry_date) as entry_date, je.transaction_date as created_date FROM acc_gl_journal_entry je "
+            + "WHERE je.office_id = ? and je.transaction_date > ? and je.transaction_date <= ? "
+            + "GROUP BY je.office_id, je.account_id, je.transaction_date, Date(je.entry_date)) d "
+            + "LEFT JOIN (SELECT tb.account_id, tb.closing_balance FROM (SELECT account_id, closing_balance, "
+            + "ROW_NUMBER() OVER (PARTITION BY account_id ORDER BY created_date DESC, entry_date DESC) as rn "
+            + "FROM m_trial_balance WHERE office_id = ?) tb WHERE tb.rn = 1) ob ON ob.account_id = d.account_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobExecuter jobExecuter;
+
+    @Override
+    public void updateTrialBalanceDetails() throws JobExecutionException {
+        final List<Long> officeIds = this.jdbcTemplate.queryForList("select o.id from m_office o order by o.id", Long.class);
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        final JobRunner<List<Long>> runner = new TrialBalanceJobRunner(DateUtils.getBusinessLocalDate(), getChunkSize(), errors);
+        final String result = this.jobExecuter.executeJob(officeIds, runner);
+        if (!result.isEmpty()) {
+            LOG.warn("{}: updateTrialBalanceDetails finished with: {}", ThreadLocalContextUtil.getTenant().getName(), result);
+        }
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+    }
+
+    private int updateTrialBalanceForOffice(final Long officeId, final LocalDate businessDate, final int chunkSize) {
+        LocalDate checkpoint = this.jdbcTemplate.queryForObject("select MAX(created_date) from m_trial_balance where office_id = ?",
+                LocalDate.class, officeId);
+        if (checkpoint == null) {
+            checkpoint = INITIAL_CHECKPOINT;
+        }
+
+        final List<LocalDate> gapDates = this.jdbcTemplate.queryForList(
+                "select distinct je.transaction_date from acc_gl_journal_entry je where je.office_id = ? and je.transaction_date > ? "
+                        + "and je.transaction_date < ? order by je.transaction_date",
+                LocalDate.class, officeId, checkpoint, businessDate);
+
+        int affected = 0;
+        for (int i = 0; i < gapDates.size(); i += chunkSize) {
+            final LocalDate chunkEnd = gapDates.get(Math.min(i + chunkSize, gapDates.size()) - 1);
+            // every chunk commits on its own, so MAX(created_date) of the office is the checkpoint for the next run
+            affected += this.jdbcTemplate.update(INSERT_TRIAL_BALANCE_SQL, officeId, checkpoint, chunkEnd, officeId);
+            checkpoint = chunkEnd;
+        }
+        return affected;
+    }
+
+    private int getChunkSize() {
+        final Map<String, Object> jobParams = ThreadLocalContextUtil.getJobParams();
+        if (jobParams != null && jobParams.containsKey(CHUNK_SIZE_PARAM)) {
+            final int chunkSize = Integer.parseInt(String.valueOf(jobParams.get(CHUNK_SIZE_PARAM)));
+            if (chunkSize > 0) {
+                return chunkSize;
+            }
+        }
+        return DEFAULT_CHUNK_SIZE;
+    }
+
+    private class TrialBalanceJobRunner implements JobRunner<List<Long>> {
+
+        private final LocalDate businessDate;
+        private final int chunkSize;
+        private final List<Throwable> errors;
+
+        TrialBalanceJobRunner(final LocalDate businessDate, final int chunkSize, final List<Throwable> errors) {
+            this.businessDate = businessDate;
+            this.chunkSize = chunkSize;
+            this.errors = errors;
+        }
+
+        @Override
+        public void runJob(final List<Long> officeIds, final StringBuilder sb) {
+            for (final Long officeId : officeIds) {
+                try {
+                    final int result = updateTrialBalanceForOffice(officeId, this.businessDate, this.chunkSize);
+                    LOG.info("{}: Records affected by updateTrialBalanceDetails for office {}: {}",
+                            ThreadLocalContextUtil.getTenant().getName(), officeId, result);
+                } catch (final Exception e) {
+                    LOG.error("Update trial balance failed for office: {}", officeId, e);
+                    sb.append("Update trial balance failed for office ").append(officeId).append(" : ").append(e.getMessage());
+                    this.errors.add(e);
+                }
+            }
+        }
+    }
+}
@@ -226,6 +226,18 @@ public class CommandSource extends AbstractPersistableCustom {
         return this.productId;
     }
 
+    public AppUser getMaker() {
+        return this.maker;
+    }
+
+    public LocalDateTime getMadeOnDate() {
+        return this.madeOnDate;
+    }
+
+    public Integer getProcessingResult() {
+        return this.processingResult;
+    }
+
     /**
      * @return the clientId
      */
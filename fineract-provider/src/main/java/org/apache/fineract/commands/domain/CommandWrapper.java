@@ -71,7 +71,7 @@ public class CommandWrapper {
         this.savingsId = null;
         this.actionName = actionName;
         this.entityName = entityName;
-        this.taskPermissionName = actionName + "_" + entityName;
+        this.taskPermissionName = taskPermissionName(actionName, entityName);
         this.entityId = resourceId;
         this.subentityId = subresourceId;
         this.href = resourceGetUrl;
@@ -95,7 +95,7 @@ public class CommandWrapper {
         this.savingsId = savingsId;
         this.actionName = actionName;
         this.entityName = entityName;
-        this.taskPermissionName = actionName + "_" + entityName;
+        this.taskPermissionName = taskPermissionName(actionName, entityName);
         this.entityId = entityId;
         this.subentityId = subentityId;
         this.href = href;
@@ -120,7 +120,7 @@ public class CommandWrapper {
         this.savingsId = savingsId;
         this.actionName = actionName;
         this.entityName = entityName;
-        this.taskPermissionName = actionName + "_" + entityName;
+        this.taskPermissionName = taskPermissionName(actionName, entityName);
         this.entityId = resourceId;
         this.subentityId = subresourceId;
         this.href = resourceGetUrl;
@@ -131,6 +131,12 @@ public class CommandWrapper {
         this.organisationCreditBureauId = organisationCreditBureauId;
     }
 
+    private static String taskPermissionName(final String actionName, final String entityName) {
+        // datatable entries are created in bulk under the permission for creating a single entry
+        final String permissionAction = "CREATE_ENTRIES".equalsIgnoreCase(actionName) ? "CREATE" : actionName;
+        return permissionAction + "_" + entityName;
+    }
+
     public Long getCreditBureauId() {
         return this.creditBureauId;
     }
@@ -151,6 +157,10 @@ public class CommandWrapper {
         return this.actionName.equalsIgnoreCase("CREATE");
     }
 
+    public boolean isCreateDatatableEntries() {
+        return this.actionName.equalsIgnoreCase("CREATE_ENTRIES") && this.href.startsWith("/datatables/");
+    }
+
     public boolean isCreateDatatable() {
         return this.actionName.equalsIgnoreCase("CREATE") && this.href.startsWith("/datatables/") && this.entityId == null;
     }
@@ -29,6 +29,12 @@ public interface AuditReadPlatformService {
 
     Collection<AuditData> retrieveAuditEntries(SQLBuilder extraCriteria, boolean includeJson);
 
+    /**
+     * Keyset page of audit entries, newest first, taken from both the live audit table and its archive. Pass the
+     * smallest id of the previous page as beforeId to continue (null for the first page).
+     */
+    Collection<AuditData> retrieveAuditEntries(SQLBuilder extraCriteria, boolean includeJson, Long beforeId, Integer limit);
+
     Page<AuditData> retrievePaginatedAuditEntries(SQLBuilder extraCriteria, boolean includeJson, PaginationParameters parameters);
 
     Collection<AuditData> retrieveAllEntriesToBeChecked(SQLBuilder extraCriteria, boolean includeJson);
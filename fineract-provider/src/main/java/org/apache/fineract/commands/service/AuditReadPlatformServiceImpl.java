@@ -33,6 +33,7 @@ import java.util.Map;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.commands.data.AuditData;
 import org.apache.fineract.commands.data.AuditSearchData;
@@ -94,9 +95,15 @@ public class AuditReadPlatformServiceImpl implements AuditReadPlatformService {
     private final DepositProductReadPlatformService depositProductReadPlatformService;
     private final ColumnValidator columnValidator;
 
+    private static final String LIVE_TABLE = "m_portfolio_command_source";
+
     private static final class AuditMapper implements RowMapper<AuditData> {
 
         public String schema(final boolean includeJson, final String hierarchy) {
+            return schema(includeJson, hierarchy, LIVE_TABLE);
+        }
+
+        public String schema(final boolean includeJson, final String hierarchy, final String auditTable) {
 
             String commandAsJsonString = "";
             if (includeJson) {
@@ -109,7 +116,7 @@ public class AuditReadPlatformServiceImpl implements AuditReadPlatformService {
                     + "ck.username as checker, aud.checked_on_date as checkedOnDate, ev.enum_message_property as processingResult "
                     + commandAsJsonString + ", "
                     + " o.name as officeName, gl.level_name as groupLevelName, g.display_name as groupName, c.display_name as clientName, "
-                    + " l.account_no as loanAccountNo, s.account_no as savingsAccountNo " + " from m_portfolio_command_source aud "
+                    + " l.account_no as loanAccountNo, s.account_no as savingsAccountNo " + " from " + auditTable + " aud "
                     + " left join m_appuser mk on mk.id = aud.maker_id" + " left join m_appuser ck on ck.id = aud.checker_id"
                     + " left join m_office o on o.id = aud.office_id" + " left join m_group g on g.id = aud.group_id"
                     + " left join m_group_level gl on gl.id = g.level_id" + " left join m_client c on c.id = aud.client_id"
@@ -164,8 +171,28 @@ public class AuditReadPlatformServiceImpl implements AuditReadPlatformService {
 
     @Override
     public Collection<AuditData> retrieveAuditEntries(final SQLBuilder extraCriteria, final boolean includeJson) {
-        return retrieveEntries("audit", extraCriteria, " order by aud.id DESC limit " + PaginationParameters.getCheckedLimit(null),
-                includeJson);
+        return retrieveAuditEntries(extraCriteria, includeJson, null, null);
+    }
+
+    @Override
+    public Collection<AuditData> retrieveAuditEntries(final SQLBuilder extraCriteria, final boolean includeJson, final Long beforeId,
+            final Integer limit) {
+        final AppUser currentUser = this.context.authenticatedUser();
+        final String hierarchy = currentUser.getOffice().getHierarchy();
+
+        extraCriteria.addNonNullCriteria("aud.id <", beforeId);
+        final Integer checkedLimit = PaginationParameters.getCheckedLimit(limit);
+        final String pageSql = extraCriteria.getSQLTemplate() + " order by aud.id DESC limit " + checkedLimit;
+
+        // each branch walks its table backwards on the primary key and stops after one page, the outer query merges them
+        final AuditMapper rm = new AuditMapper();
+        final String sql = "(select " + rm.schema(includeJson, hierarchy, LIVE_TABLE) + pageSql + ") union all (select "
+                + rm.schema(includeJson, hierarchy, CommandSourceArchiveService.ARCHIVE_TABLE) + pageSql + ") order by id DESC limit "
+                + checkedLimit;
+        log.debug("sql: {}", sql);
+
+        final Object[] arguments = ArrayUtils.addAll(extraCriteria.getArguments(), extraCriteria.getArguments());
+        return this.jdbcTemplate.query(sql, rm, arguments); // NOSONAR
     }
 
     @Override
@@ -247,7 +274,11 @@ public class AuditReadPlatformServiceImpl implements AuditReadPlatformService {
 
         final String sql = "select " + rm.schema(true, hierarchy) + " where aud.id = ? ";
 
-        final AuditData auditResult = this.jdbcTemplate.queryForObject(sql, rm, auditId); // NOSONAR
+        // settled entries may already have been moved to the archive
+        final List<AuditData> liveResults = this.jdbcTemplate.query(sql, rm, auditId); // NOSONAR
+        final String archiveSql = "select " + rm.schema(true, hierarchy, CommandSourceArchiveService.ARCHIVE_TABLE) + " where aud.id = ? ";
+        final AuditData auditResult = liveResults.isEmpty() ? this.jdbcTemplate.queryForObject(archiveSql, rm, auditId) // NOSONAR
+                : liveResults.get(0);
 
         return replaceIdsOnAuditData(auditResult);
     }
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.commands.domain.CommandProcessingResultType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractAuditProperties;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommandSourceArchiveServiceImpl implements CommandSourceArchiveService {
+
+    static final String COLUMNS = "id, action_name, entity_name, office_id, group_id, client_id, loan_id, savings_account_id, api_get_url, "
+            + "resource_id, subresource_id, command_as_json, maker_id, made_on_date, checker_id, checked_on_date, processing_result_enum, "
+            + "product_id, transaction_id, creditbureau_id, organisation_creditbureau_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FineractProperties fineractProperties;
+
+    @Override
+    @CronTarget(jobName = JobName.ARCHIVE_COMMAND_SOURCE_ENTRIES)
+    public void archiveCommandSourceEntries() {
+        final FineractAuditProperties properties = this.fineractProperties.getAudit() == null ? new FineractAuditProperties()
+                : this.fineractProperties.getAudit();
+        final LocalDateTime cutoff = DateUtils.getLocalDateTimeOfTenant().minusDays(properties.getArchiveAfterDays());
+        final Integer awaitingApproval = CommandProcessingResultType.AWAITING_APPROVAL.getValue();
+
+        // walk the live table in id order, every batch is moved in its own transaction to keep locks short
+        final String selectBatch = "select id from m_portfolio_command_source where id > ? and made_on_date < ?"
+                + " and processing_result_enum <> ? order by id limit " + properties.getArchiveBatchSize();
+        long archived = 0;
+        long lastId = 0;
+        List<Long> ids = this.jdbcTemplate.queryForList(selectBatch, Long.class, lastId, cutoff, awaitingApproval);
+        while (!ids.isEmpty()) {
+            final long fromId = ids.get(0);
+            final long toId = ids.get(ids.size() - 1);
+            final Integer moved = this.transactionTemplate.execute(status -> moveToArchive(fromId, toId, cutoff, awaitingApproval));
+            archived += moved != null ? moved : 0;
+            lastId = toId;
+            ids = this.jdbcTemplate.queryForList(selectBatch, Long.class, lastId, cutoff, awaitingApproval);
+        }
+        log.info("{}: archived {} command source entries made before {}", JobName.ARCHIVE_COMMAND_SOURCE_ENTRIES, archived, cutoff);
+    }
+
+    private int moveToArchive(final long fromId, final long toId, final LocalDateTime cutoff, final Integer awaitingApproval) {
+        this.jdbcTemplate.update("insert into " + ARCHIVE_TABLE + " (" + COLUMNS + ") select " + COLUMNS
+                + " from m_portfolio_command_source where id between ? and ? and made_on_date < ? and processing_result_enum <> ?", fromId,
+                toId, cutoff, awaitingApproval);
+        // delete exactly what was copied, even if an entry got approved in the meantime
+        return this.jdbcTemplate.update("delete from m_portfolio_command_source where id between ? and ? and id in (select a.id from "
+                + ARCHIVE_TABLE + " a where a.id between ? and ?)", fromId, toId, fromId, toId);
+    }
+}
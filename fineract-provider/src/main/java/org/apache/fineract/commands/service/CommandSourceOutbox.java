@@ -0,0 +1,194 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractAuditProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind path for the command source audit.
+ *
+ * When <code>fineract.audit.write-behind-enabled</code> is set, processed commands that are not subject to maker-checker
+ * are appended to <code>m_portfolio_command_source_outbox</code> inside the business transaction, so an audit entry is
+ * committed or rolled back together with the change it describes. A single background thread moves outbox rows to
+ * <code>m_portfolio_command_source</code> in batches of <code>fineract.audit.write-behind-batch-size</code>: tenants
+ * that appended are drained every <code>fineract.audit.write-behind-interval-millis</code>, and every tenant is swept
+ * every <code>fineract.audit.write-behind-sweep-millis</code> to pick up rows left behind by a restart. Both start once
+ * the application is ready.
+ */
+@Slf4j
+@Component
+public class CommandSourceOutbox implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    static final String OUTBOX_TABLE = "m_portfolio_command_source_outbox";
+    static final String COLUMNS = "action_name, entity_name, office_id, group_id, client_id, loan_id, savings_account_id, api_get_url, "
+            + "resource_id, subresource_id, command_as_json, maker_id, made_on_date, processing_result_enum, product_id, transaction_id, "
+            + "creditbureau_id, organisation_creditbureau_id";
+    private static final String INSERT_SQL = "insert into " + OUTBOX_TABLE + " (" + COLUMNS
+            + ") values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TenantDetailsService tenantDetailsService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long interval;
+    private final long sweepInterval;
+    private final Map<String, FineractPlatformTenant> pendingTenants = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+
+    public CommandSourceOutbox(final FineractProperties fineractProperties, final JdbcTemplate jdbcTemplate,
+            final TransactionTemplate transactionTemplate, final TenantDetailsService tenantDetailsService) {
+        final FineractAuditProperties properties = fineractProperties.getAudit() == null ? new FineractAuditProperties()
+                : fineractProperties.getAudit();
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tenantDetailsService = tenantDetailsService;
+        this.enabled = properties.isWriteBehindEnabled();
+        this.batchSize = Math.max(1, properties.getWriteBehindBatchSize());
+        this.interval = Math.max(1, properties.getWriteBehindIntervalMillis());
+        this.sweepInterval = Math.max(this.interval, properties.getWriteBehindSweepMillis());
+        final boolean readOnly = fineractProperties.getMode() != null && fineractProperties.getMode().isReadOnlyMode();
+        if (this.enabled && !readOnly) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "command-source-outbox");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.executor = null;
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(@SuppressWarnings("unused") final ApplicationReadyEvent event) {
+        if (this.executor == null) {
+            return;
+        }
+        // the first sweep picks up rows left behind by a restart, once tenant data sources are available
+        this.executor.scheduleWithFixedDelay(this::drainPendingTenants, this.interval, this.interval, TimeUnit.MILLISECONDS);
+        this.executor.scheduleWithFixedDelay(this::sweepAllTenants, this.interval, this.sweepInterval, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Appends the processed command to the outbox of the current tenant. Must be called inside the business
+     * transaction.
+     */
+    public void append(final CommandSource commandSource) {
+        this.jdbcTemplate.update(INSERT_SQL,
+                commandSource.getActionName(), commandSource.getEntityName(), commandSource.getOfficeId(), commandSource.getGroupId(),
+                commandSource.getClientId(), commandSource.getLoanId(), commandSource.getSavingsId(), commandSource.getResourceGetUrl(),
+                commandSource.getResourceId(), commandSource.getSubresourceId(), commandSource.json(), commandSource.getMaker().getId(),
+                commandSource.getMadeOnDate(), commandSource.getProcessingResult(), commandSource.getProductId(),
+                commandSource.getTransactionId(), commandSource.getCreditBureauId(), commandSource.getOrganisationCreditBureauId());
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        this.pendingTenants.put(tenant.getTenantIdentifier(), tenant);
+    }
+
+    /**
+     * Moves every outbox row of the current tenant to the command source table.
+     *
+     * @return the number of moved entries
+     */
+    public int drain() {
+        int drained = 0;
+        int moved;
+        do {
+            final Integer batch = this.transactionTemplate.execute(status -> moveBatch());
+            moved = batch != null ? batch : 0;
+            drained += moved;
+        } while (moved == this.batchSize);
+        return drained;
+    }
+
+    private int moveBatch() {
+        // rows are locked so that concurrent writers on other nodes never move the same entry twice
+        final List<Long> ids = this.jdbcTemplate.queryForList(
+                "select id from " + OUTBOX_TABLE + " order by id limit " + this.batchSize + " for update", Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        final String idList = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        this.jdbcTemplate.update("insert into m_portfolio_command_source (" + COLUMNS + ") select " + COLUMNS + " from " + OUTBOX_TABLE
+                + " where id in (" + idList + ") order by id");
+        this.jdbcTemplate.update("delete from " + OUTBOX_TABLE + " where id in (" + idList + ")");
+        return ids.size();
+    }
+
+    private void drainPendingTenants() {
+        for (final String identifier : List.copyOf(this.pendingTenants.keySet())) {
+            final FineractPlatformTenant tenant = this.pendingTenants.remove(identifier);
+            if (tenant != null) {
+                drainTenant(tenant);
+            }
+        }
+    }
+
+    private void sweepAllTenants() {
+        try {
+            this.tenantDetailsService.findAllTenants().forEach(this::drainTenant);
+        } catch (RuntimeException e) {
+            log.error("Could not sweep the command source outbox", e);
+        }
+    }
+
+    private void drainTenant(final FineractPlatformTenant tenant) {
+        ThreadLocalContextUtil.setTenant(tenant);
+        try {
+            final int drained = drain();
+            log.debug("Moved {} command source entries of tenant {} from the outbox", drained, tenant.getTenantIdentifier());
+        } catch (RuntimeException e) {
+            // keep the tenant pending, the entries stay in the outbox until the next attempt
+            this.pendingTenants.putIfAbsent(tenant.getTenantIdentifier(), tenant);
+            log.error("Could not drain the command source outbox of tenant {}", tenant.getTenantIdentifier(), e);
+        } finally {
+            ThreadLocalContextUtil.clearTenant();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (this.executor != null) {
+            log.info("Shutting down the command source outbox writer");
+            this.executor.shutdown();
+        }
+    }
+}
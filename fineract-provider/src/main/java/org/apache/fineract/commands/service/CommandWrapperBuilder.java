@@ -716,6 +716,14 @@ public class CommandWrapperBuilder {
         return this;
     }
 
+    public CommandWrapperBuilder createDatatableEntries(final String datatable) {
+        this.actionName = "CREATE_ENTRIES";
+        this.entityName = datatable;
+        this.entityId = null;
+        this.href = "/datatables/" + datatable + "/entries";
+        return this;
+    }
+
     public CommandWrapperBuilder updateDatatable(final String datatable, final Long apptableId, final Long datatableId) {
         this.actionName = "UPDATE";
         commonDatatableSettings(datatable, apptableId, datatableId);
@@ -63,6 +63,7 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     private final CommandSourceRepository commandSourceRepository;
     private final ConfigurationDomainService configurationDomainService;
     private final CommandHandlerProvider commandHandlerProvider;
+    private final CommandSourceOutbox commandSourceOutbox;
 
     @Transactional
     @Override
@@ -107,7 +108,13 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         }
 
         if (commandSourceResult.hasJson()) {
-            this.commandSourceRepository.save(commandSourceResult);
+            // outside maker-checker the audit entry is only ever appended, so it can take the write-behind path
+            final boolean makerChecker = command.commandId() != null || rollbackTransaction || result.isRollbackTransaction();
+            if (this.commandSourceOutbox.isEnabled() && !makerChecker) {
+                this.commandSourceOutbox.append(commandSourceResult);
+            } else {
+                this.commandSourceRepository.save(commandSourceResult);
+            }
         }
 
         if ((rollbackTransaction || result.isRollbackTransaction()) && !isApprovedByChecker) {
@@ -145,7 +152,9 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         NewCommandSourceHandler handler = null;
 
         if (wrapper.isDatatableResource()) {
-            if (wrapper.isCreateDatatable()) {
+            if (wrapper.isCreateDatatableEntries()) {
+                handler = this.applicationContext.getBean("createDatatableEntriesCommandHandler", NewCommandSourceHandler.class);
+            } else if (wrapper.isCreateDatatable()) {
                 handler = this.applicationContext.getBean("createDatatableCommandHandler", NewCommandSourceHandler.class);
             } else if (wrapper.isDeleteDatatable()) {
                 handler = this.applicationContext.getBean("deleteDatatableCommandHandler", NewCommandSourceHandler.class);
@@ -20,16 +20,11 @@ package org.apache.fineract.infrastructure.campaigns.email.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.mustachejava.DefaultMustacheFactory;
-import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import com.google.gson.Gson;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.StringReader;
-import java.io.StringWriter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -39,7 +34,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -60,6 +54,7 @@ import org.apache.fineract.infrastructure.campaigns.email.domain.ScheduledEmailA
 import org.apache.fineract.infrastructure.campaigns.email.exception.EmailCampaignMustBeClosedToBeDeletedException;
 import org.apache.fineract.infrastructure.campaigns.email.exception.EmailCampaignMustBeClosedToEditException;
 import org.apache.fineract.infrastructure.campaigns.email.exception.EmailCampaignNotFound;
+import org.apache.fineract.infrastructure.campaigns.helper.CampaignReportRows;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.api.JsonQuery;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
@@ -70,12 +65,10 @@ import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityEx
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
-import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.domain.Report;
 import org.apache.fineract.infrastructure.dataqueries.domain.ReportParameterUsage;
 import org.apache.fineract.infrastructure.dataqueries.domain.ReportRepository;
 import org.apache.fineract.infrastructure.dataqueries.exception.ReportNotFoundException;
-import org.apache.fineract.infrastructure.dataqueries.service.GenericDataService;
 import org.apache.fineract.infrastructure.dataqueries.service.ReadReportingService;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
@@ -89,6 +82,7 @@ import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepository;
+import org.apache.fineract.template.service.CompiledTemplateCache;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -113,21 +107,22 @@ public class EmailCampaignWritePlatformCommandHandlerImpl implements EmailCampai
     private final EmailMessageRepository emailMessageRepository;
     private final ClientRepositoryWrapper clientRepositoryWrapper;
     private final ReadReportingService readReportingService;
-    private final GenericDataService genericDataService;
     private final FromJsonHelper fromJsonHelper;
     private final LoanRepository loanRepository;
     private final SavingsAccountRepository savingsAccountRepository;
     private final EmailMessageJobEmailService emailMessageJobEmailService;
     private final FineractProperties fineractProperties;
+    private final CompiledTemplateCache compiledTemplateCache;
 
     @Autowired
     public EmailCampaignWritePlatformCommandHandlerImpl(final PlatformSecurityContext context,
             final EmailCampaignRepository emailCampaignRepository, final EmailCampaignValidator emailCampaignValidator,
             final EmailCampaignReadPlatformService emailCampaignReadPlatformService, final ReportRepository reportRepository,
             final EmailMessageRepository emailMessageRepository, final ClientRepositoryWrapper clientRepositoryWrapper,
-            final ReadReportingService readReportingService, final GenericDataService genericDataService,
-            final FromJsonHelper fromJsonHelper, final LoanRepository loanRepository, final FineractProperties fineractProperties,
-            final SavingsAccountRepository savingsAccountRepository, final EmailMessageJobEmailService emailMessageJobEmailService) {
+            final ReadReportingService readReportingService, final FromJsonHelper fromJsonHelper, final LoanRepository loanRepository,
+            final FineractProperties fineractProperties,
+            final SavingsAccountRepository savingsAccountRepository, final EmailMessageJobEmailService emailMessageJobEmailService,
+            final CompiledTemplateCache compiledTemplateCache) {
         this.context = context;
         this.emailCampaignRepository = emailCampaignRepository;
         this.emailCampaignValidator = emailCampaignValidator;
@@ -136,12 +131,12 @@ public class EmailCampaignWritePlatformCommandHandlerImpl implements EmailCampai
         this.emailMessageRepository = emailMessageRepository;
         this.clientRepositoryWrapper = clientRepositoryWrapper;
         this.readReportingService = readReportingService;
-        this.genericDataService = genericDataService;
         this.fromJsonHelper = fromJsonHelper;
         this.loanRepository = loanRepository;
         this.savingsAccountRepository = savingsAccountRepository;
         this.emailMessageJobEmailService = emailMessageJobEmailService;
         this.fineractProperties = fineractProperties;
+        this.compiledTemplateCache = compiledTemplateCache;
     }
 
     @Transactional
@@ -250,11 +245,11 @@ public class EmailCampaignWritePlatformCommandHandlerImpl implements EmailCampai
     public void insertDirectCampaignIntoEmailOutboundTable(final Loan loan, final EmailCampaign emailCampaign,
             HashMap<String, String> campaignParams) {
         try {
-            List<HashMap<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
+            List<Map<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
                     campaignParams);
 
             if (runReportObject != null) {
-                for (HashMap<String, Object> entry : runReportObject) {
+                for (Map<String, Object> entry : runReportObject) {
                     String message = this.compileEmailTemplate(emailCampaign.getEmailMessage(), emailCampaign.getCampaignName(), entry);
                     Client client = loan.getClient();
                     String emailAddress = client.emailAddress();
@@ -281,12 +276,14 @@ public class EmailCampaignWritePlatformCommandHandlerImpl implements EmailCampai
             HashMap<String, String> queryParamForRunReport = new ObjectMapper().readValue(emailParams,
                     new TypeReference<HashMap<String, String>>() {});
 
-            List<HashMap<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
+            List<Map<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
                     queryParamForRunReport);
 
             if (runReportObject != null) {
-                for (HashMap<String, Object> entry : runReportObject) {
-                    String message = this.compileEmailTemplate(messageTemplate, campaignName, entry);
+                final List<String> messages = this.compiledTemplateCache.renderAll(campaignName, messageTemplate, runReportObject);
+                for (int i = 0; i < runReportObject.size(); i++) {
+                    Map<String, Object> entry = runReportObject.get(i);
+                    String message = messages.get(i);
                     Integer clientId = (Integer) entry.get("id");
                     EmailCampaign emailCampaign = this.emailCampaignRepository.findById(campaignId).orElse(null);
                     Client client = this.clientRepositoryWrapper.findOneWithNotFoundDetection(clientId.longValue());
@@ -448,39 +445,16 @@ public class EmailCampaignWritePlatformCommandHandlerImpl implements EmailCampai
 
     private String compileEmailTemplate(final String textMessageTemplate, final String campaignName,
             final Map<String, Object> emailParams) {
-        final MustacheFactory mf = new DefaultMustacheFactory();
-        final Mustache mustache = mf.compile(new StringReader(textMessageTemplate), campaignName);
-
-        final StringWriter stringWriter = new StringWriter();
-        mustache.execute(stringWriter, emailParams);
-
-        return stringWriter.toString();
+        return this.compiledTemplateCache.render(campaignName, textMessageTemplate, emailParams);
     }
 
-    @SuppressWarnings({ "unused", "rawtypes" })
-    private List<HashMap<String, Object>> getRunReportByServiceImpl(final String reportName, final Map<String, String> queryParams)
+    private List<Map<String, Object>> getRunReportByServiceImpl(final String reportName, final Map<String, String> queryParams)
             throws IOException {
         final String reportType = "report";
 
-        List<HashMap<String, Object>> resultList = new ArrayList<HashMap<String, Object>>();
-        final GenericResultsetData results = this.readReportingService.retrieveGenericResultSetForSmsEmailCampaign(reportName, reportType,
-                queryParams);
-        final String response = this.genericDataService.generateJsonFromGenericResultsetData(results);
-        resultList = new ObjectMapper().readValue(response, new TypeReference<List<HashMap<String, Object>>>() {});
-        // loop changes array date to string date
-        for (Iterator<HashMap<String, Object>> it = resultList.iterator(); it.hasNext();) {
-            HashMap<String, Object> entry = it.next();
-            for (Iterator<Map.Entry<String, Object>> iter = entry.entrySet().iterator(); iter.hasNext();) {
-                Map.Entry<String, Object> map = iter.next();
-                String key = map.getKey();
-                Object ob = map.getValue();
-                if (ob instanceof ArrayList && ((ArrayList) ob).size() == 3) {
-                    String changeArrayDateToStringDate = ((ArrayList) ob).get(2).toString() + "-" + ((ArrayList) ob).get(1).toString() + "-"
-                            + ((ArrayList) ob).get(0).toString();
-                    entry.put(key, changeArrayDateToStringDate);
-                }
-            }
-        }
+        final List<Map<String, Object>> resultList = new ArrayList<>();
+        this.readReportingService.retrieveRowsForSmsEmailCampaign(reportName, reportType, queryParams,
+                row -> resultList.add(CampaignReportRows.toCampaignParams(row)));
         return resultList;
     }
 
@@ -499,11 +473,11 @@ public class EmailCampaignWritePlatformCommandHandlerImpl implements EmailCampai
             HashMap<String, String> queryParamForRunReport = new ObjectMapper().readValue(emailParams,
                     new TypeReference<HashMap<String, String>>() {});
 
-            List<HashMap<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
+            List<Map<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
                     queryParamForRunReport);
 
             if (runReportObject != null) {
-                for (HashMap<String, Object> entry : runReportObject) {
+                for (Map<String, Object> entry : runReportObject) {
                     // add string object to campaignParam object
                     String textMessage = this.compileEmailTemplate(textMessageTemplate, "EmailCampaign", entry);
                     if (!textMessage.isEmpty()) {
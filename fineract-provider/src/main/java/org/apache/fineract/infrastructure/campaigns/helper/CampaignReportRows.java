@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.campaigns.helper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoField;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Converts typed campaign report rows into the values campaign templates have always been rendered with: integers that
+ * fit are {@link Integer}, decimals {@link Double}, dates "d-M-yyyy" strings and date times [y, M, d, H, m, s, ms].
+ */
+public final class CampaignReportRows {
+
+    private CampaignReportRows() {
+
+    }
+
+    public static Map<String, Object> toCampaignParams(final Map<String, Object> row) {
+        for (final Map.Entry<String, Object> entry : row.entrySet()) {
+            entry.setValue(toCampaignValue(entry.getValue()));
+        }
+        return row;
+    }
+
+    private static Object toCampaignValue(final Object value) {
+        if (value instanceof Long) {
+            final long longValue = (Long) value;
+            return longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE ? Integer.valueOf((int) longValue) : value;
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).doubleValue();
+        } else if (value instanceof LocalDate) {
+            final LocalDate date = (LocalDate) value;
+            return date.getDayOfMonth() + "-" + date.getMonthValue() + "-" + date.getYear();
+        } else if (value instanceof LocalDateTime) {
+            final LocalDateTime dateTime = (LocalDateTime) value;
+            return Arrays.asList(dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(), dateTime.getHour(),
+                    dateTime.getMinute(), dateTime.getSecond(), dateTime.get(ChronoField.MILLI_OF_SECOND));
+        }
+        return value;
+    }
+}
@@ -18,16 +18,10 @@
  */
 package org.apache.fineract.infrastructure.campaigns.sms.service;
 
-import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.mustachejava.DefaultMustacheFactory;
-import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import com.google.gson.JsonElement;
 import java.io.IOException;
-import java.io.StringReader;
-import java.io.StringWriter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -36,11 +30,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import org.apache.fineract.infrastructure.campaigns.helper.CampaignReportRows;
 import org.apache.fineract.infrastructure.campaigns.sms.constants.SmsCampaignStatus;
 import org.apache.fineract.infrastructure.campaigns.sms.constants.SmsCampaignTriggerType;
 import org.apache.fineract.infrastructure.campaigns.sms.data.CampaignPreviewData;
@@ -60,11 +54,9 @@ import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityEx
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
-import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.domain.Report;
 import org.apache.fineract.infrastructure.dataqueries.domain.ReportRepository;
 import org.apache.fineract.infrastructure.dataqueries.exception.ReportNotFoundException;
-import org.apache.fineract.infrastructure.dataqueries.service.GenericDataService;
 import org.apache.fineract.infrastructure.dataqueries.service.ReadReportingService;
 import org.apache.fineract.infrastructure.gcm.domain.DeviceRegistrationRepositoryWrapper;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
@@ -83,6 +75,7 @@ import org.apache.fineract.portfolio.group.domain.GroupRepository;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.apache.fineract.portfolio.loanaccount.exception.InvalidLoanTypeException;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.template.service.CompiledTemplateCache;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -106,20 +99,19 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
     private final ClientRepositoryWrapper clientRepositoryWrapper;
     private final GroupRepository groupRepository;
     private final ReadReportingService readReportingService;
-    private final GenericDataService genericDataService;
     private final FromJsonHelper fromJsonHelper;
     private final DeviceRegistrationRepositoryWrapper deviceRegistrationRepository;
 
     private final SmsMessageScheduledJobService smsMessageScheduledJobService;
+    private final CompiledTemplateCache compiledTemplateCache;
 
     @Autowired
     public SmsCampaignWritePlatformServiceJpaImpl(final PlatformSecurityContext context, final SmsCampaignRepository smsCampaignRepository,
             final SmsCampaignValidator smsCampaignValidator, final ReportRepository reportRepository,
             final SmsMessageRepository smsMessageRepository, final ClientRepositoryWrapper clientRepositoryWrapper,
-            final ReadReportingService readReportingService, final GenericDataService genericDataService,
-            final FromJsonHelper fromJsonHelper, final GroupRepository groupRepository,
+            final ReadReportingService readReportingService, final FromJsonHelper fromJsonHelper, final GroupRepository groupRepository,
             final SmsMessageScheduledJobService smsMessageScheduledJobService,
-            final DeviceRegistrationRepositoryWrapper deviceRegistrationRepository) {
+            final DeviceRegistrationRepositoryWrapper deviceRegistrationRepository, final CompiledTemplateCache compiledTemplateCache) {
         this.context = context;
         this.smsCampaignRepository = smsCampaignRepository;
         this.smsCampaignValidator = smsCampaignValidator;
@@ -127,11 +119,11 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
         this.smsMessageRepository = smsMessageRepository;
         this.clientRepositoryWrapper = clientRepositoryWrapper;
         this.readReportingService = readReportingService;
-        this.genericDataService = genericDataService;
         this.fromJsonHelper = fromJsonHelper;
         this.groupRepository = groupRepository;
         this.smsMessageScheduledJobService = smsMessageScheduledJobService;
         this.deviceRegistrationRepository = deviceRegistrationRepository;
+        this.compiledTemplateCache = compiledTemplateCache;
     }
 
     @Transactional
@@ -224,12 +216,15 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
             HashMap<String, String> queryParamForRunReport = new ObjectMapper().readValue(smsCampaign.getParamValue(),
                     new TypeReference<HashMap<String, String>>() {});
 
-            List<HashMap<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
+            List<Map<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
                     queryParamForRunReport);
 
             if (runReportObject != null) {
-                for (HashMap<String, Object> entry : runReportObject) {
-                    String textMessage = this.compileSmsTemplate(smsCampaign.getMessage(), smsCampaign.getCampaignName(), entry);
+                final List<String> textMessages = this.compiledTemplateCache.renderAll(smsCampaign.getCampaignName(),
+                        smsCampaign.getMessage(), runReportObject);
+                for (int i = 0; i < runReportObject.size(); i++) {
+                    Map<String, Object> entry = runReportObject.get(i);
+                    String textMessage = textMessages.get(i);
                     Integer clientId = (Integer) entry.get("id");
                     Object mobileNo = entry.get("mobileNo");
 
@@ -283,11 +278,11 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
                 campaignParams.put("clientId", client.getId().toString());
                 queryParamForRunReport.put("clientId", client.getId().toString());
 
-                List<HashMap<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
+                List<Map<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
                         queryParamForRunReport);
 
                 if (runReportObject != null && runReportObject.size() > 0) {
-                    for (HashMap<String, Object> entry : runReportObject) {
+                    for (Map<String, Object> entry : runReportObject) {
                         String textMessage = this.compileSmsTemplate(smsCampaign.getMessage(), smsCampaign.getCampaignName(), entry);
                         Object mobileNo = entry.get("mobileNo");
 
@@ -328,11 +323,11 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
             campaignParams.put("clientId", client.getId().toString());
             queryParamForRunReport.put("clientId", client.getId().toString());
 
-            List<HashMap<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
+            List<Map<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
                     queryParamForRunReport);
 
             if (runReportObject != null && runReportObject.size() > 0) {
-                for (HashMap<String, Object> entry : runReportObject) {
+                for (Map<String, Object> entry : runReportObject) {
                     String textMessage = this.compileSmsTemplate(smsCampaign.getMessage(), smsCampaign.getCampaignName(), entry);
                     Object mobileNo = entry.get("mobileNo");
 
@@ -371,11 +366,11 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
             queryParamForRunReport.put("savingsId", savingsAccount.getId().toString());
 
             Client client = savingsAccount.getClient();
-            List<HashMap<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
+            List<Map<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
                     queryParamForRunReport);
 
             if (runReportObject != null && runReportObject.size() > 0) {
-                for (HashMap<String, Object> entry : runReportObject) {
+                for (Map<String, Object> entry : runReportObject) {
                     String textMessage = this.compileSmsTemplate(smsCampaign.getMessage(), smsCampaign.getCampaignName(), entry);
                     Object mobileNo = entry.get("mobileNo");
 
@@ -508,44 +503,16 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
 
     @Override
     public String compileSmsTemplate(final String textMessageTemplate, final String campaignName, final Map<String, Object> smsParams) {
-        final MustacheFactory mf = new DefaultMustacheFactory();
-        final Mustache mustache = mf.compile(new StringReader(textMessageTemplate), campaignName);
-
-        final StringWriter stringWriter = new StringWriter();
-        mustache.execute(stringWriter, smsParams);
-
-        return stringWriter.toString();
+        return this.compiledTemplateCache.render(campaignName, textMessageTemplate, smsParams);
     }
 
-    private List<HashMap<String, Object>> getRunReportByServiceImpl(final String reportName, final Map<String, String> queryParams)
+    private List<Map<String, Object>> getRunReportByServiceImpl(final String reportName, final Map<String, String> queryParams)
             throws IOException {
         final String reportType = "report";
 
-        List<HashMap<String, Object>> resultList = new ArrayList<>();
-        final GenericResultsetData results = this.readReportingService.retrieveGenericResultSetForSmsEmailCampaign(reportName, reportType,
-                queryParams);
-
-        try {
-            final String response = this.genericDataService.generateJsonFromGenericResultsetData(results);
-            resultList = new ObjectMapper().readValue(response, new TypeReference<List<HashMap<String, Object>>>() {});
-        } catch (JsonParseException e) {
-            LOG.info("Conversion of report query results to JSON failed", e);
-            return resultList;
-        }
-        // loop changes array date to string date
-        for (Iterator<HashMap<String, Object>> iter = resultList.iterator(); iter.hasNext();) {
-            HashMap<String, Object> entry = iter.next();
-            for (Iterator<Map.Entry<String, Object>> it = entry.entrySet().iterator(); it.hasNext();) {
-                Map.Entry<String, Object> map = it.next();
-                String key = map.getKey();
-                Object ob = map.getValue();
-                if (ob instanceof ArrayList && ((ArrayList) ob).size() == 3) {
-                    String changeArrayDateToStringDate = ((ArrayList) ob).get(2).toString() + "-" + ((ArrayList) ob).get(1).toString() + "-"
-                            + ((ArrayList) ob).get(0).toString();
-                    entry.put(key, changeArrayDateToStringDate);
-                }
-            }
-        }
+        final List<Map<String, Object>> resultList = new ArrayList<>();
+        this.readReportingService.retrieveRowsForSmsEmailCampaign(reportName, reportType, queryParams,
+                row -> resultList.add(CampaignReportRows.toCampaignParams(row)));
         return resultList;
     }
 
@@ -569,11 +536,11 @@ public class SmsCampaignWritePlatformServiceJpaImpl implements SmsCampaignWriteP
             HashMap<String, String> queryParamForRunReport = new ObjectMapper().readValue(smsParams,
                     new TypeReference<HashMap<String, String>>() {});
 
-            List<HashMap<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
+            List<Map<String, Object>> runReportObject = this.getRunReportByServiceImpl(campaignParams.get("reportName"),
                     queryParamForRunReport);
 
             if (runReportObject != null && !runReportObject.isEmpty()) {
-                for (HashMap<String, Object> entry : runReportObject) {
+                for (Map<String, Object> entry : runReportObject) {
                     // add string object to campaignParam object
                     String textMessage = this.compileSmsTemplate(textMessageTemplate, "SmsCampaign", entry);
                     if (!textMessage.isEmpty()) {
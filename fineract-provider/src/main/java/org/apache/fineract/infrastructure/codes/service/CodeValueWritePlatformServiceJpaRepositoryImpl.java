@@ -65,7 +65,7 @@ public class CodeValueWritePlatformServiceJpaRepositoryImpl implements CodeValue
 
     @Transactional
     @Override
-    @CacheEvict(value = "code_values", allEntries = true)
+    @CacheEvict(value = { "code_values", "datatableSchemas" }, allEntries = true)
     public CommandProcessingResult createCodeValue(final JsonCommand command) {
 
         try {
@@ -110,7 +110,7 @@ public class CodeValueWritePlatformServiceJpaRepositoryImpl implements CodeValue
 
     @Transactional
     @Override
-    @CacheEvict(value = "code_values", allEntries = true)
+    @CacheEvict(value = { "code_values", "datatableSchemas" }, allEntries = true)
     public CommandProcessingResult updateCodeValue(final Long codeValueId, final JsonCommand command) {
 
         try {
@@ -142,7 +142,7 @@ public class CodeValueWritePlatformServiceJpaRepositoryImpl implements CodeValue
 
     @Transactional
     @Override
-    @CacheEvict(value = "code_values", allEntries = true)
+    @CacheEvict(value = { "code_values", "datatableSchemas" }, allEntries = true)
     public CommandProcessingResult deleteCodeValue(final Long codeId, final Long codeValueId) {
 
         try {
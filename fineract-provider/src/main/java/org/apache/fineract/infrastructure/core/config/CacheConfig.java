@@ -61,6 +61,7 @@ public class CacheConfig {
         cacheManager.createCache("codes", defaultTemplate);
         cacheManager.createCache("hooks", defaultTemplate);
         cacheManager.createCache("tfConfig", defaultTemplate);
+        cacheManager.createCache("datatableSchemas", defaultTemplate);
 
         javax.cache.configuration.Configuration<Object, Object> accessTokenTemplate = Eh107Configuration.fromEhcacheCacheConfiguration(
                 CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(10000))
@@ -68,6 +69,18 @@ public class CacheConfig {
 
         cacheManager.createCache("userTFAccessToken", accessTokenTemplate);
 
+        javax.cache.configuration.Configuration<Object, Object> loanScheduleTemplate = Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(5000))
+                        .withExpiry(ExpiryPolicyBuilder.timeToIdleExpiration(Duration.ofMinutes(30))).build());
+
+        cacheManager.createCache("loanSchedules", loanScheduleTemplate);
+
+        javax.cache.configuration.Configuration<Object, Object> collectionSheetTemplate = Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(1000))
+                        .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofMinutes(10))).build());
+
+        cacheManager.createCache("centerCollectionSheets", collectionSheetTemplate);
+
         return cacheManager;
     }
 }
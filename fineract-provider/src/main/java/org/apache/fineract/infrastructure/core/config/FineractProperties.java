@@ -39,6 +39,16 @@ public class FineractProperties {
 
     private FineractContentProperties content;
 
+    private FineractSmsProperties sms;
+
+    private FineractAuditProperties audit;
+
+    private FineractNotificationProperties notification;
+
+    private FineractTemplateProperties template;
+
+    private FineractDepositProperties deposit;
+
     @Getter
     @Setter
     public static class FineractTenantProperties {
@@ -105,4 +115,50 @@ public class FineractProperties {
         private String accessKey;
         private String secretKey;
     }
+
+    @Getter
+    @Setter
+    public static class FineractSmsProperties {
+
+        private int dispatchThreads = 4;
+        private int queueCapacity = 100;
+        private int batchSize = 200;
+        private int providerRateLimit;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractAuditProperties {
+
+        private int archiveAfterDays = 90;
+        private int archiveBatchSize = 5000;
+        private boolean writeBehindEnabled = false;
+        private int writeBehindBatchSize = 500;
+        private long writeBehindIntervalMillis = 1000;
+        private long writeBehindSweepMillis = 60000;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractNotificationProperties {
+
+        private long coalesceWindowMillis = 500;
+        private int batchSize = 500;
+        private long sweepMillis = 60000;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractTemplateProperties {
+
+        private int cacheSize = 1000;
+        private int renderThreads = 4;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractDepositProperties {
+
+        private int rdScheduleBatchSize = 500;
+    }
 }
@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.filters;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.ext.Provider;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+/**
+ * Filter that adds a strong <code>ETag</code> computed from the serialized (String or byte[]) body to responses of
+ * resource methods annotated with {@link ConditionalGet}, and answers <code>304 Not Modified</code> without a body when
+ * the client already holds that representation.
+ */
+@Provider
+@Component
+@Scope("singleton")
+@ConditionalGet
+public class ConditionalGetFilter implements ContainerResponseFilter {
+
+    @Override
+    public void filter(final ContainerRequestContext request, final ContainerResponseContext response) {
+        if (!HttpMethod.GET.equals(request.getMethod()) || response.getStatus() != Status.OK.getStatusCode()
+                || !(response.getEntity() instanceof String || response.getEntity() instanceof byte[])) {
+            return;
+        }
+
+        final Object entity = response.getEntity();
+        final byte[] body = entity instanceof byte[] bytes ? bytes : ((String) entity).getBytes(StandardCharsets.UTF_8);
+        final EntityTag entityTag = new EntityTag(digest(body));
+        response.getHeaders().putSingle(HttpHeaders.ETAG, entityTag);
+
+        if (matches(request.getHeaderString(HttpHeaders.IF_NONE_MATCH), entityTag)) {
+            response.setStatus(Status.NOT_MODIFIED.getStatusCode());
+            response.setEntity(null);
+            response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+        }
+    }
+
+    private static boolean matches(final String ifNoneMatch, final EntityTag entityTag) {
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        for (final String candidate : ifNoneMatch.split(",")) {
+            final String value = StringUtils.removeStart(candidate.trim(), "W/");
+            if ("*".equals(value) || StringUtils.strip(value, "\"").equals(entityTag.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String digest(final byte[] body) {
+        try {
+            final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(body));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
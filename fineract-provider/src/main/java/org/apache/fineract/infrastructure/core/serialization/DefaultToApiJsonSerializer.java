@@ -19,8 +19,13 @@
 package org.apache.fineract.infrastructure.core.serialization;
 
 import com.google.gson.Gson;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Set;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -108,6 +113,21 @@ public class DefaultToApiJsonSerializer<T> implements ToApiJsonSerializer<T> {
         return serializeWithSettings(delegatedSerializer, settings, singleObject);
     }
 
+    @Override
+    public StreamingOutput serializeStreaming(final ApiRequestJsonSerializationSettings settings, final Page<T> page,
+            final Set<String> supportedResponseParameters) {
+        Gson gson = findAppropriateSerializer(settings, supportedResponseParameters);
+        if (gson == null) {
+            gson = this.helper.defaultSerializer(settings.isPrettyPrint());
+        }
+        final Gson serializer = gson;
+        return output -> {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            serializer.toJson(page, writer);
+            writer.flush();
+        };
+    }
+
     private String serializeWithSettings(final Gson gson, final ApiRequestJsonSerializationSettings settings, final Object[] dataObject) {
         String json = null;
         if (gson != null) {
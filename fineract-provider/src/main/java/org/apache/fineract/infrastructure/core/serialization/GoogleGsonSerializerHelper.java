@@ -28,8 +28,13 @@ import java.time.MonthDay;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 import org.apache.fineract.infrastructure.core.api.DateAdapter;
 import org.apache.fineract.infrastructure.core.api.JodaDateTimeAdapter;
 import org.apache.fineract.infrastructure.core.api.JodaMonthDayAdapter;
@@ -48,15 +53,24 @@ import org.springframework.stereotype.Service;
 @Service
 public final class GoogleGsonSerializerHelper {
 
-    public Gson createGsonBuilderForPartialResponseFiltering(final boolean prettyPrint, final Set<String> responseParameters) {
-        final ExclusionStrategy strategy = new ParameterListInclusionStrategy(responseParameters);
+    private static final int MAX_CACHED_SERIALIZERS = 256;
 
-        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
-        registerTypeAdapters(builder);
-        if (prettyPrint) {
-            builder.setPrettyPrinting();
+    /*
+     * Gson instances are thread safe and keep a per-instance cache of reflective type adapters, so the serializers for
+     * a given field selection are kept and reused instead of being rebuilt for every response.
+     */
+    private final Map<String, Gson> serializers = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Gson> eldest) {
+            return size() > MAX_CACHED_SERIALIZERS;
         }
-        return builder.create();
+    });
+
+    public Gson createGsonBuilderForPartialResponseFiltering(final boolean prettyPrint, final Set<String> responseParameters) {
+        final Set<String> parameterNamesToInclude = Set.copyOf(responseParameters);
+        return cachedSerializer("include", prettyPrint, parameterNamesToInclude,
+                () -> createSerializer(new ParameterListInclusionStrategy(parameterNamesToInclude), prettyPrint));
     }
 
     public Gson createGsonBuilderWithParameterExclusionSerializationStrategy(final Set<String> supportedParameters,
@@ -78,8 +92,29 @@ public final class GoogleGsonSerializerHelper {
             parameterNamesToSkip.removeAll(responseParameters);
         }
 
-        final ExclusionStrategy strategy = new ParameterListExclusionStrategy(parameterNamesToSkip);
+        return cachedSerializer("exclude", prettyPrint, parameterNamesToSkip,
+                () -> createSerializer(new ParameterListExclusionStrategy(parameterNamesToSkip), prettyPrint));
+    }
+
+    /**
+     * Returns the shared serializer that does not filter any fields.
+     */
+    public Gson defaultSerializer(final boolean prettyPrint) {
+        return cachedSerializer("all", prettyPrint, Set.of(), () -> createGsonBuilder(prettyPrint).create());
+    }
+
+    private Gson cachedSerializer(final String strategy, final boolean prettyPrint, final Set<String> parameterNames,
+            final Supplier<Gson> factory) {
+        final String key = strategy + ':' + prettyPrint + ':' + String.join(",", new TreeSet<>(parameterNames));
+        Gson gson = this.serializers.get(key);
+        if (gson == null) {
+            gson = factory.get();
+            this.serializers.put(key, gson);
+        }
+        return gson;
+    }
 
+    private static Gson createSerializer(final ExclusionStrategy strategy, final boolean prettyPrint) {
         final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
         registerTypeAdapters(builder);
         if (prettyPrint) {
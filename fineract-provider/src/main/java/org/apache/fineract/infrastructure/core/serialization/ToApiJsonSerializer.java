@@ -20,6 +20,7 @@ package org.apache.fineract.infrastructure.core.serialization;
 
 import java.util.Collection;
 import java.util.Set;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.fineract.infrastructure.core.service.Page;
 
 public interface ToApiJsonSerializer<T> {
@@ -46,4 +47,10 @@ public interface ToApiJsonSerializer<T> {
     String serialize(ApiRequestJsonSerializationSettings settings, T single, Set<String> supportedResponseParameters);
 
     String serialize(ApiRequestJsonSerializationSettings settings, Page<T> singleObject, Set<String> supportedResponseParameters);
+
+    /**
+     * Serializes a page straight to the response stream instead of building the whole JSON document as a String first.
+     * Unsupported response parameters are reported when this method is called, before anything is written.
+     */
+    StreamingOutput serializeStreaming(ApiRequestJsonSerializationSettings settings, Page<T> page, Set<String> supportedResponseParameters);
 }
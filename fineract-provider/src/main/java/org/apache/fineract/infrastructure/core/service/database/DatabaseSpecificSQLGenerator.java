@@ -168,4 +168,20 @@ public class DatabaseSpecificSQLGenerator {
             throw new IllegalStateException("Database type is not supported for current schema " + databaseTypeResolver.databaseType());
         }
     }
+
+    /**
+     * Insert statement taking the key and an amount that creates the row, or adds the amount to the counter column of an
+     * existing row with the same key.
+     */
+    public String upsertIncrement(String table, String keyColumn, String counterColumn) {
+        if (databaseTypeResolver.isMySQL()) {
+            return format("INSERT INTO %1$s (%2$s, %3$s) VALUES (?, ?) ON DUPLICATE KEY UPDATE %3$s = %3$s + VALUES(%3$s)", table,
+                    keyColumn, counterColumn);
+        } else if (databaseTypeResolver.isPostgreSQL()) {
+            return format("INSERT INTO %1$s (%2$s, %3$s) VALUES (?, ?) ON CONFLICT (%2$s) DO UPDATE SET %3$s = %1$s.%3$s + EXCLUDED.%3$s",
+                    table, keyColumn, counterColumn);
+        } else {
+            throw new IllegalStateException("Database type is not supported for upsert " + databaseTypeResolver.databaseType());
+        }
+    }
 }
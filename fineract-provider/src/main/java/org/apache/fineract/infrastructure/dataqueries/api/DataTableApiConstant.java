@@ -33,6 +33,8 @@ public final class DataTableApiConstant {
     public static final String categoryParamName = "category";
     public static final String localParamName = "locale";
     public static final String DATATABLE_RESOURCE_NAME = "dataTables";
+    public static final String entriesParamName = "entries";
+    public static final String apptableIdParamName = "apptableId";
 
     public static final String CREATEDAT_FIELD_NAME = "created_at";
     public static final String UPDATEDAT_FIELD_NAME = "updated_at";
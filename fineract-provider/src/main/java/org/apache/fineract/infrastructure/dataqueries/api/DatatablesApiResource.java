@@ -300,6 +300,26 @@ public class DatatablesApiResource {
         return this.toApiJsonSerializer.serialize(result);
     }
 
+    @POST
+    @Path("{datatable}/entries")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Operation(summary = "Create Entries in Data Table", description = "Adds rows for many application table entries to the data table in one transaction. Each element of \"entries\" holds the \"apptableId\" and the column values of one row; \"locale\" and \"dateFormat\" apply to all entries unless an entry overrides them.")
+    @RequestBody(required = true, content = @Content(schema = @Schema(implementation = String.class)), description = "{\n  \"dateFormat\": \"dd MMMM yyyy\",\n  \"locale\": \"en\",\n  \"entries\": [\n    {\n      \"apptableId\": 1,\n      \"BusinessDescription\": \"Livestock sales\",\n      \"NextVisit\": \"01 October 2012\"\n    },\n    {\n      \"apptableId\": 2,\n      \"BusinessDescription\": \"Tailoring\"\n    }\n  ]\n}")
+    @ApiResponses({ @ApiResponse(responseCode = "200", description = "OK") })
+    public String createDatatableEntries(@PathParam("datatable") @Parameter(description = "datatable") final String datatable,
+            @Parameter(hidden = true) final String apiRequestBodyAsJson) {
+
+        final CommandWrapper commandRequest = new CommandWrapperBuilder() //
+                .createDatatableEntries(datatable) //
+                .withJson(apiRequestBodyAsJson) //
+                .build();
+
+        final CommandProcessingResult result = this.commandsSourceWritePlatformService.logCommandSource(commandRequest);
+
+        return this.toApiJsonSerializer.serialize(result);
+    }
+
     @PUT
     @Path("{datatable}/{apptableId}")
     @Consumes({ MediaType.APPLICATION_JSON })
@@ -0,0 +1,39 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+
+/**
+ * Per-tenant registry of datatable metadata (column headers with their code value bindings and the application table a
+ * datatable is registered against), so that datatable entry reads and writes do not query the database catalogue on
+ * every request.
+ *
+ * Entries are evicted when a datatable is created, updated, registered, deregistered or deleted and when codes or code
+ * values change.
+ */
+public interface DatatableSchemaRegistry {
+
+    String CACHE_NAME = "datatableSchemas";
+
+    List<ResultsetColumnHeaderData> retrieveColumnHeaders(String datatable, boolean fieldsSkip);
+
+    String retrieveApplicationTableName(String datatable);
+}
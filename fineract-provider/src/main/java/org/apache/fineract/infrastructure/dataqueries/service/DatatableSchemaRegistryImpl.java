@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import java.util.Collections;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.apache.fineract.infrastructure.dataqueries.exception.DatatableNotFoundException;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class DatatableSchemaRegistryImpl implements DatatableSchemaRegistry {
+
+    private final GenericDataService genericDataService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Cacheable(value = CACHE_NAME, key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat('cols:' + #datatable + ':' + #fieldsSkip)")
+    public List<ResultsetColumnHeaderData> retrieveColumnHeaders(final String datatable, final boolean fieldsSkip) {
+        return Collections.unmodifiableList(this.genericDataService.fillResultsetColumnHeaders(datatable, fieldsSkip));
+    }
+
+    @Override
+    @Cacheable(value = CACHE_NAME, key = "T(org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil).getTenant().getTenantIdentifier().concat('app:' + #datatable)")
+    public String retrieveApplicationTableName(final String datatable) {
+        final String sql = "SELECT application_table_name FROM x_registered_table where registered_table_name = ?";
+
+        final SqlRowSet rowSet = this.jdbcTemplate.queryForRowSet(sql, datatable);
+        if (rowSet.next()) {
+            return rowSet.getString("application_table_name");
+        }
+        throw new DatatableNotFoundException(datatable);
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.dataqueries.api.DataTableApiConstant;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+
+/**
+ * A parameterised insert or update statement against a datatable. The SQL only depends on the table, the key column and
+ * the names and types of the written columns, so one instance is shared by every entry written with the same column
+ * set.
+ */
+public final class DatatableWriteStatement {
+
+    private final String sql;
+    private final List<ResultsetColumnHeaderData> columns;
+    private final boolean bitAsString;
+
+    DatatableWriteStatement(final String sql, final List<ResultsetColumnHeaderData> columns, final boolean bitAsString) {
+        this.sql = sql;
+        this.columns = columns;
+        this.bitAsString = bitAsString;
+    }
+
+    public String getSql() {
+        return this.sql;
+    }
+
+    /**
+     * Binds the column values (as produced by the datatable column validation) followed by the key value. Audit
+     * columns without an explicit value are set to <code>now</code>.
+     */
+    public void bind(final PreparedStatement ps, final Map<String, ?> values, final Long keyValue, final LocalDateTime now)
+            throws SQLException {
+        int index = 1;
+        for (final ResultsetColumnHeaderData column : this.columns) {
+            final String name = column.getColumnName();
+            if (!values.containsKey(name) && isAuditColumn(name)) {
+                ps.setObject(index++, now);
+            } else {
+                bindValue(ps, index++, column, (String) values.get(name));
+            }
+        }
+        ps.setLong(index, keyValue);
+    }
+
+    static boolean isAuditColumn(final String columnName) {
+        return DataTableApiConstant.CREATEDAT_FIELD_NAME.equalsIgnoreCase(columnName)
+                || DataTableApiConstant.UPDATEDAT_FIELD_NAME.equalsIgnoreCase(columnName);
+    }
+
+    private void bindValue(final PreparedStatement ps, final int index, final ResultsetColumnHeaderData column, final String value)
+            throws SQLException {
+        if (StringUtils.isEmpty(value)) {
+            ps.setNull(index, sqlType(column));
+        } else if (column.isBooleanDisplayType()) {
+            final Boolean bool = BooleanUtils.toBooleanObject(value);
+            if (bool == null) {
+                ps.setNull(index, sqlType(column));
+            } else if (this.bitAsString) {
+                ps.setString(index, bool ? "1" : "0");
+            } else {
+                ps.setBoolean(index, bool);
+            }
+        } else if (column.isDateDisplayType()) {
+            ps.setObject(index, LocalDate.parse(value));
+        } else if (column.isDateTimeDisplayType()) {
+            ps.setObject(index, LocalDateTime.parse(value));
+        } else if (column.isIntegerDisplayType() || column.isCodeLookupDisplayType()) {
+            ps.setLong(index, Long.parseLong(value));
+        } else if (column.isDecimalDisplayType()) {
+            ps.setBigDecimal(index, new BigDecimal(value));
+        } else {
+            ps.setString(index, value);
+        }
+    }
+
+    private int sqlType(final ResultsetColumnHeaderData column) {
+        if (column.isBooleanDisplayType()) {
+            return this.bitAsString ? Types.VARCHAR : Types.BIT;
+        } else if (column.isDateDisplayType()) {
+            return Types.DATE;
+        } else if (column.isDateTimeDisplayType()) {
+            return Types.TIMESTAMP;
+        } else if (column.isIntegerDisplayType() || column.isCodeLookupDisplayType()) {
+            return Types.BIGINT;
+        } else if (column.isDecimalDisplayType()) {
+            return Types.DECIMAL;
+        }
+        return Types.VARCHAR;
+    }
+}
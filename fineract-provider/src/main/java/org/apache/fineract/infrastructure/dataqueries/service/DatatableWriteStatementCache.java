@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiles and caches the parameterised insert/update statements used to write datatable entries, so that the same
+ * SQL text is reused across entries and the driver and database can reuse the prepared statement.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatatableWriteStatementCache {
+
+    static final int MAX_STATEMENTS = 2000;
+
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final DatabaseTypeResolver databaseTypeResolver;
+    // least recently used statements are evicted once the limit is reached, so frequently written datatables stay cached
+    private final Map<String, DatatableWriteStatement> statements = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, DatatableWriteStatement> eldest) {
+            return size() > MAX_STATEMENTS;
+        }
+    });
+
+    /**
+     * Returns the insert statement writing the given columns and the foreign key column, which is bound last.
+     */
+    public DatatableWriteStatement insertStatement(final String datatable, final String fkName,
+            final List<ResultsetColumnHeaderData> columns) {
+        return cached(key("I", datatable, fkName, columns), () -> {
+            final List<String> names = new ArrayList<>();
+            final List<String> placeholders = new ArrayList<>();
+            for (final ResultsetColumnHeaderData column : columns) {
+                names.add(this.sqlGenerator.escape(column.getColumnName()));
+                placeholders.add(placeholder(column));
+            }
+            names.add(this.sqlGenerator.escape(fkName));
+            placeholders.add("?");
+            final String sql = "insert into " + this.sqlGenerator.escape(datatable) + " (" + String.join(", ", names) + ") values ("
+                    + String.join(", ", placeholders) + ")";
+            return create(sql, columns);
+        });
+    }
+
+    /**
+     * Returns the update statement setting the given columns on the row identified by the key column, which is bound
+     * last.
+     */
+    public DatatableWriteStatement updateStatement(final String datatable, final String keyName,
+            final List<ResultsetColumnHeaderData> columns) {
+        return cached(key("U", datatable, keyName, columns), () -> {
+            final List<String> assignments = new ArrayList<>();
+            for (final ResultsetColumnHeaderData column : columns) {
+                assignments.add(this.sqlGenerator.escape(column.getColumnName()) + " = " + placeholder(column));
+            }
+            final String sql = "update " + this.sqlGenerator.escape(datatable) + " set " + String.join(", ", assignments) + " where "
+                    + this.sqlGenerator.escape(keyName) + " = ?";
+            return create(sql, columns);
+        });
+    }
+
+    private DatatableWriteStatement cached(final String key, final Supplier<DatatableWriteStatement> compiler) {
+        DatatableWriteStatement statement = this.statements.get(key);
+        if (statement == null) {
+            // compiled outside the lock, two threads may compile the same statement and the last one is kept
+            statement = compiler.get();
+            this.statements.put(key, statement);
+        }
+        return statement;
+    }
+
+    private DatatableWriteStatement create(final String sql, final List<ResultsetColumnHeaderData> columns) {
+        return new DatatableWriteStatement(sql, Collections.unmodifiableList(new ArrayList<>(columns)),
+                this.databaseTypeResolver.isPostgreSQL());
+    }
+
+    private String placeholder(final ResultsetColumnHeaderData column) {
+        // PostgreSQL has no implicit cast from boolean to bit, so bit values are bound as '1'/'0' text
+        if (column.isBooleanDisplayType() && this.databaseTypeResolver.isPostgreSQL()) {
+            return "cast(? as bit)";
+        }
+        return "?";
+    }
+
+    private static String key(final String kind, final String datatable, final String keyName,
+            final List<ResultsetColumnHeaderData> columns) {
+        // column types are part of the key so a changed column definition compiles a new statement
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier() + ':' + kind + ':' + datatable + ':' + keyName + ':'
+                + columns.stream().map(c -> c.getColumnName() + '/' + c.getColumnType()).collect(Collectors.joining(","));
+    }
+}
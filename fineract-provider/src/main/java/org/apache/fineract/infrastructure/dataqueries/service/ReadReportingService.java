@@ -22,6 +22,7 @@ import java.io.ByteArrayOutputStream;
 import java.util.Collection;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 import javax.ws.rs.core.StreamingOutput;
 import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
 import org.apache.fineract.infrastructure.dataqueries.data.ReportData;
@@ -47,9 +48,10 @@ public interface ReadReportingService {
     GenericResultsetData retrieveGenericResultset(String name, String type, Map<String, String> extractedQueryParams,
             boolean isSelfServiceUserReport);
 
-    // TODO This is weird, could they not be using the retrieveGenericResultset() above after all?
-    // needed for smsCampaign and emailCampaign jobs where securityContext is null
-    GenericResultsetData retrieveGenericResultSetForSmsEmailCampaign(String name, String type, Map<String, String> extractedQueryParams);
+    // needed for smsCampaign and emailCampaign jobs where securityContext is null; streams the typed rows of the
+    // campaign report straight from the JDBC cursor, without building a resultset copy
+    void retrieveRowsForSmsEmailCampaign(String name, String type, Map<String, String> extractedQueryParams,
+            Consumer<Map<String, Object>> rowConsumer);
 
     // TODO kill this when tackling https://issues.apache.org/jira/browse/FINERACT-1264
     ByteArrayOutputStream generatePentahoReportAsOutputStream(String reportName, String outputTypeParam, Map<String, String> queryParams,
@@ -36,6 +36,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import javax.ws.rs.core.StreamingOutput;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -57,6 +58,7 @@ import org.apache.fineract.infrastructure.security.utils.LogParameterEscapeUtil;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.owasp.esapi.ESAPI;
 import org.owasp.esapi.codecs.UnixCodec;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
@@ -487,17 +489,21 @@ public class ReadReportingServiceImpl implements ReadReportingService {
     }
 
     @Override
-    public GenericResultsetData retrieveGenericResultSetForSmsEmailCampaign(String name, String type, Map<String, String> queryParams) {
+    public void retrieveRowsForSmsEmailCampaign(final String name, final String type, final Map<String, String> queryParams,
+            final Consumer<Map<String, Object>> rowConsumer) {
         final long startTime = System.currentTimeMillis();
         log.info("STARTING REPORT: {}   Type: {}", name, type);
 
         final String sql = sqlToRunForSmsEmailCampaign(name, type, queryParams);
-
-        final GenericResultsetData result = this.genericDataService.fillGenericResultSet(sql);
+        try {
+            this.jdbcTemplate.query(sql, new TypedReportRowCallbackHandler(rowConsumer)); // NOSONAR
+        } catch (DataAccessException e) {
+            log.error("Reporting error: {}", e.getMessage());
+            throw new PlatformDataIntegrityException("error.msg.report.unknown.data.integrity.issue", e.getClass().getName(), e);
+        }
 
         final long elapsed = System.currentTimeMillis() - startTime;
         log.info("FINISHING Report/Request Name: {} - {}     Elapsed Time: {}", name, type, elapsed);
-        return result;
     }
 
     private String sqlToRunForSmsEmailCampaign(final String name, final String type, final Map<String, String> queryParams) {
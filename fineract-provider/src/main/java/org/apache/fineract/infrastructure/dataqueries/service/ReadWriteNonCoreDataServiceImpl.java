@@ -26,6 +26,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.LocalDate;
@@ -33,10 +34,14 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.persistence.PersistenceException;
 import lombok.RequiredArgsConstructor;
@@ -58,6 +63,7 @@ import org.apache.fineract.infrastructure.core.exception.PlatformServiceUnavaila
 import org.apache.fineract.infrastructure.core.serialization.DatatableCommandFromApiJsonDeserializer;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.serialization.JsonParserHelper;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
 import org.apache.fineract.infrastructure.dataqueries.api.DataTableApiConstant;
@@ -76,6 +82,7 @@ import org.apache.fineract.infrastructure.security.utils.SQLInjectionValidator;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
@@ -107,6 +114,8 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             .put("number", "INT").put("boolean", "BIT").put("decimal", "DECIMAL").put("date", "DATE").put("datetime", "TIMESTAMP")
             .put("text", "TEXT").put("dropdown", "INT").build();
 
+    private static final int BULK_ENTRY_BATCH_SIZE = 500;
+
     private static final List<String> stringDataTypes = Arrays.asList("char", "varchar", "blob", "text", "tinyblob", "tinytext",
             "mediumblob", "mediumtext", "longblob", "longtext");
 
@@ -124,6 +133,8 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
     private final ColumnValidator columnValidator;
     private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
     private final SqlInjectionPreventerService preventSqlInjectionService;
+    private final DatatableSchemaRegistry datatableSchemaRegistry;
+    private final DatatableWriteStatementCache writeStatementCache;
 
     @Override
     public List<DatatableData> retrieveDatatableNames(final String appTable) {
@@ -147,7 +158,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             final String appTableName = rowSet.getString("application_table_name");
             final String registeredDatatableName = rowSet.getString("registered_table_name");
             final String entitySubType = rowSet.getString("entity_subtype");
-            final List<ResultsetColumnHeaderData> columnHeaderData = genericDataService.fillResultsetColumnHeaders(registeredDatatableName,
+            final List<ResultsetColumnHeaderData> columnHeaderData = datatableSchemaRegistry.retrieveColumnHeaders(registeredDatatableName,
                     true);
 
             datatables.add(DatatableData.create(appTableName, registeredDatatableName, entitySubType, columnHeaderData));
@@ -175,8 +186,8 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             final String appTableName = rowSet.getString("application_table_name");
             final String registeredDatatableName = rowSet.getString("registered_table_name");
             final String entitySubType = rowSet.getString("entity_subtype");
-            final List<ResultsetColumnHeaderData> columnHeaderData = this.genericDataService
-                    .fillResultsetColumnHeaders(registeredDatatableName, true);
+            final List<ResultsetColumnHeaderData> columnHeaderData = this.datatableSchemaRegistry
+                    .retrieveColumnHeaders(registeredDatatableName, true);
 
             datatableData = DatatableData.create(appTableName, registeredDatatableName, entitySubType, columnHeaderData);
         }
@@ -188,6 +199,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         LOG.error("Error occured.", dve);
     }
 
+    @CacheEvict(value = DatatableSchemaRegistry.CACHE_NAME, allEntries = true)
     @Transactional
     @Override
     public void registerDatatable(final String dataTableName, final String applicationTableName, final String entitySubType) {
@@ -199,6 +211,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
     }
 
+    @CacheEvict(value = DatatableSchemaRegistry.CACHE_NAME, allEntries = true)
     @Transactional
     @Override
     public void registerDatatable(final JsonCommand command) {
@@ -215,6 +228,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
     }
 
+    @CacheEvict(value = DatatableSchemaRegistry.CACHE_NAME, allEntries = true)
     @Transactional
     @Override
     public void registerDatatable(final JsonCommand command, final String permissionSql) {
@@ -340,6 +354,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         return urlParts.get(4);
     }
 
+    @CacheEvict(value = DatatableSchemaRegistry.CACHE_NAME, allEntries = true)
     @Transactional
     @Override
     public void deregisterDatatable(final String datatable) {
@@ -380,20 +395,23 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             final String appTable = queryForApplicationTableName(dataTableName);
             CommandProcessingResult commandProcessingResult = checkMainResourceExistsWithinScope(appTable, appTableId);
 
-            final List<ResultsetColumnHeaderData> columnHeaders = this.genericDataService.fillResultsetColumnHeaders(dataTableName, false);
+            final List<ResultsetColumnHeaderData> columnHeaders = this.datatableSchemaRegistry.retrieveColumnHeaders(dataTableName, false);
 
             final boolean multiRow = isMultirowDatatable(columnHeaders);
 
             final Type typeOfMap = new TypeToken<Map<String, String>>() {}.getType();
             final Map<String, String> dataParams = this.fromJsonHelper.extractDataMap(typeOfMap, json);
 
-            final String sql = getAddSql(columnHeaders, dataTableName, getFKField(appTable), appTableId, dataParams);
+            final String fkName = getFKField(appTable);
+            final Map<String, String> affectedColumns = getAffectedColumns(columnHeaders, dataParams, fkName);
+            final DatatableWriteStatement statement = getInsertStatement(columnHeaders, dataTableName, fkName, affectedColumns);
+            final LocalDateTime now = DateUtils.getLocalDateTimeOfTenant();
 
             if (!multiRow) {
-                this.jdbcTemplate.update(sql);
+                this.jdbcTemplate.update(statement.getSql(), ps -> statement.bind(ps, affectedColumns, appTableId, now));
                 commandProcessingResult = CommandProcessingResult.fromCommandProcessingResult(commandProcessingResult, appTableId);
             } else {
-                final Long resourceId = addMultirowRecord(sql);
+                final Long resourceId = addMultirowRecord(statement, affectedColumns, appTableId, now);
                 commandProcessingResult = CommandProcessingResult.fromCommandProcessingResult(commandProcessingResult, resourceId);
             }
 
@@ -441,6 +459,96 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         }
     }
 
+    @Transactional
+    @Override
+    public CommandProcessingResult createNewDatatableEntries(final String dataTableName, final JsonCommand command) {
+        final String appTable = queryForApplicationTableName(dataTableName);
+        final String fkName = getFKField(appTable);
+        final List<ResultsetColumnHeaderData> columnHeaders = this.datatableSchemaRegistry.retrieveColumnHeaders(dataTableName, false);
+
+        final JsonElement request = command.parsedJson();
+        final JsonArray entries = this.fromJsonHelper.extractJsonArrayNamed(DataTableApiConstant.entriesParamName, request);
+        if (entries == null || entries.size() == 0) {
+            throw new PlatformApiDataValidationException("validation.msg.validation.errors.exist", "Validation errors exist.",
+                    List.of(ApiParameterError.parameterError("validation.msg.datatable.entries.cannot.be.blank",
+                            "The parameter `" + DataTableApiConstant.entriesParamName + "` is mandatory.",
+                            DataTableApiConstant.entriesParamName)));
+        }
+        final String locale = this.fromJsonHelper.extractStringNamed("locale", request);
+        final String dateFormat = this.fromJsonHelper.extractStringNamed("dateFormat", request);
+
+        final List<Long> appTableIds = new ArrayList<>(entries.size());
+        for (final JsonElement entry : entries) {
+            final Long appTableId = this.fromJsonHelper.extractLongNamed(DataTableApiConstant.apptableIdParamName, entry);
+            if (appTableId == null) {
+                throw new PlatformApiDataValidationException("validation.msg.validation.errors.exist", "Validation errors exist.",
+                        List.of(ApiParameterError.parameterError("validation.msg.datatable.entries.apptableId.cannot.be.blank",
+                                "Each entry must have an `" + DataTableApiConstant.apptableIdParamName + "`.",
+                                DataTableApiConstant.apptableIdParamName)));
+            }
+            appTableIds.add(appTableId);
+        }
+        checkMainResourcesExistWithinScope(appTable, new LinkedHashSet<>(appTableIds));
+
+        // entries are grouped by the set of columns they write, each group is sent as JDBC batches of one statement
+        final Type typeOfMap = new TypeToken<Map<String, String>>() {}.getType();
+        final Map<DatatableWriteStatement, List<DatatableEntryValues>> batches = new LinkedHashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            final JsonElement entry = entries.get(i);
+            final Long appTableId = appTableIds.get(i);
+            final Map<String, String> dataParams = this.fromJsonHelper.extractDataMap(typeOfMap, entry.toString());
+            dataParams.remove(DataTableApiConstant.apptableIdParamName);
+            if (locale != null) {
+                dataParams.putIfAbsent("locale", locale);
+            }
+            if (dateFormat != null) {
+                dataParams.putIfAbsent("dateFormat", dateFormat);
+            }
+            final Map<String, String> affectedColumns = getAffectedColumns(columnHeaders, dataParams, fkName);
+            final DatatableWriteStatement statement = getInsertStatement(columnHeaders, dataTableName, fkName, affectedColumns);
+            batches.computeIfAbsent(statement, key -> new ArrayList<>()).add(new DatatableEntryValues(appTableId, affectedColumns));
+        }
+
+        final LocalDateTime now = DateUtils.getLocalDateTimeOfTenant();
+        try {
+            for (final Map.Entry<DatatableWriteStatement, List<DatatableEntryValues>> batch : batches.entrySet()) {
+                final DatatableWriteStatement statement = batch.getKey();
+                this.jdbcTemplate.batchUpdate(statement.getSql(), batch.getValue(), BULK_ENTRY_BATCH_SIZE,
+                        (ps, values) -> statement.bind(ps, values.columns, values.appTableId, now));
+            }
+        } catch (final DataAccessException dve) {
+            final Throwable realCause = dve.getMostSpecificCause();
+            if (realCause.getMessage() != null && (realCause.getMessage().contains("Duplicate entry")
+                    || realCause.getMessage().contains("duplicate key value"))) {
+                throw new PlatformDataIntegrityException("error.msg.datatable.entry.duplicate",
+                        "An entry already exists for datatable `" + dataTableName + "` and one of the application table identifiers.",
+                        "dataTableName", dataTableName, dve);
+            }
+            logAsErrorUnexpectedDataIntegrityException(dve);
+            throw new PlatformDataIntegrityException("error.msg.unknown.data.integrity.issue",
+                    "Unknown data integrity issue with resource.", dve);
+        }
+
+        final Map<String, Object> changes = new HashMap<>();
+        changes.put("entriesCreated", entries.size());
+        return new CommandProcessingResultBuilder() //
+                .withCommandId(command.commandId()) //
+                .withResourceIdAsString(dataTableName) //
+                .with(changes) //
+                .build();
+    }
+
+    private static final class DatatableEntryValues {
+
+        private final Long appTableId;
+        private final Map<String, String> columns;
+
+        private DatatableEntryValues(final Long appTableId, final Map<String, String> columns) {
+            this.appTableId = appTableId;
+            this.columns = columns;
+        }
+    }
+
     @Override
     public CommandProcessingResult createPPIEntry(final String dataTableName, final Long appTableId, final JsonCommand command) {
 
@@ -448,7 +556,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             final String appTable = queryForApplicationTableName(dataTableName);
             final CommandProcessingResult commandProcessingResult = checkMainResourceExistsWithinScope(appTable, appTableId);
 
-            final List<ResultsetColumnHeaderData> columnHeaders = this.genericDataService.fillResultsetColumnHeaders(dataTableName, false);
+            final List<ResultsetColumnHeaderData> columnHeaders = this.datatableSchemaRegistry.retrieveColumnHeaders(dataTableName, false);
 
             final Type typeOfMap = new TypeToken<Map<String, String>>() {}.getType();
             final Map<String, String> dataParams = this.fromJsonHelper.extractDataMap(typeOfMap, command.json());
@@ -580,6 +688,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         sqlBuilder = sqlBuilder.append(", ");
     }
 
+    @CacheEvict(value = DatatableSchemaRegistry.CACHE_NAME, allEntries = true)
     @Transactional
     @Override
     public CommandProcessingResult createDatatable(final JsonCommand command) {
@@ -693,9 +802,14 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         return new CommandProcessingResultBuilder().withCommandId(command.commandId()).withResourceIdAsString(datatableName).build();
     }
 
-    private long addMultirowRecord(String sql) throws SQLException {
+    private long addMultirowRecord(final DatatableWriteStatement statement, final Map<String, String> affectedColumns,
+            final Long appTableId, final LocalDateTime now) throws SQLException {
         KeyHolder keyHolder = new GeneratedKeyHolder();
-        int insertsCount = this.jdbcTemplate.update(c -> c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS), keyHolder);
+        int insertsCount = this.jdbcTemplate.update(c -> {
+            final PreparedStatement ps = c.prepareStatement(statement.getSql(), Statement.RETURN_GENERATED_KEYS);
+            statement.bind(ps, affectedColumns, appTableId, now);
+            return ps;
+        }, keyHolder);
         if (insertsCount == 1) {
             Number assignedKey = null;
             if (keyHolder.getKeys().size() > 1) {
@@ -935,6 +1049,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         }
     }
 
+    @CacheEvict(value = DatatableSchemaRegistry.CACHE_NAME, allEntries = true)
     @Transactional
     @Override
     public void updateDatatable(final String datatableName, final JsonCommand command) {
@@ -1132,6 +1247,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         }
     }
 
+    @CacheEvict(value = DatatableSchemaRegistry.CACHE_NAME, allEntries = true)
     @Transactional
     @Override
     public void deleteDatatable(final String datatableName) {
@@ -1225,19 +1341,13 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         final Map<String, Object> changes = getAffectedAndChangedColumns(grs, dataParams, pkName);
 
         if (!changes.isEmpty()) {
-            Long pkValue = appTableId;
-            if (datatableId != null) {
-                pkValue = datatableId;
-            }
-            final String sql = getUpdateSql(grs.getColumnHeaders(), dataTableName, pkName, pkValue, changes);
-            LOG.info("Update sql: {}", sql);
-            if (StringUtils.isNotBlank(sql)) {
-                this.jdbcTemplate.update(sql);
-                changes.put("locale", dataParams.get("locale"));
-                changes.put("dateFormat", "yyyy-MM-dd");
-            } else {
-                LOG.info("No Changes");
-            }
+            final Long pkValue = datatableId != null ? datatableId : appTableId;
+            final DatatableWriteStatement statement = getUpdateStatement(grs.getColumnHeaders(), dataTableName, pkName, changes);
+            LOG.info("Update sql: {}", statement.getSql());
+            final LocalDateTime now = DateUtils.getLocalDateTimeOfTenant();
+            this.jdbcTemplate.update(statement.getSql(), ps -> statement.bind(ps, changes, pkValue, now));
+            changes.put("locale", dataParams.get("locale"));
+            changes.put("dateFormat", "yyyy-MM-dd");
         }
 
         return new CommandProcessingResultBuilder() //
@@ -1294,7 +1404,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
         checkMainResourceExistsWithinScope(appTable, appTableId);
 
-        final List<ResultsetColumnHeaderData> columnHeaders = this.genericDataService.fillResultsetColumnHeaders(dataTableName, true);
+        final List<ResultsetColumnHeaderData> columnHeaders = this.datatableSchemaRegistry.retrieveColumnHeaders(dataTableName, true);
 
         final boolean multiRow = isMultirowDatatable(columnHeaders);
 
@@ -1320,7 +1430,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
     private GenericResultsetData retrieveDataTableGenericResultSetForUpdate(final String appTable, final String dataTableName,
             final Long appTableId, final Long id) {
 
-        final List<ResultsetColumnHeaderData> columnHeaders = this.genericDataService.fillResultsetColumnHeaders(dataTableName, false);
+        final List<ResultsetColumnHeaderData> columnHeaders = this.datatableSchemaRegistry.retrieveColumnHeaders(dataTableName, false);
 
         final boolean multiRow = isMultirowDatatable(columnHeaders);
 
@@ -1340,7 +1450,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
     private CommandProcessingResult checkMainResourceExistsWithinScope(final String appTable, final Long appTableId) {
 
-        final String sql = dataScopedSQL(appTable, appTableId);
+        final String sql = dataScopedSQL(appTable, "= " + appTableId);
         LOG.info("data scoped sql: {}", sql);
         final SqlRowSet rs = this.jdbcTemplate.queryForRowSet(sql);
 
@@ -1368,6 +1478,50 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
                 .build();
     }
 
+    /**
+     * Checks all application table rows with a single data scoped query, failing on the first row that does not exist
+     * or is outside the office hierarchy of the user.
+     */
+    private void checkMainResourcesExistWithinScope(final String appTable, final Set<Long> appTableIds) {
+
+        final String ids = appTableIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        final String sql = dataScopedSQL(appTable, "in (" + ids + ")");
+        LOG.info("data scoped sql: {}", sql);
+        final SqlRowSet rs = this.jdbcTemplate.queryForRowSet(sql);
+
+        final String idColumn = dataScopedIdColumn(appTable);
+        final Set<Long> found = new HashSet<>();
+        while (rs.next()) {
+            if (!found.add(rs.getLong(idColumn))) {
+                throw new DatatableSystemErrorException("System Error: More than one row returned from data scoping query");
+            }
+        }
+        for (final Long appTableId : appTableIds) {
+            if (!found.contains(appTableId)) {
+                throw new DatatableNotFoundException(appTable, appTableId);
+            }
+        }
+    }
+
+    private String dataScopedIdColumn(final String appTable) {
+        if (appTable.equalsIgnoreCase("m_loan")) {
+            return "loanId";
+        }
+        if (appTable.equalsIgnoreCase("m_savings_account")) {
+            return "savingsId";
+        }
+        if (appTable.equalsIgnoreCase("m_client")) {
+            return "clientId";
+        }
+        if (appTable.equalsIgnoreCase("m_group") || appTable.equalsIgnoreCase("m_center")) {
+            return "groupId";
+        }
+        if (appTable.equalsIgnoreCase("m_office")) {
+            return "officeId";
+        }
+        return "entityId";
+    }
+
     private Long getLongSqlRowSet(final SqlRowSet rs, final String column) {
         Long val = rs.getLong(column);
         if (val == 0) {
@@ -1376,7 +1530,11 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         return val;
     }
 
-    private String dataScopedSQL(final String appTable, final Long appTableId) {
+    /**
+     * @param idCondition
+     *            condition on the id of the application table row, either <code>= id</code> or <code>in (ids)</code>
+     */
+    private String dataScopedSQL(final String appTable, final String idCondition) {
         /*
          * unfortunately have to, one way or another, be able to restrict data to the users office hierarchy. Here, a
          * few key tables are done. But if additional fields are needed on other tables the same pattern applies
@@ -1392,38 +1550,38 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             scopedSQL = "select distinct x.* from ("
                     + " (select o.id as officeId, l.group_id as groupId, l.client_id as clientId, null as savingsId, l.id as loanId, null as entityId from m_loan l "
                     + " join m_client c on c.id = l.client_id " + " join m_office o on o.id = c.office_id and o.hierarchy like '"
-                    + currentUser.getOffice().getHierarchy() + "%'" + " where l.id = " + appTableId + ")" + " union all "
+                    + currentUser.getOffice().getHierarchy() + "%'" + " where l.id " + idCondition + ")" + " union all "
                     + " (select o.id as officeId, l.group_id as groupId, l.client_id as clientId, null as savingsId, l.id as loanId, null as entityId from m_loan l "
                     + " join m_group g on g.id = l.group_id " + " join m_office o on o.id = g.office_id and o.hierarchy like '"
-                    + currentUser.getOffice().getHierarchy() + "%'" + " where l.id = " + appTableId + ")" + " ) as x";
+                    + currentUser.getOffice().getHierarchy() + "%'" + " where l.id " + idCondition + ")" + " ) as x";
         }
         if (appTable.equalsIgnoreCase("m_savings_account")) {
             scopedSQL = "select distinct x.* from ("
                     + " (select o.id as officeId, s.group_id as groupId, s.client_id as clientId, s.id as savingsId, null as loanId, null as entityId from m_savings_account s "
                     + " join m_client c on c.id = s.client_id " + " join m_office o on o.id = c.office_id and o.hierarchy like '"
-                    + currentUser.getOffice().getHierarchy() + "%'" + " where s.id = " + appTableId + ")" + " union all "
+                    + currentUser.getOffice().getHierarchy() + "%'" + " where s.id " + idCondition + ")" + " union all "
                     + " (select o.id as officeId, s.group_id as groupId, s.client_id as clientId, s.id as savingsId, null as loanId, null as entityId from m_savings_account s "
                     + " join m_group g on g.id = s.group_id " + " join m_office o on o.id = g.office_id and o.hierarchy like '"
-                    + currentUser.getOffice().getHierarchy() + "%'" + " where s.id = " + appTableId + ")" + " ) as x";
+                    + currentUser.getOffice().getHierarchy() + "%'" + " where s.id " + idCondition + ")" + " ) as x";
         }
         if (appTable.equalsIgnoreCase("m_client")) {
             scopedSQL = "select o.id as officeId, null as groupId, c.id as clientId, null as savingsId, null as loanId, null as entityId from m_client c "
                     + " join m_office o on o.id = c.office_id and o.hierarchy like '" + currentUser.getOffice().getHierarchy() + "%'"
-                    + " where c.id = " + appTableId;
+                    + " where c.id " + idCondition;
         }
         if (appTable.equalsIgnoreCase("m_group") || appTable.equalsIgnoreCase("m_center")) {
             scopedSQL = "select o.id as officeId, g.id as groupId, null as clientId, null as savingsId, null as loanId, null as entityId from m_group g "
                     + " join m_office o on o.id = g.office_id and o.hierarchy like '" + currentUser.getOffice().getHierarchy() + "%'"
-                    + " where g.id = " + appTableId;
+                    + " where g.id " + idCondition;
         }
         if (appTable.equalsIgnoreCase("m_office")) {
             scopedSQL = "select o.id as officeId, null as groupId, null as clientId, null as savingsId, null as loanId, null as entityId from m_office o "
-                    + " where o.hierarchy like '" + currentUser.getOffice().getHierarchy() + "%'" + " and o.id = " + appTableId;
+                    + " where o.hierarchy like '" + currentUser.getOffice().getHierarchy() + "%'" + " and o.id " + idCondition;
         }
 
         if (appTable.equalsIgnoreCase("m_product_loan") || appTable.equalsIgnoreCase("m_savings_product")) {
             scopedSQL = "select null as officeId, null as groupId, null as clientId, null as savingsId, null as loanId, p.id as entityId from "
-                    + appTable + " as p WHERE p.id = " + appTableId;
+                    + appTable + " as p WHERE p.id " + idCondition;
         }
 
         if (scopedSQL == null) {
@@ -1496,78 +1654,23 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
 
     private String queryForApplicationTableName(final String datatable) {
         SQLInjectionValidator.validateSQLInput(datatable);
-        final String sql = "SELECT application_table_name FROM x_registered_table where registered_table_name = ?";
-
-        String applicationTableName = "";
-
-        final SqlRowSet rowSet = jdbcTemplate.queryForRowSet(sql, new Object[] { datatable }); // NOSONAR
-        if (rowSet.next()) {
-            applicationTableName = rowSet.getString("application_table_name");
-        } else {
-            throw new DatatableNotFoundException(datatable);
-        }
-
-        return applicationTableName;
+        return this.datatableSchemaRegistry.retrieveApplicationTableName(datatable);
     }
 
     private String getFKField(final String applicationTableName) {
         return applicationTableName.substring(2) + "_id";
     }
 
-    private String getAddSql(final List<ResultsetColumnHeaderData> columnHeaders, final String datatable, final String fkName,
-            final Long appTableId, final Map<String, String> queryParams) {
-
-        final Map<String, String> affectedColumns = getAffectedColumns(columnHeaders, queryParams, fkName);
-
-        String pValueWrite = "";
-        String addSql = "";
-        final String singleQuote = "'";
-
-        String insertColumns = "";
-        String selectColumns = "";
-        String columnName = "";
-        String pValue = null;
-        for (final ResultsetColumnHeaderData pColumnHeader : columnHeaders) {
-            final String key = pColumnHeader.getColumnName();
-            if (affectedColumns.containsKey(key)) {
-                pValue = affectedColumns.get(key);
-                if (StringUtils.isEmpty(pValue)) {
-                    pValueWrite = "null";
-                } else {
-                    if ("bit".equalsIgnoreCase(pColumnHeader.getColumnType())) {
-                        if (databaseTypeResolver.isMySQL()) {
-                            pValueWrite = BooleanUtils.toString(BooleanUtils.toBooleanObject(pValue), "1", "0", "null");
-                        } else if (databaseTypeResolver.isPostgreSQL()) {
-                            pValueWrite = BooleanUtils.toString(BooleanUtils.toBooleanObject(pValue), "B'1'", "B'0'", "null");
-                        } else {
-                            throw new IllegalStateException("Current database is not supported");
-                        }
-
-                    } else {
-                        pValueWrite = singleQuote + this.genericDataService.replace(pValue, singleQuote, singleQuote + singleQuote)
-                                + singleQuote;
-                    }
-
-                }
-                columnName = sqlGenerator.escape(key);
-                insertColumns += ", " + columnName;
-                selectColumns += "," + pValueWrite + " as " + columnName;
-            } else {
-                if (key.equalsIgnoreCase(DataTableApiConstant.CREATEDAT_FIELD_NAME)
-                        || key.equalsIgnoreCase(DataTableApiConstant.UPDATEDAT_FIELD_NAME)) {
-                    columnName = sqlGenerator.escape(key);
-                    insertColumns += ", " + columnName;
-                    selectColumns += "," + sqlGenerator.currentTenantDateTime() + " as " + columnName;
-                }
+    private DatatableWriteStatement getInsertStatement(final List<ResultsetColumnHeaderData> columnHeaders, final String datatable,
+            final String fkName, final Map<String, String> affectedColumns) {
+        final List<ResultsetColumnHeaderData> columns = new ArrayList<>();
+        for (final ResultsetColumnHeaderData columnHeader : columnHeaders) {
+            final String key = columnHeader.getColumnName();
+            if (affectedColumns.containsKey(key) || DatatableWriteStatement.isAuditColumn(key)) {
+                columns.add(columnHeader);
             }
         }
-
-        addSql = "insert into " + sqlGenerator.escape(datatable) + " (" + sqlGenerator.escape(fkName) + " " + insertColumns + ")"
-                + " select " + appTableId + " as id" + selectColumns;
-
-        LOG.info("{}", addSql);
-
-        return addSql;
+        return this.writeStatementCache.insertStatement(datatable, fkName, columns);
     }
 
     /**
@@ -1620,8 +1723,8 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         return vaddSql;
     }
 
-    private String getUpdateSql(List<ResultsetColumnHeaderData> columnHeaders, final String datatable, final String keyFieldName,
-            final Long keyFieldValue, final Map<String, Object> changedColumns) {
+    private DatatableWriteStatement getUpdateStatement(final List<ResultsetColumnHeaderData> columnHeaders, final String datatable,
+            final String keyFieldName, final Map<String, Object> changedColumns) {
 
         // just updating fields that have changed since pre-update read - though
         // its possible these values are different from the page the user was
@@ -1630,53 +1733,14 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         // completeness but its okay to take this risk with additional fields
         // data
 
-        if (changedColumns.size() == 0) {
-            return null;
-        }
-
-        String pValue = null;
-        String pValueWrite = "";
-        final String singleQuote = "'";
-        boolean firstColumn = true;
-        String sql = "update " + sqlGenerator.escape(datatable) + " ";
-        for (final ResultsetColumnHeaderData pColumnHeader : columnHeaders) {
-            final String key = pColumnHeader.getColumnName();
-            if (changedColumns.containsKey(key)) {
-                if (firstColumn) {
-                    sql += " set ";
-                    firstColumn = false;
-                } else {
-                    sql += ", ";
-                }
-
-                pValue = (String) changedColumns.get(key);
-                if (StringUtils.isEmpty(pValue)) {
-                    pValueWrite = "null";
-                } else {
-                    if ("bit".equalsIgnoreCase(pColumnHeader.getColumnType())) {
-                        if (databaseTypeResolver.isMySQL()) {
-                            pValueWrite = BooleanUtils.toString(BooleanUtils.toBooleanObject(pValue), "1", "0", "null");
-                        } else if (databaseTypeResolver.isPostgreSQL()) {
-                            pValueWrite = BooleanUtils.toString(BooleanUtils.toBooleanObject(pValue), "B'1'", "B'0'", "null");
-                        } else {
-                            throw new IllegalStateException("Current database is not supported");
-                        }
-                    } else {
-                        pValueWrite = singleQuote + this.genericDataService.replace(pValue, singleQuote, singleQuote + singleQuote)
-                                + singleQuote;
-                    }
-                }
-                sql += sqlGenerator.escape(key) + " = " + pValueWrite;
-            } else {
-                if (key.equalsIgnoreCase(DataTableApiConstant.UPDATEDAT_FIELD_NAME)) {
-                    sql += ", " + sqlGenerator.escape(key) + " = " + sqlGenerator.currentTenantDateTime();
-                }
+        final List<ResultsetColumnHeaderData> columns = new ArrayList<>();
+        for (final ResultsetColumnHeaderData columnHeader : columnHeaders) {
+            final String key = columnHeader.getColumnName();
+            if (changedColumns.containsKey(key) || key.equalsIgnoreCase(DataTableApiConstant.UPDATEDAT_FIELD_NAME)) {
+                columns.add(columnHeader);
             }
         }
-
-        sql += " where " + keyFieldName + " = " + keyFieldValue;
-
-        return sql;
+        return this.writeStatementCache.updateStatement(datatable, keyFieldName, columns);
     }
 
     private Map<String, Object> getAffectedAndChangedColumns(final GenericResultsetData grs, final Map<String, String> queryParams,
@@ -1975,8 +2039,8 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             final String appTableName = rowSet.getString("application_table_name");
             final String registeredDatatableName = rowSet.getString("registered_table_name");
             final String entitySubType = rowSet.getString("entity_subtype");
-            final List<ResultsetColumnHeaderData> columnHeaderData = this.genericDataService
-                    .fillResultsetColumnHeaders(registeredDatatableName, true);
+            final List<ResultsetColumnHeaderData> columnHeaderData = this.datatableSchemaRegistry
+                    .retrieveColumnHeaders(registeredDatatableName, true);
 
             datatableData = DatatableData.create(appTableName, registeredDatatableName, entitySubType, columnHeaderData);
         }
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * Hands every report row to a consumer as a map of column label to typed value while the JDBC cursor is read. Integer
+ * columns are {@link Long}, decimals {@link BigDecimal}, dates {@link java.time.LocalDate}, date times
+ * {@link java.time.LocalDateTime}, bits {@link Boolean} and everything else {@link String}.
+ */
+final class TypedReportRowCallbackHandler implements RowCallbackHandler {
+
+    private final Consumer<Map<String, Object>> rowConsumer;
+    private List<ResultsetColumnHeaderData> columnHeaders;
+
+    TypedReportRowCallbackHandler(final Consumer<Map<String, Object>> rowConsumer) {
+        this.rowConsumer = rowConsumer;
+    }
+
+    @Override
+    public void processRow(final ResultSet rs) throws SQLException {
+        if (this.columnHeaders == null) {
+            this.columnHeaders = readColumnHeaders(rs.getMetaData());
+        }
+        final Map<String, Object> row = new HashMap<>(this.columnHeaders.size() * 2);
+        for (int i = 0; i < this.columnHeaders.size(); i++) {
+            final ResultsetColumnHeaderData columnHeader = this.columnHeaders.get(i);
+            row.put(columnHeader.getColumnName(), readValue(rs, i + 1, columnHeader));
+        }
+        this.rowConsumer.accept(row);
+    }
+
+    private static List<ResultsetColumnHeaderData> readColumnHeaders(final ResultSetMetaData metaData) throws SQLException {
+        final List<ResultsetColumnHeaderData> headers = new ArrayList<>(metaData.getColumnCount());
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            headers.add(ResultsetColumnHeaderData.basic(metaData.getColumnLabel(i), metaData.getColumnTypeName(i)));
+        }
+        return headers;
+    }
+
+    private static Object readValue(final ResultSet rs, final int index, final ResultsetColumnHeaderData columnHeader)
+            throws SQLException {
+        if (columnHeader.isIntegerDisplayType()) {
+            final long value = rs.getLong(index);
+            return rs.wasNull() ? null : value;
+        } else if (columnHeader.isDecimalDisplayType()) {
+            return rs.getBigDecimal(index);
+        } else if (columnHeader.isDateDisplayType()) {
+            final Date value = rs.getDate(index);
+            return value == null ? null : value.toLocalDate();
+        } else if (columnHeader.isDateTimeDisplayType()) {
+            final Timestamp value = rs.getTimestamp(index);
+            return value == null ? null : value.toLocalDateTime();
+        } else if (columnHeader.isBooleanDisplayType()) {
+            final boolean value = rs.getBoolean(index);
+            return rs.wasNull() ? null : value;
+        }
+        return rs.getString(index);
+    }
+}
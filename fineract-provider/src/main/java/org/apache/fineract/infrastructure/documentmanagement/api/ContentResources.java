@@ -18,14 +18,25 @@
  */
 package org.apache.fineract.infrastructure.documentmanagement.api;
 
+import com.google.common.base.Optional;
 import com.google.common.io.ByteSource;
-import java.io.IOException;
+import java.io.File;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.apache.fineract.infrastructure.documentmanagement.exception.ContentManagementException;
 
 /**
  * Utilities common to file upload/download resources.
@@ -34,28 +45,157 @@ import org.slf4j.LoggerFactory;
  */
 final class ContentResources {
 
-    private static final Logger LOG = LoggerFactory.getLogger(ContentResources.class);
+    // IMF-fixdate, RFC_1123_DATE_TIME does not zero-pad the day of month
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US)
+            .withZone(ZoneOffset.UTC);
 
     private ContentResources() {}
 
     static Response fileDataToResponse(FileData fileData, String fileName, String dispositionType) {
-        ResponseBuilder response;
-        try {
-            ByteSource byteSource = fileData.getByteSource();
-            // TODO Where is this InputStream closed?! It needs to be AFTER it's read by JAX-RS.. how to do that?
-            InputStream is = byteSource.openBufferedStream();
-            response = Response.ok(is);
-            response.header("Content-Disposition", dispositionType + "; filename=\"" + fileName + "\"");
-            response.header("Content-Length", byteSource.sizeIfKnown().or(-1L));
-            response.header("Content-Type", fileData.contentType());
-        } catch (IOException e) {
-            LOG.error("resizedImage.getByteSource().openBufferedStream() failed", e);
-            response = Response.serverError();
+        return fileDataToResponse(fileData, fileName, dispositionType, null, null);
+    }
+
+    static Response fileDataToResponse(FileData fileData, String dispositionType) {
+        return fileDataToResponse(fileData, fileData.name(), dispositionType, null, null);
+    }
+
+    /**
+     * Streams the file to the client without buffering it on the heap. Files kept on the local file system are sent
+     * with {@link FileChannel#transferTo(long, long, WritableByteChannel)} and honour a single HTTP byte range (plus
+     * <code>If-Range</code> against <code>Last-Modified</code>), so that interrupted downloads can be resumed; other
+     * storage is passed through as it is read.
+     */
+    static Response fileDataToResponse(FileData fileData, String fileName, String dispositionType, String rangeHeader,
+            String ifRangeHeader) {
+        final File file = fileData.getFile();
+        if (file == null) {
+            return streamedResponse(fileData, fileName, dispositionType);
+        }
+        if (!file.isFile()) {
+            throw new ContentManagementException(fileName, "File not found in the content repository");
         }
+
+        final long size = file.length();
+        final String lastModified = HTTP_DATE.format(Instant.ofEpochMilli(file.lastModified()));
+        final boolean rangeApplies = StringUtils.isBlank(ifRangeHeader) || ifRangeHeader.trim().equals(lastModified);
+        final ByteRange range = rangeApplies ? ByteRange.parse(rangeHeader, size) : null;
+
+        if (range == ByteRange.UNSATISFIABLE) {
+            return Response.status(Status.REQUESTED_RANGE_NOT_SATISFIABLE).header("Content-Range", "bytes */" + size)
+                    .header("Accept-Ranges", "bytes").build();
+        }
+
+        final ResponseBuilder response;
+        if (range == null) {
+            response = Response.ok(transferTo(file, 0, size));
+            response.header("Content-Length", size);
+        } else {
+            response = Response.status(Status.PARTIAL_CONTENT).entity(transferTo(file, range.start(), range.length()));
+            response.header("Content-Range", "bytes " + range.start() + "-" + range.end() + "/" + size);
+            response.header("Content-Length", range.length());
+        }
+        response.header("Accept-Ranges", "bytes");
+        response.header("Last-Modified", lastModified);
+        response.header("Content-Disposition", dispositionType + "; filename=\"" + fileName + "\"");
+        response.header("Content-Type", fileData.contentType());
         return response.build();
     }
 
-    static Response fileDataToResponse(FileData fileData, String dispositionType) {
-        return fileDataToResponse(fileData, fileData.name(), dispositionType);
+    static Response bytesToResponse(byte[] content, String contentType, String fileName, String dispositionType) {
+        return Response.ok(content).header("Content-Disposition", dispositionType + "; filename=\"" + fileName + "\"")
+                .header("Content-Length", content.length).header("Content-Type", contentType).build();
+    }
+
+    private static Response streamedResponse(FileData fileData, String fileName, String dispositionType) {
+        final ByteSource byteSource = fileData.getByteSource();
+        final StreamingOutput output = os -> {
+            try (InputStream is = byteSource.openStream()) {
+                is.transferTo(os);
+            }
+        };
+        final ResponseBuilder response = Response.ok(output);
+        response.header("Content-Disposition", dispositionType + "; filename=\"" + fileName + "\"");
+        final Optional<Long> size = byteSource.sizeIfKnown();
+        if (size.isPresent()) {
+            response.header("Content-Length", size.get());
+        }
+        response.header("Content-Type", fileData.contentType());
+        return response.build();
+    }
+
+    private static StreamingOutput transferTo(final File file, final long position, final long count) {
+        return os -> {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                // the response stream is left open, JAX-RS closes it
+                final WritableByteChannel target = Channels.newChannel(os);
+                long transferred = 0;
+                while (transferred < count) {
+                    final long written = channel.transferTo(position + transferred, count - transferred, target);
+                    if (written <= 0) {
+                        // file was truncated while sending
+                        break;
+                    }
+                    transferred += written;
+                }
+            }
+        };
+    }
+
+    /**
+     * A single, satisfiable <code>bytes=</code> range of a representation of known size (RFC 7233).
+     */
+    record ByteRange(long start, long end) {
+
+        static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+        long length() {
+            return this.end - this.start + 1;
+        }
+
+        /**
+         * @return the requested range, {@link #UNSATISFIABLE}, or <code>null</code> when the whole representation has
+         *         to be sent (no header, multiple ranges or a header that cannot be parsed)
+         */
+        static ByteRange parse(final String header, final long size) {
+            if (StringUtils.isBlank(header) || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+                return null;
+            }
+            final String spec = header.substring("bytes=".length()).trim();
+            final int dash = spec.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            final String first = spec.substring(0, dash).trim();
+            final String last = spec.substring(dash + 1).trim();
+            try {
+                final long start;
+                final long end;
+                if (first.isEmpty()) {
+                    // suffix range, the final N bytes
+                    if (last.isEmpty()) {
+                        return null;
+                    }
+                    final long suffixLength = Long.parseLong(last);
+                    if (suffixLength <= 0) {
+                        return UNSATISFIABLE;
+                    }
+                    start = Math.max(0, size - suffixLength);
+                    end = size - 1;
+                } else {
+                    start = Long.parseLong(first);
+                    final long requestedEnd = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+                    if (start < 0 || requestedEnd < start) {
+                        return null;
+                    }
+                    end = Math.min(requestedEnd, size - 1);
+                }
+                if (start >= size) {
+                    return UNSATISFIABLE;
+                }
+                return new ByteRange(start, end);
+            } catch (final NumberFormatException e) {
+                return null;
+            }
+        }
     }
 }
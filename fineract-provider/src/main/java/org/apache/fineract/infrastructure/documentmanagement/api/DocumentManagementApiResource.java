@@ -216,14 +216,17 @@ public class DocumentManagementApiResource {
     @Produces({ MediaType.APPLICATION_OCTET_STREAM })
     @Operation(summary = "Retrieve Binary File associated with Document", description = "Request used to download the file associated with the document\n"
             + "\n" + "Example Requests:\n" + "\n" + "clients/1/documents/1/attachment\n" + "\n" + "\n" + "loans/1/documents/1/attachment")
-    @ApiResponses({ @ApiResponse(responseCode = "200", description = "Not Shown: The corresponding Binary file") })
+    @ApiResponses({ @ApiResponse(responseCode = "200", description = "Not Shown: The corresponding Binary file"),
+            @ApiResponse(responseCode = "206", description = "Not Shown: The requested byte range of the Binary file") })
     public Response downloadFile(@PathParam("entityType") @Parameter(description = "entityType") final String entityType,
             @PathParam("entityId") @Parameter(description = "entityId") final Long entityId,
-            @PathParam("documentId") @Parameter(description = "documentId") final Long documentId) {
+            @PathParam("documentId") @Parameter(description = "documentId") final Long documentId,
+            @HeaderParam("Range") @Parameter(description = "Range") final String range,
+            @HeaderParam("If-Range") @Parameter(description = "If-Range") final String ifRange) {
 
         this.context.authenticatedUser().validateHasReadPermission(this.systemEntityType);
         final FileData fileData = this.documentReadPlatformService.retrieveFileData(entityType, entityId, documentId);
-        return ContentResources.fileDataToResponse(fileData, "attachment");
+        return ContentResources.fileDataToResponse(fileData, fileData.name(), "attachment", range, ifRange);
     }
 
     @DELETE
@@ -42,11 +42,11 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.UploadRequest;
 import org.apache.fineract.infrastructure.core.domain.Base64EncodedImage;
+import org.apache.fineract.infrastructure.core.filters.ConditionalGet;
 import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
 import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils;
 import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils.ImageFileExtension;
 import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
-import org.apache.fineract.infrastructure.documentmanagement.data.ImageResizer;
 import org.apache.fineract.infrastructure.documentmanagement.exception.ContentManagementException;
 import org.apache.fineract.infrastructure.documentmanagement.exception.InvalidEntityTypeForImageManagementException;
 import org.apache.fineract.infrastructure.documentmanagement.service.ImageReadPlatformService;
@@ -71,7 +71,6 @@ public class ImagesApiResource {
     private final ImageWritePlatformService imageWritePlatformService;
     private final DefaultToApiJsonSerializer<ClientData> toApiJsonSerializer;
     private final FileUploadValidator fileUploadValidator;
-    private final ImageResizer imageResizer;
 
     /**
      * Upload images through multi-part form upload
@@ -117,9 +116,11 @@ public class ImagesApiResource {
 
     /**
      * Returns a images, either as Base64 encoded text/plain or as inline or attachment with image MIME type as
-     * Content-Type.
+     * Content-Type. Scaled variants are rendered once and kept in the content repository; responses carry an ETag so
+     * that clients can revalidate with If-None-Match.
      */
     @GET
+    @ConditionalGet
     @Consumes(MediaType.APPLICATION_JSON)
     // FINERACT-1265: Do NOT specify @Produces(TEXT_PLAIN) here - it may actually not (if it calls the next methods it's
     // octet-stream)
@@ -135,38 +136,38 @@ public class ImagesApiResource {
             this.context.authenticatedUser();
         }
 
-        final FileData imageData = this.imageReadPlatformService.retrieveImage(entityName, entityId);
-        final FileData resizedImage = imageResizer.resize(imageData, maxWidth, maxHeight);
+        final FileData resizedImage = this.imageReadPlatformService.retrieveImage(entityName, entityId, maxWidth, maxHeight);
+        final byte[] resizedImageBytes;
+        try {
+            resizedImageBytes = resizedImage.getByteSource().read();
+        } catch (IOException e) {
+            throw new ContentManagementException(resizedImage.name(), e.getMessage(), e);
+        }
 
         // If client wants (Accept header) octet-stream, or output="octet" or "inline_octet", then send that instead of
         // text
         if ("application/octet-stream".equalsIgnoreCase(acceptHeader)
                 || (output != null && (output.equals("octet") || output.equals("inline_octet")))) {
-            return ContentResources.fileDataToResponse(resizedImage, resizedImage.name() + ImageFileExtension.JPEG,
-                    "inline_octet".equals(output) ? "inline" : "attachment");
+            return ContentResources.bytesToResponse(resizedImageBytes, resizedImage.contentType(),
+                    resizedImage.name() + ImageFileExtension.JPEG, "inline_octet".equals(output) ? "inline" : "attachment");
         }
 
         // Else return response with Base64 encoded
         // TODO: Need a better way of determining image type
         String imageDataURISuffix = ContentRepositoryUtils.ImageDataURIsuffix.JPEG.getValue();
-        if (StringUtils.endsWith(imageData.name(), ContentRepositoryUtils.ImageFileExtension.GIF.getValue())) {
+        if (StringUtils.endsWith(resizedImage.name(), ContentRepositoryUtils.ImageFileExtension.GIF.getValue())) {
             imageDataURISuffix = ContentRepositoryUtils.ImageDataURIsuffix.GIF.getValue();
-        } else if (StringUtils.endsWith(imageData.name(), ContentRepositoryUtils.ImageFileExtension.PNG.getValue())) {
+        } else if (StringUtils.endsWith(resizedImage.name(), ContentRepositoryUtils.ImageFileExtension.PNG.getValue())) {
             imageDataURISuffix = ContentRepositoryUtils.ImageDataURIsuffix.PNG.getValue();
         }
 
-        try {
-            byte[] resizedImageBytes = resizedImage.getByteSource().read();
-            if (resizedImageBytes != null) {
-                final String clientImageAsBase64Text = imageDataURISuffix + Base64.getMimeEncoder().encodeToString(resizedImageBytes);
-                return Response.ok(clientImageAsBase64Text, MediaType.TEXT_PLAIN_TYPE).build();
-            } else {
-                log.error("resizedImageBytes is null for entityName={}, entityId={}, maxWidth={}, maxHeight={}", entityName, entityId,
-                        maxWidth, maxHeight);
-                return Response.serverError().build();
-            }
-        } catch (IOException e) {
-            throw new ContentManagementException(imageData.name(), e.getMessage(), e);
+        if (resizedImageBytes != null) {
+            final String clientImageAsBase64Text = imageDataURISuffix + Base64.getMimeEncoder().encodeToString(resizedImageBytes);
+            return Response.ok(clientImageAsBase64Text, MediaType.TEXT_PLAIN_TYPE).build();
+        } else {
+            log.error("resizedImageBytes is null for entityName={}, entityId={}, maxWidth={}, maxHeight={}", entityName, entityId,
+                    maxWidth, maxHeight);
+            return Response.serverError().build();
         }
     }
 
@@ -51,6 +51,18 @@ public interface ContentRepository {
 
     FileData fetchImage(ImageData imageData);
 
+    /**
+     * Returns a previously stored size variant (see {@link #saveImageRendition(ImageData, String, byte[])}) of the
+     * image, or <code>null</code> if that variant has not been rendered yet.
+     */
+    FileData fetchImageRendition(ImageData imageData, String variant);
+
+    /**
+     * Stores a derived size variant next to the original image. Variants are removed together with the original by
+     * {@link #deleteImage(String)}.
+     */
+    void saveImageRendition(ImageData imageData, String variant, byte[] content);
+
     StorageType getStorageType();
 
 }
@@ -19,6 +19,7 @@
 package org.apache.fineract.infrastructure.documentmanagement.contentrepository;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.File;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
@@ -124,6 +125,21 @@ public final class ContentRepositoryUtils {
         }
     }
 
+    /**
+     * Folder (or S3 key prefix) holding the derived size variants of the image stored at the given location.
+     */
+    public static String imageRenditionFolder(final String imageLocation) {
+        return imageLocation + ".renditions";
+    }
+
+    /**
+     * Location of a derived size variant of an image; keeps the extension of the original so that content whitelists
+     * and MIME type detection treat it like the original.
+     */
+    public static String imageRenditionLocation(final String imageLocation, final String variant) {
+        return imageRenditionFolder(imageLocation) + File.separator + variant + imageExtensionFromFileName(imageLocation).getValue();
+    }
+
     /**
      * Validates that passed in Mime type maps to known image mime types
      *
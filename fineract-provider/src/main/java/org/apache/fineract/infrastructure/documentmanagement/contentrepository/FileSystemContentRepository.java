@@ -84,6 +84,7 @@ public class FileSystemContentRepository implements ContentRepository {
     @Override
     public void deleteImage(final String location) {
         deleteFileInternal(location);
+        deleteImageRenditions(location);
     }
 
     @Override
@@ -102,12 +103,24 @@ public class FileSystemContentRepository implements ContentRepository {
         }
     }
 
+    private void deleteImageRenditions(final String imageLocation) {
+        final File renditionFolder = new File(ContentRepositoryUtils.imageRenditionFolder(pathSanitizer.sanitize(imageLocation)));
+        if (!renditionFolder.isDirectory()) {
+            return;
+        }
+        try {
+            FileUtils.deleteDirectory(renditionFolder);
+        } catch (final IOException ioException) {
+            log.warn("Unable to delete image renditions {}", renditionFolder, ioException);
+        }
+    }
+
     @Override
     public FileData fetchFile(final DocumentData documentData) {
         String sanitizedPath = pathSanitizer.sanitize(documentData.fileLocation());
 
         final File file = new File(sanitizedPath);
-        return new FileData(Files.asByteSource(file), documentData.fileName(), documentData.contentType());
+        return new FileData(file, documentData.fileName(), documentData.contentType());
     }
 
     @Override
@@ -115,7 +128,37 @@ public class FileSystemContentRepository implements ContentRepository {
         String sanitizedPath = pathSanitizer.sanitize(imageData.location());
 
         final File file = new File(sanitizedPath);
-        return new FileData(Files.asByteSource(file), imageData.getEntityDisplayName(), imageData.contentType().getValue());
+        return new FileData(file, imageData.getEntityDisplayName(), imageData.contentType().getValue());
+    }
+
+    @Override
+    public FileData fetchImageRendition(final ImageData imageData, final String variant) {
+        String sanitizedPath = pathSanitizer.sanitize(ContentRepositoryUtils.imageRenditionLocation(imageData.location(), variant));
+
+        final File file = new File(sanitizedPath);
+        if (!file.isFile()) {
+            return null;
+        }
+        return new FileData(file, imageData.getEntityDisplayName(), imageData.contentType().getValue());
+    }
+
+    @Override
+    public void saveImageRendition(final ImageData imageData, final String variant, final byte[] content) {
+        String sanitizedPath = pathSanitizer.sanitize(ContentRepositoryUtils.imageRenditionLocation(imageData.location(), variant));
+
+        final File file = new File(sanitizedPath);
+        File temporaryFile = null;
+        try {
+            Files.createParentDirs(file);
+            // write aside and rename, so that concurrent readers never see a partially written rendition
+            temporaryFile = File.createTempFile(file.getName(), ".tmp", file.getParentFile());
+            Files.asByteSink(temporaryFile).write(content);
+            Files.move(temporaryFile, file);
+        } catch (final IOException ioException) {
+            // the rendition is only a cache, the caller still has the resized image to serve
+            log.warn("Failed to write image rendition {}", sanitizedPath, ioException);
+            FileUtils.deleteQuietly(temporaryFile);
+        }
     }
 
     @Override
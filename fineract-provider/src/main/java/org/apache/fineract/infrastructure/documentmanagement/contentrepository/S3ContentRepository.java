@@ -22,10 +22,12 @@ import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.DeleteObjectRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.google.common.io.ByteSource;
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -43,6 +45,7 @@ import org.apache.fineract.infrastructure.documentmanagement.domain.StorageType;
 import org.apache.fineract.infrastructure.documentmanagement.exception.ContentManagementException;
 import org.apache.fineract.infrastructure.documentmanagement.exception.DocumentNotFoundException;
 import org.apache.fineract.infrastructure.security.utils.LogParameterEscapeUtil;
+import org.apache.http.HttpStatus;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
@@ -101,6 +104,7 @@ public class S3ContentRepository implements ContentRepository {
     @Override
     public void deleteImage(final String location) {
         deleteObject(location);
+        deleteImageRenditions(location);
     }
 
     @Override
@@ -127,6 +131,36 @@ public class S3ContentRepository implements ContentRepository {
         }, imageData.getEntityDisplayName(), imageData.contentType().getValue());
     }
 
+    @Override
+    public FileData fetchImageRendition(final ImageData imageData, final String variant) {
+        final String key = ContentRepositoryUtils.imageRenditionLocation(imageData.location(), variant);
+        final GetObjectRequest request = new GetObjectRequest(fineractProperties.getContent().getS3().getBucketName(), key);
+        final byte[] content;
+        try (S3Object s3object = this.s3Client.getObject(request); InputStream is = s3object.getObjectContent()) {
+            // renditions are small, read them eagerly so that a missing variant is detected here and not while streaming
+            content = is.readAllBytes();
+        } catch (final AmazonServiceException ase) {
+            if (ase.getStatusCode() == HttpStatus.SC_NOT_FOUND) {
+                return null;
+            }
+            throw new ContentManagementException(key, "message=" + ase.getMessage() + ", Error Type=" + ase.getErrorType(), ase);
+        } catch (final AmazonClientException | IOException e) {
+            throw new ContentManagementException(key, e.getMessage(), e);
+        }
+        return new FileData(ByteSource.wrap(content), imageData.getEntityDisplayName(), imageData.contentType().getValue());
+    }
+
+    @Override
+    public void saveImageRendition(final ImageData imageData, final String variant, final byte[] content) {
+        final String key = ContentRepositoryUtils.imageRenditionLocation(imageData.location(), variant);
+        try {
+            putObject(key, new ByteArrayInputStream(content), key);
+        } catch (final ContentManagementException e) {
+            // the rendition is only a cache, the caller still has the resized image to serve
+            log.warn("Failed to upload image rendition {}", LogParameterEscapeUtil.escapeLogParameter(key), e);
+        }
+    }
+
     @Override
     public StorageType getStorageType() {
         return StorageType.S3;
@@ -151,6 +185,21 @@ public class S3ContentRepository implements ContentRepository {
         }
     }
 
+    private void deleteImageRenditions(final String imageLocation) {
+        final String bucketName = fineractProperties.getContent().getS3().getBucketName();
+        final String prefix = ContentRepositoryUtils.imageRenditionFolder(imageLocation) + File.separator;
+        try {
+            final String[] keys = this.s3Client.listObjectsV2(bucketName, prefix).getObjectSummaries().stream()
+                    .map(S3ObjectSummary::getKey).toArray(String[]::new);
+            if (keys.length > 0) {
+                this.s3Client.deleteObjects(new DeleteObjectsRequest(bucketName).withKeys(keys));
+            }
+        } catch (final AmazonClientException ace) {
+            // no need to throw an Error, stale renditions are unreachable once the image location changes
+            log.warn("Unable to delete image renditions under {}", LogParameterEscapeUtil.escapeLogParameter(prefix), ace);
+        }
+    }
+
     private void putObject(final String filename, final InputStream inputStream, final String s3UploadLocation)
             throws ContentManagementException {
         try {
@@ -19,17 +19,32 @@
 package org.apache.fineract.infrastructure.documentmanagement.data;
 
 import com.google.common.io.ByteSource;
+import com.google.common.io.Files;
+import java.io.File;
 
 public class FileData {
 
     private final String fileName;
     private final String contentType;
     private final ByteSource byteSource;
+    private final File file;
 
     public FileData(final ByteSource byteSource, final String fileName, final String contentType) {
         this.fileName = fileName;
         this.contentType = contentType;
         this.byteSource = byteSource;
+        this.file = null;
+    }
+
+    /**
+     * File data backed by a file on the local file system, which can be sent with FileChannel#transferTo and served in
+     * byte ranges.
+     */
+    public FileData(final File file, final String fileName, final String contentType) {
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.byteSource = Files.asByteSource(file);
+        this.file = file;
     }
 
     public String contentType() {
@@ -43,4 +58,11 @@ public class FileData {
     public ByteSource getByteSource() {
         return this.byteSource;
     }
+
+    /**
+     * @return the local file holding the data, or <code>null</code> if it is not kept on the local file system
+     */
+    public File getFile() {
+        return this.file;
+    }
 }
@@ -24,4 +24,10 @@ public interface ImageReadPlatformService {
 
     FileData retrieveImage(String entityType, Long entityId);
 
+    /**
+     * Retrieves the image scaled down to fit into maxWidth x maxHeight. The scaled variant is rendered once and then
+     * kept next to the original in the content repository.
+     */
+    FileData retrieveImage(String entityType, Long entityId, Integer maxWidth, Integer maxHeight);
+
 }
@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.infrastructure.documentmanagement.service;
 
+import com.google.common.io.ByteSource;
+import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
@@ -26,7 +28,9 @@ import org.apache.fineract.infrastructure.documentmanagement.contentrepository.C
 import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryFactory;
 import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
 import org.apache.fineract.infrastructure.documentmanagement.data.ImageData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageResizer;
 import org.apache.fineract.infrastructure.documentmanagement.domain.StorageType;
+import org.apache.fineract.infrastructure.documentmanagement.exception.ContentManagementException;
 import org.apache.fineract.organisation.staff.domain.Staff;
 import org.apache.fineract.organisation.staff.domain.StaffRepositoryWrapper;
 import org.apache.fineract.portfolio.client.domain.Client;
@@ -44,21 +48,29 @@ import org.springframework.stereotype.Service;
 @Service
 public class ImageReadPlatformServiceImpl implements ImageReadPlatformService {
 
+    /**
+     * Sizes renditions are stored for; requested sizes are snapped down to one of them so the number of renditions kept
+     * per image stays bounded.
+     */
+    static final int[] RENDITION_SIZES = { 32, 48, 64, 96, 128, 192, 256, 384, 512, 768, 1024, 1536, 2048 };
+
     private final JdbcTemplate jdbcTemplate;
     private final ContentRepositoryFactory contentRepositoryFactory;
     private final ClientRepositoryWrapper clientRepositoryWrapper;
     private final StaffRepositoryWrapper staffRepositoryWrapper;
     private final ClientBusinessOwnerRepository clientBusinessOwnerRepository;
+    private final ImageResizer imageResizer;
 
     @Autowired
     public ImageReadPlatformServiceImpl(final JdbcTemplate jdbcTemplate, final ContentRepositoryFactory documentStoreFactory,
             final ClientRepositoryWrapper clientRepositoryWrapper, StaffRepositoryWrapper staffRepositoryWrapper,
-            final ClientBusinessOwnerRepository clientBusinessOwnerRepository) {
+            final ClientBusinessOwnerRepository clientBusinessOwnerRepository, final ImageResizer imageResizer) {
         this.staffRepositoryWrapper = staffRepositoryWrapper;
         this.jdbcTemplate = jdbcTemplate;
         this.contentRepositoryFactory = documentStoreFactory;
         this.clientRepositoryWrapper = clientRepositoryWrapper;
         this.clientBusinessOwnerRepository = clientBusinessOwnerRepository;
+        this.imageResizer = imageResizer;
     }
 
     private static final class ImageMapper implements RowMapper<ImageData> {
@@ -97,6 +109,63 @@ public class ImageReadPlatformServiceImpl implements ImageReadPlatformService {
 
     @Override
     public FileData retrieveImage(String entityType, final Long entityId) {
+        final ImageData imageData = retrieveImageData(entityType, entityId);
+        final ContentRepository contentRepository = this.contentRepositoryFactory.getRepository(imageData.storageType());
+        return contentRepository.fetchImage(imageData);
+    }
+
+    @Override
+    public FileData retrieveImage(String entityType, final Long entityId, final Integer maxWidth, final Integer maxHeight) {
+        final ImageData imageData = retrieveImageData(entityType, entityId);
+        final ContentRepository contentRepository = this.contentRepositoryFactory.getRepository(imageData.storageType());
+        // ImageResizer never scales without a maximum width, so there is no variant to keep either
+        if (maxWidth == null) {
+            return contentRepository.fetchImage(imageData);
+        }
+
+        final Integer width = renditionSize(maxWidth);
+        final Integer height = maxHeight != null ? renditionSize(maxHeight) : null;
+        if (width == null || (maxHeight != null && height == null)) {
+            // smaller than the smallest rendition: resized for this request only
+            return this.imageResizer.resize(contentRepository.fetchImage(imageData), maxWidth, maxHeight);
+        }
+
+        final String variant = renditionVariant(width, height);
+        final FileData rendition = contentRepository.fetchImageRendition(imageData, variant);
+        if (rendition != null) {
+            return rendition;
+        }
+
+        final FileData resizedImage = this.imageResizer.resize(contentRepository.fetchImage(imageData), width, height);
+        final byte[] content;
+        try {
+            content = resizedImage.getByteSource().read();
+        } catch (final IOException e) {
+            throw new ContentManagementException(imageData.location(), e.getMessage(), e);
+        }
+        contentRepository.saveImageRendition(imageData, variant, content);
+        return new FileData(ByteSource.wrap(content), resizedImage.name(), resizedImage.contentType());
+    }
+
+    /**
+     * @return the largest rendition size that is not larger than the requested one, or null if there is none
+     */
+    static Integer renditionSize(final int requested) {
+        Integer size = null;
+        for (final int renditionSize : RENDITION_SIZES) {
+            if (renditionSize > requested) {
+                break;
+            }
+            size = renditionSize;
+        }
+        return size;
+    }
+
+    static String renditionVariant(final Integer maxWidth, final Integer maxHeight) {
+        return maxHeight != null ? "w" + maxWidth + "h" + maxHeight : "w" + maxWidth;
+    }
+
+    private ImageData retrieveImageData(String entityType, final Long entityId) {
         try {
             String displayName;
             if (EntityTypeForImages.CLIENTS.toString().equalsIgnoreCase(entityType)) {
@@ -116,9 +185,7 @@ public class ImageReadPlatformServiceImpl implements ImageReadPlatformService {
 
             final String sql = "select " + imageMapper.schema(entityType);
 
-            final ImageData imageData = this.jdbcTemplate.queryForObject(sql, imageMapper, entityId); // NOSONAR
-            final ContentRepository contentRepository = this.contentRepositoryFactory.getRepository(imageData.storageType());
-            return contentRepository.fetchImage(imageData);
+            return this.jdbcTemplate.queryForObject(sql, imageMapper, entityId); // NOSONAR
         } catch (final EmptyResultDataAccessException e) {
             throw new ImageNotFoundException("clients", entityId, e);
         }
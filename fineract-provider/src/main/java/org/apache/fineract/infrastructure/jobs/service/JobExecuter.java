@@ -23,7 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
-import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -111,16 +111,52 @@ public class JobExecuter {
         return sb.toString();
     }
 
+    /**
+     * Runs the job once per partition, every partition on its own thread, and waits for all of them. A single partition
+     * is run on the calling thread. Unlike {@link #executeJob(List, JobRunner)} the caller decides how the work is
+     * partitioned, and so how many threads are used, for entities that must never be processed concurrently.
+     */
+    public <T> String executePartitions(final List<T> partitions, final JobRunner<T> jobRunner) {
+        final StringBuilder sb = new StringBuilder();
+        if (partitions.size() == 1) {
+            jobRunner.runJob(partitions.get(0), sb);
+        } else if (!partitions.isEmpty()) {
+            List<StringBuilder> bufferes = new ArrayList<>(partitions.size());
+            List<Thread> threads = new ArrayList<>(partitions.size());
+            try {
+                for (T partition : partitions) {
+                    final StringBuilder threadsb = new StringBuilder();
+                    bufferes.add(threadsb);
+                    Thread thread = new Thread(new JobRunnerThread<>(jobRunner, partition, threadsb));
+                    thread.start();
+                    threads.add(thread);
+                }
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+                for (StringBuilder threadsb : bufferes) {
+                    sb.append(threadsb.toString());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                sb.append("Thread Interrupted for " + jobRunner.toString() + " : " + e.getMessage());
+            }
+        }
+        return sb.toString();
+    }
+
     private static class JobRunnerThread<T> implements Runnable {
 
-        final FineractPlatformTenant tenant;
+        final FineractContext context;
+        final Map<String, Object> jobParams;
         final T jobDetail;
         final JobRunner<T> jobRunner;
         final StringBuilder sb;
         final Authentication auth;
 
         public JobRunnerThread(final JobRunner<T> jobRunner, final T jobDetail, final StringBuilder sb) {
-            this.tenant = ThreadLocalContextUtil.getTenant();
+            this.context = ThreadLocalContextUtil.getContext();
+            this.jobParams = ThreadLocalContextUtil.getJobParams();
             this.jobRunner = jobRunner;
             this.jobDetail = jobDetail;
             this.sb = sb;
@@ -133,7 +169,8 @@ public class JobExecuter {
 
         @Override
         public void run() {
-            ThreadLocalContextUtil.setTenant(tenant);
+            ThreadLocalContextUtil.init(this.context);
+            ThreadLocalContextUtil.setJobParams(this.jobParams);
             if (this.auth != null) {
                 SecurityContextHolder.getContext().setAuthentication(this.auth);
             }
@@ -181,7 +218,11 @@ public class JobExecuter {
         return parts;
     }
 
-    private int getNumberOfThreads() {
+    /**
+     * Number of threads configured for the running job through its <code>number-of-threads</code> parameter, at least
+     * one. Callers of {@link #executePartitions(List, JobRunner)} use it as their partition count.
+     */
+    public int getNumberOfThreads() {
         Map<String, Object> jobParams = ThreadLocalContextUtil.getJobParams();
         int numberOfThreads = 1;
         if (jobParams != null && jobParams.containsKey("number-of-threads")) {
@@ -18,11 +18,6 @@
  */
 package org.apache.fineract.infrastructure.security.service;
 
-import com.github.mustachejava.DefaultMustacheFactory;
-import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
-import java.io.StringReader;
-import java.io.StringWriter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
@@ -34,6 +29,7 @@ import org.apache.fineract.infrastructure.security.constants.TwoFactorConstants;
 import org.apache.fineract.infrastructure.security.data.OTPRequest;
 import org.apache.fineract.infrastructure.security.domain.TwoFactorConfiguration;
 import org.apache.fineract.infrastructure.security.domain.TwoFactorConfigurationRepository;
+import org.apache.fineract.template.service.CompiledTemplateCache;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -50,10 +46,13 @@ public class TwoFactorConfigurationServiceImpl implements TwoFactorConfiguration
     private static final String DEFAULT_SMS_TEXT = "Your authentication token for Fineract is " + "{token}.";
 
     private final TwoFactorConfigurationRepository configurationRepository;
+    private final CompiledTemplateCache compiledTemplateCache;
 
     @Autowired
-    public TwoFactorConfigurationServiceImpl(TwoFactorConfigurationRepository configurationRepository) {
+    public TwoFactorConfigurationServiceImpl(TwoFactorConfigurationRepository configurationRepository,
+            CompiledTemplateCache compiledTemplateCache) {
         this.configurationRepository = configurationRepository;
+        this.compiledTemplateCache = compiledTemplateCache;
     }
 
     @Override
@@ -276,12 +275,6 @@ public class TwoFactorConfigurationServiceImpl implements TwoFactorConfiguration
     }
 
     private String compileTextTemplate(final String template, final String name, final Map<String, Object> params) {
-        final MustacheFactory mf = new DefaultMustacheFactory();
-        final Mustache mustache = mf.compile(new StringReader(template), name);
-
-        final StringWriter stringWriter = new StringWriter();
-        mustache.execute(stringWriter, params);
-
-        return stringWriter.toString();
+        return this.compiledTemplateCache.render(name, template, params);
     }
 }
@@ -0,0 +1,272 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.sms.scheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractSmsProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.sms.data.SmsMessageApiQueueResourceData;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded pool that posts outbound SMS batches to the message gateway.
+ *
+ * Messages are grouped per provider and split into batches of <code>fineract.sms.batch-size</code>. Batches are
+ * executed by <code>fineract.sms.dispatch-threads</code> workers from a priority queue, so triggered (transactional)
+ * messages always overtake queued campaign traffic. Campaign jobs are expected to stop picking up pending messages
+ * while {@link #hasCampaignCapacity()} is false, i.e. once <code>fineract.sms.queue-capacity</code> campaign batches
+ * are waiting, so a blast is not buffered in memory as a whole. When <code>fineract.sms.provider-rate-limit</code> is
+ * positive, each provider is sent at most that many messages per second: a batch whose provider has no free slot yet is
+ * parked on a timer and queued again once it has, so workers never sleep and a triggered batch queued meanwhile is
+ * taken first. Inside a transaction the batches are only queued once it committed.
+ */
+@Slf4j
+@Component
+public class SmsDispatchPool implements DisposableBean {
+
+    public enum Priority {
+        TRIGGERED, CAMPAIGN
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService parkedBatches;
+    private final int campaignCapacity;
+    private final AtomicInteger queuedCampaignBatches = new AtomicInteger();
+    private final int batchSize;
+    private final int providerRateLimit;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Priority, AtomicInteger> queuedMessages = new EnumMap<>(Priority.class);
+    private final Map<String, ProviderRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    public SmsDispatchPool(final FineractProperties fineractProperties, final MeterRegistry meterRegistry) {
+        final FineractSmsProperties properties = fineractProperties.getSms() == null ? new FineractSmsProperties()
+                : fineractProperties.getSms();
+        final int threads = Math.max(1, properties.getDispatchThreads());
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.providerRateLimit = properties.getProviderRateLimit();
+        this.campaignCapacity = Math.max(1, properties.getQueueCapacity());
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>());
+        this.parkedBatches = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "sms-rate-limit");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (final Priority priority : Priority.values()) {
+            final AtomicInteger counter = new AtomicInteger();
+            this.queuedMessages.put(priority, counter);
+            Gauge.builder("fineract.sms.dispatch.queued.messages", counter, AtomicInteger::get).tag("priority", priority.name())
+                    .description("SMS messages waiting to be posted to the message gateway").register(meterRegistry);
+        }
+        Gauge.builder("fineract.sms.dispatch.queued.batches", this.executor, pool -> pool.getQueue().size())
+                .description("SMS batches waiting for a dispatch thread").register(meterRegistry);
+    }
+
+    public boolean hasCampaignCapacity() {
+        return this.queuedCampaignBatches.get() < this.campaignCapacity;
+    }
+
+    /**
+     * Queues the given messages for delivery, one task per provider batch. The sender is invoked on a dispatch thread
+     * with the tenant context of the caller. Inside a transaction the batches are queued once it committed, so the
+     * sender never sees messages whose status change could still be rolled back.
+     */
+    public void dispatch(final Priority priority, final Collection<SmsMessageApiQueueResourceData> messages,
+            final Consumer<List<SmsMessageApiQueueResourceData>> sender) {
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final List<SmsBatchTask> tasks = new ArrayList<>();
+        for (final Map.Entry<Long, List<SmsMessageApiQueueResourceData>> entry : groupByProvider(messages).entrySet()) {
+            final List<SmsMessageApiQueueResourceData> providerMessages = entry.getValue();
+            for (int from = 0; from < providerMessages.size(); from += this.batchSize) {
+                final List<SmsMessageApiQueueResourceData> batch = new ArrayList<>(
+                        providerMessages.subList(from, Math.min(from + this.batchSize, providerMessages.size())));
+                tasks.add(new SmsBatchTask(priority, this.sequence.getAndIncrement(), context, entry.getKey(), batch, sender));
+            }
+        }
+        // campaign capacity is taken right away, so a job paging through pending messages in one transaction stops in time
+        tasks.forEach(SmsBatchTask::reserve);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    if (status == STATUS_COMMITTED) {
+                        tasks.forEach(SmsDispatchPool.this::submit);
+                    } else {
+                        tasks.forEach(SmsBatchTask::release);
+                    }
+                }
+            });
+        } else {
+            tasks.forEach(this::submit);
+        }
+    }
+
+    private void submit(final SmsBatchTask task) {
+        try {
+            this.executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.release();
+            log.warn("SMS dispatch pool is shut down, {} message(s) were not sent", task.batch.size());
+        }
+    }
+
+    /**
+     * @return nanoseconds until the provider of the current tenant has a free slot, or 0 when the slot was taken
+     */
+    private long tryAcquire(final Long providerId, final int messages) {
+        if (this.providerRateLimit <= 0) {
+            return 0L;
+        }
+        final String key = ThreadLocalContextUtil.getTenant().getTenantIdentifier() + ":" + providerId;
+        return this.rateLimiters.computeIfAbsent(key, k -> new ProviderRateLimiter(this.providerRateLimit)).tryAcquire(messages,
+                System.nanoTime());
+    }
+
+    private static Map<Long, List<SmsMessageApiQueueResourceData>> groupByProvider(
+            final Collection<SmsMessageApiQueueResourceData> messages) {
+        final Map<Long, List<SmsMessageApiQueueResourceData>> messagesByProvider = new LinkedHashMap<>();
+        for (final SmsMessageApiQueueResourceData message : messages) {
+            messagesByProvider.computeIfAbsent(message.getproviderId(), providerId -> new ArrayList<>()).add(message);
+        }
+        return messagesByProvider;
+    }
+
+    @Override
+    public void destroy() {
+        log.info("Shutting down the SMS dispatch pool");
+        this.parkedBatches.shutdownNow();
+        this.executor.shutdown();
+    }
+
+    private final class SmsBatchTask implements Runnable, Comparable<SmsBatchTask> {
+
+        private final Priority priority;
+        private final long sequenceNumber;
+        private final FineractContext context;
+        private final Long providerId;
+        private final List<SmsMessageApiQueueResourceData> batch;
+        private final Consumer<List<SmsMessageApiQueueResourceData>> sender;
+
+        SmsBatchTask(final Priority priority, final long sequenceNumber, final FineractContext context, final Long providerId,
+                final List<SmsMessageApiQueueResourceData> batch, final Consumer<List<SmsMessageApiQueueResourceData>> sender) {
+            this.priority = priority;
+            this.sequenceNumber = sequenceNumber;
+            this.context = context;
+            this.providerId = providerId;
+            this.batch = batch;
+            this.sender = sender;
+        }
+
+        void reserve() {
+            queuedMessages.get(this.priority).addAndGet(this.batch.size());
+            if (this.priority == Priority.CAMPAIGN) {
+                queuedCampaignBatches.incrementAndGet();
+            }
+        }
+
+        void release() {
+            queuedMessages.get(this.priority).addAndGet(-this.batch.size());
+            if (this.priority == Priority.CAMPAIGN) {
+                queuedCampaignBatches.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalContextUtil.init(this.context);
+            final long waitNanos = tryAcquire(this.providerId, this.batch.size());
+            if (waitNanos > 0) {
+                park(waitNanos);
+                return;
+            }
+            try {
+                this.sender.accept(this.batch);
+            } catch (RuntimeException e) {
+                log.error("Sending {} SMS message(s) to provider {} failed", this.batch.size(), this.providerId, e);
+            } finally {
+                release();
+            }
+        }
+
+        private void park(final long waitNanos) {
+            try {
+                parkedBatches.schedule(() -> submit(this), waitNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                release();
+                log.warn("SMS dispatch pool is shut down, {} message(s) were not sent", this.batch.size());
+            }
+        }
+
+        @Override
+        public int compareTo(final SmsBatchTask other) {
+            final int byPriority = this.priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(this.sequenceNumber, other.sequenceNumber);
+        }
+    }
+
+    /**
+     * Spaces batches of one provider so that no more than the configured number of messages per second is sent.
+     */
+    static final class ProviderRateLimiter {
+
+        private final long nanosPerMessage;
+        private Long nextFreeSlot;
+
+        ProviderRateLimiter(final int messagesPerSecond) {
+            this.nanosPerMessage = TimeUnit.SECONDS.toNanos(1) / messagesPerSecond;
+        }
+
+        /**
+         * Takes the slot for the given number of messages if the provider is free at <code>now</code>.
+         *
+         * @return 0 when the slot was taken, otherwise the nanoseconds until the provider is free
+         */
+        synchronized long tryAcquire(final int messages, final long now) {
+            if (this.nextFreeSlot != null && this.nextFreeSlot - now > 0) {
+                return this.nextFreeSlot - now;
+            }
+            this.nextFreeSlot = now + this.nanosPerMessage * messages;
+            return 0L;
+        }
+    }
+}
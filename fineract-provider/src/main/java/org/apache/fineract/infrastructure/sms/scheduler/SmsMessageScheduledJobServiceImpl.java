@@ -22,18 +22,16 @@ import com.google.gson.Gson;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import javax.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.campaigns.helper.SmsConfigUtils;
 import org.apache.fineract.infrastructure.campaigns.sms.constants.SmsCampaignConstants;
 import org.apache.fineract.infrastructure.campaigns.sms.domain.SmsCampaign;
 import org.apache.fineract.infrastructure.campaigns.sms.exception.ConnectionFailureException;
-import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.gcm.service.NotificationSenderService;
@@ -44,16 +42,16 @@ import org.apache.fineract.infrastructure.sms.data.SmsMessageDeliveryReportData;
 import org.apache.fineract.infrastructure.sms.domain.SmsMessage;
 import org.apache.fineract.infrastructure.sms.domain.SmsMessageRepository;
 import org.apache.fineract.infrastructure.sms.domain.SmsMessageStatusType;
+import org.apache.fineract.infrastructure.sms.scheduler.SmsDispatchPool.Priority;
 import org.apache.fineract.infrastructure.sms.service.SmsReadPlatformService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationListener;
-import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
@@ -70,25 +68,22 @@ public class SmsMessageScheduledJobServiceImpl implements SmsMessageScheduledJob
     private final RestTemplate restTemplate = new RestTemplate();
     private final SmsConfigUtils smsConfigUtils;
     private final NotificationSenderService notificationSenderService;
-    private ExecutorService genericExecutorService;
-    private ExecutorService triggeredExecutorService;
+    private final SmsDispatchPool smsDispatchPool;
+    private final JdbcTemplate jdbcTemplate;
 
     /**
      * SmsMessageScheduledJobServiceImpl constructor
      **/
     @Autowired
     public SmsMessageScheduledJobServiceImpl(SmsMessageRepository smsMessageRepository, SmsReadPlatformService smsReadPlatformService,
-            final SmsConfigUtils smsConfigUtils, final NotificationSenderService notificationSenderService) {
+            final SmsConfigUtils smsConfigUtils, final NotificationSenderService notificationSenderService,
+            final SmsDispatchPool smsDispatchPool, final JdbcTemplate jdbcTemplate) {
         this.smsMessageRepository = smsMessageRepository;
         this.smsReadPlatformService = smsReadPlatformService;
         this.smsConfigUtils = smsConfigUtils;
         this.notificationSenderService = notificationSenderService;
-    }
-
-    @PostConstruct
-    public void initializeExecutorService() {
-        genericExecutorService = Executors.newSingleThreadExecutor();
-        triggeredExecutorService = Executors.newSingleThreadExecutor();
+        this.smsDispatchPool = smsDispatchPool;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     /**
@@ -102,6 +97,11 @@ public class SmsMessageScheduledJobServiceImpl implements SmsMessageScheduledJob
         Integer page = 0;
         int totalRecords = 0;
         do {
+            if (!this.smsDispatchPool.hasCampaignCapacity()) {
+                // leave the remaining messages pending for the next run instead of queueing them all in memory
+                log.info("SMS dispatch queue is full, remaining pending messages will be sent on the next run");
+                break;
+            }
             PageRequest pageRequest = PageRequest.of(0, pageLimit);
             org.springframework.data.domain.Page<SmsMessage> pendingMessages = this.smsMessageRepository
                     .findByStatusType(SmsMessageStatusType.PENDING.getValue(), pageRequest);
@@ -130,7 +130,7 @@ public class SmsMessageScheduledJobServiceImpl implements SmsMessageScheduledJob
                     if (toSaveMessages.size() > 0) {
                         this.smsMessageRepository.saveAll(toSaveMessages);
                         this.smsMessageRepository.flush();
-                        this.genericExecutorService.execute(new SmsTask(apiQueueResourceDatas, ThreadLocalContextUtil.getContext()));
+                        this.smsDispatchPool.dispatch(Priority.CAMPAIGN, apiQueueResourceDatas, this::sendBatch);
                     }
                     if (!toSendNotificationMessages.isEmpty()) {
                         this.notificationSenderService.sendNotification(toSendNotificationMessages);
@@ -146,6 +146,31 @@ public class SmsMessageScheduledJobServiceImpl implements SmsMessageScheduledJob
         } while (page < totalRecords);
     }
 
+    /**
+     * Posts one provider batch from a dispatch thread; if the gateway does not accept it the messages are moved to
+     * FAILED with a single statement instead of being left waiting for a delivery report that will never come.
+     */
+    private void sendBatch(List<SmsMessageApiQueueResourceData> batch) {
+        try {
+            connectAndSendToIntermediateServer(batch);
+        } catch (RuntimeException e) {
+            updateStatus(batch.stream().map(SmsMessageApiQueueResourceData::getInternalId).toList(), SmsMessageStatusType.FAILED);
+            throw e;
+        }
+    }
+
+    private void updateStatus(List<Long> smsMessageIds, SmsMessageStatusType statusType) {
+        if (smsMessageIds.isEmpty()) {
+            return;
+        }
+        final String placeholders = String.join(",", Collections.nCopies(smsMessageIds.size(), "?"));
+        final List<Object> params = new ArrayList<>(smsMessageIds.size() + 1);
+        params.add(statusType.getValue());
+        params.addAll(smsMessageIds);
+        this.jdbcTemplate.update("update sms_messages_outbound set status_enum = ? where id in (" + placeholders + ")", // NOSONAR
+                params.toArray());
+    }
+
     private void connectAndSendToIntermediateServer(Collection<SmsMessageApiQueueResourceData> apiQueueResourceDatas) {
         Map<String, Object> hostConfig = this.smsConfigUtils.getMessageGateWayRequestURI("sms",
                 SmsMessageApiQueueResourceData.toJsonString(apiQueueResourceDatas));
@@ -169,10 +194,9 @@ public class SmsMessageScheduledJobServiceImpl implements SmsMessageScheduledJob
             if (!smsDataMap.isEmpty()) {
                 List<SmsMessage> toSaveMessages = new ArrayList<>();
                 List<SmsMessage> toSendNotificationMessages = new ArrayList<>();
+                Collection<SmsMessageApiQueueResourceData> apiQueueResourceDatas = new ArrayList<>();
                 for (Map.Entry<SmsCampaign, Collection<SmsMessage>> entry : smsDataMap.entrySet()) {
                     Iterator<SmsMessage> smsMessageIterator = entry.getValue().iterator();
-                    Collection<SmsMessageApiQueueResourceData> apiQueueResourceDatas = new ArrayList<>();
-                    StringBuilder request = new StringBuilder();
                     while (smsMessageIterator.hasNext()) {
                         SmsMessage smsMessage = smsMessageIterator.next();
                         if (smsMessage.isNotification()) {
@@ -187,15 +211,14 @@ public class SmsMessageScheduledJobServiceImpl implements SmsMessageScheduledJob
                             toSaveMessages.add(smsMessage);
                         }
                     }
-                    if (toSaveMessages.size() > 0) {
-                        this.smsMessageRepository.saveAll(toSaveMessages);
-                        this.smsMessageRepository.flush();
-                        this.triggeredExecutorService.execute(new SmsTask(apiQueueResourceDatas, ThreadLocalContextUtil.getContext()));
-                    }
-                    if (!toSendNotificationMessages.isEmpty()) {
-                        this.notificationSenderService.sendNotification(toSendNotificationMessages);
-                    }
-
+                }
+                if (toSaveMessages.size() > 0) {
+                    this.smsMessageRepository.saveAll(toSaveMessages);
+                    this.smsMessageRepository.flush();
+                    this.smsDispatchPool.dispatch(Priority.TRIGGERED, apiQueueResourceDatas, this::sendBatch);
+                }
+                if (!toSendNotificationMessages.isEmpty()) {
+                    this.notificationSenderService.sendNotification(toSendNotificationMessages);
                 }
             }
         } catch (Exception e) {
@@ -217,7 +240,7 @@ public class SmsMessageScheduledJobServiceImpl implements SmsMessageScheduledJob
             this.smsMessageRepository.saveAll(smsMessages);
             request.append(SmsMessageApiQueueResourceData.toJsonString(apiQueueResourceDatas));
             log.info("Sending triggered SMS to specific provider with request - {}", request);
-            this.triggeredExecutorService.execute(new SmsTask(apiQueueResourceDatas, ThreadLocalContextUtil.getContext()));
+            this.smsDispatchPool.dispatch(Priority.TRIGGERED, apiQueueResourceDatas, this::sendBatch);
         } catch (Exception e) {
             log.error("Error occured.", e);
         }
@@ -250,13 +273,19 @@ public class SmsMessageScheduledJobServiceImpl implements SmsMessageScheduledJob
                             });
 
                     Collection<SmsMessageDeliveryReportData> smsMessageDeliveryReportDatas = responseOne.getBody();
+                    final Map<Long, SmsMessage> smsMessagesById = new HashMap<>();
+                    final List<Long> reportedIds = smsMessageDeliveryReportDatas.stream().map(SmsMessageDeliveryReportData::getId).toList();
+                    for (SmsMessage smsMessage : this.smsMessageRepository.findAllById(reportedIds)) {
+                        smsMessagesById.put(smsMessage.getId(), smsMessage);
+                    }
+                    final List<SmsMessage> updatedMessages = new ArrayList<>();
                     Iterator<SmsMessageDeliveryReportData> responseReportIterator = smsMessageDeliveryReportDatas.iterator();
                     while (responseReportIterator.hasNext()) {
                         SmsMessageDeliveryReportData smsMessageDeliveryReportData = responseReportIterator.next();
                         Integer deliveryStatus = smsMessageDeliveryReportData.getDeliveryStatus();
+                        SmsMessage smsMessage = smsMessagesById.get(smsMessageDeliveryReportData.getId());
 
-                        if (!smsMessageDeliveryReportData.getHasError() && deliveryStatus != 100) {
-                            SmsMessage smsMessage = this.smsMessageRepository.findById(smsMessageDeliveryReportData.getId()).orElse(null);
+                        if (smsMessage != null && !smsMessageDeliveryReportData.getHasError() && deliveryStatus != 100) {
                             Integer statusType = smsMessage.getStatusType();
 
                             switch (deliveryStatus) {
@@ -290,8 +319,7 @@ public class SmsMessageScheduledJobServiceImpl implements SmsMessageScheduledJob
                             // update the externalId
                             smsMessage.setExternalId(smsMessageDeliveryReportData.getExternalId());
 
-                            // save the SmsMessage entity
-                            this.smsMessageRepository.save(smsMessage);
+                            updatedMessages.add(smsMessage);
 
                             if (statusChanged) {
                                 log.info("Status of SMS message id: {} successfully changed to {}", smsMessage.getId(), statusType);
@@ -299,6 +327,9 @@ public class SmsMessageScheduledJobServiceImpl implements SmsMessageScheduledJob
                         }
                     }
 
+                    // save all updated SmsMessage entities in one batch
+                    this.smsMessageRepository.saveAll(updatedMessages);
+
                     if (smsMessageDeliveryReportDatas.size() > 0) {
                         log.info("{} delivery report(s) successfully received from the intermediate gateway - sms",
                                 smsMessageDeliveryReportDatas.size());
@@ -311,27 +342,4 @@ public class SmsMessageScheduledJobServiceImpl implements SmsMessageScheduledJob
             totalRecords = smsMessageInternalIds.getTotalFilteredRecords();
         } while (page < totalRecords);
     }
-
-    class SmsTask implements Runnable, ApplicationListener<ContextClosedEvent> {
-
-        private final FineractContext context;
-        private final Collection<SmsMessageApiQueueResourceData> apiQueueResourceDatas;
-
-        SmsTask(final Collection<SmsMessageApiQueueResourceData> apiQueueResourceDatas, final FineractContext context) {
-            this.context = context;
-            this.apiQueueResourceDatas = apiQueueResourceDatas;
-        }
-
-        @Override
-        public void run() {
-            ThreadLocalContextUtil.init(context);
-            connectAndSendToIntermediateServer(apiQueueResourceDatas);
-        }
-
-        @Override
-        public void onApplicationEvent(ContextClosedEvent event) {
-            genericExecutorService.shutdown();
-            log.info("Shutting down the ExecutorService");
-        }
-    }
 }
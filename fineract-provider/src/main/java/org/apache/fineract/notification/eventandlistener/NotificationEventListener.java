@@ -19,7 +19,7 @@
 package org.apache.fineract.notification.eventandlistener;
 
 import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
@@ -42,13 +42,14 @@ public class NotificationEventListener {
         Set<Long> userIds = notificationData.getUserIds();
 
         if (notificationData.getOfficeId() != null) {
-            List<Long> tempUserIds = new ArrayList<>(userIds);
-            for (Long userId : tempUserIds) {
-                AppUser appUser = appUserRepository.findById(userId).orElseThrow();
-                if (!Objects.equals(appUser.getOffice().getId(), notificationData.getOfficeId())) {
-                    userIds.remove(userId);
+            // load the whole audience at once instead of one lookup per user
+            Set<Long> officeUserIds = new HashSet<>();
+            for (AppUser appUser : appUserRepository.findAllById(new ArrayList<>(userIds))) {
+                if (Objects.equals(appUser.getOffice().getId(), notificationData.getOfficeId())) {
+                    officeUserIds.add(appUser.getId());
                 }
             }
+            userIds.retainAll(officeUserIds);
         }
 
         // Don't notify the same user who triggered the event
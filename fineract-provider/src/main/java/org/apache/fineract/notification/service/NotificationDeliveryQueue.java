@@ -0,0 +1,238 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.notification.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractNotificationProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Delivers notifications to their target users.
+ *
+ * The <code>notification_mapper</code> rows are written with JDBC batch inserts in the publishing transaction, together
+ * with one <code>notification_unread_outbox</code> row per user, so a delivery is committed or rolled back with the
+ * notification itself. A single background thread moves the outbox into <code>notification_unread_counter</code>:
+ * tenants that delivered are drained every <code>fineract.notification.coalesce-window-millis</code> (or as soon as
+ * <code>fineract.notification.batch-size</code> users are pending), incrementing each counter once for everything its
+ * user received in the window, and every tenant is swept every <code>fineract.notification.sweep-millis</code> to pick
+ * up rows left behind by a failed drain or a restart.
+ */
+@Slf4j
+@Component
+public class NotificationDeliveryQueue implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    static final String OUTBOX_TABLE = "notification_unread_outbox";
+    private static final String INSERT_MAPPER_SQL = "INSERT INTO notification_mapper (notification_id, user_id, is_read, created_at) "
+            + "VALUES (?, ?, false, ?)";
+    private static final String INSERT_OUTBOX_SQL = "INSERT INTO " + OUTBOX_TABLE + " (notification_id, user_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TenantDetailsService tenantDetailsService;
+    private final String incrementCounterSql;
+    private final int batchSize;
+    private final long window;
+    private final long sweepInterval;
+    private final Map<String, PendingTenant> pendingTenants = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+
+    public NotificationDeliveryQueue(final FineractProperties fineractProperties, final JdbcTemplate jdbcTemplate,
+            final TransactionTemplate transactionTemplate, final TenantDetailsService tenantDetailsService,
+            final DatabaseSpecificSQLGenerator sqlGenerator) {
+        final FineractNotificationProperties properties = fineractProperties.getNotification() == null
+                ? new FineractNotificationProperties()
+                : fineractProperties.getNotification();
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tenantDetailsService = tenantDetailsService;
+        this.incrementCounterSql = sqlGenerator.upsertIncrement("notification_unread_counter", "user_id", "unread_count");
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.window = Math.max(1, properties.getCoalesceWindowMillis());
+        this.sweepInterval = Math.max(this.window, properties.getSweepMillis());
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "notification-delivery");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts draining once the application is ready, so no database work runs while the context is still being built.
+     */
+    @Override
+    public void onApplicationEvent(@SuppressWarnings("unused") final ApplicationReadyEvent event) {
+        this.executor.scheduleWithFixedDelay(this::drainPendingTenants, this.window, this.window, TimeUnit.MILLISECONDS);
+        this.executor.scheduleWithFixedDelay(this::sweepAllTenants, this.sweepInterval, this.sweepInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes the notification for the given users of the current tenant. Inside a transaction the rows are committed or
+     * rolled back with it, and the unread counters are incremented once it committed.
+     */
+    public void deliver(final Long notificationId, final Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        final LocalDateTime createdAt = DateUtils.getLocalDateTimeOfSystem();
+        final List<Object[]> mapperRows = new ArrayList<>(userIds.size());
+        final List<Object[]> outboxRows = new ArrayList<>(userIds.size());
+        for (final Long userId : userIds) {
+            mapperRows.add(new Object[] { notificationId, userId, createdAt });
+            outboxRows.add(new Object[] { notificationId, userId });
+        }
+        for (int from = 0; from < mapperRows.size(); from += this.batchSize) {
+            final int to = Math.min(from + this.batchSize, mapperRows.size());
+            this.jdbcTemplate.batchUpdate(INSERT_MAPPER_SQL, mapperRows.subList(from, to));
+            this.jdbcTemplate.batchUpdate(INSERT_OUTBOX_SQL, outboxRows.subList(from, to));
+        }
+
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    markPending(tenant, userIds.size());
+                }
+            });
+        } else {
+            markPending(tenant, userIds.size());
+        }
+    }
+
+    private void markPending(final FineractPlatformTenant tenant, final int users) {
+        final PendingTenant pending = this.pendingTenants.computeIfAbsent(tenant.getTenantIdentifier(), id -> new PendingTenant(tenant));
+        if (pending.users.addAndGet(users) >= this.batchSize) {
+            try {
+                this.executor.execute(this::drainPendingTenants);
+            } catch (RejectedExecutionException e) {
+                // shutting down: the rows are in the outbox and the sweep picks them up after the restart
+                log.debug("Notification delivery is shut down, leaving tenant {} to the next sweep", tenant.getTenantIdentifier());
+            }
+        }
+    }
+
+    /**
+     * Moves every outbox row of the current tenant to the unread counters.
+     *
+     * @return the number of moved rows
+     */
+    public int drain() {
+        int drained = 0;
+        int moved;
+        do {
+            final Integer batch = this.transactionTemplate.execute(status -> moveBatch());
+            moved = batch != null ? batch : 0;
+            drained += moved;
+        } while (moved == this.batchSize);
+        return drained;
+    }
+
+    private int moveBatch() {
+        // rows are locked so that concurrent drains on other nodes never count the same delivery twice
+        final List<Map<String, Object>> rows = this.jdbcTemplate
+                .queryForList("SELECT id, user_id FROM " + OUTBOX_TABLE + " ORDER BY id LIMIT " + this.batchSize + " FOR UPDATE");
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        // counters are upserted in user order, so concurrent drains lock them in the same order
+        final Map<Long, Integer> unreadByUser = new TreeMap<>();
+        for (final Map<String, Object> row : rows) {
+            unreadByUser.merge(((Number) row.get("user_id")).longValue(), 1, Integer::sum);
+        }
+        this.jdbcTemplate.batchUpdate(this.incrementCounterSql,
+                unreadByUser.entrySet().stream().map(e -> new Object[] { e.getKey(), e.getValue() }).collect(Collectors.toList()));
+        final String idList = rows.stream().map(row -> String.valueOf(row.get("id"))).collect(Collectors.joining(","));
+        this.jdbcTemplate.update("DELETE FROM " + OUTBOX_TABLE + " WHERE id IN (" + idList + ")");
+        return rows.size();
+    }
+
+    void drainPendingTenants() {
+        for (final String identifier : List.copyOf(this.pendingTenants.keySet())) {
+            final PendingTenant pending = this.pendingTenants.remove(identifier);
+            if (pending != null) {
+                drainTenant(pending.tenant);
+            }
+        }
+    }
+
+    private void sweepAllTenants() {
+        try {
+            this.tenantDetailsService.findAllTenants().forEach(this::drainTenant);
+        } catch (RuntimeException e) {
+            log.error("Could not sweep the notification unread outbox", e);
+        }
+    }
+
+    private void drainTenant(final FineractPlatformTenant tenant) {
+        ThreadLocalContextUtil.setTenant(tenant);
+        try {
+            final int drained = drain();
+            log.debug("Counted {} notification deliveries of tenant {}", drained, tenant.getTenantIdentifier());
+        } catch (RuntimeException e) {
+            // keep the tenant pending, the rows stay in the outbox until the next attempt
+            this.pendingTenants.putIfAbsent(tenant.getTenantIdentifier(), new PendingTenant(tenant));
+            log.error("Could not count the notification deliveries of tenant {}", tenant.getTenantIdentifier(), e);
+        } finally {
+            ThreadLocalContextUtil.clearTenant();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        log.info("Shutting down the notification delivery queue");
+        this.executor.shutdown();
+    }
+
+    private static final class PendingTenant {
+
+        private final FineractPlatformTenant tenant;
+        private final AtomicInteger users = new AtomicInteger();
+
+        PendingTenant(final FineractPlatformTenant tenant) {
+            this.tenant = tenant;
+        }
+    }
+}
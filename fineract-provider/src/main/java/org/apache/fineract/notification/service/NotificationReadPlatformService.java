@@ -26,6 +26,8 @@ public interface NotificationReadPlatformService {
 
     boolean hasUnreadNotifications(Long appUserId);
 
+    long getUnreadNotificationCount(Long appUserId);
+
     Page<NotificationData> getAllUnreadNotifications(SearchParameters searchParameters);
 
     Page<NotificationData> getAllNotifications(SearchParameters searchParameters);
@@ -32,10 +32,10 @@ import org.apache.fineract.infrastructure.security.service.PlatformSecurityConte
 import org.apache.fineract.infrastructure.security.utils.ColumnValidator;
 import org.apache.fineract.notification.cache.CacheNotificationResponseHeader;
 import org.apache.fineract.notification.data.NotificationData;
-import org.apache.fineract.notification.data.NotificationMapperData;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -44,7 +44,6 @@ public class NotificationReadPlatformServiceImpl implements NotificationReadPlat
     private HashMap<Long, HashMap<Long, CacheNotificationResponseHeader>> tenantNotificationResponseHeaderCache = new HashMap<>();
 
     private final NotificationDataRow notificationDataRow = new NotificationDataRow();
-    private final NotificationMapperRow notificationMapperRow = new NotificationMapperRow();
 
     private final JdbcTemplate jdbcTemplate;
     private final PlatformSecurityContext context;
@@ -94,30 +93,43 @@ public class NotificationReadPlatformServiceImpl implements NotificationReadPlat
     }
 
     private boolean checkForUnreadNotifications(Long appUserId) {
-        String sql = "SELECT id, notification_id as notificationId, user_id as userId, is_read as isRead, created_at "
-                + "as createdAt FROM notification_mapper WHERE user_id = ? AND is_read = false";
-        List<NotificationMapperData> notificationMappers = this.jdbcTemplate.query(sql, notificationMapperRow, appUserId);
-        return notificationMappers.size() > 0;
+        return getUnreadNotificationCount(appUserId) > 0;
     }
 
     @Override
+    public long getUnreadNotificationCount(Long appUserId) {
+        final List<Long> counts = this.jdbcTemplate.queryForList("SELECT unread_count FROM notification_unread_counter WHERE user_id = ?",
+                Long.class, appUserId);
+        return counts.isEmpty() || counts.get(0) == null ? 0L : Math.max(0L, counts.get(0));
+    }
+
+    @Override
+    @Transactional
     public void updateNotificationReadStatus() {
         final Long appUserId = context.authenticatedUser().getId();
         String sql = "UPDATE notification_mapper SET is_read = true WHERE is_read = false and user_id = ?";
         this.jdbcTemplate.update(sql, appUserId);
+        // deliveries read now must not be counted any more, those committed meanwhile are still unread and stay in the
+        // outbox; the outbox is locked before the counter, in the same order as NotificationDeliveryQueue drains it
+        this.jdbcTemplate.update("DELETE FROM " + NotificationDeliveryQueue.OUTBOX_TABLE + " WHERE user_id = ? AND notification_id IN "
+                + "(SELECT notification_id FROM notification_mapper WHERE user_id = ? AND is_read = true)", appUserId, appUserId);
+        this.jdbcTemplate.update("UPDATE notification_unread_counter SET unread_count = 0 WHERE user_id = ?", appUserId);
     }
 
     @Override
     public Page<NotificationData> getAllUnreadNotifications(final SearchParameters searchParameters) {
         final Long appUserId = context.authenticatedUser().getId();
-        String sql = "SELECT " + sqlGenerator.calcFoundRows() + " ng.id as id, nm.user_id as userId, ng.object_type as objectType, "
+        String sql = "SELECT ng.id as id, nm.user_id as userId, ng.object_type as objectType, "
                 + "ng.object_identifier as objectId, ng.actor as actor, ng." + sqlGenerator.escape("action")
                 + " as action, ng.notification_content "
                 + "as content, ng.is_system_generated as isSystemGenerated, nm.created_at as createdAt "
                 + "FROM notification_mapper nm INNER JOIN notification_generator ng ON nm.notification_id = ng.id "
                 + "WHERE nm.user_id = ? AND nm.is_read = false order by nm.created_at desc";
 
-        return getNotificationDataPage(searchParameters, appUserId, sql);
+        // the total comes from the unread counter instead of counting the matching rows
+        final List<NotificationData> notifications = this.jdbcTemplate.query(pagedSql(searchParameters, sql), this.notificationDataRow,
+                appUserId);
+        return new Page<>(notifications, (int) getUnreadNotificationCount(appUserId));
     }
 
     @Override
@@ -134,6 +146,11 @@ public class NotificationReadPlatformServiceImpl implements NotificationReadPlat
     }
 
     private Page<NotificationData> getNotificationDataPage(SearchParameters searchParameters, Long appUserId, String sql) {
+        Object[] params = new Object[] { appUserId };
+        return this.paginationHelper.fetchPage(this.jdbcTemplate, pagedSql(searchParameters, sql), params, this.notificationDataRow);
+    }
+
+    private String pagedSql(SearchParameters searchParameters, String sql) {
         final StringBuilder sqlBuilder = new StringBuilder(200);
         sqlBuilder.append(sql);
 
@@ -155,33 +172,7 @@ public class NotificationReadPlatformServiceImpl implements NotificationReadPlat
             }
         }
 
-        Object[] params = new Object[] { appUserId };
-        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), params, this.notificationDataRow);
-    }
-
-    private static final class NotificationMapperRow implements RowMapper<NotificationMapperData> {
-
-        @Override
-        public NotificationMapperData mapRow(ResultSet rs, int rowNum) throws SQLException {
-            NotificationMapperData notificationMapperData = new NotificationMapperData();
-
-            final Long id = rs.getLong("id");
-            notificationMapperData.setId(id);
-
-            final Long notificationId = rs.getLong("notificationId");
-            notificationMapperData.setNotificationId(notificationId);
-
-            final Long userId = rs.getLong("userId");
-            notificationMapperData.setUserId(userId);
-
-            final boolean isRead = rs.getBoolean("isRead");
-            notificationMapperData.setRead(isRead);
-
-            final String createdAt = rs.getString("createdAt");
-            notificationMapperData.setCreatedAt(createdAt);
-
-            return notificationMapperData;
-        }
+        return sqlBuilder.toString();
     }
 
     private static final class NotificationDataRow implements RowMapper<NotificationData> {
@@ -18,15 +18,11 @@
  */
 package org.apache.fineract.notification.service;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.notification.domain.Notification;
-import org.apache.fineract.notification.domain.NotificationMapper;
-import org.apache.fineract.useradministration.domain.AppUser;
-import org.apache.fineract.useradministration.domain.AppUserRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,28 +32,12 @@ import org.springframework.transaction.annotation.Transactional;
 public class NotificationWritePlatformServiceImpl implements NotificationWritePlatformService {
 
     private final NotificationGeneratorWritePlatformService notificationGeneratorWritePlatformService;
-    private final NotificationGeneratorReadRepositoryWrapper notificationGeneratorReadRepositoryWrapper;
-    private final AppUserRepository appUserRepository;
-    private final NotificationMapperWritePlatformService notificationMapperWritePlatformService;
+    private final NotificationDeliveryQueue notificationDeliveryQueue;
 
     @Override
     public Long notify(Long userId, String objectType, Long objectIdentifier, String action, Long actorId, String notificationContent,
             boolean isSystemGenerated) {
-
-        Long generatedNotificationId = insertIntoNotificationGenerator(objectType, objectIdentifier, action, actorId, notificationContent,
-                isSystemGenerated);
-        insertIntoNotificationMapper(userId, generatedNotificationId);
-        return generatedNotificationId;
-    }
-
-    private Long insertIntoNotificationMapper(Long userId, Long generatedNotificationId) {
-        AppUser appUser = this.appUserRepository.findById(userId).orElse(null);
-        NotificationMapper notificationMapper = new NotificationMapper(
-                this.notificationGeneratorReadRepositoryWrapper.findById(generatedNotificationId), appUser, false,
-                DateUtils.getLocalDateTimeOfSystem());
-
-        this.notificationMapperWritePlatformService.create(notificationMapper);
-        return notificationMapper.getId();
+        return notify(List.of(userId), objectType, objectIdentifier, action, actorId, notificationContent, isSystemGenerated);
     }
 
     private Long insertIntoNotificationGenerator(String objectType, Long objectIdentifier, String action, Long actorId,
@@ -76,20 +56,8 @@ public class NotificationWritePlatformServiceImpl implements NotificationWritePl
         Long generatedNotificationId = insertIntoNotificationGenerator(objectType, objectId, action, actorId, notificationContent,
                 isSystemGenerated);
 
-        insertIntoNotificationMapper(userIds, generatedNotificationId);
+        // mapper rows are written in this transaction, unread counters in batches once it committed
+        this.notificationDeliveryQueue.deliver(generatedNotificationId, userIds);
         return generatedNotificationId;
     }
-
-    private List<Long> insertIntoNotificationMapper(Collection<Long> userIds, Long generatedNotificationId) {
-        List<Long> mappedIds = new ArrayList<>();
-        for (Long userId : userIds) {
-            AppUser appUser = this.appUserRepository.findById(userId).orElseThrow();
-            NotificationMapper notificationMapper = new NotificationMapper(
-                    this.notificationGeneratorReadRepositoryWrapper.findById(generatedNotificationId), appUser, false,
-                    DateUtils.getLocalDateTimeOfSystem());
-            this.notificationMapperWritePlatformService.create(notificationMapper);
-            mappedIds.add(notificationMapper.getId());
-        }
-        return mappedIds;
-    }
 }
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.holiday.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.organisation.workingdays.service.WorkingDaysUtil;
+
+/**
+ * Business calendar of one office: its holidays and working days.
+ *
+ * Holidays are indexed lazily as one bit per day of a year, so looking up a date that is not a holiday, which is by far
+ * the common case while generating schedules, does not walk the holiday list. The index only covers the holidays it
+ * was created with and is kept alongside them, so holiday changes are picked up the next time the holidays of the
+ * office are loaded. Working days are checked through {@link WorkingDaysUtil}, which caches them by rule.
+ */
+public final class BusinessCalendarIndex {
+
+    private final List<Holiday> holidays;
+    private final WorkingDays workingDays;
+    private final Map<Integer, BitSet> holidaysByYear = new ConcurrentHashMap<>();
+
+    public BusinessCalendarIndex(final List<Holiday> holidays, final WorkingDays workingDays) {
+        this.holidays = holidays == null ? Collections.emptyList() : holidays;
+        this.workingDays = workingDays;
+    }
+
+    public boolean isHoliday(final LocalDate date) {
+        return this.holidaysByYear.computeIfAbsent(date.getYear(), this::indexHolidays).get(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * @return the holiday {@link HolidayUtil#getApplicableHoliday(LocalDate, List)} would return, or null when the date
+     *         is not a holiday
+     */
+    public Holiday getApplicableHoliday(final LocalDate date) {
+        return isHoliday(date) ? HolidayUtil.getApplicableHoliday(date, this.holidays) : null;
+    }
+
+    public boolean isNonWorkingDay(final LocalDate date) {
+        return WorkingDaysUtil.isNonWorkingDay(this.workingDays, date);
+    }
+
+    private BitSet indexHolidays(final Integer year) {
+        final LocalDate firstDayOfYear = LocalDate.ofYearDay(year, 1);
+        final LocalDate lastDayOfYear = firstDayOfYear.plusYears(1).minusDays(1);
+        final BitSet days = new BitSet(lastDayOfYear.getDayOfYear());
+        for (final Holiday holiday : this.holidays) {
+            final LocalDate fromDate = holiday.getFromDateLocalDate();
+            final LocalDate toDate = holiday.getToDateLocalDate();
+            if (fromDate == null || toDate == null || toDate.isBefore(fromDate) || fromDate.isAfter(lastDayOfYear)
+                    || toDate.isBefore(firstDayOfYear)) {
+                continue;
+            }
+            final LocalDate startDate = fromDate.isBefore(firstDayOfYear) ? firstDayOfYear : fromDate;
+            final LocalDate endDate = toDate.isAfter(lastDayOfYear) ? lastDayOfYear : toDate;
+            final int fromIndex = startDate.getDayOfYear() - 1;
+            days.set(fromIndex, fromIndex + (int) ChronoUnit.DAYS.between(startDate, endDate) + 1);
+        }
+        return days;
+    }
+}
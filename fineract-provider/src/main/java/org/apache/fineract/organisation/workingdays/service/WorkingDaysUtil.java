@@ -18,14 +18,32 @@
  */
 package org.apache.fineract.organisation.workingdays.service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import net.fortuna.ical4j.model.Recur;
+import net.fortuna.ical4j.model.WeekDay;
 import org.apache.fineract.organisation.workingdays.data.AdjustedDateDetailsDTO;
 import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
 import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
 import org.apache.fineract.portfolio.calendar.service.CalendarUtils;
+import org.apache.fineract.portfolio.calendar.service.CalendarUtils.DayNameEnum;
 
 public final class WorkingDaysUtil {
 
+    private static final int MAX_CACHED_WORKING_DAY_RULES = 1000;
+    private static final int NOT_A_WEEKDAY_RULE = -1;
+    // least recently used rules are evicted once the limit is reached, so the rules in use stay cached
+    private static final Map<String, Integer> WORKING_DAY_MASKS = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Integer> eldest) {
+            return size() > MAX_CACHED_WORKING_DAY_RULES;
+        }
+    });
+
     private WorkingDaysUtil() {
 
     }
@@ -57,7 +75,48 @@ public final class WorkingDaysUtil {
     }
 
     public static boolean isWorkingDay(final WorkingDays workingDays, final LocalDate date) {
-        return CalendarUtils.isValidRedurringDate(workingDays.getRecurrence(), date, date);
+        final int workingDayMask = getWorkingDayMask(workingDays.getRecurrence());
+        if (workingDayMask == NOT_A_WEEKDAY_RULE) {
+            return CalendarUtils.isValidRedurringDate(workingDays.getRecurrence(), date, date);
+        }
+        return (workingDayMask & dayBit(date.getDayOfWeek())) != 0;
+    }
+
+    /**
+     * Returns the days of week allowed by a weekly working days rule as a bit mask, bit 0 being Monday. Masks are cached
+     * by rule string, so an update of the working days is picked up as a new rule. Rules that are more than a plain list
+     * of week days return NOT_A_WEEKDAY_RULE and are evaluated as recurrences.
+     */
+    static int getWorkingDayMask(final String recurrence) {
+        if (recurrence == null) {
+            return NOT_A_WEEKDAY_RULE;
+        }
+        Integer workingDayMask = WORKING_DAY_MASKS.get(recurrence);
+        if (workingDayMask == null) {
+            workingDayMask = computeWorkingDayMask(recurrence);
+            WORKING_DAY_MASKS.put(recurrence, workingDayMask);
+        }
+        return workingDayMask;
+    }
+
+    private static int computeWorkingDayMask(final String recurrence) {
+        final Recur recur = CalendarUtils.getICalRecur(recurrence);
+        if (recur == null || !Recur.Frequency.WEEKLY.equals(recur.getFrequency()) || recur.getDayList().isEmpty()
+                || !recur.getMonthList().isEmpty() || !recur.getMonthDayList().isEmpty() || !recur.getSetPosList().isEmpty()) {
+            return NOT_A_WEEKDAY_RULE;
+        }
+        int workingDayMask = 0;
+        for (final WeekDay weekDay : recur.getDayList()) {
+            if (weekDay.getOffset() != 0) {
+                return NOT_A_WEEKDAY_RULE;
+            }
+            workingDayMask |= dayBit(DayOfWeek.of(DayNameEnum.from(weekDay.getDay().name()).getValue()));
+        }
+        return workingDayMask;
+    }
+
+    private static int dayBit(final DayOfWeek dayOfWeek) {
+        return 1 << (dayOfWeek.getValue() - 1);
     }
 
     public static boolean isNonWorkingDay(final WorkingDays workingDays, final LocalDate date) {
@@ -18,7 +18,9 @@
  */
 package org.apache.fineract.portfolio.account.service;
 
+import java.time.LocalDate;
 import java.util.Collection;
+import java.util.Map;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.portfolio.account.data.StandingInstructionDTO;
 import org.apache.fineract.portfolio.account.data.StandingInstructionData;
@@ -35,6 +37,10 @@ public interface StandingInstructionReadPlatformService {
 
     Collection<StandingInstructionData> retrieveAll(Integer status);
 
+    Collection<StandingInstructionData> retrieveAllDueOn(Integer status, LocalDate date);
+
     StandingInstructionDuesData retriveLoanDuesData(Long loanId);
 
+    Map<Long, StandingInstructionDuesData> retriveLoanDuesData(Collection<Long> loanIds);
+
 }
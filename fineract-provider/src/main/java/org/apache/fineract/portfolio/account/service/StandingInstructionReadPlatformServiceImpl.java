@@ -33,7 +33,10 @@ import java.time.MonthDay;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
@@ -58,11 +61,13 @@ import org.apache.fineract.portfolio.account.domain.StandingInstructionType;
 import org.apache.fineract.portfolio.account.exception.AccountTransferNotFoundException;
 import org.apache.fineract.portfolio.client.data.ClientData;
 import org.apache.fineract.portfolio.client.service.ClientReadPlatformService;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
 import org.apache.fineract.portfolio.common.service.CommonEnumerations;
 import org.apache.fineract.portfolio.common.service.DropdownReadPlatformService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
@@ -70,6 +75,8 @@ import org.springframework.util.CollectionUtils;
 @Service
 public class StandingInstructionReadPlatformServiceImpl implements StandingInstructionReadPlatformService {
 
+    private static final int LOAN_DUES_BATCH_SIZE = 1000;
+
     private final JdbcTemplate jdbcTemplate;
     private final ColumnValidator columnValidator;
     private final ClientReadPlatformService clientReadPlatformService;
@@ -345,6 +352,32 @@ public class StandingInstructionReadPlatformServiceImpl implements StandingInstr
         return this.jdbcTemplate.query(sqlBuilder.toString(), this.standingInstructionMapper, status);
     }
 
+    @Override
+    public Collection<StandingInstructionData> retrieveAllDueOn(final Integer status, final LocalDate date) {
+        // superset of the recurrence check done by the executing job: monthly and yearly instructions must fall on this day
+        // (or on a later day that does not exist in this month), dues instructions need an open installment due on it
+        final boolean lastDayOfMonth = date.getDayOfMonth() == date.lengthOfMonth();
+        final String dayMatches = lastDayOfMonth ? "atsi.recurrence_on_day >= ?" : "atsi.recurrence_on_day = ?";
+        final StringBuilder sqlBuilder = new StringBuilder(200);
+        sqlBuilder.append("select ");
+        sqlBuilder.append(this.standingInstructionMapper.schema());
+        sqlBuilder.append(" where atsi.status=? and ? >= atsi.valid_from and (atsi.valid_till IS NULL or ? < atsi.valid_till) ")
+                .append(" and (atsi.last_run_date <> ? or atsi.last_run_date IS NULL)")
+                .append(" and ((atsi.recurrence_type = ").append(AccountTransferRecurrenceType.AS_PER_DUES.getValue())
+                .append(" and exists (select 1 from m_loan_repayment_schedule ls where ls.loan_id = atd.to_loan_account_id")
+                .append(" and ls.duedate = ? and ls.completed_derived <> 1))")
+                .append(" or (atsi.recurrence_type = ").append(AccountTransferRecurrenceType.PERIODIC.getValue()).append(" and (")
+                .append("atsi.recurrence_frequency in (").append(PeriodFrequencyType.DAYS.getValue()).append(", ")
+                .append(PeriodFrequencyType.WEEKS.getValue()).append(")")
+                .append(" or (atsi.recurrence_frequency = ").append(PeriodFrequencyType.MONTHS.getValue()).append(" and ")
+                .append(dayMatches).append(")")
+                .append(" or (atsi.recurrence_frequency = ").append(PeriodFrequencyType.YEARS.getValue())
+                .append(" and atsi.recurrence_on_month = ? and ").append(dayMatches).append("))))")
+                .append(" ORDER BY atsi.priority DESC");
+        return this.jdbcTemplate.query(sqlBuilder.toString(), this.standingInstructionMapper, status, date, date, date, date,
+                date.getDayOfMonth(), date.getMonthValue(), date.getDayOfMonth());
+    }
+
     @Override
     public StandingInstructionData retrieveOne(final Long instructionId) {
 
@@ -365,6 +398,22 @@ public class StandingInstructionReadPlatformServiceImpl implements StandingInstr
         return this.jdbcTemplate.queryForObject(sql, rm, new Object[] { loanId }); // NOSONAR
     }
 
+    @Override
+    public Map<Long, StandingInstructionDuesData> retriveLoanDuesData(final Collection<Long> loanIds) {
+        final StandingInstructionLoanDuesMapper rm = new StandingInstructionLoanDuesMapper();
+        final Map<Long, StandingInstructionDuesData> duesByLoan = new HashMap<>();
+        final List<Long> ids = new ArrayList<>(loanIds);
+        for (int from = 0; from < ids.size(); from += LOAN_DUES_BATCH_SIZE) {
+            final List<Long> batch = ids.subList(from, Math.min(from + LOAN_DUES_BATCH_SIZE, ids.size()));
+            final String sql = "select ml.id as loanId, " + rm.schema() + " where ml.id in ("
+                    + String.join(",", Collections.nCopies(batch.size(), "?")) + ") and ls.duedate <= "
+                    + sqlGenerator.currentBusinessDate() + " and ls.completed_derived <> 1 group by ml.id";
+            this.jdbcTemplate.query(sql, (RowCallbackHandler) rs -> duesByLoan.put(rs.getLong("loanId"), rm.mapRow(rs, 0)),
+                    batch.toArray());
+        }
+        return duesByLoan;
+    }
+
     private static final class StandingInstructionMapper implements RowMapper<StandingInstructionData> {
 
         private final String schemaSql;
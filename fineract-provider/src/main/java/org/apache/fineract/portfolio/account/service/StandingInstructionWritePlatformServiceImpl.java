@@ -27,9 +27,13 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
@@ -40,10 +44,12 @@ import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.service.JobExecuter;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.portfolio.account.PortfolioAccountType;
 import org.apache.fineract.portfolio.account.api.StandingInstructionApiConstants;
 import org.apache.fineract.portfolio.account.data.AccountTransferDTO;
+import org.apache.fineract.portfolio.account.data.PortfolioAccountData;
 import org.apache.fineract.portfolio.account.data.StandingInstructionData;
 import org.apache.fineract.portfolio.account.data.StandingInstructionDataValidator;
 import org.apache.fineract.portfolio.account.data.StandingInstructionDuesData;
@@ -75,6 +81,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class StandingInstructionWritePlatformServiceImpl implements StandingInstructionWritePlatformService {
 
     private static final Logger LOG = LoggerFactory.getLogger(StandingInstructionWritePlatformServiceImpl.class);
+    private static final StandingInstructionDuesData NO_DUES = new StandingInstructionDuesData(null, BigDecimal.ZERO);
+    private static final ScheduledDateGenerator SCHEDULED_DATE_GENERATOR = new DefaultScheduledDateGenerator();
 
     private final StandingInstructionDataValidator standingInstructionDataValidator;
     private final StandingInstructionAssembler standingInstructionAssembler;
@@ -84,6 +92,7 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
     private final AccountTransfersWritePlatformService accountTransfersWritePlatformService;
     private final JdbcTemplate jdbcTemplate;
     private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final JobExecuter jobExecuter;
 
     @Autowired
     public StandingInstructionWritePlatformServiceImpl(final StandingInstructionDataValidator standingInstructionDataValidator,
@@ -92,7 +101,7 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
             final StandingInstructionRepository standingInstructionRepository,
             final StandingInstructionReadPlatformService standingInstructionReadPlatformService,
             final AccountTransfersWritePlatformService accountTransfersWritePlatformService, final JdbcTemplate jdbcTemplate,
-            DatabaseSpecificSQLGenerator sqlGenerator) {
+            DatabaseSpecificSQLGenerator sqlGenerator, final JobExecuter jobExecuter) {
         this.standingInstructionDataValidator = standingInstructionDataValidator;
         this.standingInstructionAssembler = standingInstructionAssembler;
         this.accountTransferDetailRepository = accountTransferDetailRepository;
@@ -101,6 +110,7 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
         this.accountTransfersWritePlatformService = accountTransfersWritePlatformService;
         this.jdbcTemplate = jdbcTemplate;
         this.sqlGenerator = sqlGenerator;
+        this.jobExecuter = jobExecuter;
     }
 
     @Transactional
@@ -194,16 +204,109 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
     @Override
     @CronTarget(jobName = JobName.EXECUTE_STANDING_INSTRUCTIONS)
     public void executeStandingInstructions() throws JobExecutionException {
+        final LocalDate transactionDate = DateUtils.getBusinessLocalDate();
         Collection<StandingInstructionData> instructionDatas = this.standingInstructionReadPlatformService
-                .retrieveAll(StandingInstructionStatus.ACTIVE.getValue());
-        List<Throwable> errors = new ArrayList<>();
-        LocalDate transactionDate = DateUtils.getBusinessLocalDate();
+                .retrieveAllDueOn(StandingInstructionStatus.ACTIVE.getValue(), transactionDate);
+
+        final Set<Long> loanIds = new HashSet<>();
+        for (StandingInstructionData data : instructionDatas) {
+            if (data.toAccountType().isLoanAccount() && (data.recurrenceType().isDuesRecurrence()
+                    || (data.recurrenceType().isPeriodicRecurrence() && data.instructionType().isDuesAmoutTransfer()))) {
+                loanIds.add(data.toAccount().accountId());
+            }
+        }
+        final Map<Long, StandingInstructionDuesData> loanDues = loanIds.isEmpty() ? Collections.emptyMap()
+                : this.standingInstructionReadPlatformService.retriveLoanDuesData(loanIds);
+
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        // accounts of one partition are never touched by another, so no two workers debit or credit the same account
+        this.jobExecuter.executePartitions(partitionByConnectedAccounts(instructionDatas, this.jobExecuter.getNumberOfThreads()),
+                (partition, sb) -> {
+                    try {
+                        executeStandingInstructions(partition, loanDues, transactionDate, errors);
+                    } catch (RuntimeException e) {
+                        errors.add(e);
+                    }
+                });
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+    }
+
+    /**
+     * Splits the instructions into at most <code>partitionCount</code> partitions so that accounts linked by an
+     * instruction, directly or through other instructions, are all in the same partition. Instructions keep their
+     * priority order within a partition.
+     */
+    static List<List<StandingInstructionData>> partitionByConnectedAccounts(final Collection<StandingInstructionData> instructionDatas,
+            final int partitionCount) {
+        final Map<String, String> parents = new HashMap<>();
+        for (final StandingInstructionData data : instructionDatas) {
+            final String source = findGroup(parents, accountKey(data.fromAccountType(), data.fromAccount()));
+            if (data.toAccount() != null) {
+                final String target = findGroup(parents, accountKey(data.toAccountType(), data.toAccount()));
+                if (!source.equals(target)) {
+                    parents.put(target, source);
+                }
+            }
+        }
+
+        // every group goes to the partition with the fewest instructions so far
+        final Map<String, Long> groupSizes = new LinkedHashMap<>();
+        for (final StandingInstructionData data : instructionDatas) {
+            groupSizes.merge(findGroup(parents, accountKey(data.fromAccountType(), data.fromAccount())), 1L, Long::sum);
+        }
+        final long[] partitionSizes = new long[partitionCount];
+        final Map<String, Integer> partitionByGroup = new HashMap<>();
+        for (final Map.Entry<String, Long> group : groupSizes.entrySet()) {
+            int smallest = 0;
+            for (int i = 1; i < partitionCount; i++) {
+                if (partitionSizes[i] < partitionSizes[smallest]) {
+                    smallest = i;
+                }
+            }
+            partitionSizes[smallest] += group.getValue();
+            partitionByGroup.put(group.getKey(), smallest);
+        }
+
+        final List<List<StandingInstructionData>> partitions = new ArrayList<>();
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (final StandingInstructionData data : instructionDatas) {
+            final String group = findGroup(parents, accountKey(data.fromAccountType(), data.fromAccount()));
+            partitions.get(partitionByGroup.get(group)).add(data);
+        }
+        partitions.removeIf(List::isEmpty);
+        return partitions;
+    }
+
+    private static String accountKey(final PortfolioAccountType accountType, final PortfolioAccountData account) {
+        return accountType + ":" + account.accountId();
+    }
+
+    private static String findGroup(final Map<String, String> parents, final String accountKey) {
+        String root = accountKey;
+        while (parents.containsKey(root)) {
+            root = parents.get(root);
+        }
+        // point every account on the path directly at the root
+        String current = accountKey;
+        while (!current.equals(root)) {
+            final String next = parents.get(current);
+            parents.put(current, root);
+            current = next;
+        }
+        return root;
+    }
+
+    private void executeStandingInstructions(final List<StandingInstructionData> instructionDatas,
+            final Map<Long, StandingInstructionDuesData> loanDues, final LocalDate transactionDate, final List<Throwable> errors) {
         for (StandingInstructionData data : instructionDatas) {
             boolean isDueForTransfer = false;
             AccountTransferRecurrenceType recurrenceType = data.recurrenceType();
             StandingInstructionType instructionType = data.instructionType();
             if (recurrenceType.isPeriodicRecurrence()) {
-                final ScheduledDateGenerator scheduledDateGenerator = new DefaultScheduledDateGenerator();
                 PeriodFrequencyType frequencyType = data.recurrenceFrequency();
                 LocalDate startDate = data.validFrom();
                 if (frequencyType.isMonthly()) {
@@ -217,20 +320,20 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
                         startDate = startDate.plusYears(1);
                     }
                 }
-                isDueForTransfer = scheduledDateGenerator.isDateFallsInSchedule(frequencyType, data.recurrenceInterval(), startDate,
+                isDueForTransfer = SCHEDULED_DATE_GENERATOR.isDateFallsInSchedule(frequencyType, data.recurrenceInterval(), startDate,
                         transactionDate);
 
             }
             BigDecimal transactionAmount = data.amount();
             if (data.toAccountType().isLoanAccount()
                     && (recurrenceType.isDuesRecurrence() || (isDueForTransfer && instructionType.isDuesAmoutTransfer()))) {
-                StandingInstructionDuesData standingInstructionDuesData = this.standingInstructionReadPlatformService
-                        .retriveLoanDuesData(data.toAccount().accountId());
+                StandingInstructionDuesData standingInstructionDuesData = loanDues.getOrDefault(data.toAccount().accountId(),
+                        NO_DUES);
                 if (data.instructionType().isDuesAmoutTransfer()) {
                     transactionAmount = standingInstructionDuesData.totalDueAmount();
                 }
                 if (recurrenceType.isDuesRecurrence()) {
-                    isDueForTransfer = DateUtils.getBusinessLocalDate().equals(standingInstructionDuesData.dueDate());
+                    isDueForTransfer = transactionDate.equals(standingInstructionDuesData.dueDate());
                 }
             }
 
@@ -252,9 +355,6 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
 
             }
         }
-        if (!errors.isEmpty()) {
-            throw new JobExecutionException(errors);
-        }
     }
 
     private boolean transferAmount(final List<Throwable> errors, final AccountTransferDTO accountTransferDTO, final Long instructionId) {
@@ -31,7 +31,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 import net.fortuna.ical4j.model.Date;
 import net.fortuna.ical4j.model.DateList;
 import net.fortuna.ical4j.model.DateTime;
@@ -64,6 +66,9 @@ public final class CalendarUtils {
 
     private static final Logger LOG = LoggerFactory.getLogger(CalendarUtils.class);
 
+    private static final int MAX_CACHED_RECURRING_RULES = 1000;
+    private static final Map<String, Recur> RECUR_CACHE = new ConcurrentHashMap<>();
+
     static {
         System.setProperty("net.fortuna.ical4j.timezone.date.floating", "true");
     }
@@ -75,7 +80,7 @@ public final class CalendarUtils {
             return null;
         }
         LocalDateTime nextDate = getNextRecurringDate(recur, seedDate, startDate);
-        nextDate = (LocalDateTime) adjustDate(nextDate, seedDate, getMeetingPeriodFrequencyType(recurringRule));
+        nextDate = (LocalDateTime) adjustDate(nextDate, seedDate, getMeetingPeriodFrequencyType(recur));
         return nextDate;
     }
 
@@ -85,7 +90,7 @@ public final class CalendarUtils {
             return null;
         }
         LocalDate nextDate = getNextRecurringDate(recur, seedDate, startDate);
-        nextDate = (LocalDate) adjustDate(nextDate, seedDate, getMeetingPeriodFrequencyType(recurringRule));
+        nextDate = (LocalDate) adjustDate(nextDate, seedDate, getMeetingPeriodFrequencyType(recur));
         return nextDate;
     }
 
@@ -233,7 +238,29 @@ public final class CalendarUtils {
         return recuringDate;
     }
 
+    /**
+     * Returns the parsed recurrence for the given RRULE string. Parsed rules are cached by rule string since schedule
+     * generation and collection sheets evaluate the same few rules many times; the returned {@link Recur} is shared and
+     * must only be read or copied (see {@link #getRecurBuilder(Recur)}), never modified.
+     */
     public static Recur getICalRecur(final String recurringRule) {
+        if (recurringRule == null) {
+            return parseICalRecur(null);
+        }
+        Recur recur = RECUR_CACHE.get(recurringRule);
+        if (recur == null) {
+            recur = parseICalRecur(recurringRule);
+            if (recur != null) {
+                if (RECUR_CACHE.size() >= MAX_CACHED_RECURRING_RULES) {
+                    RECUR_CACHE.clear();
+                }
+                RECUR_CACHE.put(recurringRule, recur);
+            }
+        }
+        return recur;
+    }
+
+    private static Recur parseICalRecur(final String recurringRule) {
 
         // Construct RRule
         try {
@@ -0,0 +1,40 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.collectionsheet.service;
+
+import java.time.LocalDate;
+import java.util.function.Supplier;
+import org.apache.fineract.portfolio.collectionsheet.data.JLGCollectionSheetData;
+
+/**
+ * Keeps the last assembled collection sheet of a center so that field officers downloading the sheet for the same
+ * meeting do not rebuild it on every request. A snapshot is dropped once collection sheet postings, loan transactions
+ * or savings transactions of the center (or one of its groups or their clients) are committed, and otherwise expires
+ * after a short time to live.
+ */
+public interface CenterCollectionSheetSnapshotService {
+
+    JLGCollectionSheetData retrieveCenterCollectionSheet(Long centerId, LocalDate meetingDate,
+            Supplier<JLGCollectionSheetData> sheetLoader);
+
+    /**
+     * Evicts the snapshot of the given center, or of the parent center when the id belongs to a group.
+     */
+    void evict(Long centerOrGroupId);
+}
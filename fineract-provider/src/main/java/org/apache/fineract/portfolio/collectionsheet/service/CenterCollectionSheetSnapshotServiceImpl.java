@@ -0,0 +1,193 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.collectionsheet.service;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanAdjustTransactionBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanDisbursalBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanUndoDisbursalBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanUndoLastDisbursalBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanTransactionBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanTransactionMakeRepaymentPostBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanWaiveInterestBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanWrittenOffPostBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.savings.SavingsPostInterestBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.savings.charge.SavingsPayChargeBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.savings.charge.SavingsWaiveChargeBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.savings.transaction.SavingsDepositBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.savings.transaction.SavingsWithdrawalBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.service.BusinessEventNotifierService;
+import org.apache.fineract.portfolio.collectionsheet.data.JLGCollectionSheetData;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+@RequiredArgsConstructor
+public class CenterCollectionSheetSnapshotServiceImpl implements CenterCollectionSheetSnapshotService {
+
+    public static final String CACHE_NAME = "centerCollectionSheets";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RuntimeDelegatingCacheManager cacheManager;
+    private final BusinessEventNotifierService businessEventNotifierService;
+
+    @PostConstruct
+    public void addListeners() {
+        evictOnLoanEvent(LoanDisbursalBusinessEvent.class);
+        evictOnLoanEvent(LoanUndoDisbursalBusinessEvent.class);
+        evictOnLoanEvent(LoanUndoLastDisbursalBusinessEvent.class);
+
+        evictOnLoanTransactionEvent(LoanTransactionMakeRepaymentPostBusinessEvent.class);
+        evictOnLoanTransactionEvent(LoanWaiveInterestBusinessEvent.class);
+        evictOnLoanTransactionEvent(LoanWrittenOffPostBusinessEvent.class);
+
+        this.businessEventNotifierService.addPostBusinessEventListener(LoanAdjustTransactionBusinessEvent.class,
+                event -> evict(event.get().getTransactionToAdjust().getLoan().getGroupId()));
+
+        // the sheet carries the due deposits of the savings accounts of the center's clients and groups
+        this.businessEventNotifierService.addPostBusinessEventListener(SavingsDepositBusinessEvent.class,
+                event -> evictForSavingsAccount(event.get().getSavingsAccount().getId()));
+        this.businessEventNotifierService.addPostBusinessEventListener(SavingsWithdrawalBusinessEvent.class,
+                event -> evictForSavingsAccount(event.get().getSavingsAccount().getId()));
+        this.businessEventNotifierService.addPostBusinessEventListener(SavingsPostInterestBusinessEvent.class,
+                event -> evictForSavingsAccount(event.get().getId()));
+        this.businessEventNotifierService.addPostBusinessEventListener(SavingsPayChargeBusinessEvent.class,
+                event -> evictForSavingsAccount(event.get().savingsAccount().getId()));
+        this.businessEventNotifierService.addPostBusinessEventListener(SavingsWaiveChargeBusinessEvent.class,
+                event -> evictForSavingsAccount(event.get().savingsAccount().getId()));
+    }
+
+    @Override
+    public JLGCollectionSheetData retrieveCenterCollectionSheet(final Long centerId, final LocalDate meetingDate,
+            final Supplier<JLGCollectionSheetData> sheetLoader) {
+        final Cache cache = this.cacheManager.getCache(CACHE_NAME);
+        if (cache == null || cache instanceof NoOpCache) {
+            return sheetLoader.get();
+        }
+
+        final String key = cacheKey(centerId);
+        final CenterCollectionSheetSnapshot snapshot = cache.get(key, CenterCollectionSheetSnapshot.class);
+        if (snapshot != null && snapshot.meetingDate.equals(meetingDate)) {
+            return snapshot.collectionSheet;
+        }
+
+        final JLGCollectionSheetData collectionSheet = sheetLoader.get();
+        cache.put(key, new CenterCollectionSheetSnapshot(meetingDate, collectionSheet));
+        return collectionSheet;
+    }
+
+    @Override
+    public void evict(final Long centerOrGroupId) {
+        if (centerOrGroupId == null) {
+            return;
+        }
+        final Cache cache = this.cacheManager.getCache(CACHE_NAME);
+        if (cache == null || cache instanceof NoOpCache) {
+            return;
+        }
+
+        final List<Long> parentIds = this.jdbcTemplate.queryForList("select parent_id from m_group where id = ? and parent_id is not null",
+                Long.class, centerOrGroupId);
+        final Set<String> keys = new LinkedHashSet<>();
+        keys.add(cacheKey(centerOrGroupId));
+        if (!parentIds.isEmpty()) {
+            keys.add(cacheKey(parentIds.get(0)));
+        }
+        evict(cache, keys);
+    }
+
+    /**
+     * Evicts the snapshots of the centers whose sheet lists the savings account, either as an account of one of the
+     * groups or as an account of a client of one of the groups.
+     */
+    void evictForSavingsAccount(final Long savingsAccountId) {
+        if (savingsAccountId == null) {
+            return;
+        }
+        final Cache cache = this.cacheManager.getCache(CACHE_NAME);
+        if (cache == null || cache instanceof NoOpCache) {
+            return;
+        }
+
+        final Set<String> keys = new LinkedHashSet<>();
+        this.jdbcTemplate.query("select g.id as groupId, g.parent_id as parentId from m_group g where g.id in "
+                + "(select gc.group_id from m_group_client gc join m_savings_account sa on sa.client_id = gc.client_id where sa.id = ?) "
+                + "or g.id in (select sa.group_id from m_savings_account sa where sa.id = ?)", rs -> {
+                    keys.add(cacheKey(rs.getLong("groupId")));
+                    final long parentId = rs.getLong("parentId");
+                    if (!rs.wasNull()) {
+                        keys.add(cacheKey(parentId));
+                    }
+                }, savingsAccountId, savingsAccountId);
+        if (!keys.isEmpty()) {
+            evict(cache, keys);
+        }
+    }
+
+    private static void evict(final Cache cache, final Set<String> keys) {
+        keys.forEach(cache::evict);
+
+        // a sheet rebuilt by a concurrent read before the postings commit would still show the old dues
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    keys.forEach(cache::evict);
+                }
+            });
+        }
+    }
+
+    private <T extends LoanBusinessEvent> void evictOnLoanEvent(final Class<T> eventType) {
+        this.businessEventNotifierService.addPostBusinessEventListener(eventType, event -> evict(event.get().getGroupId()));
+    }
+
+    private <T extends LoanTransactionBusinessEvent> void evictOnLoanTransactionEvent(final Class<T> eventType) {
+        this.businessEventNotifierService.addPostBusinessEventListener(eventType, event -> evict(event.get().getLoan().getGroupId()));
+    }
+
+    private static String cacheKey(final Long centerId) {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier() + ":" + centerId;
+    }
+
+    private static final class CenterCollectionSheetSnapshot {
+
+        private final LocalDate meetingDate;
+        private final JLGCollectionSheetData collectionSheet;
+
+        CenterCollectionSheetSnapshot(final LocalDate meetingDate, final JLGCollectionSheetData collectionSheet) {
+            this.meetingDate = meetingDate;
+            this.collectionSheet = collectionSheet;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.collectionsheet.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.data.DataValidatorBuilder;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.portfolio.collectionsheet.CollectionSheetConstants;
+import org.apache.fineract.portfolio.collectionsheet.command.CollectionSheetBulkRepaymentCommand;
+import org.apache.fineract.portfolio.collectionsheet.command.SingleRepaymentCommand;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanStatus;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionDTO;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks the loan and savings accounts of an individual collection sheet with one query per account type, so that a
+ * sheet with an unknown or inactive account is rejected with one validation error listing every bad row, before
+ * anything is posted.
+ */
+@Component
+public class CollectionSheetAccountValidator {
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    public CollectionSheetAccountValidator(final NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public void validateAccounts(final CollectionSheetBulkRepaymentCommand bulkRepaymentCommand,
+            final Collection<SavingsAccountTransactionDTO> savingsTransactions) {
+        final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
+        final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors)
+                .resource(CollectionSheetConstants.COLLECTIONSHEET_RESOURCE_NAME);
+
+        final SingleRepaymentCommand[] repaymentCommands = repaymentCommands(bulkRepaymentCommand);
+        final List<Long> loanIds = new ArrayList<>();
+        for (final SingleRepaymentCommand repaymentCommand : repaymentCommands) {
+            if (repaymentCommand != null) {
+                loanIds.add(repaymentCommand.getLoanId());
+            }
+        }
+        final Map<Long, Integer> loanStatuses = new HashMap<>();
+        if (!loanIds.isEmpty()) {
+            this.namedParameterJdbcTemplate.query("select id, loan_status_id from m_loan where id in (:ids)",
+                    new MapSqlParameterSource("ids", loanIds), rs -> {
+                        loanStatuses.put(rs.getLong("id"), rs.getInt("loan_status_id"));
+                    });
+        }
+        for (int i = 0; i < repaymentCommands.length; i++) {
+            if (repaymentCommands[i] == null) {
+                continue;
+            }
+            final Long loanId = repaymentCommands[i].getLoanId();
+            final Integer status = loanStatuses.get(loanId);
+            final String parameter = CollectionSheetConstants.bulkRepaymentTransactionsParamName + "[" + i + "]."
+                    + CollectionSheetConstants.loanIdParamName;
+            if (status == null) {
+                baseDataValidator.reset().parameter(parameter).value(loanId).failWithCode("loan.not.found");
+            } else if (!LoanStatus.ACTIVE.getValue().equals(status)) {
+                baseDataValidator.reset().parameter(parameter).value(loanId).failWithCode("loan.not.active");
+            }
+        }
+
+        final List<SavingsAccountTransactionDTO> deposits = new ArrayList<>(savingsTransactions);
+        final List<Long> savingsIds = new ArrayList<>();
+        for (final SavingsAccountTransactionDTO deposit : deposits) {
+            savingsIds.add(deposit.getSavingsAccountId());
+        }
+        final Map<Long, Integer> savingsStatuses = new HashMap<>();
+        final Map<Long, Integer> depositTypes = new HashMap<>();
+        if (!savingsIds.isEmpty()) {
+            this.namedParameterJdbcTemplate.query("select id, status_enum, deposit_type_enum from m_savings_account where id in (:ids)",
+                    new MapSqlParameterSource("ids", savingsIds), rs -> {
+                        savingsStatuses.put(rs.getLong("id"), rs.getInt("status_enum"));
+                        depositTypes.put(rs.getLong("id"), rs.getInt("deposit_type_enum"));
+                    });
+        }
+        for (int i = 0; i < deposits.size(); i++) {
+            final SavingsAccountTransactionDTO deposit = deposits.get(i);
+            final Long savingsId = deposit.getSavingsAccountId();
+            final Integer status = savingsStatuses.get(savingsId);
+            final String parameter = CollectionSheetConstants.bulkSavingsDueTransactionsParamName + "[" + i + "]."
+                    + CollectionSheetConstants.savingsIdParamName;
+            if (status == null) {
+                baseDataValidator.reset().parameter(parameter).value(savingsId).failWithCode("savings.account.not.found");
+            } else if (!SavingsAccountStatusType.ACTIVE.getValue().equals(status)) {
+                baseDataValidator.reset().parameter(parameter).value(savingsId).failWithCode("savings.account.not.active");
+            } else if (!depositTypes.get(savingsId).equals(deposit.getAccountType())) {
+                baseDataValidator.reset().parameter(parameter).value(savingsId).failWithCode("deposit.account.type.mismatch");
+            }
+        }
+
+        if (!dataValidationErrors.isEmpty()) {
+            throw new PlatformApiDataValidationException("validation.msg.validation.errors.exist", "Validation errors exist.",
+                    dataValidationErrors);
+        }
+    }
+
+    private static SingleRepaymentCommand[] repaymentCommands(final CollectionSheetBulkRepaymentCommand bulkRepaymentCommand) {
+        final SingleRepaymentCommand[] repaymentCommands = bulkRepaymentCommand.getLoanTransactions();
+        return repaymentCommands == null ? new SingleRepaymentCommand[0] : repaymentCommands;
+    }
+}
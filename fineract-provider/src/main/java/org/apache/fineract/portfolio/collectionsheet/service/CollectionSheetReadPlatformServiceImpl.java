@@ -29,9 +29,7 @@ import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import org.apache.fineract.infrastructure.codes.service.CodeValueReadPlatformService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.api.JsonQuery;
@@ -61,16 +59,15 @@ import org.apache.fineract.portfolio.group.data.CenterData;
 import org.apache.fineract.portfolio.group.data.GroupGeneralData;
 import org.apache.fineract.portfolio.group.service.CenterReadPlatformService;
 import org.apache.fineract.portfolio.group.service.GroupReadPlatformService;
-import org.apache.fineract.portfolio.loanproduct.data.LoanProductData;
 import org.apache.fineract.portfolio.meeting.attendance.service.AttendanceDropdownReadPlatformService;
 import org.apache.fineract.portfolio.meeting.attendance.service.AttendanceEnumerations;
 import org.apache.fineract.portfolio.paymenttype.data.PaymentTypeData;
 import org.apache.fineract.portfolio.paymenttype.service.PaymentTypeReadPlatformService;
-import org.apache.fineract.portfolio.savings.data.SavingsProductData;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -94,6 +91,7 @@ public class CollectionSheetReadPlatformServiceImpl implements CollectionSheetRe
     private final ConfigurationDomainService configurationDomainService;
     private final CalendarInstanceRepository calendarInstanceRepository;
     private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final CenterCollectionSheetSnapshotService centerCollectionSheetSnapshotService;
 
     @Autowired
     public CollectionSheetReadPlatformServiceImpl(final PlatformSecurityContext context,
@@ -105,7 +103,8 @@ public class CollectionSheetReadPlatformServiceImpl implements CollectionSheetRe
             final CodeValueReadPlatformService codeValueReadPlatformService,
             final PaymentTypeReadPlatformService paymentTypeReadPlatformService,
             final CalendarReadPlatformService calendarReadPlatformService, final ConfigurationDomainService configurationDomainService,
-            final CalendarInstanceRepository calendarInstanceRepository, DatabaseSpecificSQLGenerator sqlGenerator) {
+            final CalendarInstanceRepository calendarInstanceRepository, DatabaseSpecificSQLGenerator sqlGenerator,
+            final CenterCollectionSheetSnapshotService centerCollectionSheetSnapshotService) {
         this.context = context;
         this.centerReadPlatformService = centerReadPlatformService;
         this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
@@ -119,99 +118,31 @@ public class CollectionSheetReadPlatformServiceImpl implements CollectionSheetRe
         this.configurationDomainService = configurationDomainService;
         this.calendarInstanceRepository = calendarInstanceRepository;
         this.sqlGenerator = sqlGenerator;
+        this.centerCollectionSheetSnapshotService = centerCollectionSheetSnapshotService;
         mandatorySavingsExtractor = new MandatorySavingsCollectionsheetExtractor(sqlGenerator);
     }
 
     /*
-     * Reads all the loans which are due for disbursement or collection and builds hierarchical data structure for
-     * collections sheet with hierarchy Groups >> Clients >> Loans.
+     * Streams the loans which are due for disbursement or collection and the mandatory savings due on the meeting date
+     * into a hierarchical data structure for collections sheet with hierarchy Groups >> Clients >> Loans/Savings.
      */
-    @SuppressWarnings("null")
-    private JLGCollectionSheetData buildJLGCollectionSheet(final LocalDate dueDate,
-            final Collection<JLGCollectionSheetFlatData> jlgCollectionSheetFlatData) {
+    private JLGCollectionSheetData buildJLGCollectionSheet(final LocalDate dueDate, final boolean isCenterCollection,
+            final SqlParameterSource namedParameters) {
 
-        boolean firstTime = true;
-        Long prevGroupId = null;
-        Long prevClientId = null;
-        final Collection<PaymentTypeData> paymentOptions = this.paymentTypeReadPlatformService.retrieveAllPaymentTypes();
-
-        final List<JLGGroupData> jlgGroupsData = new ArrayList<>();
-        List<JLGClientData> clientsData = new ArrayList<>();
-        List<LoanDueData> loansDueData = new ArrayList<>();
-
-        JLGCollectionSheetData jlgCollectionSheetData = null;
-        JLGCollectionSheetFlatData prevCollectioSheetFlatData = null;
-        JLGCollectionSheetFlatData corrCollectioSheetFlatData = null;
-        final Set<LoanProductData> loanProducts = new HashSet<>();
-        if (jlgCollectionSheetFlatData != null) {
-
-            for (final JLGCollectionSheetFlatData collectionSheetFlatData : jlgCollectionSheetFlatData) {
-
-                if (collectionSheetFlatData.getProductId() != null) {
-                    loanProducts.add(LoanProductData.lookupWithCurrency(collectionSheetFlatData.getProductId(),
-                            collectionSheetFlatData.getProductShortName(), collectionSheetFlatData.getCurrency()));
-                }
-                corrCollectioSheetFlatData = collectionSheetFlatData;
-
-                if (firstTime || collectionSheetFlatData.getGroupId().equals(prevGroupId)) {
-                    if (firstTime || collectionSheetFlatData.getClientId().equals(prevClientId)) {
-                        if (collectionSheetFlatData.getLoanId() != null) {
-                            loansDueData.add(collectionSheetFlatData.getLoanDueData());
-                        }
-                    } else {
-                        final JLGClientData clientData = prevCollectioSheetFlatData.getClientData();
-                        clientData.setLoans(loansDueData);
-                        clientsData.add(clientData);
-                        loansDueData = new ArrayList<>();
-
-                        if (collectionSheetFlatData.getLoanId() != null) {
-                            loansDueData.add(collectionSheetFlatData.getLoanDueData());
-                        }
-
-                    }
-                } else {
-
-                    final JLGClientData clientData = prevCollectioSheetFlatData.getClientData();
-                    clientData.setLoans(loansDueData);
-                    clientsData.add(clientData);
-
-                    final JLGGroupData jlgGroupData = prevCollectioSheetFlatData.getJLGGroupData();
-                    jlgGroupData.setClients(clientsData);
-
-                    jlgGroupsData.add(jlgGroupData);
-
-                    loansDueData = new ArrayList<>();
-                    clientsData = new ArrayList<>();
-
-                    if (collectionSheetFlatData.getLoanId() != null) {
-                        loansDueData.add(collectionSheetFlatData.getLoanDueData());
-                    }
-                }
-
-                prevClientId = collectionSheetFlatData.getClientId();
-                prevGroupId = collectionSheetFlatData.getGroupId();
-                prevCollectioSheetFlatData = collectionSheetFlatData;
-                firstTime = false;
-            }
+        final JLGCollectionSheetAssembler assembler = new JLGCollectionSheetAssembler();
 
-            // FIXME Need to check last loan is added under previous
-            // client/group or new client / previous group or new client / new
-            // group
-            if (corrCollectioSheetFlatData != null) {
-                final JLGClientData lastClientData = corrCollectioSheetFlatData.getClientData();
-                lastClientData.setLoans(loansDueData);
-                clientsData.add(lastClientData);
-
-                final JLGGroupData jlgGroupData = corrCollectioSheetFlatData.getJLGGroupData();
-                jlgGroupData.setClients(clientsData);
-                jlgGroupsData.add(jlgGroupData);
-            }
+        // loan data for collection sheet
+        final JLGCollectionSheetFaltDataMapper mapper = new JLGCollectionSheetFaltDataMapper(sqlGenerator);
+        this.namedParameterJdbcTemplate.query(mapper.collectionSheetSchema(isCenterCollection), namedParameters,
+                (RowCallbackHandler) rs -> assembler.addLoanRow(mapper.mapRow(rs, rs.getRow())));
 
-            jlgCollectionSheetData = JLGCollectionSheetData.instance(dueDate, loanProducts, jlgGroupsData,
-                    this.attendanceDropdownReadPlatformService.retrieveAttendanceTypeOptions(), paymentOptions);
-        }
+        // mandatory savings data for collection sheet
+        final Collection<JLGGroupData> groupsWithSavingsData = this.namedParameterJdbcTemplate
+                .query(mandatorySavingsExtractor.collectionSheetSchema(isCenterCollection), namedParameters, mandatorySavingsExtractor);
+        assembler.addSavingsGroups(groupsWithSavingsData);
 
-        return jlgCollectionSheetData;
+        return assembler.build(dueDate, this.attendanceDropdownReadPlatformService.retrieveAttendanceTypeOptions(),
+                this.paymentTypeReadPlatformService.retrieveAllPaymentTypes());
     }
 
     private static final class JLGCollectionSheetFaltDataMapper implements RowMapper<JLGCollectionSheetFlatData> {
@@ -362,92 +293,11 @@ public class CollectionSheetReadPlatformServiceImpl implements CollectionSheetRe
         final String hierarchy = currentUser.getOffice().getHierarchy();
         final String officeHierarchy = hierarchy + "%";
 
-        final JLGCollectionSheetFaltDataMapper mapper = new JLGCollectionSheetFaltDataMapper(sqlGenerator);
-
         final SqlParameterSource namedParameters = new MapSqlParameterSource().addValue("dueDate", transactionDateStr)
                 .addValue("groupId", group.getId()).addValue("officeHierarchy", officeHierarchy)
                 .addValue("entityTypeId", entityType.getValue());
 
-        final Collection<JLGCollectionSheetFlatData> collectionSheetFlatDatas = this.namedParameterJdbcTemplate
-                .query(mapper.collectionSheetSchema(false), namedParameters, mapper);
-
-        // loan data for collection sheet
-        JLGCollectionSheetData collectionSheetData = buildJLGCollectionSheet(transactionDate, collectionSheetFlatDatas);
-
-        // mandatory savings data for collection sheet
-        Collection<JLGGroupData> groupsWithSavingsData = this.namedParameterJdbcTemplate
-                .query(mandatorySavingsExtractor.collectionSheetSchema(false), namedParameters, mandatorySavingsExtractor);
-
-        // merge savings data into loan data
-        mergeSavingsGroupDataIntoCollectionsheetData(groupsWithSavingsData, collectionSheetData);
-
-        collectionSheetData = JLGCollectionSheetData.withSavingsProducts(collectionSheetData,
-                retrieveSavingsProducts(groupsWithSavingsData));
-
-        return collectionSheetData;
-    }
-
-    private void mergeSavingsGroupDataIntoCollectionsheetData(final Collection<JLGGroupData> groupsWithSavingsData,
-            final JLGCollectionSheetData collectionSheetData) {
-        final List<JLGGroupData> groupsWithLoanData = (List<JLGGroupData>) collectionSheetData.getGroups();
-        for (JLGGroupData groupSavingsData : groupsWithSavingsData) {
-            if (groupsWithLoanData.contains(groupSavingsData)) {
-                mergeGroup(groupSavingsData, groupsWithLoanData);
-            } else {
-                groupsWithLoanData.add(groupSavingsData);
-            }
-        }
-
-    }
-
-    private void mergeGroup(final JLGGroupData groupSavingsData, final List<JLGGroupData> groupsWithLoanData) {
-        final int index = groupsWithLoanData.indexOf(groupSavingsData);
-
-        if (index < 0) {
-            return;
-        }
-
-        JLGGroupData groupLoanData = groupsWithLoanData.get(index);
-        List<JLGClientData> clientsLoanData = (List<JLGClientData>) groupLoanData.getClients();
-        List<JLGClientData> clientsSavingsData = (List<JLGClientData>) groupSavingsData.getClients();
-
-        for (JLGClientData clientSavingsData : clientsSavingsData) {
-            if (clientsLoanData.contains(clientSavingsData)) {
-                mergeClient(clientSavingsData, clientsLoanData);
-            } else {
-                clientsLoanData.add(clientSavingsData);
-            }
-        }
-    }
-
-    private void mergeClient(final JLGClientData clientSavingsData, List<JLGClientData> clientsLoanData) {
-        final int index = clientsLoanData.indexOf(clientSavingsData);
-
-        if (index < 0) {
-            return;
-        }
-
-        JLGClientData clientLoanData = clientsLoanData.get(index);
-        clientLoanData.setSavings(clientSavingsData.getSavings());
-    }
-
-    private Collection<SavingsProductData> retrieveSavingsProducts(Collection<JLGGroupData> groupsWithSavingsData) {
-        List<SavingsProductData> savingsProducts = new ArrayList<>();
-        for (JLGGroupData groupSavingsData : groupsWithSavingsData) {
-            Collection<JLGClientData> clientsSavingsData = groupSavingsData.getClients();
-            for (JLGClientData clientSavingsData : clientsSavingsData) {
-                Collection<SavingsDueData> savingsDatas = clientSavingsData.getSavings();
-                for (SavingsDueData savingsDueData : savingsDatas) {
-                    final SavingsProductData savingsProduct = SavingsProductData.lookup(savingsDueData.productId(),
-                            savingsDueData.productName());
-                    savingsProduct.setDepositAccountType(savingsDueData.getDepositAccountType());
-                    if (!savingsProducts.contains(savingsProduct)) {
-                        savingsProducts.add(savingsProduct);
-                    }
-                }
-            }
-        }
-        return savingsProducts;
+        return buildJLGCollectionSheet(transactionDate, false, namedParameters);
     }
 
     @Override
@@ -464,31 +314,12 @@ public class CollectionSheetReadPlatformServiceImpl implements CollectionSheetRe
         final LocalDate transactionDate = query.localDateValueOfParameterNamed(transactionDateParamName);
         final String dueDateStr = DateUtils.DEFAULT_DATE_FORMATER.format(transactionDate);
 
-        final JLGCollectionSheetFaltDataMapper mapper = new JLGCollectionSheetFaltDataMapper(sqlGenerator);
-
-        StringBuilder sql = new StringBuilder(mapper.collectionSheetSchema(true));
-
         final SqlParameterSource namedParameters = new MapSqlParameterSource().addValue("dueDate", dueDateStr)
                 .addValue("centerId", center.getId()).addValue("officeHierarchy", officeHierarchy)
                 .addValue("entityTypeId", CalendarEntityType.CENTERS.getValue());
 
-        final Collection<JLGCollectionSheetFlatData> collectionSheetFlatDatas = this.namedParameterJdbcTemplate.query(sql.toString(),
-                namedParameters, mapper);
-
-        // loan data for collection sheet
-        JLGCollectionSheetData collectionSheetData = buildJLGCollectionSheet(transactionDate, collectionSheetFlatDatas);
-
-        // mandatory savings data for collection sheet
-        Collection<JLGGroupData> groupsWithSavingsData = this.namedParameterJdbcTemplate
-                .query(mandatorySavingsExtractor.collectionSheetSchema(true), namedParameters, mandatorySavingsExtractor);
-
-        // merge savings data into loan data
-        mergeSavingsGroupDataIntoCollectionsheetData(groupsWithSavingsData, collectionSheetData);
-
-        collectionSheetData = JLGCollectionSheetData.withSavingsProducts(collectionSheetData,
-                retrieveSavingsProducts(groupsWithSavingsData));
-
-        return collectionSheetData;
+        return this.centerCollectionSheetSnapshotService.retrieveCenterCollectionSheet(center.getId(), transactionDate,
+                () -> buildJLGCollectionSheet(transactionDate, true, namedParameters));
     }
 
     private static final class MandatorySavingsCollectionsheetExtractor implements ResultSetExtractor<Collection<JLGGroupData>> {
@@ -56,6 +56,8 @@ public class CollectionSheetWritePlatformServiceJpaRepositoryImpl implements Col
     private final DepositAccountWritePlatformService accountWritePlatformService;
     private final PaymentDetailAssembler paymentDetailAssembler;
     private final PaymentDetailWritePlatformService paymentDetailWritePlatformService;
+    private final CenterCollectionSheetSnapshotService centerCollectionSheetSnapshotService;
+    private final CollectionSheetAccountValidator accountValidator;
 
     @Autowired
     public CollectionSheetWritePlatformServiceJpaRepositoryImpl(final LoanWritePlatformService loanWritePlatformService,
@@ -64,7 +66,8 @@ public class CollectionSheetWritePlatformServiceJpaRepositoryImpl implements Col
             final CollectionSheetTransactionDataValidator transactionDataValidator,
             final MeetingWritePlatformService meetingWritePlatformService, final DepositAccountAssembler accountAssembler,
             final DepositAccountWritePlatformService accountWritePlatformService, final PaymentDetailAssembler paymentDetailAssembler,
-            final PaymentDetailWritePlatformService paymentDetailWritePlatformService) {
+            final PaymentDetailWritePlatformService paymentDetailWritePlatformService,
+            final CenterCollectionSheetSnapshotService centerCollectionSheetSnapshotService, final CollectionSheetAccountValidator accountValidator) {
         this.loanWritePlatformService = loanWritePlatformService;
         this.bulkRepaymentCommandFromApiJsonDeserializer = bulkRepaymentCommandFromApiJsonDeserializer;
         this.bulkDisbursalCommandFromApiJsonDeserializer = bulkDisbursalCommandFromApiJsonDeserializer;
@@ -74,6 +77,8 @@ public class CollectionSheetWritePlatformServiceJpaRepositoryImpl implements Col
         this.accountWritePlatformService = accountWritePlatformService;
         this.paymentDetailAssembler = paymentDetailAssembler;
         this.paymentDetailWritePlatformService = paymentDetailWritePlatformService;
+        this.centerCollectionSheetSnapshotService = centerCollectionSheetSnapshotService;
+        this.accountValidator = accountValidator;
     }
 
     @Override
@@ -99,6 +104,8 @@ public class CollectionSheetWritePlatformServiceJpaRepositoryImpl implements Col
 
         this.meetingWritePlatformService.updateCollectionSheetAttendance(command);
 
+        this.centerCollectionSheetSnapshotService.evict(command.entityId());
+
         return new CommandProcessingResultBuilder() //
                 .withCommandId(command.commandId()) //
                 .withEntityId(command.entityId()) //
@@ -121,12 +128,17 @@ public class CollectionSheetWritePlatformServiceJpaRepositoryImpl implements Col
         }
 
         final PaymentDetail paymentDetail = null;
+        final CollectionSheetBulkRepaymentCommand bulkRepaymentCommand = this.bulkRepaymentCommandFromApiJsonDeserializer
+                .commandFromApiJson(command.json(), paymentDetail);
+        final Collection<SavingsAccountTransactionDTO> savingsTransactions = this.accountAssembler
+                .assembleBulkMandatorySavingsAccountTransactionDTOs(command, paymentDetail);
+        this.accountValidator.validateAccounts(bulkRepaymentCommand, savingsTransactions);
 
-        changes.putAll(updateBulkReapayments(command, paymentDetail));
+        changes.putAll(this.loanWritePlatformService.makeLoanBulkRepayment(bulkRepaymentCommand));
 
         changes.putAll(updateBulkDisbursals(command));
 
-        changes.putAll(updateBulkMandatorySavingsDuePayments(command, paymentDetail));
+        changes.putAll(makeMandatorySavingsDeposits(savingsTransactions));
 
         return new CommandProcessingResultBuilder() //
                 .withCommandId(command.commandId()) //
@@ -152,18 +164,18 @@ public class CollectionSheetWritePlatformServiceJpaRepositoryImpl implements Col
     }
 
     private Map<String, Object> updateBulkMandatorySavingsDuePayments(final JsonCommand command, final PaymentDetail paymentDetail) {
-        final Map<String, Object> changes = new HashMap<>();
         final Collection<SavingsAccountTransactionDTO> savingsTransactions = this.accountAssembler
                 .assembleBulkMandatorySavingsAccountTransactionDTOs(command, paymentDetail);
+        return makeMandatorySavingsDeposits(savingsTransactions);
+    }
+
+    private Map<String, Object> makeMandatorySavingsDeposits(final Collection<SavingsAccountTransactionDTO> savingsTransactions) {
+        final Map<String, Object> changes = new HashMap<>();
         List<Long> depositTransactionIds = new ArrayList<>();
         for (SavingsAccountTransactionDTO savingsAccountTransactionDTO : savingsTransactions) {
-            try {
-                SavingsAccountTransaction savingsAccountTransaction = this.accountWritePlatformService
-                        .mandatorySavingsAccountDeposit(savingsAccountTransactionDTO);
-                depositTransactionIds.add(savingsAccountTransaction.getId());
-            } catch (Exception e) {
-                // TODO: handle exception
-            }
+            SavingsAccountTransaction savingsAccountTransaction = this.accountWritePlatformService
+                    .mandatorySavingsAccountDeposit(savingsAccountTransactionDTO);
+            depositTransactionIds.add(savingsAccountTransaction.getId());
         }
         changes.put("SavingsTransactions", depositTransactionIds);
         return changes;
@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.collectionsheet.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.fineract.infrastructure.core.data.EnumOptionData;
+import org.apache.fineract.portfolio.collectionsheet.data.JLGClientData;
+import org.apache.fineract.portfolio.collectionsheet.data.JLGCollectionSheetData;
+import org.apache.fineract.portfolio.collectionsheet.data.JLGCollectionSheetFlatData;
+import org.apache.fineract.portfolio.collectionsheet.data.JLGGroupData;
+import org.apache.fineract.portfolio.collectionsheet.data.SavingsDueData;
+import org.apache.fineract.portfolio.loanproduct.data.LoanProductData;
+import org.apache.fineract.portfolio.paymenttype.data.PaymentTypeData;
+import org.apache.fineract.portfolio.savings.data.SavingsProductData;
+
+/**
+ * Builds the Groups >> Clients >> Loans/Savings hierarchy of a JLG collection sheet in a single pass over the loan and
+ * mandatory savings rows of one meeting date. Groups and clients are indexed by id so that each row is merged in
+ * constant time, and groups and clients keep the order in which they were first seen.
+ */
+final class JLGCollectionSheetAssembler {
+
+    private final Map<Long, JLGGroupData> groups = new LinkedHashMap<>();
+    private final Map<Long, Map<Long, JLGClientData>> clientsByGroup = new HashMap<>();
+    private final Set<LoanProductData> loanProducts = new HashSet<>();
+    private final Map<Long, SavingsProductData> savingsProducts = new LinkedHashMap<>();
+
+    void addLoanRow(final JLGCollectionSheetFlatData row) {
+        if (row.getProductId() != null) {
+            this.loanProducts.add(LoanProductData.lookupWithCurrency(row.getProductId(), row.getProductShortName(), row.getCurrency()));
+        }
+
+        final Map<Long, JLGClientData> clients = this.clientsByGroup.computeIfAbsent(row.getGroupId(), groupId -> {
+            this.groups.put(groupId, row.getJLGGroupData());
+            return new LinkedHashMap<>();
+        });
+        final JLGClientData client = clients.computeIfAbsent(row.getClientId(), clientId -> {
+            final JLGClientData clientData = row.getClientData();
+            clientData.setLoans(new ArrayList<>());
+            return clientData;
+        });
+        if (row.getLoanId() != null) {
+            client.getLoans().add(row.getLoanDueData());
+        }
+    }
+
+    void addSavingsGroups(final Collection<JLGGroupData> groupsWithSavingsData) {
+        for (final JLGGroupData groupSavingsData : groupsWithSavingsData) {
+            final Map<Long, JLGClientData> clients = this.clientsByGroup.computeIfAbsent(groupSavingsData.getGroupId(), groupId -> {
+                this.groups.put(groupId, groupSavingsData);
+                return new LinkedHashMap<>();
+            });
+            for (final JLGClientData clientSavingsData : groupSavingsData.getClients()) {
+                final JLGClientData clientLoanData = clients.putIfAbsent(clientSavingsData.getClientId(), clientSavingsData);
+                if (clientLoanData != null) {
+                    clientLoanData.setSavings(clientSavingsData.getSavings());
+                }
+                for (final SavingsDueData savingsDueData : clientSavingsData.getSavings()) {
+                    this.savingsProducts.computeIfAbsent(savingsDueData.productId(), productId -> {
+                        final SavingsProductData savingsProduct = SavingsProductData.lookup(productId, savingsDueData.productName());
+                        savingsProduct.setDepositAccountType(savingsDueData.getDepositAccountType());
+                        return savingsProduct;
+                    });
+                }
+            }
+        }
+    }
+
+    JLGCollectionSheetData build(final LocalDate dueDate, final List<EnumOptionData> attendanceTypeOptions,
+            final Collection<PaymentTypeData> paymentTypeOptions) {
+        final List<JLGGroupData> groupsData = new ArrayList<>(this.groups.size());
+        for (final JLGGroupData group : this.groups.values()) {
+            group.setClients(new ArrayList<>(this.clientsByGroup.get(group.getGroupId()).values()));
+            groupsData.add(group);
+        }
+
+        final JLGCollectionSheetData collectionSheetData = JLGCollectionSheetData.instance(dueDate, this.loanProducts, groupsData,
+                attendanceTypeOptions, paymentTypeOptions);
+        return JLGCollectionSheetData.withSavingsProducts(collectionSheetData, new ArrayList<>(this.savingsProducts.values()));
+    }
+}
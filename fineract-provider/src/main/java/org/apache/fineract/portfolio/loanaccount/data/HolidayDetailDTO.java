@@ -20,6 +20,7 @@ package org.apache.fineract.portfolio.loanaccount.data;
 
 import java.util.List;
 import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.service.BusinessCalendarIndex;
 import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
 
 public class HolidayDetailDTO {
@@ -29,6 +30,7 @@ public class HolidayDetailDTO {
     final WorkingDays workingDays;
     final boolean allowTransactionsOnHoliday;
     final boolean allowTransactionsOnNonWorkingDay;
+    final BusinessCalendarIndex businessCalendar;
 
     public HolidayDetailDTO(final boolean isHolidayEnabled, final List<Holiday> holidays, final WorkingDays workingDays) {
         this.isHolidayEnabled = isHolidayEnabled;
@@ -36,6 +38,7 @@ public class HolidayDetailDTO {
         this.workingDays = workingDays;
         this.allowTransactionsOnHoliday = false;
         this.allowTransactionsOnNonWorkingDay = false;
+        this.businessCalendar = new BusinessCalendarIndex(holidays, workingDays);
     }
 
     public HolidayDetailDTO(final boolean isHolidayEnabled, final List<Holiday> holidays, final WorkingDays workingDays,
@@ -45,6 +48,7 @@ public class HolidayDetailDTO {
         this.workingDays = workingDays;
         this.allowTransactionsOnHoliday = allowTransactionsOnHoliday;
         this.allowTransactionsOnNonWorkingDay = allowTransactionsOnNonWorkingDay;
+        this.businessCalendar = new BusinessCalendarIndex(holidays, workingDays);
     }
 
     public boolean isHolidayEnabled() {
@@ -59,6 +63,10 @@ public class HolidayDetailDTO {
         return this.workingDays;
     }
 
+    public BusinessCalendarIndex getBusinessCalendar() {
+        return this.businessCalendar;
+    }
+
     public boolean isAllowTransactionsOnHoliday() {
         return this.allowTransactionsOnHoliday;
     }
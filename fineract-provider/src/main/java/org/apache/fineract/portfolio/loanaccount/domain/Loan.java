@@ -3204,7 +3204,7 @@ public class Loan extends AbstractAuditableWithUTCDateTimeCustom {
 
         loanTransaction.updateLoan(this);
 
-        final boolean isTransactionChronologicallyLatest = isChronologicallyLatestRepaymentOrWaiver(loanTransaction, getLoanTransactions());
+        final boolean isAppendableTransaction = isAppendableToCurrentRepaymentState(loanTransaction, getLoanTransactions());
 
         if (loanTransaction.isNotZero(loanCurrency())) {
             addLoanTransaction(loanTransaction);
@@ -3255,28 +3255,28 @@ public class Loan extends AbstractAuditableWithUTCDateTimeCustom {
 
         final LoanRepaymentScheduleInstallment currentInstallment = fetchLoanRepaymentScheduleInstallment(
                 loanTransaction.getTransactionDate());
+        final boolean paysOffCurrentInstallment = currentInstallment != null
+                && currentInstallment.getTotalOutstanding(getCurrency()).isEqualTo(loanTransaction.getAmount(getCurrency()));
+        final boolean isInterestRecalculationEnabled = this.repaymentScheduleDetail().isInterestRecalculationEnabled();
+        final boolean hasOverdueInstallments = hasInstallmentsOverdueOn(loanTransaction.getTransactionDate());
         boolean reprocess = true;
 
-        if (!isForeclosure() && isTransactionChronologicallyLatest && adjustedTransaction == null
-                && loanTransaction.getTransactionDate().isEqual(DateUtils.getBusinessLocalDate()) && currentInstallment != null
-                && currentInstallment.getTotalOutstanding(getCurrency()).isEqualTo(loanTransaction.getAmount(getCurrency()))) {
-            reprocess = false;
-        }
-
-        if (isTransactionChronologicallyLatest && adjustedTransaction == null
-                && (!reprocess || !this.repaymentScheduleDetail().isInterestRecalculationEnabled()) && !isForeclosure()) {
+        // Transactions dated after everything already allocated are applied to the current installment state only; the
+        // full replay below is kept for backdated entries and for interest recalculation cases where the schedule itself
+        // has to be regenerated. A recalculated schedule depends on the date payments are received, so for those loans
+        // only payments received on the business date can take this path.
+        if (isAppendableTransaction && adjustedTransaction == null && !isForeclosure()
+                && (!isInterestRecalculationEnabled || loanTransaction.getTransactionDate().isEqual(DateUtils.getBusinessLocalDate()))) {
             loanRepaymentScheduleTransactionProcessor.handleTransaction(loanTransaction, getCurrency(), getRepaymentScheduleInstallments(),
                     charges());
+            loanTransaction.adjustInterestComponent(getCurrency());
             reprocess = false;
-            if (this.repaymentScheduleDetail().isInterestRecalculationEnabled()) {
-                if (currentInstallment == null || currentInstallment.isNotFullyPaidOff()) {
-                    reprocess = true;
-                } else {
-                    final LoanRepaymentScheduleInstallment nextInstallment = fetchRepaymentScheduleInstallment(
-                            currentInstallment.getInstallmentNumber() + 1);
-                    if (nextInstallment != null && nextInstallment.getTotalPaidInAdvance(getCurrency()).isGreaterThanZero()) {
-                        reprocess = true;
-                    }
+            if (isInterestRecalculationEnabled) {
+                reprocess = !isRecalculatedScheduleUnaffectedBy(loanTransaction, hasOverdueInstallments, currentInstallment,
+                        paysOffCurrentInstallment);
+                if (reprocess) {
+                    // the replay allocates the transaction again
+                    loanTransaction.getLoanChargesPaid().clear();
                 }
             }
         }
@@ -3507,23 +3507,65 @@ public class Loan extends AbstractAuditableWithUTCDateTimeCustom {
         this.actualMaturityDate = null;
     }
 
-    private boolean isChronologicallyLatestRepaymentOrWaiver(final LoanTransaction loanTransaction,
+    /**
+     * A transaction can be applied to the current installment state, instead of replaying every transaction over the
+     * schedule, when it is dated after every non reversed transaction that takes part in the allocation of payments.
+     * Accruals, income postings and other non monetary entries on the same date do not change how payments are
+     * allocated and therefore do not force a replay.
+     */
+    private boolean isAppendableToCurrentRepaymentState(final LoanTransaction loanTransaction,
             final List<LoanTransaction> loanTransactions) {
 
-        boolean isChronologicallyLatestRepaymentOrWaiver = true;
-
         final LocalDate currentTransactionDate = loanTransaction.getTransactionDate();
         for (final LoanTransaction previousTransaction : loanTransactions) {
-            if (!previousTransaction.isDisbursement() && previousTransaction.isNotReversed()) {
-                if (currentTransactionDate.isBefore(previousTransaction.getTransactionDate())
-                        || currentTransactionDate.isEqual(previousTransaction.getTransactionDate())) {
-                    isChronologicallyLatestRepaymentOrWaiver = false;
-                    break;
-                }
+            if (previousTransaction.isPaymentTransaction() && !currentTransactionDate.isAfter(previousTransaction.getTransactionDate())) {
+                return false;
             }
         }
+        return true;
+    }
 
-        return isChronologicallyLatestRepaymentOrWaiver;
+    boolean hasInstallmentsOverdueOn(final LocalDate date) {
+        for (final LoanRepaymentScheduleInstallment installment : getRepaymentScheduleInstallments()) {
+            if (installment.getDueDate().isBefore(date) && installment.isNotFullyPaidOff()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Decides whether a transaction applied through the incremental path leaves the interest recalculated schedule as
+     * it is, in which case regenerating the schedule and replaying all transactions would give the same result.
+     *
+     * Backdated payments and late payments, made while earlier installments were overdue, change the balance interest
+     * was recalculated on for past periods and always need the regenerated schedule.
+     */
+    boolean isRecalculatedScheduleUnaffectedBy(final LoanTransaction loanTransaction, final boolean hadOverdueInstallments,
+            final LoanRepaymentScheduleInstallment currentInstallment, final boolean paysOffCurrentInstallment) {
+
+        if (!loanTransaction.getTransactionDate().isEqual(DateUtils.getBusinessLocalDate()) || hadOverdueInstallments
+                || currentInstallment == null) {
+            return false;
+        }
+        if (loanTransaction.getOverPaymentPortion(getCurrency()).isGreaterThanZero()) {
+            return false;
+        }
+
+        // interest is recalculated on the outstanding principal only, so payments of interest, fees and penalties do
+        // not move the schedule unless they are compounded
+        final boolean isCompoundingEnabled = this.loanInterestRecalculationDetails != null
+                && this.loanInterestRecalculationDetails.getInterestRecalculationCompoundingMethod().isCompoundingEnabled();
+        if (!isCompoundingEnabled && loanTransaction.getPrincipalPortion(getCurrency()).isZero()) {
+            return true;
+        }
+
+        if (!paysOffCurrentInstallment || currentInstallment.isNotFullyPaidOff()) {
+            return false;
+        }
+        final LoanRepaymentScheduleInstallment nextInstallment = fetchRepaymentScheduleInstallment(
+                currentInstallment.getInstallmentNumber() + 1);
+        return nextInstallment == null || !nextInstallment.getTotalPaidInAdvance(getCurrency()).isGreaterThanZero();
     }
 
     private boolean isAfterLatRepayment(final LoanTransaction loanTransaction, final List<LoanTransaction> loanTransactions) {
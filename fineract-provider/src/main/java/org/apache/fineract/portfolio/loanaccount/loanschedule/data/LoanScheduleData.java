@@ -113,4 +113,15 @@ public class LoanScheduleData {
     public void updateFuturePeriods(Collection<LoanSchedulePeriodData> futurePeriods) {
         this.futurePeriods = futurePeriods;
     }
+
+    /**
+     * Returns a copy sharing the (immutable) periods but without any future periods, so a cached schedule can be handed
+     * out and decorated by callers without leaking state between requests.
+     */
+    public LoanScheduleData withoutFuturePeriods() {
+        return new LoanScheduleData(this.currency, this.periods, this.loanTermInDays, this.totalPrincipalDisbursed,
+                this.totalPrincipalExpected, this.totalPrincipalPaid, this.totalInterestCharged, this.totalFeeChargesCharged,
+                this.totalPenaltyChargesCharged, this.totalWaived, this.totalWrittenOff, this.totalRepaymentExpected, this.totalRepayment,
+                this.totalPaidInAdvance, this.totalPaidLate, this.totalOutstanding);
+    }
 }
@@ -21,6 +21,7 @@ package org.apache.fineract.portfolio.loanaccount.loanschedule.domain;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.holiday.service.BusinessCalendarIndex;
 import org.apache.fineract.organisation.holiday.service.HolidayUtil;
 import org.apache.fineract.organisation.workingdays.data.AdjustedDateDetailsDTO;
 import org.apache.fineract.organisation.workingdays.service.WorkingDaysUtil;
@@ -142,9 +143,9 @@ public class DefaultScheduledDateGenerator implements ScheduledDateGenerator {
          * Check Changed Schedule Date is holiday or is not a working day Then re-call this method to get the non
          * holiday and working day
          */
-        if ((holidayDetailDTO.isHolidayEnabled() && HolidayUtil.getApplicableHoliday(adjustedDateDetailsDTO.getChangedScheduleDate(),
-                holidayDetailDTO.getHolidays()) != null)
-                || WorkingDaysUtil.isNonWorkingDay(holidayDetailDTO.getWorkingDays(), adjustedDateDetailsDTO.getChangedScheduleDate())) {
+        final BusinessCalendarIndex businessCalendar = holidayDetailDTO.getBusinessCalendar();
+        if ((holidayDetailDTO.isHolidayEnabled() && businessCalendar.isHoliday(adjustedDateDetailsDTO.getChangedScheduleDate()))
+                || businessCalendar.isNonWorkingDay(adjustedDateDetailsDTO.getChangedScheduleDate())) {
             recursivelyCheckNonWorkingDaysAndHolidaysAndWorkingDaysExemptionToGenerateNextRepaymentPeriodDate(adjustedDateDetailsDTO,
                     loanApplicationTerms, holidayDetailDTO, isFirstRepayment);
         }
@@ -163,8 +164,8 @@ public class DefaultScheduledDateGenerator implements ScheduledDateGenerator {
             final HolidayDetailDTO holidayDetailDTO, final LoanApplicationTerms loanApplicationTerms, final boolean isFirstRepayment) {
         if (holidayDetailDTO.isHolidayEnabled()) {
             Holiday applicableHolidayForNewAdjustedDate = null;
-            while ((applicableHolidayForNewAdjustedDate = HolidayUtil.getApplicableHoliday(adjustedDateDetailsDTO.getChangedScheduleDate(),
-                    holidayDetailDTO.getHolidays())) != null) {
+            while ((applicableHolidayForNewAdjustedDate = holidayDetailDTO.getBusinessCalendar()
+                    .getApplicableHoliday(adjustedDateDetailsDTO.getChangedScheduleDate())) != null) {
                 if (applicableHolidayForNewAdjustedDate.getReScheduleType().isResheduleToNextRepaymentDate()) {
                     LocalDate nextRepaymentPeriodDueDate = adjustedDateDetailsDTO.getChangedActualRepaymentDate();
                     while (!nextRepaymentPeriodDueDate.isAfter(adjustedDateDetailsDTO.getChangedScheduleDate())) {
@@ -192,12 +193,12 @@ public class DefaultScheduledDateGenerator implements ScheduledDateGenerator {
      */
     private void checkAndUpdateWorkingDayIfRepaymentDateIsNonWorkingDay(final AdjustedDateDetailsDTO adjustedDateDetailsDTO,
             final HolidayDetailDTO holidayDetailDTO, final LoanApplicationTerms loanApplicationTerms, final boolean isFirstRepayment) {
-        while (WorkingDaysUtil.isNonWorkingDay(holidayDetailDTO.getWorkingDays(), adjustedDateDetailsDTO.getChangedScheduleDate())) {
+        final BusinessCalendarIndex businessCalendar = holidayDetailDTO.getBusinessCalendar();
+        while (businessCalendar.isNonWorkingDay(adjustedDateDetailsDTO.getChangedScheduleDate())) {
             if (WorkingDaysUtil
                     .getRepaymentRescheduleType(holidayDetailDTO.getWorkingDays(), adjustedDateDetailsDTO.getChangedScheduleDate())
                     .isMoveToNextRepaymentDay()) {
-                while (WorkingDaysUtil.isNonWorkingDay(holidayDetailDTO.getWorkingDays(),
-                        adjustedDateDetailsDTO.getNextRepaymentPeriodDueDate())
+                while (businessCalendar.isNonWorkingDay(adjustedDateDetailsDTO.getNextRepaymentPeriodDueDate())
                         || adjustedDateDetailsDTO.getChangedScheduleDate()
                                 .isAfter(adjustedDateDetailsDTO.getNextRepaymentPeriodDueDate())) {
                     final LocalDate nextRepaymentPeriodDueDate = generateNextRepaymentDate(
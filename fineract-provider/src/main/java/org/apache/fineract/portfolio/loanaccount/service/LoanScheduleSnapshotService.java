@@ -0,0 +1,38 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import java.util.function.Supplier;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
+
+/**
+ * Keeps the last materialised repayment schedule of a loan so that read APIs do not rebuild it on every request. A
+ * snapshot is only served while the loan version, the installment rows and the business date it was built for are
+ * still current.
+ *
+ * Snapshots live in the cache of the node that built them and business events only evict on the node that raised
+ * them. In a cluster other nodes therefore rely on the version and installment check, which is made against the
+ * database on every read, to never serve a stale snapshot.
+ */
+public interface LoanScheduleSnapshotService {
+
+    LoanScheduleData retrieveRepaymentSchedule(Long loanId, Supplier<LoanScheduleData> scheduleLoader);
+
+    void evict(Long loanId);
+}
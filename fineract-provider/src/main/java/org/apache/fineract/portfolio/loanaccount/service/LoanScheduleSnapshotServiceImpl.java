@@ -0,0 +1,210 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.function.Supplier;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanAcceptTransferBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanAdjustTransactionBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanApplyOverdueChargeBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanApprovedBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanCloseAsRescheduleBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanCloseBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanDisbursalBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanInterestRecalculationBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanRejectedBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanUndoApprovalBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanUndoDisbursalBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.LoanUndoLastDisbursalBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.charge.LoanAddChargeBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.charge.LoanChargeBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.charge.LoanDeleteChargeBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.charge.LoanUpdateChargeBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.charge.LoanWaiveChargeBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.charge.LoanWaiveChargeUndoBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanChargePaymentPostBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanCreditBalanceRefundPostBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanForeClosurePostBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanRefundPostBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanTransactionBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanTransactionGoodwillCreditPostBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanTransactionMakeRepaymentPostBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanTransactionMerchantIssuedRefundPostBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanTransactionPayoutRefundPostBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanTransactionRecoveryPaymentPostBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanUndoWrittenOffBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanWaiveInterestBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanWrittenOffPostBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.service.BusinessEventNotifierService;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class LoanScheduleSnapshotServiceImpl implements LoanScheduleSnapshotService {
+
+    public static final String CACHE_NAME = "loanSchedules";
+    static final String INSTALLMENTS_SQL = "select * from m_loan_repayment_schedule where loan_id = ? order by installment, id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RuntimeDelegatingCacheManager cacheManager;
+    private final BusinessEventNotifierService businessEventNotifierService;
+
+    @PostConstruct
+    public void addListeners() {
+        evictOnLoanEvent(LoanApprovedBusinessEvent.class);
+        evictOnLoanEvent(LoanUndoApprovalBusinessEvent.class);
+        evictOnLoanEvent(LoanRejectedBusinessEvent.class);
+        evictOnLoanEvent(LoanDisbursalBusinessEvent.class);
+        evictOnLoanEvent(LoanUndoDisbursalBusinessEvent.class);
+        evictOnLoanEvent(LoanUndoLastDisbursalBusinessEvent.class);
+        evictOnLoanEvent(LoanApplyOverdueChargeBusinessEvent.class);
+        evictOnLoanEvent(LoanInterestRecalculationBusinessEvent.class);
+        evictOnLoanEvent(LoanCloseBusinessEvent.class);
+        evictOnLoanEvent(LoanCloseAsRescheduleBusinessEvent.class);
+        evictOnLoanEvent(LoanAcceptTransferBusinessEvent.class);
+
+        evictOnLoanChargeEvent(LoanAddChargeBusinessEvent.class);
+        evictOnLoanChargeEvent(LoanUpdateChargeBusinessEvent.class);
+        evictOnLoanChargeEvent(LoanDeleteChargeBusinessEvent.class);
+        evictOnLoanChargeEvent(LoanWaiveChargeBusinessEvent.class);
+        evictOnLoanChargeEvent(LoanWaiveChargeUndoBusinessEvent.class);
+
+        evictOnLoanTransactionEvent(LoanTransactionMakeRepaymentPostBusinessEvent.class);
+        evictOnLoanTransactionEvent(LoanTransactionRecoveryPaymentPostBusinessEvent.class);
+        evictOnLoanTransactionEvent(LoanTransactionGoodwillCreditPostBusinessEvent.class);
+        evictOnLoanTransactionEvent(LoanTransactionMerchantIssuedRefundPostBusinessEvent.class);
+        evictOnLoanTransactionEvent(LoanTransactionPayoutRefundPostBusinessEvent.class);
+        evictOnLoanTransactionEvent(LoanChargePaymentPostBusinessEvent.class);
+        evictOnLoanTransactionEvent(LoanCreditBalanceRefundPostBusinessEvent.class);
+        evictOnLoanTransactionEvent(LoanForeClosurePostBusinessEvent.class);
+        evictOnLoanTransactionEvent(LoanRefundPostBusinessEvent.class);
+        evictOnLoanTransactionEvent(LoanWaiveInterestBusinessEvent.class);
+        evictOnLoanTransactionEvent(LoanWrittenOffPostBusinessEvent.class);
+        evictOnLoanTransactionEvent(LoanUndoWrittenOffBusinessEvent.class);
+
+        this.businessEventNotifierService.addPostBusinessEventListener(LoanAdjustTransactionBusinessEvent.class,
+                event -> evict(event.get().getTransactionToAdjust().getLoan().getId()));
+    }
+
+    @Override
+    public LoanScheduleData retrieveRepaymentSchedule(final Long loanId, final Supplier<LoanScheduleData> scheduleLoader) {
+        final Cache cache = this.cacheManager.getCache(CACHE_NAME);
+        if (cache == null || cache instanceof NoOpCache) {
+            return scheduleLoader.get();
+        }
+
+        // the version is bumped by JPA on writes to the loan row but not on installment-only writes, which are caught by
+        // the installment fingerprint, so a stale snapshot is never served even if an invalidation event was missed
+        final Integer version = this.jdbcTemplate.queryForObject("select version from m_loan where id = ?", Integer.class, loanId);
+        final long installments = installmentFingerprint(loanId);
+        final LocalDate businessDate = DateUtils.getBusinessLocalDate();
+        final String key = cacheKey(loanId);
+
+        final LoanScheduleSnapshot snapshot = cache.get(key, LoanScheduleSnapshot.class);
+        if (snapshot != null && snapshot.isCurrent(version, installments, businessDate)) {
+            return snapshot.getSchedule().withoutFuturePeriods();
+        }
+
+        final LoanScheduleData schedule = scheduleLoader.get();
+        if (schedule == null) {
+            return null;
+        }
+        cache.put(key, new LoanScheduleSnapshot(version, installments, businessDate, schedule));
+        return schedule.withoutFuturePeriods();
+    }
+
+    @Override
+    public void evict(final Long loanId) {
+        if (loanId == null) {
+            return;
+        }
+        final Cache cache = this.cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.evict(cacheKey(loanId));
+        }
+    }
+
+    /**
+     * Hash over every column of every installment of the loan, so that any write to the schedule, whichever code path
+     * made it, changes the value.
+     */
+    private long installmentFingerprint(final Long loanId) {
+        final long[] fingerprint = { 1L };
+        this.jdbcTemplate.query(INSTALLMENTS_SQL, (RowCallbackHandler) rs -> {
+            final int columnCount = rs.getMetaData().getColumnCount();
+            for (int i = 1; i <= columnCount; i++) {
+                fingerprint[0] = 31 * fingerprint[0] + Objects.hashCode(rs.getObject(i));
+            }
+        }, loanId);
+        return fingerprint[0];
+    }
+
+    private <T extends LoanBusinessEvent> void evictOnLoanEvent(final Class<T> eventType) {
+        this.businessEventNotifierService.addPostBusinessEventListener(eventType, event -> evict(event.get().getId()));
+    }
+
+    private <T extends LoanChargeBusinessEvent> void evictOnLoanChargeEvent(final Class<T> eventType) {
+        this.businessEventNotifierService.addPostBusinessEventListener(eventType, event -> evict(event.get().getLoan().getId()));
+    }
+
+    private <T extends LoanTransactionBusinessEvent> void evictOnLoanTransactionEvent(final Class<T> eventType) {
+        this.businessEventNotifierService.addPostBusinessEventListener(eventType, event -> evict(event.get().getLoan().getId()));
+    }
+
+    private static String cacheKey(final Long loanId) {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier() + ":" + loanId;
+    }
+
+    private static final class LoanScheduleSnapshot {
+
+        private final Integer version;
+        private final long installments;
+        private final LocalDate businessDate;
+        private final LoanScheduleData schedule;
+
+        LoanScheduleSnapshot(final Integer version, final long installments, final LocalDate businessDate,
+                final LoanScheduleData schedule) {
+            this.version = version;
+            this.installments = installments;
+            this.businessDate = businessDate;
+            this.schedule = schedule;
+        }
+
+        boolean isCurrent(final Integer currentVersion, final long currentInstallments, final LocalDate currentBusinessDate) {
+            return Objects.equals(this.version, currentVersion) && this.installments == currentInstallments
+                    && Objects.equals(this.businessDate, currentBusinessDate);
+        }
+
+        LoanScheduleData getSchedule() {
+            return this.schedule;
+        }
+    }
+}
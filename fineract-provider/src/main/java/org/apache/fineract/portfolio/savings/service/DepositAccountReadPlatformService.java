@@ -20,6 +20,7 @@ package org.apache.fineract.portfolio.savings.service;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.function.Consumer;
 import org.apache.fineract.infrastructure.core.data.PaginationParameters;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.portfolio.account.data.AccountTransferDTO;
@@ -53,7 +54,13 @@ public interface DepositAccountReadPlatformService {
 
     Collection<AccountTransferDTO> retrieveDataForInterestTransfer();
 
-    Collection<Map<String, Object>> retriveDataForRDScheduleCreation();
+    Collection<Long> retrieveProductIdsForRDScheduleCreation();
+
+    /**
+     * Passes the schedule details of at most <code>limit</code> accounts of the product, with an id greater than
+     * <code>afterSavingsId</code>, to the consumer in account id order.
+     */
+    void retriveDataForRDScheduleCreation(Long productId, Long afterSavingsId, int limit, Consumer<Map<String, Object>> rowConsumer);
 
     Long getSavingsAccountTransactionTotalFiltered(Long savingsId, DepositAccountType depositAccountType, Boolean hideAccrualTransactions);
 
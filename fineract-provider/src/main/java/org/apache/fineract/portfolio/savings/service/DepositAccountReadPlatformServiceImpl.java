@@ -29,6 +29,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.data.PaginationParameters;
 import org.apache.fineract.infrastructure.core.data.PaginationParametersDataValidator;
@@ -90,7 +91,9 @@ import org.apache.fineract.portfolio.tax.data.TaxGroupData;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
@@ -121,7 +124,6 @@ public class DepositAccountReadPlatformServiceImpl implements DepositAccountRead
     private final RecurringAccountDepositTransactionTemplateMapper rdTransactionTemplateMapper;
     private final DropdownReadPlatformService dropdownReadPlatformService;
     private final CalendarReadPlatformService calendarReadPlatformService;
-    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private final PaymentTypeReadPlatformService paymentTypeReadPlatformService;
     // allowed column names for sorting the query result
     private static final Set<String> supportedOrderByValues = new HashSet<>(Arrays.asList("id", "accountNumbr", "officeId", "officeName"));
@@ -524,25 +526,36 @@ public class DepositAccountReadPlatformServiceImpl implements DepositAccountRead
     }
 
     @Override
-    public Collection<Map<String, Object>> retriveDataForRDScheduleCreation() {
-        String today = formatter.format(DateUtils.getBusinessLocalDate());
+    public Collection<Long> retrieveProductIdsForRDScheduleCreation() {
+        final String sql = "select distinct sa.product_id from m_savings_account sa"
+                + " inner join m_deposit_account_recurring_detail rd on rd.savings_account_id = sa.id"
+                + " where sa.status_enum = ? and sa.deposit_type_enum = ?";
+        return this.jdbcTemplate.queryForList(sql, Long.class, SavingsAccountStatusType.ACTIVE.getValue(),
+                DepositAccountType.RECURRING_DEPOSIT.getValue());
+    }
+
+    @Override
+    public void retriveDataForRDScheduleCreation(final Long productId, final Long afterSavingsId, final int limit,
+            final Consumer<Map<String, Object>> rowConsumer) {
         final StringBuilder sb = new StringBuilder(300);
         sb.append(" select rd.savings_account_id savingsId, rd.mandatory_recommended_deposit_amount as amount,");
         sb.append(" mc.recurrence as recurrence ,");
         sb.append(" max(ms.duedate) as dueDate , max(ms.installment) as installment,");
         sb.append(" count(ms.installment) as futureInstallemts");
         sb.append(" from m_deposit_account_term_and_preclosure dat ");
-        sb.append(" inner join m_savings_account sa on sa.id = dat.savings_account_id and sa.status_enum = ?");
+        sb.append(" inner join m_savings_account sa on sa.id = dat.savings_account_id and sa.status_enum = ? and sa.product_id = ?");
         sb.append(" inner join m_deposit_account_recurring_detail rd on rd.savings_account_id = dat.savings_account_id ");
         sb.append(" inner join m_calendar_instance mci on mci.entity_type_enum = ? and mci.entity_id = dat.savings_account_id  ");
         sb.append(" inner join m_calendar mc  on mc.id = mci.calendar_id and mc.calendar_type_enum = ?");
-        sb.append(" inner join m_mandatory_savings_schedule ms on ms.savings_account_id = dat.savings_account_id and ms.duedate > '" + today
-                + "'");
-        sb.append(" where dat.deposit_period is null");
+        sb.append(" inner join m_mandatory_savings_schedule ms on ms.savings_account_id = dat.savings_account_id and ms.duedate > ?");
+        sb.append(" where dat.deposit_period is null and dat.savings_account_id > ?");
         sb.append(" group by ms.savings_account_id, rd.mandatory_recommended_deposit_amount, mc.recurrence, rd.savings_account_id");
+        sb.append(" order by rd.savings_account_id ").append(sqlGenerator.limit(limit));
 
-        return this.jdbcTemplate.queryForList(sb.toString(), SavingsAccountStatusType.ACTIVE.getValue(),
-                CalendarEntityType.SAVINGS.getValue(), CalendarType.COLLECTION.getValue());
+        final ColumnMapRowMapper rowMapper = new ColumnMapRowMapper();
+        this.jdbcTemplate.query(sb.toString(), (RowCallbackHandler) rs -> rowConsumer.accept(rowMapper.mapRow(rs, rs.getRow())),
+                SavingsAccountStatusType.ACTIVE.getValue(), productId, CalendarEntityType.SAVINGS.getValue(),
+                CalendarType.COLLECTION.getValue(), DateUtils.getBusinessLocalDate(), afterSavingsId);
     }
 
     private abstract static class DepositAccountMapper implements RowMapper<DepositAccountData> {
@@ -90,6 +90,9 @@ public interface DepositAccountWritePlatformService {
 
     void updateMaturityDetails(Long depositAccountId, DepositAccountType depositAccountType);
 
+    void updateMaturityDetails(Long depositAccountId, DepositAccountType depositAccountType,
+            boolean isSavingsInterestPostingAtCurrentPeriodEnd, Integer financialYearBeginningMonth);
+
     void transferInterestToSavings() throws JobExecutionException;
 
     SavingsAccountTransaction mandatorySavingsAccountDeposit(SavingsAccountTransactionDTO accountTransactionDTO);
@@ -1520,10 +1520,15 @@ public class DepositAccountWritePlatformServiceJpaRepositoryImpl implements Depo
     @Transactional
     @Override
     public void updateMaturityDetails(Long depositAccountId, DepositAccountType depositAccountType) {
+        updateMaturityDetails(depositAccountId, depositAccountType,
+                this.configurationDomainService.isSavingsInterestPostingAtCurrentPeriodEnd(),
+                this.configurationDomainService.retrieveFinancialYearBeginningMonth());
+    }
 
-        final boolean isSavingsInterestPostingAtCurrentPeriodEnd = this.configurationDomainService
-                .isSavingsInterestPostingAtCurrentPeriodEnd();
-        final Integer financialYearBeginningMonth = this.configurationDomainService.retrieveFinancialYearBeginningMonth();
+    @Transactional
+    @Override
+    public void updateMaturityDetails(final Long depositAccountId, final DepositAccountType depositAccountType,
+            final boolean isSavingsInterestPostingAtCurrentPeriodEnd, final Integer financialYearBeginningMonth) {
         final boolean postReversals = false;
         final SavingsAccount account = this.depositAccountAssembler.assembleFrom(depositAccountId, depositAccountType);
         final Set<Long> existingTransactionIds = new HashSet<>();
@@ -0,0 +1,156 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.jobs.service.JobExecuter;
+import org.apache.fineract.portfolio.savings.DepositAccountType;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Updates the maturity details of all active fixed and recurring deposits whose maturity date has been reached.
+ *
+ * The configuration every account needs is read once per run and the accounts are processed product by product, so
+ * that product and chart data stays warm while the accounts of one product are handled. Accounts are split into
+ * one partition per thread of the job; deposits transferring to the same savings account on closure always share a
+ * partition. Every account is still updated in its own transaction, so one failing account does not affect the others.
+ */
+@Component
+public class DepositMaturityProcessor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DepositMaturityProcessor.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DepositAccountWritePlatformService depositAccountWritePlatformService;
+    private final ConfigurationDomainService configurationDomainService;
+    private final JobExecuter jobExecuter;
+
+    @Autowired
+    public DepositMaturityProcessor(final JdbcTemplate jdbcTemplate,
+            final DepositAccountWritePlatformService depositAccountWritePlatformService,
+            final ConfigurationDomainService configurationDomainService, final JobExecuter jobExecuter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.depositAccountWritePlatformService = depositAccountWritePlatformService;
+        this.configurationDomainService = configurationDomainService;
+        this.jobExecuter = jobExecuter;
+    }
+
+    /**
+     * @return the number of accounts whose maturity details were updated
+     */
+    public int updateMaturityDetails() {
+        final List<MaturityCandidate> candidates = retrieveCandidates();
+        final boolean isSavingsInterestPostingAtCurrentPeriodEnd = this.configurationDomainService
+                .isSavingsInterestPostingAtCurrentPeriodEnd();
+        final Integer financialYearBeginningMonth = this.configurationDomainService.retrieveFinancialYearBeginningMonth();
+        final AtomicInteger updated = new AtomicInteger();
+
+        this.jobExecuter.executePartitions(partition(candidates, this.jobExecuter.getNumberOfThreads()),
+                (partition, sb) -> updateMaturityDetails(partition, isSavingsInterestPostingAtCurrentPeriodEnd, financialYearBeginningMonth,
+                        updated));
+        LOG.info("Update maturity details: {} of {} accounts updated", updated.get(), candidates.size());
+        return updated.get();
+    }
+
+    private void updateMaturityDetails(final List<MaturityCandidate> candidates, final boolean isSavingsInterestPostingAtCurrentPeriodEnd,
+            final Integer financialYearBeginningMonth, final AtomicInteger updated) {
+        for (final MaturityCandidate candidate : candidates) {
+            try {
+                this.depositAccountWritePlatformService.updateMaturityDetails(candidate.id, candidate.depositAccountType,
+                        isSavingsInterestPostingAtCurrentPeriodEnd, financialYearBeginningMonth);
+                updated.incrementAndGet();
+            } catch (final PlatformApiDataValidationException e) {
+                final List<ApiParameterError> errors = e.getErrors();
+                for (final ApiParameterError error : errors) {
+                    LOG.error("Update maturity details failed for account: {} with message {}", candidate.accountNo,
+                            error.getDeveloperMessage());
+                }
+            } catch (final Exception ex) {
+                LOG.error("Update maturity details failed for account: {}", candidate.accountNo, ex);
+            }
+        }
+    }
+
+    private List<MaturityCandidate> retrieveCandidates() {
+        final String sql = "select sa.id as id, sa.account_no as accountNo, sa.deposit_type_enum as depositTypeId,"
+                + " sa.product_id as productId, dat.transfer_to_savings_account_id as transferToSavingsId from m_savings_account sa"
+                + " inner join m_deposit_account_term_and_preclosure dat on dat.savings_account_id = sa.id"
+                + " and dat.maturity_date is not null and dat.maturity_date <= ?"
+                + " where sa.deposit_type_enum in (?, ?) and sa.status_enum = ? order by sa.product_id, sa.id";
+        return this.jdbcTemplate.query(sql,
+                (rs, rowNum) -> new MaturityCandidate(rs.getLong("id"), rs.getString("accountNo"),
+                        DepositAccountType.fromInt(rs.getInt("depositTypeId")), rs.getLong("productId"),
+                        JdbcSupport.getLong(rs, "transferToSavingsId")),
+                DateUtils.getBusinessLocalDate(), DepositAccountType.FIXED_DEPOSIT.getValue(),
+                DepositAccountType.RECURRING_DEPOSIT.getValue(), SavingsAccountStatusType.ACTIVE.getValue());
+    }
+
+    static List<List<MaturityCandidate>> partition(final List<MaturityCandidate> candidates, final int partitionCount) {
+        final List<List<MaturityCandidate>> partitions = new ArrayList<>();
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        // candidates keep their product order within a partition
+        for (final MaturityCandidate candidate : candidates) {
+            final Long key = candidate.transferToSavingsId == null ? candidate.id : candidate.transferToSavingsId;
+            partitions.get(Math.floorMod(key.hashCode(), partitionCount)).add(candidate);
+        }
+        partitions.removeIf(List::isEmpty);
+        return Collections.unmodifiableList(partitions);
+    }
+
+    static final class MaturityCandidate {
+
+        private final Long id;
+        private final String accountNo;
+        private final DepositAccountType depositAccountType;
+        private final Long productId;
+        private final Long transferToSavingsId;
+
+        MaturityCandidate(final Long id, final String accountNo, final DepositAccountType depositAccountType, final Long productId,
+                final Long transferToSavingsId) {
+            this.id = id;
+            this.accountNo = accountNo;
+            this.depositAccountType = depositAccountType;
+            this.productId = productId;
+            this.transferToSavingsId = transferToSavingsId;
+        }
+
+        Long getId() {
+            return this.id;
+        }
+
+        Long getProductId() {
+            return this.productId;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractDepositProperties;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.jobs.service.JobExecuter;
+import org.apache.fineract.portfolio.savings.DepositAccountUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tops up the mandatory savings schedule of active recurring deposit accounts without a fixed deposit period, so that
+ * every account keeps {@link DepositAccountUtils#GENERATE_MINIMUM_NUMBER_OF_FUTURE_INSTALMENTS} future installments.
+ *
+ * Accounts are read product by product and the products are spread over the threads of the job. The accounts of a
+ * product are read in keyset pages of a configurable size, and the installments of each page are written with a
+ * prepared statement in JDBC batches once the page has been read. A product that fails does not stop the others; as
+ * only missing installments are generated, the next run simply completes it.
+ */
+@Component
+public class RecurringDepositScheduleGenerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RecurringDepositScheduleGenerator.class);
+
+    static final String INSERT_SQL = "INSERT INTO m_mandatory_savings_schedule (savings_account_id, duedate, installment, deposit_amount,"
+            + " completed_derived, created_date, lastmodified_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DepositAccountReadPlatformService depositAccountReadPlatformService;
+    private final JobExecuter jobExecuter;
+    private final int batchSize;
+
+    @Autowired
+    public RecurringDepositScheduleGenerator(final JdbcTemplate jdbcTemplate,
+            final DepositAccountReadPlatformService depositAccountReadPlatformService, final JobExecuter jobExecuter,
+            final FineractProperties fineractProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.depositAccountReadPlatformService = depositAccountReadPlatformService;
+        this.jobExecuter = jobExecuter;
+        final FineractDepositProperties properties = fineractProperties.getDeposit() == null ? new FineractDepositProperties()
+                : fineractProperties.getDeposit();
+        this.batchSize = Math.max(1, properties.getRdScheduleBatchSize());
+    }
+
+    public RunSummary generate() {
+        final long startTime = System.currentTimeMillis();
+        final Collection<Long> productIds = this.depositAccountReadPlatformService.retrieveProductIdsForRDScheduleCreation();
+        final LocalDateTime now = DateUtils.getLocalDateTimeOfTenant();
+        final RunSummary summary = new RunSummary(productIds.size());
+
+        this.jobExecuter.executePartitions(partition(productIds, this.jobExecuter.getNumberOfThreads()),
+                (partition, sb) -> partition.forEach(productId -> generateForProduct(productId, now, summary)));
+        summary.elapsedMillis = System.currentTimeMillis() - startTime;
+        return summary;
+    }
+
+    void generateForProduct(final Long productId, final LocalDateTime now, final RunSummary summary) {
+        final ScheduleBatchWriter writer = new ScheduleBatchWriter(this.jdbcTemplate, this.batchSize);
+        try {
+            long afterSavingsId = 0L;
+            int pageSize;
+            do {
+                final long[] page = { afterSavingsId, 0L };
+                this.depositAccountReadPlatformService.retriveDataForRDScheduleCreation(productId, afterSavingsId, this.batchSize,
+                        details -> {
+                            page[0] = ((Number) details.get("savingsId")).longValue();
+                            page[1]++;
+                            addFutureInstallments(details, now, writer);
+                        });
+                writer.flush();
+                summary.accounts.addAndGet(page[1]);
+                afterSavingsId = page[0];
+                pageSize = (int) page[1];
+            } while (pageSize == this.batchSize);
+        } catch (RuntimeException e) {
+            LOG.error("Generating RD schedule failed for product {}", productId, e);
+            summary.failedProductIds.add(productId);
+            summary.errors.add(e);
+        } finally {
+            summary.installments.addAndGet(writer.getWritten());
+        }
+    }
+
+    static List<List<Long>> partition(final Collection<Long> productIds, final int partitionCount) {
+        final List<List<Long>> partitions = new ArrayList<>();
+        int next = 0;
+        for (final Long productId : productIds) {
+            if (partitions.size() < partitionCount) {
+                partitions.add(new ArrayList<>());
+            }
+            partitions.get(next++ % partitions.size()).add(productId);
+        }
+        return partitions;
+    }
+
+    static void addFutureInstallments(final Map<String, Object> details, final LocalDateTime now, final ScheduleBatchWriter writer) {
+        long count = details.get("futureInstallemts") == null ? 0L : ((Number) details.get("futureInstallemts")).longValue();
+        final Long savingsId = ((Number) details.get("savingsId")).longValue();
+        final BigDecimal amount = (BigDecimal) details.get("amount");
+        final String recurrence = (String) details.get("recurrence");
+        LocalDate lastDepositDate = toLocalDate(details.get("dueDate"));
+        int installmentNumber = ((Number) details.get("installment")).intValue();
+        while (count < DepositAccountUtils.GENERATE_MINIMUM_NUMBER_OF_FUTURE_INSTALMENTS) {
+            count++;
+            installmentNumber++;
+            lastDepositDate = DepositAccountUtils.calculateNextDepositDate(lastDepositDate, recurrence);
+            writer.add(new Object[] { savingsId, lastDepositDate, installmentNumber, amount, Boolean.FALSE, now, now });
+        }
+    }
+
+    private static LocalDate toLocalDate(final Object value) {
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    /**
+     * Collects the schedule rows of a page of accounts and writes them in JDBC batches once the page has been read, so a
+     * worker never holds the reading connection while writing and never keeps more than one page of rows.
+     */
+    static final class ScheduleBatchWriter {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final int batchSize;
+        private final List<Object[]> rows;
+        private long written;
+
+        ScheduleBatchWriter(final JdbcTemplate jdbcTemplate, final int batchSize) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.batchSize = batchSize;
+            this.rows = new ArrayList<>();
+        }
+
+        void add(final Object[] row) {
+            this.rows.add(row);
+        }
+
+        void flush() {
+            for (int from = 0; from < this.rows.size(); from += this.batchSize) {
+                final List<Object[]> batch = this.rows.subList(from, Math.min(from + this.batchSize, this.rows.size()));
+                this.jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                this.written += batch.size();
+            }
+            this.rows.clear();
+        }
+
+        long getWritten() {
+            return this.written;
+        }
+    }
+
+    /**
+     * Outcome of one schedule generation run.
+     */
+    public static final class RunSummary {
+
+        private final int products;
+        private final AtomicLong accounts = new AtomicLong();
+        private final AtomicLong installments = new AtomicLong();
+        private final List<Long> failedProductIds = Collections.synchronizedList(new ArrayList<>());
+        private final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        private long elapsedMillis;
+
+        RunSummary(final int products) {
+            this.products = products;
+        }
+
+        public int getProducts() {
+            return this.products;
+        }
+
+        public long getAccounts() {
+            return this.accounts.get();
+        }
+
+        public long getInstallments() {
+            return this.installments.get();
+        }
+
+        public List<Long> getFailedProductIds() {
+            return this.failedProductIds;
+        }
+
+        public List<Throwable> getErrors() {
+            return this.errors;
+        }
+
+        public long getElapsedMillis() {
+            return this.elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "products=" + this.products + ", accounts=" + getAccounts() + ", installments=" + getInstallments() + ", failedProducts="
+                    + this.failedProductIds + ", elapsedMillis=" + this.elapsedMillis;
+        }
+    }
+}
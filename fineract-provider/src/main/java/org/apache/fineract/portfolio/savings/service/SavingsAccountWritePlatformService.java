@@ -21,6 +21,7 @@ package org.apache.fineract.portfolio.savings.service;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.Set;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
@@ -79,6 +80,10 @@ public interface SavingsAccountWritePlatformService {
 
     void applyChargeDue(Long savingsAccountChargeId, Long accountId);
 
+    void applyAnnualFees(Long accountId, Collection<Long> savingsAccountChargeIds);
+
+    void applyChargesDue(Long accountId, Collection<Long> savingsAccountChargeIds);
+
     void processPostActiveActions(SavingsAccount account, DateTimeFormatter fmt, Set<Long> existingTransactionIds,
             Set<Long> existingReversedTransactionIds);
 
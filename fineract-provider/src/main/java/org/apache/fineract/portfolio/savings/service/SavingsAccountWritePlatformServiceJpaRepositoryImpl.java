@@ -84,6 +84,8 @@ import org.apache.fineract.portfolio.account.service.AccountTransfersReadPlatfor
 import org.apache.fineract.portfolio.accountdetails.data.RevokedInterestTransactionData;
 import org.apache.fineract.portfolio.businessevent.domain.savings.SavingsActivateBusinessEvent;
 import org.apache.fineract.portfolio.businessevent.domain.savings.SavingsCloseBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.savings.charge.SavingsPayChargeBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.domain.savings.charge.SavingsWaiveChargeBusinessEvent;
 import org.apache.fineract.portfolio.businessevent.service.BusinessEventNotifierService;
 import org.apache.fineract.portfolio.charge.domain.Charge;
 import org.apache.fineract.portfolio.charge.domain.ChargeRepositoryWrapper;
@@ -1497,6 +1499,7 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
         this.savingAccountRepositoryWrapper.saveAndFlush(account);
 
         postJournalEntries(account, existingTransactionIds, existingReversedTransactionIds, backdatedTxnsAllowedTill);
+        businessEventNotifierService.notifyPostBusinessEvent(new SavingsWaiveChargeBusinessEvent(savingsAccountCharge));
         return new CommandProcessingResultBuilder() //
                 .withEntityId(savingsAccountChargeId) //
                 .withOfficeId(account.officeId()) //
@@ -1604,6 +1607,126 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
         }
     }
 
+    @Transactional
+    @Override
+    public void applyAnnualFees(final Long accountId, final Collection<Long> savingsAccountChargeIds) {
+        final AppUser user = getAppUserIfPresent();
+        final LocalDate todaysDate = DateUtils.getBusinessLocalDate();
+        final DateTimeFormatter fmt = DateTimeFormatter.ofPattern("dd MM yyyy").withZone(DateUtils.getDateTimeZoneOfTenant());
+
+        final List<SavingsAccountCharge> charges = retrieveChargesOfAccount(accountId, savingsAccountChargeIds);
+        final SavingsAccount account = charges.get(0).savingsAccount();
+        final Set<Long> existingTransactionIds = new HashSet<>();
+        final Set<Long> existingReversedTransactionIds = new HashSet<>();
+        this.savingAccountAssembler.assignSavingAccountHelpers(account);
+        updateExistingTransactionsDetails(account, existingTransactionIds, existingReversedTransactionIds);
+
+        LocalDate earliestTransactionDate = null;
+        final List<SavingsAccountCharge> paidCharges = new ArrayList<>(charges.size());
+        for (final SavingsAccountCharge savingsAccountCharge : charges) {
+            if (todaysDate.isAfter(savingsAccountCharge.getDueLocalDate())) {
+                paidCharges.add(savingsAccountCharge);
+            }
+            while (todaysDate.isAfter(savingsAccountCharge.getDueLocalDate())) {
+                final LocalDate dueDate = savingsAccountCharge.getDueLocalDate();
+                final SavingsAccountTransaction chargeTransaction = account.payCharge(savingsAccountCharge, savingsAccountCharge.amount(),
+                        dueDate, fmt, user, false, null);
+                saveTransactionToGenerateTransactionId(chargeTransaction);
+                earliestTransactionDate = earliestOf(earliestTransactionDate, dueDate);
+            }
+        }
+        completeChargePayments(account, earliestTransactionDate, existingTransactionIds, existingReversedTransactionIds);
+        notifyChargesPaid(paidCharges);
+    }
+
+    @Transactional
+    @Override
+    public void applyChargesDue(final Long accountId, final Collection<Long> savingsAccountChargeIds) {
+        // always use current date as transaction date for batch job
+        final AppUser user = null;
+        final LocalDate transactionDate = DateUtils.getBusinessLocalDate();
+        final DateTimeFormatter fmt = DateTimeFormatter.ofPattern("dd MM yyyy").withZone(DateUtils.getDateTimeZoneOfTenant());
+
+        final List<SavingsAccountCharge> charges = retrieveChargesOfAccount(accountId, savingsAccountChargeIds);
+        final SavingsAccount account = charges.get(0).savingsAccount();
+        final Set<Long> existingTransactionIds = new HashSet<>();
+        final Set<Long> existingReversedTransactionIds = new HashSet<>();
+        this.savingAccountAssembler.assignSavingAccountHelpers(account);
+        updateExistingTransactionsDetails(account, existingTransactionIds, existingReversedTransactionIds);
+
+        final List<SavingsAccountCharge> paidCharges = new ArrayList<>(charges.size());
+        for (final SavingsAccountCharge savingsAccountCharge : charges) {
+            if (transactionDate.isAfter(savingsAccountCharge.getDueLocalDate()) && savingsAccountCharge.isNotFullyPaid()) {
+                paidCharges.add(savingsAccountCharge);
+            }
+            while (transactionDate.isAfter(savingsAccountCharge.getDueLocalDate()) && savingsAccountCharge.isNotFullyPaid()) {
+                final SavingsAccountTransaction chargeTransaction = account.payCharge(savingsAccountCharge,
+                        savingsAccountCharge.amoutOutstanding(), transactionDate, fmt, user, false, null);
+                saveTransactionToGenerateTransactionId(chargeTransaction);
+            }
+        }
+        completeChargePayments(account, paidCharges.isEmpty() ? null : transactionDate, existingTransactionIds,
+                existingReversedTransactionIds);
+        notifyChargesPaid(paidCharges);
+    }
+
+    private List<SavingsAccountCharge> retrieveChargesOfAccount(final Long accountId, final Collection<Long> savingsAccountChargeIds) {
+        final List<SavingsAccountCharge> charges = new ArrayList<>(savingsAccountChargeIds.size());
+        for (final Long savingsAccountChargeId : savingsAccountChargeIds) {
+            charges.add(this.savingsAccountChargeRepository.findOneWithNotFoundDetection(savingsAccountChargeId, accountId));
+        }
+        return charges;
+    }
+
+    private void notifyChargesPaid(final List<SavingsAccountCharge> paidCharges) {
+        for (final SavingsAccountCharge savingsAccountCharge : paidCharges) {
+            businessEventNotifierService.notifyPostBusinessEvent(new SavingsPayChargeBusinessEvent(savingsAccountCharge));
+        }
+    }
+
+    private static LocalDate earliestOf(final LocalDate current, final LocalDate candidate) {
+        return current == null || candidate.isBefore(current) ? candidate : current;
+    }
+
+    /**
+     * Recalculates interest once for all charge transactions paid on the account, validates the resulting balance and
+     * posts the journal entries of every new transaction in one go.
+     */
+    private void completeChargePayments(final SavingsAccount account, final LocalDate earliestTransactionDate,
+            final Set<Long> existingTransactionIds, final Set<Long> existingReversedTransactionIds) {
+        if (earliestTransactionDate == null) {
+            return;
+        }
+        final boolean isSavingsInterestPostingAtCurrentPeriodEnd = this.configurationDomainService
+                .isSavingsInterestPostingAtCurrentPeriodEnd();
+        final Integer financialYearBeginningMonth = this.configurationDomainService.retrieveFinancialYearBeginningMonth();
+        final boolean isInterestTransfer = false;
+        final LocalDate postInterestOnDate = null;
+        final boolean postReversals = false;
+        final MathContext mc = MathContext.DECIMAL64;
+        final LocalDate today = DateUtils.getBusinessLocalDate();
+
+        if (account.isBeforeLastPostingPeriod(earliestTransactionDate, false)) {
+            account.postInterest(mc, today, isInterestTransfer, isSavingsInterestPostingAtCurrentPeriodEnd, financialYearBeginningMonth,
+                    postInterestOnDate, isInterestTransfer, postReversals);
+        } else {
+            account.calculateInterestUsing(mc, today, isInterestTransfer, isSavingsInterestPostingAtCurrentPeriodEnd,
+                    financialYearBeginningMonth, postInterestOnDate, false, postReversals);
+        }
+
+        List<DepositAccountOnHoldTransaction> depositAccountOnHoldTransactions = null;
+        if (account.getOnHoldFunds().compareTo(BigDecimal.ZERO) > 0) {
+            depositAccountOnHoldTransactions = this.depositAccountOnHoldTransactionRepository
+                    .findBySavingsAccountAndReversedFalseOrderByCreatedDateAsc(account);
+        }
+        account.validateAccountBalanceDoesNotBecomeNegative("." + SavingsAccountTransactionType.PAY_CHARGE.getCode(),
+                depositAccountOnHoldTransactions, false);
+
+        this.savingAccountRepositoryWrapper.saveAndFlush(account);
+
+        postJournalEntries(account, existingTransactionIds, existingReversedTransactionIds, false);
+    }
+
     @Transactional
     @Override
     public void payCharge(final SavingsAccountCharge savingsAccountCharge, final LocalDate transactionDate, final BigDecimal amountPaid,
@@ -1646,6 +1769,7 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
         this.savingAccountRepositoryWrapper.save(account);
 
         postJournalEntries(account, existingTransactionIds, existingReversedTransactionIds);
+        businessEventNotifierService.notifyPostBusinessEvent(new SavingsPayChargeBusinessEvent(savingsAccountCharge));
     }
 
     @Transactional
@@ -1753,6 +1877,7 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
         this.savingAccountRepositoryWrapper.saveAndFlush(account);
 
         postJournalEntries(account, existingTransactionIds, existingReversedTransactionIds, backdatedTxnsAllowedTill);
+        businessEventNotifierService.notifyPostBusinessEvent(new SavingsPayChargeBusinessEvent(savingsAccountCharge));
 
         return chargeTransaction;
     }
@@ -68,6 +68,10 @@ public class ShareAccountDividendDetails extends AbstractPersistableCustom {
         return this.amount;
     }
 
+    public boolean isInitiated() {
+        return ShareAccountDividendStatusType.INITIATED.getValue().equals(this.status);
+    }
+
     public ShareProductDividendPayOutDetails getProductDividentPayOutDetails() {
         return productDividentPayOutDetails;
     }
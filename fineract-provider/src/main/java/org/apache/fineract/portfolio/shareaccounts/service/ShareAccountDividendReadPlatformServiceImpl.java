@@ -67,6 +67,7 @@ public class ShareAccountDividendReadPlatformServiceImpl implements ShareAccount
         sb.append(" inner join m_share_product_dividend_pay_out spdpo on spdpo.id = sadd.dividend_pay_out_id ");
         sb.append(" inner join m_share_account sa on sa.id = sadd.account_id ");
         sb.append(" where spdpo.status = ? and sadd.status = ?");
+        sb.append(" order by sa.savings_account_id, sadd.id");
         return this.jdbcTemplate.queryForList(sb.toString(), ShareProductDividendStatusType.APPROVED.getValue(),
                 ShareAccountDividendStatusType.INITIATED.getValue());
     }
@@ -18,8 +18,17 @@
  */
 package org.apache.fineract.portfolio.shareaccounts.service;
 
+import java.util.Collection;
+
 public interface ShareAccountSchedularService {
 
     void postDividend(Long dividendDetailId, Long savingsId);
 
+    /**
+     * Credits the still initiated dividend details to the savings account as a single dividend payout transaction.
+     *
+     * @return the number of dividend details posted
+     */
+    int postDividends(Long savingsId, Collection<Long> dividendDetailIds);
+
 }
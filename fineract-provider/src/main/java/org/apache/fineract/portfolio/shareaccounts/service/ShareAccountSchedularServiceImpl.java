@@ -18,6 +18,10 @@
  */
 package org.apache.fineract.portfolio.shareaccounts.service;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountAssembler;
@@ -48,14 +52,29 @@ public class ShareAccountSchedularServiceImpl implements ShareAccountSchedularSe
     @Override
     @Transactional
     public void postDividend(final Long dividendDetailId, final Long savingsId) {
+        postDividends(savingsId, List.of(dividendDetailId));
+    }
 
-        ShareAccountDividendDetails shareAccountDividendDetails = this.shareAccountDividendRepository.findById(dividendDetailId)
-                .orElseThrow();
+    @Override
+    @Transactional
+    public int postDividends(final Long savingsId, final Collection<Long> dividendDetailIds) {
+        final List<ShareAccountDividendDetails> dividendDetails = this.shareAccountDividendRepository.findAllById(dividendDetailIds)
+                .stream().filter(ShareAccountDividendDetails::isInitiated).collect(Collectors.toList());
+        if (dividendDetails.isEmpty()) {
+            return 0;
+        }
+        BigDecimal amount = BigDecimal.ZERO;
+        for (final ShareAccountDividendDetails shareAccountDividendDetails : dividendDetails) {
+            amount = amount.add(shareAccountDividendDetails.getAmount());
+        }
         final SavingsAccount savingsAccount = this.savingsAccountAssembler.assembleFrom(savingsId, false);
-        SavingsAccountTransaction savingsAccountTransaction = this.savingsAccountDomainService.handleDividendPayout(savingsAccount,
-                DateUtils.getBusinessLocalDate(), shareAccountDividendDetails.getAmount(), false);
-        shareAccountDividendDetails.update(ShareAccountDividendStatusType.POSTED.getValue(), savingsAccountTransaction.getId());
-        this.shareAccountDividendRepository.saveAndFlush(shareAccountDividendDetails);
+        final SavingsAccountTransaction savingsAccountTransaction = this.savingsAccountDomainService.handleDividendPayout(savingsAccount,
+                DateUtils.getBusinessLocalDate(), amount, false);
+        for (final ShareAccountDividendDetails shareAccountDividendDetails : dividendDetails) {
+            shareAccountDividendDetails.update(ShareAccountDividendStatusType.POSTED.getValue(), savingsAccountTransaction.getId());
+        }
+        this.shareAccountDividendRepository.saveAllAndFlush(dividendDetails);
+        return dividendDetails.size();
     }
 
 }
@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.shareaccounts.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.jobs.service.JobExecuter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Posts all initiated dividends of approved share product pay outs to the linked savings accounts.
+ *
+ * Dividend details are grouped by savings account, and every savings account is credited once with the sum of its
+ * dividends, giving a single savings transaction and a single set of journal entries per member. Savings accounts are
+ * split into one partition per thread of the job. Every savings account is posted in its own transaction which also
+ * marks its dividend details as posted, so an interrupted or partly failed run is resumed by simply running it again.
+ */
+@Component
+public class ShareDividendPostingProcessor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShareDividendPostingProcessor.class);
+
+    private final ShareAccountDividendReadPlatformService shareAccountDividendReadPlatformService;
+    private final ShareAccountSchedularService shareAccountSchedularService;
+    private final JobExecuter jobExecuter;
+
+    @Autowired
+    public ShareDividendPostingProcessor(final ShareAccountDividendReadPlatformService shareAccountDividendReadPlatformService,
+            final ShareAccountSchedularService shareAccountSchedularService, final JobExecuter jobExecuter) {
+        this.shareAccountDividendReadPlatformService = shareAccountDividendReadPlatformService;
+        this.shareAccountSchedularService = shareAccountSchedularService;
+        this.jobExecuter = jobExecuter;
+    }
+
+    /**
+     * @return the errors of the savings accounts that could not be credited
+     */
+    public List<Throwable> postDividends() {
+        final Map<Long, List<Long>> dividendDetailIdsBySavingsId = groupBySavingsAccount(
+                this.shareAccountDividendReadPlatformService.retriveDividendDetailsForPostDividents());
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger posted = new AtomicInteger();
+
+        this.jobExecuter.executePartitions(partition(dividendDetailIdsBySavingsId.keySet(), this.jobExecuter.getNumberOfThreads()),
+                (partition, sb) -> postDividends(partition, dividendDetailIdsBySavingsId, posted, errors));
+        LOG.info("Post dividends: {} dividend details posted to {} savings accounts, {} failures", posted.get(),
+                dividendDetailIdsBySavingsId.size(), errors.size());
+        return errors;
+    }
+
+    private void postDividends(final List<Long> savingsIds, final Map<Long, List<Long>> dividendDetailIdsBySavingsId,
+            final AtomicInteger posted, final List<Throwable> errors) {
+        for (final Long savingsId : savingsIds) {
+            final List<Long> dividendDetailIds = dividendDetailIdsBySavingsId.get(savingsId);
+            try {
+                posted.addAndGet(this.shareAccountSchedularService.postDividends(savingsId, dividendDetailIds));
+            } catch (final PlatformApiDataValidationException e) {
+                errors.add(e);
+                for (final ApiParameterError error : e.getErrors()) {
+                    LOG.error("Post Dividends to savings failed due to ApiParameterError for Divident detail Ids: {} and savings Id: {}"
+                            + " with message: {}", dividendDetailIds, savingsId, error.getDeveloperMessage(), e);
+                }
+            } catch (final Exception e) {
+                LOG.error("Post Dividends to savings failed for Divident detail Ids: {} and savings Id: {}", dividendDetailIds, savingsId,
+                        e);
+                errors.add(e);
+            }
+        }
+    }
+
+    static Map<Long, List<Long>> groupBySavingsAccount(final List<Map<String, Object>> dividendDetails) {
+        final Map<Long, List<Long>> dividendDetailIdsBySavingsId = new LinkedHashMap<>();
+        for (final Map<String, Object> dividendMap : dividendDetails) {
+            // drivers return either Long or BigInteger here
+            final Long id = ((Number) dividendMap.get("id")).longValue();
+            final Long savingsId = ((Number) dividendMap.get("savingsAccountId")).longValue();
+            dividendDetailIdsBySavingsId.computeIfAbsent(savingsId, key -> new ArrayList<>()).add(id);
+        }
+        return dividendDetailIdsBySavingsId;
+    }
+
+    static List<List<Long>> partition(final Iterable<Long> savingsIds, final int partitionCount) {
+        final List<List<Long>> partitions = new ArrayList<>();
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (final Long savingsId : savingsIds) {
+            partitions.get(Math.floorMod(savingsId.hashCode(), partitionCount)).add(savingsId);
+        }
+        partitions.removeIf(List::isEmpty);
+        return Collections.unmodifiableList(partitions);
+    }
+}
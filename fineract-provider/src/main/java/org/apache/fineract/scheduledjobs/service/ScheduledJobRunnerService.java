@@ -22,7 +22,7 @@ import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 
 public interface ScheduledJobRunnerService {
 
-    void applyAnnualFeeForSavings();
+    void applyAnnualFeeForSavings() throws JobExecutionException;
 
     void applyDueChargesForSavings() throws JobExecutionException;
 
@@ -30,7 +30,7 @@ public interface ScheduledJobRunnerService {
 
     void updateMaturityDetailsOfDepositAccounts();
 
-    void generateRDSchedule();
+    void generateRDSchedule() throws JobExecutionException;
 
     void postDividends() throws JobExecutionException;
 
@@ -18,17 +18,15 @@
  */
 package org.apache.fineract.scheduledjobs.service;
 
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import org.apache.fineract.accounting.glaccount.domain.TrialBalance;
-import org.apache.fineract.accounting.glaccount.domain.TrialBalanceRepositoryWrapper;
+import org.apache.fineract.accounting.trialbalance.service.TrialBalanceWritePlatformService;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.data.ApiParameterError;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
@@ -47,17 +45,14 @@ import org.apache.fineract.infrastructure.jobs.service.JobExecuter;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.infrastructure.jobs.service.JobRegisterService;
 import org.apache.fineract.infrastructure.jobs.service.JobRunner;
-import org.apache.fineract.portfolio.savings.DepositAccountType;
-import org.apache.fineract.portfolio.savings.DepositAccountUtils;
-import org.apache.fineract.portfolio.savings.data.DepositAccountData;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountAnnualFeeData;
-import org.apache.fineract.portfolio.savings.service.DepositAccountReadPlatformService;
-import org.apache.fineract.portfolio.savings.service.DepositAccountWritePlatformService;
+import org.apache.fineract.portfolio.savings.service.DepositMaturityProcessor;
+import org.apache.fineract.portfolio.savings.service.RecurringDepositScheduleGenerator;
+import org.apache.fineract.portfolio.savings.service.RecurringDepositScheduleGenerator.RunSummary;
 import org.apache.fineract.portfolio.savings.service.SavingsAccountChargeReadPlatformService;
 import org.apache.fineract.portfolio.savings.service.SavingsAccountReadPlatformService;
 import org.apache.fineract.portfolio.savings.service.SavingsAccountWritePlatformService;
-import org.apache.fineract.portfolio.shareaccounts.service.ShareAccountDividendReadPlatformService;
-import org.apache.fineract.portfolio.shareaccounts.service.ShareAccountSchedularService;
+import org.apache.fineract.portfolio.shareaccounts.service.ShareDividendPostingProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -69,7 +64,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.CollectionUtils;
 
 @Service(value = "scheduledJobRunnerService")
 public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService {
@@ -79,11 +73,7 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
     private final RoutingDataSourceServiceFactory dataSourceServiceFactory;
     private final SavingsAccountWritePlatformService savingsAccountWritePlatformService;
     private final SavingsAccountChargeReadPlatformService savingsAccountChargeReadPlatformService;
-    private final DepositAccountReadPlatformService depositAccountReadPlatformService;
-    private final DepositAccountWritePlatformService depositAccountWritePlatformService;
-    private final ShareAccountDividendReadPlatformService shareAccountDividendReadPlatformService;
-    private final ShareAccountSchedularService shareAccountSchedularService;
-    private final TrialBalanceRepositoryWrapper trialBalanceRepositoryWrapper;
+    private final TrialBalanceWritePlatformService trialBalanceWritePlatformService;
     private final JobRegisterService jobRegisterService;
     private final ScheduledJobDetailRepository scheduledJobDetailsRepository;
     private final FineractProperties fineractProperties;
@@ -91,27 +81,24 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
     private final DatabaseTypeResolver databaseTypeResolver;
     private final SavingsAccountReadPlatformService savingsAccountReadPlatformService;
     private final JobExecuter jobExecuter;
+    private final RecurringDepositScheduleGenerator recurringDepositScheduleGenerator;
+    private final DepositMaturityProcessor depositMaturityProcessor;
+    private final ShareDividendPostingProcessor shareDividendPostingProcessor;
 
     @Autowired
     public ScheduledJobRunnerServiceImpl(final RoutingDataSourceServiceFactory dataSourceServiceFactory,
             final SavingsAccountWritePlatformService savingsAccountWritePlatformService,
             final SavingsAccountChargeReadPlatformService savingsAccountChargeReadPlatformService,
-            final DepositAccountReadPlatformService depositAccountReadPlatformService,
-            final DepositAccountWritePlatformService depositAccountWritePlatformService,
-            final ShareAccountDividendReadPlatformService shareAccountDividendReadPlatformService,
-            final ShareAccountSchedularService shareAccountSchedularService,
-            final TrialBalanceRepositoryWrapper trialBalanceRepositoryWrapper, @Lazy final JobRegisterService jobRegisterService,
+            final TrialBalanceWritePlatformService trialBalanceWritePlatformService, @Lazy final JobRegisterService jobRegisterService,
             final ScheduledJobDetailRepository scheduledJobDetailsRepository, final FineractProperties fineractProperties,
             DatabaseSpecificSQLGenerator sqlGenerator, DatabaseTypeResolver databaseTypeResolver,
-            final SavingsAccountReadPlatformService savingsAccountReadPlatformService, final JobExecuter jobExecuter) {
+            final SavingsAccountReadPlatformService savingsAccountReadPlatformService, final JobExecuter jobExecuter,
+            final RecurringDepositScheduleGenerator recurringDepositScheduleGenerator,
+            final DepositMaturityProcessor depositMaturityProcessor, final ShareDividendPostingProcessor shareDividendPostingProcessor) {
         this.dataSourceServiceFactory = dataSourceServiceFactory;
         this.savingsAccountWritePlatformService = savingsAccountWritePlatformService;
         this.savingsAccountChargeReadPlatformService = savingsAccountChargeReadPlatformService;
-        this.depositAccountReadPlatformService = depositAccountReadPlatformService;
-        this.depositAccountWritePlatformService = depositAccountWritePlatformService;
-        this.shareAccountDividendReadPlatformService = shareAccountDividendReadPlatformService;
-        this.shareAccountSchedularService = shareAccountSchedularService;
-        this.trialBalanceRepositoryWrapper = trialBalanceRepositoryWrapper;
+        this.trialBalanceWritePlatformService = trialBalanceWritePlatformService;
         this.jobRegisterService = jobRegisterService;
         this.scheduledJobDetailsRepository = scheduledJobDetailsRepository;
         this.fineractProperties = fineractProperties;
@@ -119,31 +106,26 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
         this.databaseTypeResolver = databaseTypeResolver;
         this.savingsAccountReadPlatformService = savingsAccountReadPlatformService;
         this.jobExecuter = jobExecuter;
+        this.recurringDepositScheduleGenerator = recurringDepositScheduleGenerator;
+        this.depositMaturityProcessor = depositMaturityProcessor;
+        this.shareDividendPostingProcessor = shareDividendPostingProcessor;
     }
 
     @Override
     @CronTarget(jobName = JobName.APPLY_ANNUAL_FEE_FOR_SAVINGS)
-    public void applyAnnualFeeForSavings() {
+    public void applyAnnualFeeForSavings() throws JobExecutionException {
 
         final Collection<SavingsAccountAnnualFeeData> annualFeeData = this.savingsAccountChargeReadPlatformService
                 .retrieveChargesWithAnnualFeeDue();
 
-        for (final SavingsAccountAnnualFeeData savingsAccountReference : annualFeeData) {
-            try {
-                this.savingsAccountWritePlatformService.applyAnnualFee(savingsAccountReference.getId(),
-                        savingsAccountReference.getAccountId());
-            } catch (final PlatformApiDataValidationException e) {
-                final List<ApiParameterError> errors = e.getErrors();
-                for (final ApiParameterError error : errors) {
-                    LOG.error("Apply annual fee failed for account: {} with message {}", savingsAccountReference.getAccountNo(), error);
-                }
-            } catch (final Exception ex) {
-                LOG.error("Apply annual fee failed for account: {}", savingsAccountReference.getAccountNo(), ex);
-            }
-        }
+        final List<Throwable> exceptions = Collections.synchronizedList(new ArrayList<>());
+        this.jobExecuter.executeJob(groupByAccount(annualFeeData), new SavingsChargesJobRunner(true, exceptions));
 
         LOG.info("{}: Records affected by applyAnnualFeeForSavings: {}", ThreadLocalContextUtil.getTenant().getName(),
                 annualFeeData.size());
+        if (!exceptions.isEmpty()) {
+            throw new JobExecutionException(exceptions);
+        }
     }
 
     @Override
@@ -151,23 +133,10 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
     public void applyDueChargesForSavings() throws JobExecutionException {
         final Collection<SavingsAccountAnnualFeeData> chargesDueData = this.savingsAccountChargeReadPlatformService
                 .retrieveChargesWithDue();
-        List<Throwable> exceptions = new ArrayList<>();
-        for (final SavingsAccountAnnualFeeData savingsAccountReference : chargesDueData) {
-            try {
-                this.savingsAccountWritePlatformService.applyChargeDue(savingsAccountReference.getId(),
-                        savingsAccountReference.getAccountId());
-            } catch (final PlatformApiDataValidationException e) {
-                exceptions.add(e);
-                final List<ApiParameterError> errors = e.getErrors();
-                for (final ApiParameterError error : errors) {
-                    LOG.error("Apply Charges due for savings failed for account {} with message: {}",
-                            savingsAccountReference.getAccountNo(), error.getDeveloperMessage(), e);
-                }
-            } catch (final Exception ex) {
-                exceptions.add(ex);
-                LOG.error("Apply Charges due for savings failed for account: {}", savingsAccountReference.getAccountNo(), ex);
-            }
-        }
+
+        final List<Throwable> exceptions = Collections.synchronizedList(new ArrayList<>());
+        this.jobExecuter.executeJob(groupByAccount(chargesDueData), new SavingsChargesJobRunner(false, exceptions));
+
         LOG.info("{}: Records affected by applyDueChargesForSavings: {}", ThreadLocalContextUtil.getTenant().getName(),
                 chargesDueData.size());
         if (!exceptions.isEmpty()) {
@@ -175,6 +144,57 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
         }
     }
 
+    static Map<Long, List<SavingsAccountAnnualFeeData>> groupByAccount(final Collection<SavingsAccountAnnualFeeData> charges) {
+        final Map<Long, List<SavingsAccountAnnualFeeData>> chargesByAccount = new HashMap<>();
+        for (final SavingsAccountAnnualFeeData charge : charges) {
+            chargesByAccount.computeIfAbsent(charge.getAccountId(), accountId -> new ArrayList<>()).add(charge);
+        }
+        return chargesByAccount;
+    }
+
+    /**
+     * Applies the due charges of a partition of savings accounts. Every account is loaded once and all of its charges
+     * are committed together, so a failure only rolls back the account it occurred on.
+     */
+    private class SavingsChargesJobRunner implements JobRunner<Map<Long, List<SavingsAccountAnnualFeeData>>> {
+
+        private final boolean annualFee;
+        private final List<Throwable> exceptions;
+
+        SavingsChargesJobRunner(final boolean annualFee, final List<Throwable> exceptions) {
+            this.annualFee = annualFee;
+            this.exceptions = exceptions;
+        }
+
+        @Override
+        public void runJob(final Map<Long, List<SavingsAccountAnnualFeeData>> chargesByAccount, final StringBuilder sb) {
+            for (final Map.Entry<Long, List<SavingsAccountAnnualFeeData>> entry : chargesByAccount.entrySet()) {
+                final List<Long> chargeIds = entry.getValue().stream().map(SavingsAccountAnnualFeeData::getId).toList();
+                final String accountNo = entry.getValue().get(0).getAccountNo();
+                try {
+                    if (this.annualFee) {
+                        savingsAccountWritePlatformService.applyAnnualFees(entry.getKey(), chargeIds);
+                    } else {
+                        savingsAccountWritePlatformService.applyChargesDue(entry.getKey(), chargeIds);
+                    }
+                } catch (final PlatformApiDataValidationException e) {
+                    this.exceptions.add(e);
+                    for (final ApiParameterError error : e.getErrors()) {
+                        LOG.error("Apply {} failed for account {} with message: {}", chargeDescription(), accountNo,
+                                error.getDeveloperMessage(), e);
+                    }
+                } catch (final Exception ex) {
+                    this.exceptions.add(ex);
+                    LOG.error("Apply {} failed for account: {}", chargeDescription(), accountNo, ex);
+                }
+            }
+        }
+
+        private String chargeDescription() {
+            return this.annualFee ? "annual fee" : "charges due for savings";
+        }
+    }
+
     @Transactional
     @Override
     @CronTarget(jobName = JobName.UPDATE_NPA)
@@ -221,115 +241,26 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
     @Override
     @CronTarget(jobName = JobName.UPDATE_DEPOSITS_ACCOUNT_MATURITY_DETAILS)
     public void updateMaturityDetailsOfDepositAccounts() {
-
-        final Collection<DepositAccountData> depositAccounts = this.depositAccountReadPlatformService.retrieveForMaturityUpdate();
-
-        for (final DepositAccountData depositAccount : depositAccounts) {
-            try {
-                final DepositAccountType depositAccountType = DepositAccountType.fromInt(depositAccount.depositType().getId().intValue());
-                this.depositAccountWritePlatformService.updateMaturityDetails(depositAccount.id(), depositAccountType);
-            } catch (final PlatformApiDataValidationException e) {
-                final List<ApiParameterError> errors = e.getErrors();
-                for (final ApiParameterError error : errors) {
-                    LOG.error("Update maturity details failed for account: {} with message {}", depositAccount.accountNo(),
-                            error.getDeveloperMessage());
-                }
-            } catch (final Exception ex) {
-                LOG.error("Update maturity details failed for account: {}", depositAccount.accountNo(), ex);
-            }
-        }
+        final int updated = this.depositMaturityProcessor.updateMaturityDetails();
 
         LOG.info("{}: Records affected by updateMaturityDetailsOfDepositAccounts: {}", ThreadLocalContextUtil.getTenant().getName(),
-                depositAccounts.size());
+                updated);
     }
 
     @Override
     @CronTarget(jobName = JobName.GENERATE_RD_SCEHDULE)
-    public void generateRDSchedule() {
-        final JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSourceServiceFactory.determineDataSourceService().retrieveDataSource());
-        final Collection<Map<String, Object>> scheduleDetails = this.depositAccountReadPlatformService.retriveDataForRDScheduleCreation();
-        String insertSql = "INSERT INTO m_mandatory_savings_schedule (savings_account_id, duedate, installment, deposit_amount, completed_derived, created_date, lastmodified_date) VALUES ";
-        StringBuilder sb = new StringBuilder();
-        String currentDate = DateUtils.getLocalDateTimeOfTenant().format(DateUtils.DEFAULT_DATETIME_FORMATER);
-        int iterations = 0;
-        for (Map<String, Object> details : scheduleDetails) {
-            Long count = (Long) details.get("futureInstallemts");
-            if (count == null) {
-                count = 0L;
-            }
-            final Long savingsId = (Long) details.get("savingsId");
-            final BigDecimal amount = (BigDecimal) details.get("amount");
-            final String recurrence = (String) details.get("recurrence");
-            LocalDate lastDepositDate = (LocalDate) details.get("dueDate");
-            Integer installmentNumber = (Integer) details.get("installment");
-            while (count < DepositAccountUtils.GENERATE_MINIMUM_NUMBER_OF_FUTURE_INSTALMENTS) {
-                count++;
-                installmentNumber++;
-                lastDepositDate = DepositAccountUtils.calculateNextDepositDate(lastDepositDate, recurrence);
-
-                if (sb.length() > 0) {
-                    sb.append(", ");
-                }
-                sb.append("(");
-                sb.append(savingsId);
-                sb.append(",'");
-                sb.append(lastDepositDate.format(DateUtils.DEFAULT_DATE_FORMATER));
-                sb.append("',");
-                sb.append(installmentNumber);
-                sb.append(",");
-                sb.append(amount);
-                sb.append(", b'0','");
-                sb.append(currentDate);
-                sb.append("','");
-                sb.append(currentDate);
-                sb.append("')");
-                iterations++;
-                if (iterations > 200) {
-                    jdbcTemplate.update(insertSql + sb); // NOSONAR
-                    sb = new StringBuilder();
-                }
-
-            }
+    public void generateRDSchedule() throws JobExecutionException {
+        final RunSummary summary = this.recurringDepositScheduleGenerator.generate();
+        LOG.info("{}: RD schedule generation finished: {}", ThreadLocalContextUtil.getTenant().getName(), summary);
+        if (!summary.getErrors().isEmpty()) {
+            throw new JobExecutionException(summary.getErrors());
         }
-
-        if (sb.length() > 0) {
-            jdbcTemplate.update(insertSql + sb); // NOSONAR
-        }
-
     }
 
     @Override
     @CronTarget(jobName = JobName.POST_DIVIDENTS_FOR_SHARES)
     public void postDividends() throws JobExecutionException {
-        List<Throwable> exceptions = new ArrayList<>();
-        List<Map<String, Object>> dividendDetails = this.shareAccountDividendReadPlatformService.retriveDividendDetailsForPostDividents();
-        for (Map<String, Object> dividendMap : dividendDetails) {
-            Long id = null;
-            Long savingsId = null;
-            if (dividendMap.get("id") instanceof BigInteger) {
-                // Drizzle is returningBigInteger
-                id = ((BigInteger) dividendMap.get("id")).longValue();
-                savingsId = ((BigInteger) dividendMap.get("savingsAccountId")).longValue();
-            } else { // MySQL connector is returning Long
-                id = (Long) dividendMap.get("id");
-                savingsId = (Long) dividendMap.get("savingsAccountId");
-            }
-            try {
-                this.shareAccountSchedularService.postDividend(id, savingsId);
-            } catch (final PlatformApiDataValidationException e) {
-                exceptions.add(e);
-                final List<ApiParameterError> errors = e.getErrors();
-                for (final ApiParameterError error : errors) {
-                    LOG.error(
-                            "Post Dividends to savings failed due to ApiParameterError for Divident detail Id: {} and savings Id: {} with message: {}",
-                            id, savingsId, error.getDeveloperMessage(), e);
-                }
-            } catch (final Exception e) {
-                LOG.error("Post Dividends to savings failed for Divident detail Id: {} and savings Id: {}", id, savingsId, e);
-                exceptions.add(e);
-            }
-        }
-
+        final List<Throwable> exceptions = this.shareDividendPostingProcessor.postDividends();
         if (!exceptions.isEmpty()) {
             throw new JobExecutionException(exceptions);
         }
@@ -338,61 +269,7 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
     @Override
     @CronTarget(jobName = JobName.UPDATE_TRIAL_BALANCE_DETAILS)
     public void updateTrialBalanceDetails() throws JobExecutionException {
-        final JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSourceServiceFactory.determineDataSourceService().retrieveDataSource());
-        final StringBuilder tbGapSqlBuilder = new StringBuilder(500);
-        tbGapSqlBuilder.append("select distinct(je.transaction_date) ").append("from acc_gl_journal_entry je ")
-                .append("where je.transaction_date > (select coalesce(MAX(created_date),'2010-01-01') from m_trial_balance)");
-
-        final List<LocalDate> tbGaps = jdbcTemplate.queryForList(tbGapSqlBuilder.toString(), LocalDate.class);
-
-        for (LocalDate tbGap : tbGaps) {
-            int days = Math.toIntExact(ChronoUnit.DAYS.between(tbGap, DateUtils.getBusinessLocalDate()));
-            if (days < 1) {
-                continue;
-            }
-            final StringBuilder sqlBuilder = new StringBuilder(600);
-            sqlBuilder.append("Insert Into m_trial_balance(office_id, account_id, Amount, entry_date, created_date,closing_balance) ")
-                    .append("Select je.office_id, je.account_id, SUM(CASE WHEN je.type_enum=1 THEN (-1) * je.amount ELSE je.amount END) ")
-                    .append("as Amount, Date(je.entry_date) as Entry_Date, je.transaction_date as Created_Date,sum(je.amount) as closing_balance ")
-                    .append("from acc_gl_journal_entry je WHERE je.transaction_date = ? ")
-                    .append("group by je.account_id, je.office_id, je.transaction_date, Date(je.entry_date)");
-
-            final int result = jdbcTemplate.update(sqlBuilder.toString(), tbGap);
-            LOG.info("{}: Records affected by updateTrialBalanceDetails: {}", ThreadLocalContextUtil.getTenant().getName(), result);
-        }
-
-        // Updating closing balance
-        String distinctOfficeQuery = "select distinct(office_id) from m_trial_balance where closing_balance is null group by office_id";
-        final List<Long> officeIds = jdbcTemplate.queryForList(distinctOfficeQuery, Long.class);
-
-        for (Long officeId : officeIds) {
-            String distinctAccountQuery = "select distinct(account_id) from m_trial_balance where office_id=? and closing_balance is null group by account_id";
-            final List<Long> accountIds = jdbcTemplate.queryForList(distinctAccountQuery, Long.class, officeId);
-            for (Long accountId : accountIds) {
-                final String closingBalanceQuery = "select closing_balance from m_trial_balance where office_id=? and account_id=? and closing_balance "
-                        + "is not null order by created_date desc, entry_date desc limit 1";
-                List<BigDecimal> closingBalanceData = jdbcTemplate.queryForList(closingBalanceQuery, BigDecimal.class, officeId, accountId);
-                List<TrialBalance> tbRows = this.trialBalanceRepositoryWrapper.findNewByOfficeAndAccount(officeId, accountId);
-                BigDecimal closingBalance = null;
-                if (!CollectionUtils.isEmpty(closingBalanceData)) {
-                    closingBalance = closingBalanceData.get(0);
-                }
-                if (CollectionUtils.isEmpty(closingBalanceData)) {
-                    closingBalance = BigDecimal.ZERO;
-                    for (TrialBalance row : tbRows) {
-                        closingBalance = closingBalance.add(row.getAmount());
-                        row.setClosingBalance(closingBalance);
-                    }
-                } else {
-                    for (TrialBalance tbRow : tbRows) {
-                        closingBalance = closingBalance.add(tbRow.getAmount());
-                        tbRow.setClosingBalance(closingBalance);
-                    }
-                }
-                this.trialBalanceRepositoryWrapper.save(tbRows);
-            }
-        }
-
+        this.trialBalanceWritePlatformService.updateTrialBalanceDetails();
     }
 
     @Override
@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.template.service;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+import com.github.mustachejava.Mustache;
+import com.github.mustachejava.MustacheFactory;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractTemplateProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared cache of compiled Mustache templates.
+ *
+ * Templates are keyed by the name the caller gives them (a template id, campaign name, ...) together with a hash of
+ * their text, so an edited template is recompiled while the old entry simply ages out. At most
+ * <code>fineract.template.cache-size</code> compiled templates are kept. All templates are compiled by one
+ * {@link DefaultMustacheFactory}, whose reflection caches are then shared by every render as well.
+ *
+ * {@link #renderAll(String, String, List)} renders one template against many scopes, as campaigns do once per
+ * recipient, in chunks on <code>fineract.template.render-threads</code> workers.
+ */
+@Component
+public class CompiledTemplateCache implements DisposableBean {
+
+    static final int RENDER_CHUNK_SIZE = 1000;
+
+    private final MustacheFactory mustacheFactory = new DefaultMustacheFactory();
+    private final Cache<String, Mustache> templates;
+    private final int renderThreads;
+    private final ExecutorService renderExecutor;
+
+    public CompiledTemplateCache(final FineractProperties fineractProperties) {
+        final FineractTemplateProperties properties = fineractProperties.getTemplate() == null ? new FineractTemplateProperties()
+                : fineractProperties.getTemplate();
+        this.templates = CacheBuilder.newBuilder().maximumSize(Math.max(1, properties.getCacheSize())).build();
+        this.renderThreads = Math.max(1, properties.getRenderThreads());
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.renderExecutor = Executors.newFixedThreadPool(this.renderThreads, runnable -> {
+            final Thread thread = new Thread(runnable, "template-render-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Mustache compile(final String name, final String text) {
+        final String key = name + ":" + Hashing.sha256().hashString(text, StandardCharsets.UTF_8);
+        Mustache mustache = this.templates.getIfPresent(key);
+        if (mustache == null) {
+            // two threads may compile the same template concurrently, the result is identical either way
+            mustache = this.mustacheFactory.compile(new StringReader(text), name);
+            this.templates.put(key, mustache);
+        }
+        return mustache;
+    }
+
+    public String render(final String name, final String text, final Object scope) {
+        return render(compile(name, text), scope);
+    }
+
+    public List<String> renderAll(final String name, final String text, final List<?> scopes) {
+        final Mustache mustache = compile(name, text);
+        final List<String> results = new ArrayList<>(scopes.size());
+        if (this.renderThreads == 1 || scopes.size() <= RENDER_CHUNK_SIZE) {
+            for (final Object scope : scopes) {
+                results.add(render(mustache, scope));
+            }
+            return results;
+        }
+
+        final List<Future<List<String>>> chunks = new ArrayList<>();
+        for (int from = 0; from < scopes.size(); from += RENDER_CHUNK_SIZE) {
+            final List<?> chunk = scopes.subList(from, Math.min(from + RENDER_CHUNK_SIZE, scopes.size()));
+            chunks.add(this.renderExecutor.submit(() -> {
+                final List<String> rendered = new ArrayList<>(chunk.size());
+                for (final Object scope : chunk) {
+                    rendered.add(render(mustache, scope));
+                }
+                return rendered;
+            }));
+        }
+        try {
+            for (final Future<List<String>> chunk : chunks) {
+                results.addAll(chunk.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new IllegalStateException("Interrupted while rendering template " + name, e);
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new IllegalStateException("Rendering template " + name + " failed", e.getCause());
+        }
+        return results;
+    }
+
+    private static String render(final Mustache mustache, final Object scope) {
+        final StringWriter stringWriter = new StringWriter();
+        mustache.execute(stringWriter, scope);
+        return stringWriter.toString();
+    }
+
+    @Override
+    public void destroy() {
+        this.renderExecutor.shutdownNow();
+    }
+}
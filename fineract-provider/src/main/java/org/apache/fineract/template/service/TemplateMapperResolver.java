@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.template.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.UriInfo;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.portfolio.client.api.ClientsApiResource;
+import org.apache.fineract.portfolio.group.api.GroupsApiResource;
+import org.apache.fineract.portfolio.loanaccount.api.LoansApiResource;
+import org.apache.fineract.portfolio.savings.api.SavingsAccountsApiResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves template mapper paths such as {@code loans/1?associations=all} by calling the matching API resource
+ * in-process instead of issuing an HTTP request back to this server. Paths that are not recognised (or that point to
+ * another host) are left to the caller, see {@link #resolve(String, Object)}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TemplateMapperResolver {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final LoansApiResource loansApiResource;
+    private final ClientsApiResource clientsApiResource;
+    private final SavingsAccountsApiResource savingsAccountsApiResource;
+    private final GroupsApiResource groupsApiResource;
+
+    /**
+     * Resolves the given mapper url in-process.
+     *
+     * @param url
+     *            the rendered mapper url, absolute or relative to the base URI
+     * @param baseUri
+     *            the {@code BASE_URI} scope value, may be null
+     * @return the resource as a map, or null when the url has to be fetched over HTTP
+     */
+    public Map<String, Object> resolve(final String url, final Object baseUri) throws JsonProcessingException {
+        final String relativeUrl = toRelativeUrl(url, baseUri);
+        if (relativeUrl == null) {
+            return null;
+        }
+        final String path = StringUtils.substringBefore(relativeUrl, "?");
+        final String[] segments = StringUtils.split(path, '/');
+        if (segments.length != 2 || !StringUtils.isNumeric(segments[1])) {
+            return null;
+        }
+        final Long id = Long.valueOf(segments[1]);
+        final MultivaluedMap<String, String> queryParameters = parseQueryParameters(StringUtils.substringAfter(relativeUrl, "?"));
+        final UriInfo uriInfo = new TemplateMapperUriInfo(path, baseUri == null ? null : URI.create(baseUri.toString()),
+                queryParameters);
+        final boolean staffInSelectedOfficeOnly = Boolean.parseBoolean(queryParameters.getFirst("staffInSelectedOfficeOnly"));
+
+        final String json;
+        switch (segments[0]) {
+            case "loans":
+                json = this.loansApiResource.retrieveLoan(id, staffInSelectedOfficeOnly,
+                        StringUtils.defaultIfEmpty(queryParameters.getFirst("associations"), "all"), queryParameters.getFirst("exclude"),
+                        queryParameters.getFirst("fields"), uriInfo);
+            break;
+            case "clients":
+                json = this.clientsApiResource.retrieveOne(id, uriInfo, staffInSelectedOfficeOnly);
+            break;
+            case "savingsaccounts":
+                json = this.savingsAccountsApiResource.retrieveOne(id, staffInSelectedOfficeOnly,
+                        StringUtils.defaultIfEmpty(queryParameters.getFirst("chargeStatus"), "all"), uriInfo,
+                        toInteger(queryParameters.getFirst("offset")), toInteger(queryParameters.getFirst("limit")));
+            break;
+            case "groups":
+                json = this.groupsApiResource.retrieveOne(uriInfo, id, staffInSelectedOfficeOnly,
+                        toLong(queryParameters.getFirst("roleId")));
+            break;
+            default:
+                return null;
+        }
+        return toMap(json);
+    }
+
+    static String toRelativeUrl(final String url, final Object baseUri) {
+        String relativeUrl = url;
+        if (baseUri != null && StringUtils.startsWith(relativeUrl, baseUri.toString())) {
+            relativeUrl = relativeUrl.substring(baseUri.toString().length());
+        } else if (StringUtils.startsWith(relativeUrl, "http")) {
+            return null;
+        }
+        return StringUtils.removeStart(relativeUrl, "/");
+    }
+
+    static MultivaluedMap<String, String> parseQueryParameters(final String query) {
+        final MultivaluedMap<String, String> parameters = new MultivaluedHashMap<>();
+        for (final String parameter : StringUtils.split(query, '&')) {
+            final String key = URLDecoder.decode(StringUtils.substringBefore(parameter, "="), StandardCharsets.UTF_8);
+            final String value = URLDecoder.decode(StringUtils.substringAfter(parameter, "="), StandardCharsets.UTF_8);
+            parameters.add(key, value);
+        }
+        return parameters;
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> toMap(final String json) throws JsonProcessingException {
+        return OBJECT_MAPPER.readValue(json, HashMap.class);
+    }
+
+    private static Integer toInteger(final String value) {
+        return StringUtils.isNumeric(value) ? Integer.valueOf(value) : null;
+    }
+
+    private static Long toLong(final String value) {
+        return StringUtils.isNumeric(value) ? Long.valueOf(value) : null;
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.template.service;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.PathSegment;
+import javax.ws.rs.core.UriBuilder;
+import javax.ws.rs.core.UriInfo;
+
+/**
+ * Minimal {@link UriInfo} handed to API resources when a template mapper path is resolved in-process. Only the query
+ * parameters of the mapper path and the base URI are meaningful.
+ */
+final class TemplateMapperUriInfo implements UriInfo {
+
+    private final String path;
+    private final URI baseUri;
+    private final MultivaluedMap<String, String> queryParameters;
+
+    TemplateMapperUriInfo(final String path, final URI baseUri, final MultivaluedMap<String, String> queryParameters) {
+        this.path = path;
+        this.baseUri = baseUri;
+        this.queryParameters = queryParameters;
+    }
+
+    @Override
+    public String getPath() {
+        return this.path;
+    }
+
+    @Override
+    public String getPath(boolean decode) {
+        return this.path;
+    }
+
+    @Override
+    public List<PathSegment> getPathSegments() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<PathSegment> getPathSegments(boolean decode) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public URI getRequestUri() {
+        return getAbsolutePath();
+    }
+
+    @Override
+    public UriBuilder getRequestUriBuilder() {
+        return UriBuilder.fromUri(getRequestUri());
+    }
+
+    @Override
+    public URI getAbsolutePath() {
+        return this.baseUri == null ? URI.create(this.path) : this.baseUri.resolve(this.path);
+    }
+
+    @Override
+    public UriBuilder getAbsolutePathBuilder() {
+        return UriBuilder.fromUri(getAbsolutePath());
+    }
+
+    @Override
+    public URI getBaseUri() {
+        return this.baseUri;
+    }
+
+    @Override
+    public UriBuilder getBaseUriBuilder() {
+        return UriBuilder.fromUri(this.baseUri);
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getPathParameters() {
+        return new MultivaluedHashMap<>();
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getPathParameters(boolean decode) {
+        return new MultivaluedHashMap<>();
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getQueryParameters() {
+        return new MultivaluedHashMap<>(this.queryParameters);
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getQueryParameters(boolean decode) {
+        return new MultivaluedHashMap<>(this.queryParameters);
+    }
+
+    @Override
+    public List<String> getMatchedURIs() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<String> getMatchedURIs(boolean decode) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<Object> getMatchedResources() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public URI resolve(URI uri) {
+        return this.baseUri == null ? uri : this.baseUri.resolve(uri);
+    }
+
+    @Override
+    public URI relativize(URI uri) {
+        return this.baseUri == null ? uri : this.baseUri.relativize(uri);
+    }
+}
@@ -18,15 +18,11 @@
  */
 package org.apache.fineract.template.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.StringReader;
 import java.io.StringWriter;
 import java.net.Authenticator;
 import java.net.HttpURLConnection;
@@ -51,64 +47,74 @@ public class TemplateMergeService {
     private static final Logger LOG = LoggerFactory.getLogger(TemplateMergeService.class);
 
     // private final FromJsonHelper fromApiJsonHelper;
-    private Map<String, Object> scopes;
+    private final CompiledTemplateCache compiledTemplateCache;
+    private final TemplateMapperResolver templateMapperResolver;
     private String authToken;
 
+    public TemplateMergeService(final CompiledTemplateCache compiledTemplateCache, final TemplateMapperResolver templateMapperResolver) {
+        this.compiledTemplateCache = compiledTemplateCache;
+        this.templateMapperResolver = templateMapperResolver;
+    }
+
     public void setAuthToken(final String authToken) {
         this.authToken = authToken;
     }
 
     public String compile(final Template template, final Map<String, Object> scopes) throws IOException {
-        this.scopes = scopes;
-        this.scopes.put("static", new TemplateFunctions());
-
-        final MustacheFactory mf = new DefaultMustacheFactory();
-        final Mustache mustache = mf.compile(new StringReader(template.getText()), template.getName());
-
-        final Map<String, Object> mappers = getCompiledMapFromMappers(template.getMappersAsMap());
-        this.scopes.putAll(mappers);
+        final Mustache mustache = this.compiledTemplateCache.compile(template.getName(), template.getText());
+        scopes.put("static", new TemplateFunctions());
+
+        final Map<String, String> mappers = template.getMappersAsMap();
+        if (mappers != null) {
+            // mappers are applied in order, a mapper may refer to the data fetched by the previous ones
+            for (final Map.Entry<String, String> entry : mappers.entrySet()) {
+                final Map<String, Object> data = resolveMapper(getMapperUrl(entry.getKey(), entry.getValue(), scopes),
+                        scopes.get("BASE_URI"));
+                if (data != null) {
+                    scopes.put(entry.getKey(), data);
+                }
+            }
+        }
 
         expandMapArrays(scopes);
-
         final StringWriter stringWriter = new StringWriter();
-        mustache.execute(stringWriter, this.scopes);
-
+        mustache.execute(stringWriter, scopes);
         return stringWriter.toString();
     }
 
-    private Map<String, Object> getCompiledMapFromMappers(final Map<String, String> data) {
-        final MustacheFactory mf = new DefaultMustacheFactory();
-
-        if (data != null) {
-            for (final Map.Entry<String, String> entry : data.entrySet()) {
-                final Mustache mappersMustache = mf.compile(new StringReader(entry.getValue()), "");
-                final StringWriter stringWriter = new StringWriter();
+    private String getMapperUrl(final String key, final String value, final Map<String, Object> scopes) {
+        String url = this.compiledTemplateCache.render("mapper:" + key, value, scopes);
+        if (!url.startsWith("http")) {
+            url = scopes.get("BASE_URI") + url;
+        }
+        return url;
+    }
 
-                mappersMustache.execute(stringWriter, this.scopes);
-                String url = stringWriter.toString();
-                if (!url.startsWith("http")) {
-                    url = this.scopes.get("BASE_URI") + url;
-                }
-                try {
-                    this.scopes.put(entry.getKey(), getMapFromUrl(url));
-                } catch (final IOException e) {
-                    LOG.error("getCompiledMapFromMappers() failed", e);
+    private Map<String, Object> resolveMapper(final String url, final Object baseUri) {
+        try {
+            // hooks authenticate the loopback call with their own token, keep going over HTTP for them
+            if (this.authToken == null && SecurityContextHolder.getContext().getAuthentication() != null) {
+                final Map<String, Object> data = this.templateMapperResolver.resolve(url, baseUri);
+                if (data != null) {
+                    return data;
                 }
             }
+            return getMapFromUrl(url);
+        } catch (final IOException | RuntimeException e) {
+            LOG.error("resolveMapper() failed for {}", url, e);
+            return null;
         }
-        return this.scopes;
     }
 
-    @SuppressWarnings("unchecked")
     private Map<String, Object> getMapFromUrl(final String url) throws IOException {
         final HttpURLConnection connection = getConnection(url);
 
         final String response = getStringFromInputStream(connection.getInputStream());
-        HashMap<String, Object> result = new HashMap<>();
+        Map<String, Object> result = new HashMap<>();
         if (connection.getContentType().equals("text/plain")) {
             result.put("src", response);
         } else {
-            result = new ObjectMapper().readValue(response, HashMap.class);
+            result = TemplateMapperResolver.toMap(response);
         }
         return result;
     }
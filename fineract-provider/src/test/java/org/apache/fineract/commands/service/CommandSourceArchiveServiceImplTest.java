@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class CommandSourceArchiveServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private CommandSourceArchiveServiceImpl archiveService;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        final FineractProperties fineractProperties = new FineractProperties();
+        final FineractProperties.FineractAuditProperties audit = new FineractProperties.FineractAuditProperties();
+        audit.setArchiveAfterDays(30);
+        audit.setArchiveBatchSize(3);
+        fineractProperties.setAudit(audit);
+        given(transactionTemplate.execute(any())).willAnswer(invocation -> {
+            final TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        archiveService = new CommandSourceArchiveServiceImpl(jdbcTemplate, transactionTemplate, fineractProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void movesEveryBatchInItsOwnTransaction() {
+        given(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(), any(), any())).willReturn(List.of(4L, 7L, 9L),
+                List.of(12L), Collections.emptyList());
+
+        archiveService.archiveCommandSourceEntries();
+
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(jdbcTemplate).update(anyString(), eq(4L), eq(9L), any(LocalDateTime.class), eq(2));
+        verify(jdbcTemplate).update(anyString(), eq(4L), eq(9L), eq(4L), eq(9L));
+        verify(jdbcTemplate).update(anyString(), eq(12L), eq(12L), eq(12L), eq(12L));
+
+        // the cursor continues after the last id of the previous batch
+        final ArgumentCaptor<Object> lastIds = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate, times(3)).queryForList(anyString(), eq(Long.class), lastIds.capture(), any(), any());
+        assertTrue(lastIds.getAllValues().containsAll(List.of(0L, 9L, 12L)));
+    }
+}
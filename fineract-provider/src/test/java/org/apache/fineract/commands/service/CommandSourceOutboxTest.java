@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class CommandSourceOutboxTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TenantDetailsService tenantDetailsService;
+
+    private CommandSourceOutbox outbox;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        final FineractProperties fineractProperties = new FineractProperties();
+        final FineractProperties.FineractAuditProperties audit = new FineractProperties.FineractAuditProperties();
+        audit.setWriteBehindBatchSize(2);
+        fineractProperties.setAudit(audit);
+        given(transactionTemplate.execute(any())).willAnswer(invocation -> {
+            final TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        outbox = new CommandSourceOutbox(fineractProperties, jdbcTemplate, transactionTemplate, tenantDetailsService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+        outbox.destroy();
+    }
+
+    @Test
+    public void isDisabledByDefault() {
+        assertFalse(outbox.isEnabled());
+    }
+
+    @Test
+    public void writerDoesNotSweepBeforeTheApplicationIsReady() throws InterruptedException {
+        final FineractProperties fineractProperties = new FineractProperties();
+        final FineractProperties.FineractAuditProperties audit = new FineractProperties.FineractAuditProperties();
+        audit.setWriteBehindEnabled(true);
+        audit.setWriteBehindIntervalMillis(10);
+        fineractProperties.setAudit(audit);
+        final CommandSourceOutbox enabledOutbox = new CommandSourceOutbox(fineractProperties, jdbcTemplate, transactionTemplate,
+                tenantDetailsService);
+        try {
+            Thread.sleep(100);
+            verifyNoInteractions(tenantDetailsService);
+
+            enabledOutbox.onApplicationEvent(null);
+            verify(tenantDetailsService, timeout(1000).atLeastOnce()).findAllTenants();
+        } finally {
+            enabledOutbox.destroy();
+        }
+    }
+
+    @Test
+    public void applicationReadyDoesNotStartTheWriterWhenDisabled() {
+        outbox.onApplicationEvent(null);
+
+        verifyNoInteractions(tenantDetailsService, jdbcTemplate);
+    }
+
+    @Test
+    public void drainsTheOutboxInBatches() {
+        given(jdbcTemplate.queryForList(anyString(), eq(Long.class))).willReturn(List.of(1L, 2L), List.of(5L));
+
+        assertEquals(3, outbox.drain());
+
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(jdbcTemplate).update("insert into m_portfolio_command_source (" + CommandSourceOutbox.COLUMNS + ") select "
+                + CommandSourceOutbox.COLUMNS + " from m_portfolio_command_source_outbox where id in (1,2) order by id");
+        verify(jdbcTemplate).update("delete from m_portfolio_command_source_outbox where id in (1,2)");
+        verify(jdbcTemplate).update("delete from m_portfolio_command_source_outbox where id in (5)");
+    }
+}
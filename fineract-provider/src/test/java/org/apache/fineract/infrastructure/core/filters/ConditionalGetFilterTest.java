@@ -0,0 +1,156 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.filters;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ConditionalGetFilterTest {
+
+    private static final String BODY = "{\"id\":1,\"status\":\"active\"}";
+
+    @Mock
+    private ContainerRequestContext request;
+
+    @Mock
+    private ContainerResponseContext response;
+
+    private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+
+    private final ConditionalGetFilter underTest = new ConditionalGetFilter();
+
+    @BeforeEach
+    void setUp() {
+        given(request.getMethod()).willReturn(HttpMethod.GET);
+        given(response.getStatus()).willReturn(Status.OK.getStatusCode());
+        given(response.getEntity()).willReturn(BODY);
+        given(response.getHeaders()).willReturn(headers);
+    }
+
+    @Test
+    public void testMatchingIfNoneMatchAnswersNotModifiedWithoutBody() {
+        // given
+        final String etag = currentTag().getValue();
+        headers.clear();
+        given(request.getHeaderString(HttpHeaders.IF_NONE_MATCH)).willReturn("\"" + etag + "\"");
+
+        // when
+        underTest.filter(request, response);
+
+        // then
+        assertTrue(headers.containsKey(HttpHeaders.ETAG));
+        verify(response).setStatus(Status.NOT_MODIFIED.getStatusCode());
+        verify(response).setEntity(null);
+    }
+
+    @Test
+    public void testWeakAndListedIfNoneMatchValuesAreMatched() {
+        // given
+        final String etag = currentTag().getValue();
+        headers.clear();
+        given(request.getHeaderString(HttpHeaders.IF_NONE_MATCH)).willReturn("\"other\", W/\"" + etag + "\"");
+
+        // when
+        underTest.filter(request, response);
+
+        // then
+        verify(response).setStatus(Status.NOT_MODIFIED.getStatusCode());
+    }
+
+    @Test
+    public void testMismatchingIfNoneMatchReturnsTheBodyWithETag() {
+        // given
+        given(request.getHeaderString(HttpHeaders.IF_NONE_MATCH)).willReturn("\"stale\"");
+
+        // when
+        underTest.filter(request, response);
+
+        // then
+        assertTrue(headers.containsKey(HttpHeaders.ETAG));
+        verify(response, never()).setStatus(anyInt());
+        verify(response, never()).setEntity(null);
+    }
+
+    @Test
+    public void testETagChangesWithTheBody() {
+        // given
+        final EntityTag before = currentTag();
+        given(response.getEntity()).willReturn(BODY.replace("active", "closed"));
+
+        // then
+        assertNotEquals(before, currentTag());
+    }
+
+    @Test
+    public void testNonGetRequestsGetNoETag() {
+        // given
+        given(request.getMethod()).willReturn(HttpMethod.PUT);
+        given(request.getHeaderString(HttpHeaders.IF_NONE_MATCH)).willReturn("*");
+
+        // when
+        underTest.filter(request, response);
+
+        // then
+        assertFalse(headers.containsKey(HttpHeaders.ETAG));
+        verify(response, never()).setStatus(anyInt());
+    }
+
+    @Test
+    public void testErrorResponsesGetNoETag() {
+        // given
+        given(response.getStatus()).willReturn(Status.NOT_FOUND.getStatusCode());
+        given(request.getHeaderString(HttpHeaders.IF_NONE_MATCH)).willReturn("*");
+
+        // when
+        underTest.filter(request, response);
+
+        // then
+        assertFalse(headers.containsKey(HttpHeaders.ETAG));
+        verify(response, never()).setStatus(anyInt());
+    }
+
+    private EntityTag currentTag() {
+        headers.clear();
+        underTest.filter(request, response);
+        return (EntityTag) headers.getFirst(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.gson.Gson;
+import java.util.Set;
+import org.apache.fineract.infrastructure.core.exception.UnsupportedParameterException;
+import org.junit.jupiter.api.Test;
+
+public class GoogleGsonSerializerHelperTest {
+
+    private final GoogleGsonSerializerHelper helper = new GoogleGsonSerializerHelper();
+
+    @Test
+    public void partialResponseSerializerIsReusedForSameFields() {
+        final Gson first = helper.createGsonBuilderForPartialResponseFiltering(false, Set.of("id", "accountNo"));
+
+        assertSame(first, helper.createGsonBuilderForPartialResponseFiltering(false, Set.of("accountNo", "id")));
+        assertNotSame(first, helper.createGsonBuilderForPartialResponseFiltering(true, Set.of("accountNo", "id")));
+        assertNotSame(first, helper.createGsonBuilderForPartialResponseFiltering(false, Set.of("id")));
+    }
+
+    @Test
+    public void cachedExclusionSerializerFiltersFields() {
+        final Set<String> supported = Set.of("id", "accountNo", "status");
+
+        helper.createGsonBuilderWithParameterExclusionSerializationStrategy(supported, false, Set.of("id"));
+        final Gson gson = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(supported, false, Set.of("id"));
+
+        assertEquals("{\"id\":1}", gson.toJson(new Sample(1L, "000001", "active")));
+        assertThrows(UnsupportedParameterException.class,
+                () -> helper.createGsonBuilderWithParameterExclusionSerializationStrategy(supported, false, Set.of("unknown")));
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Sample {
+
+        private final Long id;
+        private final String accountNo;
+        private final String status;
+
+        private Sample(final Long id, final String accountNo, final String status) {
+            this.id = id;
+            this.accountNo = accountNo;
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class DatatableWriteStatementCacheTest {
+
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+
+    private DatatableWriteStatementCache underTest;
+
+    @BeforeEach
+    public void init() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        underTest = new DatatableWriteStatementCache(new DatabaseSpecificSQLGenerator(databaseTypeResolver), databaseTypeResolver);
+    }
+
+    @Test
+    public void insertStatementIsParameterisedAndReused() {
+        when(databaseTypeResolver.isMySQL()).thenReturn(true);
+        final List<ResultsetColumnHeaderData> columns = List.of(ResultsetColumnHeaderData.basic("Comment", "varchar"),
+                ResultsetColumnHeaderData.basic("Visits", "int"));
+
+        final DatatableWriteStatement statement = underTest.insertStatement("extra_client", "client_id", columns);
+
+        assertEquals("insert into `extra_client` (`Comment`, `Visits`, `client_id`) values (?, ?, ?)", statement.getSql());
+        assertSame(statement, underTest.insertStatement("extra_client", "client_id",
+                List.of(ResultsetColumnHeaderData.basic("Comment", "varchar"), ResultsetColumnHeaderData.basic("Visits", "int"))));
+        assertNotSame(statement, underTest.insertStatement("extra_client", "client_id",
+                List.of(ResultsetColumnHeaderData.basic("Comment", "varchar"), ResultsetColumnHeaderData.basic("Visits", "bigint"))));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedStatement() {
+        when(databaseTypeResolver.isMySQL()).thenReturn(true);
+        final List<ResultsetColumnHeaderData> columns = List.of(ResultsetColumnHeaderData.basic("Comment", "varchar"));
+        final DatatableWriteStatement used = underTest.insertStatement("extra_0", "client_id", columns);
+        final DatatableWriteStatement unused = underTest.insertStatement("extra_1", "client_id", columns);
+        for (int i = 2; i <= DatatableWriteStatementCache.MAX_STATEMENTS; i++) {
+            underTest.insertStatement("extra_" + i, "client_id", columns);
+            assertSame(used, underTest.insertStatement("extra_0", "client_id", columns));
+        }
+
+        assertSame(used, underTest.insertStatement("extra_0", "client_id", columns));
+        assertNotSame(unused, underTest.insertStatement("extra_1", "client_id", columns));
+    }
+
+    @Test
+    public void updateStatementCastsBitColumnsOnPostgres() {
+        when(databaseTypeResolver.isPostgreSQL()).thenReturn(true);
+        final List<ResultsetColumnHeaderData> columns = List.of(ResultsetColumnHeaderData.basic("Active", "bit"),
+                ResultsetColumnHeaderData.basic("updated_at", "timestamp without time zone"));
+
+        final DatatableWriteStatement statement = underTest.updateStatement("extra_client", "id", columns);
+
+        assertEquals("update \"extra_client\" set \"Active\" = cast(? as bit), \"updated_at\" = ? where \"id\" = ?", statement.getSql());
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.campaigns.helper.CampaignReportRows;
+import org.junit.jupiter.api.Test;
+
+public class TypedReportRowCallbackHandlerTest {
+
+    @Test
+    public void handsTypedRowsToConsumer() throws SQLException {
+        final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(4);
+        when(metaData.getColumnLabel(1)).thenReturn("id");
+        when(metaData.getColumnTypeName(1)).thenReturn("BIGINT");
+        when(metaData.getColumnLabel(2)).thenReturn("loanOutstanding");
+        when(metaData.getColumnTypeName(2)).thenReturn("DECIMAL");
+        when(metaData.getColumnLabel(3)).thenReturn("dueDate");
+        when(metaData.getColumnTypeName(3)).thenReturn("DATE");
+        when(metaData.getColumnLabel(4)).thenReturn("mobileNo");
+        when(metaData.getColumnTypeName(4)).thenReturn("VARCHAR");
+
+        final ResultSet rs = mock(ResultSet.class);
+        when(rs.getMetaData()).thenReturn(metaData);
+        when(rs.getLong(1)).thenReturn(42L);
+        when(rs.getBigDecimal(2)).thenReturn(new BigDecimal("1500.500000"));
+        when(rs.getDate(3)).thenReturn(Date.valueOf(LocalDate.of(2022, 3, 7)));
+        when(rs.getString(4)).thenReturn(null);
+
+        final List<Map<String, Object>> rows = new ArrayList<>();
+        new TypedReportRowCallbackHandler(rows::add).processRow(rs);
+
+        final Map<String, Object> row = rows.get(0);
+        assertEquals(42L, row.get("id"));
+        assertEquals(new BigDecimal("1500.500000"), row.get("loanOutstanding"));
+        assertEquals(LocalDate.of(2022, 3, 7), row.get("dueDate"));
+        assertNull(row.get("mobileNo"));
+
+        CampaignReportRows.toCampaignParams(row);
+        assertEquals(42, row.get("id"));
+        assertEquals(1500.5, row.get("loanOutstanding"));
+        assertEquals("7-3-2022", row.get("dueDate"));
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import org.apache.fineract.infrastructure.documentmanagement.api.ContentResources.ByteRange;
+import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ContentResourcesTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void parsesSingleByteRanges() {
+        assertEquals(new ByteRange(0, 99), ByteRange.parse("bytes=0-99", 1000));
+        assertEquals(new ByteRange(500, 999), ByteRange.parse("bytes=500-", 1000));
+        assertEquals(new ByteRange(900, 999), ByteRange.parse("bytes=-100", 1000));
+        assertEquals(new ByteRange(0, 999), ByteRange.parse("bytes=-5000", 1000));
+        assertEquals(new ByteRange(990, 999), ByteRange.parse("bytes=990-5000", 1000));
+    }
+
+    @Test
+    public void ignoresMissingMultipleOrMalformedRanges() {
+        assertNull(ByteRange.parse(null, 1000));
+        assertNull(ByteRange.parse("bytes=0-1,5-9", 1000));
+        assertNull(ByteRange.parse("items=0-1", 1000));
+        assertNull(ByteRange.parse("bytes=9-1", 1000));
+        assertNull(ByteRange.parse("bytes=a-b", 1000));
+    }
+
+    @Test
+    public void rejectsRangesBeyondTheEnd() {
+        assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=1000-", 1000));
+        assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=-0", 1000));
+    }
+
+    @Test
+    public void servesPartialContentOfLocalFiles() throws IOException {
+        final File file = folder.resolve("agreement.pdf").toFile();
+        Files.writeString(file.toPath(), "0123456789", StandardCharsets.US_ASCII);
+        final FileData fileData = new FileData(file, "agreement.pdf", "application/pdf");
+
+        final Response response = ContentResources.fileDataToResponse(fileData, "agreement.pdf", "attachment", "bytes=2-5", null);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-5/10", response.getHeaderString("Content-Range"));
+        assertEquals("4", response.getHeaderString("Content-Length"));
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(body);
+        assertArrayEquals("2345".getBytes(StandardCharsets.US_ASCII), body.toByteArray());
+    }
+
+    @Test
+    public void staleIfRangeServesTheWholeFile() throws IOException {
+        final File file = folder.resolve("agreement.pdf").toFile();
+        Files.writeString(file.toPath(), "0123456789", StandardCharsets.US_ASCII);
+        final FileData fileData = new FileData(file, "agreement.pdf", "application/pdf");
+
+        final Response response = ContentResources.fileDataToResponse(fileData, "agreement.pdf", "attachment", "bytes=2-5",
+                "Thu, 01 Jan 1970 00:00:00 GMT");
+
+        assertEquals(200, response.getStatus());
+        assertEquals("10", response.getHeaderString("Content-Length"));
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepository;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryFactory;
+import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageResizer;
+import org.apache.fineract.infrastructure.documentmanagement.domain.StorageType;
+import org.apache.fineract.portfolio.client.domain.Client;
+import org.apache.fineract.portfolio.client.domain.ClientRepositoryWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ImageReadPlatformServiceImplTest {
+
+    private static final ImageData IMAGE = new ImageData("images/clients/1/photo.png", StorageType.FILE_SYSTEM, "Jane");
+
+    @InjectMocks
+    private ImageReadPlatformServiceImpl imageReadPlatformService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ContentRepositoryFactory contentRepositoryFactory;
+
+    @Mock
+    private ClientRepositoryWrapper clientRepositoryWrapper;
+
+    @Mock
+    private ImageResizer imageResizer;
+
+    @Mock
+    private ContentRepository contentRepository;
+
+    @Mock
+    private Client client;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        given(client.getDisplayName()).willReturn("Jane");
+        given(clientRepositoryWrapper.findOneWithNotFoundDetection(1L)).willReturn(client);
+        given(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), eq(1L))).willReturn(IMAGE);
+        given(contentRepositoryFactory.getRepository(StorageType.FILE_SYSTEM)).willReturn(contentRepository);
+    }
+
+    @Test
+    public void storedRenditionIsServedWithoutResizing() {
+        final FileData rendition = new FileData(ByteSource.wrap(new byte[] { 1 }), "Jane", "image/png");
+        given(contentRepository.fetchImageRendition(IMAGE, "w96h64")).willReturn(rendition);
+
+        assertSame(rendition, imageReadPlatformService.retrieveImage("clients", 1L, 120, 80));
+        verify(contentRepository, never()).fetchImage(any());
+        verify(imageResizer, never()).resize(any(), any(), any());
+    }
+
+    @Test
+    public void missingRenditionIsRenderedOnceAndStored() throws IOException {
+        final FileData original = new FileData(ByteSource.wrap(new byte[] { 1, 2, 3 }), "Jane", "image/png");
+        final FileData resized = new FileData(ByteSource.wrap(new byte[] { 4 }), "Jane", "image/png");
+        given(contentRepository.fetchImage(IMAGE)).willReturn(original);
+        given(imageResizer.resize(original, 96, null)).willReturn(resized);
+
+        final FileData result = imageReadPlatformService.retrieveImage("clients", 1L, 120, null);
+
+        assertArrayEquals(new byte[] { 4 }, result.getByteSource().read());
+        verify(contentRepository).saveImageRendition(IMAGE, "w96", new byte[] { 4 });
+    }
+
+    @Test
+    public void sizesBelowTheSmallestRenditionAreNotStored() {
+        final FileData original = new FileData(ByteSource.wrap(new byte[] { 1, 2, 3 }), "Jane", "image/png");
+        final FileData resized = new FileData(ByteSource.wrap(new byte[] { 4 }), "Jane", "image/png");
+        given(contentRepository.fetchImage(IMAGE)).willReturn(original);
+        given(imageResizer.resize(original, 200, 20)).willReturn(resized);
+
+        assertSame(resized, imageReadPlatformService.retrieveImage("clients", 1L, 200, 20));
+        verify(contentRepository, never()).fetchImageRendition(any(), anyString());
+        verify(contentRepository, never()).saveImageRendition(any(), anyString(), any());
+    }
+
+    @Test
+    public void requestedSizesSnapDownToRenditionSizes() {
+        assertNull(ImageReadPlatformServiceImpl.renditionSize(31));
+        assertEquals(32, ImageReadPlatformServiceImpl.renditionSize(32));
+        assertEquals(96, ImageReadPlatformServiceImpl.renditionSize(120));
+        assertEquals(128, ImageReadPlatformServiceImpl.renditionSize(191));
+        assertEquals(2048, ImageReadPlatformServiceImpl.renditionSize(100000));
+    }
+
+    @Test
+    public void withoutMaxWidthTheOriginalIsServed() {
+        final FileData original = new FileData(ByteSource.wrap(new byte[] { 1, 2, 3 }), "Jane", "image/png");
+        given(contentRepository.fetchImage(IMAGE)).willReturn(original);
+
+        assertSame(original, imageReadPlatformService.retrieveImage("clients", 1L, null, 80));
+        verify(contentRepository, never()).fetchImageRendition(any(), anyString());
+        verify(imageResizer, never()).resize(any(), any(), any());
+    }
+
+    @Test
+    public void renditionVariantNames() {
+        assertEquals("w120", ImageReadPlatformServiceImpl.renditionVariant(120, null));
+        assertEquals("w120h80", ImageReadPlatformServiceImpl.renditionVariant(120, 80));
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class JobExecuterTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2022, 4, 1);
+
+    private final JobExecuter jobExecuter = new JobExecuter();
+    private final Authentication authentication = new UsernamePasswordAuthenticationToken("mifos", null);
+    private final Map<String, Object> jobParams = Map.of("number-of-threads", "2");
+    private final List<String> seenContexts = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE)));
+        ThreadLocalContextUtil.setJobParams(jobParams);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+        ThreadLocalContextUtil.setJobParams(null);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void partitionedMapJobsRunWithTheCallersContext() {
+        final Thread caller = Thread.currentThread();
+        final Map<Long, String> entities = new TreeMap<>(Map.of(1L, "a", 2L, "b", 3L, "c", 4L, "d"));
+
+        jobExecuter.executeJob(entities, (partition, sb) -> recordContext(caller, partition.size()));
+
+        assertEquals(List.of("worker/default/2022-04-01/2/mifos:2", "worker/default/2022-04-01/2/mifos:2"), seenContexts);
+    }
+
+    @Test
+    public void partitionsRunWithTheCallersContext() {
+        final Thread caller = Thread.currentThread();
+
+        final String errors = jobExecuter.executePartitions(List.of(List.of(1L), List.of(2L, 3L), List.of(4L)),
+                (final List<Long> partition, final StringBuilder sb) -> recordContext(caller, partition.size()));
+
+        assertEquals("", errors);
+        assertEquals(3, seenContexts.size());
+        assertEquals(4, seenContexts.stream().mapToInt(context -> Integer.parseInt(context.substring(context.indexOf(':') + 1))).sum());
+        seenContexts.forEach(context -> assertEquals("worker/default/2022-04-01/2/mifos", context.substring(0, context.indexOf(':'))));
+    }
+
+    private void recordContext(final Thread caller, final int partitionSize) {
+        final String thread = Thread.currentThread() == caller ? "caller" : "worker";
+        seenContexts.add(thread + "/" + ThreadLocalContextUtil.getTenant().getTenantIdentifier() + "/"
+                + ThreadLocalContextUtil.getBusinessDate() + "/" + ThreadLocalContextUtil.getJobParams().get("number-of-threads") + "/"
+                + SecurityContextHolder.getContext().getAuthentication().getName() + ":" + partitionSize);
+    }
+}
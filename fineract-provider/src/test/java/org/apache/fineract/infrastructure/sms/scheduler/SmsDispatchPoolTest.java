@@ -0,0 +1,195 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.sms.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractSmsProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.sms.data.SmsMessageApiQueueResourceData;
+import org.apache.fineract.infrastructure.sms.scheduler.SmsDispatchPool.Priority;
+import org.apache.fineract.infrastructure.sms.scheduler.SmsDispatchPool.ProviderRateLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class SmsDispatchPoolTest {
+
+    private final List<Long> sent = new CopyOnWriteArrayList<>();
+    private SmsDispatchPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2022, 5, 17))));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        pool.destroy();
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void sendsTriggeredBatchesBeforeQueuedCampaignBatches() throws InterruptedException {
+        pool = newPool(1, 1, 0);
+        final CountDownLatch busy = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        pool.dispatch(Priority.CAMPAIGN, List.of(message(1L, 1L)), batch -> {
+            busy.countDown();
+            await(release);
+            record(batch);
+        });
+        assertTrue(busy.await(5, TimeUnit.SECONDS));
+
+        final CountDownLatch done = new CountDownLatch(3);
+        pool.dispatch(Priority.CAMPAIGN, List.of(message(2L, 1L), message(3L, 1L)), batch -> {
+            record(batch);
+            done.countDown();
+        });
+        pool.dispatch(Priority.TRIGGERED, List.of(message(4L, 1L)), batch -> {
+            record(batch);
+            done.countDown();
+        });
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1L, 4L, 2L, 3L), sent);
+    }
+
+    @Test
+    public void keepsWorkersFreeWhileAProviderIsRateLimited() throws InterruptedException {
+        // one message per second: the second batch of provider 1 has to wait about a second
+        pool = newPool(1, 1, 1);
+        final CountDownLatch firstSent = new CountDownLatch(1);
+        final CountDownLatch allSent = new CountDownLatch(3);
+        pool.dispatch(Priority.CAMPAIGN, List.of(message(1L, 1L), message(2L, 1L)), batch -> {
+            record(batch);
+            firstSent.countDown();
+            allSent.countDown();
+        });
+        assertTrue(firstSent.await(5, TimeUnit.SECONDS));
+
+        final CountDownLatch triggeredSent = new CountDownLatch(1);
+        pool.dispatch(Priority.TRIGGERED, List.of(message(3L, 2L)), batch -> {
+            record(batch);
+            triggeredSent.countDown();
+            allSent.countDown();
+        });
+
+        // the only worker is not blocked by the parked batch of provider 1
+        assertTrue(triggeredSent.await(500, TimeUnit.MILLISECONDS));
+        assertEquals(List.of(1L, 3L), sent);
+        assertTrue(allSent.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1L, 3L, 2L), sent);
+    }
+
+    @Test
+    public void spacesBatchesOfAProvider() {
+        final ProviderRateLimiter limiter = new ProviderRateLimiter(10);
+        final long second = TimeUnit.SECONDS.toNanos(1);
+
+        assertEquals(0L, limiter.tryAcquire(5, 0L));
+        assertEquals(second / 2 - 100, limiter.tryAcquire(1, 100));
+        assertEquals(0L, limiter.tryAcquire(1, second / 2));
+        assertEquals(second / 10, limiter.tryAcquire(1, second / 2));
+    }
+
+    @Test
+    public void queuesBatchesOnceTheTransactionCommitted() throws InterruptedException {
+        pool = newPool(1, 1, 0);
+        final CountDownLatch sentLatch = new CountDownLatch(1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        pool.dispatch(Priority.CAMPAIGN, List.of(message(1L, 1L)), batch -> {
+            record(batch);
+            sentLatch.countDown();
+        });
+
+        assertFalse(pool.hasCampaignCapacity());
+        assertFalse(sentLatch.await(200, TimeUnit.MILLISECONDS));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertTrue(sentLatch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1L), sent);
+    }
+
+    @Test
+    public void dropsBatchesOfARolledBackTransaction() throws InterruptedException {
+        pool = newPool(1, 1, 0);
+        TransactionSynchronizationManager.initSynchronization();
+
+        pool.dispatch(Priority.CAMPAIGN, List.of(message(1L, 1L)), this::record);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertTrue(pool.hasCampaignCapacity());
+        Thread.sleep(200);
+        assertTrue(sent.isEmpty());
+    }
+
+    private void complete(final int status) {
+        final List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private void record(final List<SmsMessageApiQueueResourceData> batch) {
+        batch.forEach(message -> sent.add(message.getInternalId()));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static SmsDispatchPool newPool(final int threads, final int batchSize, final int providerRateLimit) {
+        final FineractSmsProperties sms = new FineractSmsProperties();
+        sms.setDispatchThreads(threads);
+        sms.setBatchSize(batchSize);
+        sms.setQueueCapacity(1);
+        sms.setProviderRateLimit(providerRateLimit);
+        final FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setSms(sms);
+        return new SmsDispatchPool(fineractProperties, new SimpleMeterRegistry());
+    }
+
+    private static SmsMessageApiQueueResourceData message(final Long id, final Long providerId) {
+        return SmsMessageApiQueueResourceData.instance(id, "default", null, null, "+100000" + id, "Message " + id, providerId);
+    }
+}
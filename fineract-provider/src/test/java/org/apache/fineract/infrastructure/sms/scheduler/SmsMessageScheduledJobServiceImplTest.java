@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.sms.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.campaigns.helper.SmsConfigUtils;
+import org.apache.fineract.infrastructure.campaigns.sms.exception.ConnectionFailureException;
+import org.apache.fineract.infrastructure.gcm.service.NotificationSenderService;
+import org.apache.fineract.infrastructure.sms.data.SmsMessageApiQueueResourceData;
+import org.apache.fineract.infrastructure.sms.domain.SmsMessage;
+import org.apache.fineract.infrastructure.sms.domain.SmsMessageRepository;
+import org.apache.fineract.infrastructure.sms.domain.SmsMessageStatusType;
+import org.apache.fineract.infrastructure.sms.scheduler.SmsDispatchPool.Priority;
+import org.apache.fineract.infrastructure.sms.service.SmsReadPlatformService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class SmsMessageScheduledJobServiceImplTest {
+
+    private final SmsMessageRepository smsMessageRepository = mock(SmsMessageRepository.class);
+    private final SmsConfigUtils smsConfigUtils = mock(SmsConfigUtils.class);
+    private final SmsDispatchPool smsDispatchPool = mock(SmsDispatchPool.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SmsMessageScheduledJobServiceImpl service = new SmsMessageScheduledJobServiceImpl(smsMessageRepository,
+            mock(SmsReadPlatformService.class), smsConfigUtils, mock(NotificationSenderService.class), smsDispatchPool, jdbcTemplate);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void marksABatchTheGatewayDidNotAcceptAsFailed() {
+        final SmsMessage first = message(1L);
+        final SmsMessage second = message(2L);
+
+        service.sendTriggeredMessage(List.of(first, second), 7L);
+
+        verify(first).setStatusType(SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue());
+        verify(second).setStatusType(SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue());
+        final ArgumentCaptor<Collection<SmsMessageApiQueueResourceData>> messages = ArgumentCaptor.forClass(Collection.class);
+        final ArgumentCaptor<Consumer<List<SmsMessageApiQueueResourceData>>> sender = ArgumentCaptor.forClass(Consumer.class);
+        verify(smsDispatchPool).dispatch(eq(Priority.TRIGGERED), messages.capture(), sender.capture());
+        assertEquals(2, messages.getValue().size());
+
+        given(smsConfigUtils.getMessageGateWayRequestURI(eq("sms"), anyString()))
+                .willThrow(new ConnectionFailureException("sms"));
+        final List<SmsMessageApiQueueResourceData> batch = List.copyOf(messages.getValue());
+        assertThrows(ConnectionFailureException.class, () -> sender.getValue().accept(batch));
+
+        verify(jdbcTemplate).update("update sms_messages_outbound set status_enum = ? where id in (?,?)",
+                SmsMessageStatusType.FAILED.getValue(), 1L, 2L);
+    }
+
+    @Test
+    public void leavesPendingMessagesForTheNextRunWhenTheQueueIsFull() {
+        given(smsDispatchPool.hasCampaignCapacity()).willReturn(false);
+
+        service.sendMessagesToGateway();
+
+        verify(smsMessageRepository, never()).findByStatusType(any(), any(Pageable.class));
+        verify(smsDispatchPool, never()).dispatch(any(), any(), any());
+    }
+
+    private static SmsMessage message(final Long id) {
+        final SmsMessage message = mock(SmsMessage.class);
+        given(message.getId()).willReturn(id);
+        given(message.getMobileNo()).willReturn("+100000" + id);
+        given(message.getMessage()).willReturn("Message " + id);
+        return message;
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.notification.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.willAnswer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class NotificationDeliveryQueueTest {
+
+    private static final FineractPlatformTenant TENANT = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+    private static final String UPSERT_SQL = "UPSERT notification_unread_counter";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TenantDetailsService tenantDetailsService;
+
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+
+    private FineractProperties.FineractNotificationProperties notification;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(TENANT);
+        notification = new FineractProperties.FineractNotificationProperties();
+        given(sqlGenerator.upsertIncrement("notification_unread_counter", "user_id", "unread_count")).willReturn(UPSERT_SQL);
+        willAnswer(invocation -> {
+            final TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        }).given(transactionTemplate).execute(any());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void writesMapperAndOutboxRowsWhenDelivering() {
+        final NotificationDeliveryQueue deliveryQueue = newDeliveryQueue();
+
+        deliveryQueue.deliver(10L, List.of(5L, 7L));
+
+        final ArgumentCaptor<List<Object[]>> mapperRows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO notification_mapper"), mapperRows.capture());
+        assertEquals(2, mapperRows.getValue().size());
+        final ArgumentCaptor<List<Object[]>> outboxRows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO notification_unread_outbox"), outboxRows.capture());
+        assertArrayEquals(new Object[] { 10L, 5L }, outboxRows.getValue().get(0));
+        assertArrayEquals(new Object[] { 10L, 7L }, outboxRows.getValue().get(1));
+        // the counters are left to the drain
+        verify(jdbcTemplate, never()).batchUpdate(eq(UPSERT_SQL), any(List.class));
+        deliveryQueue.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void countsTheOutboxOncePerUser() {
+        given(jdbcTemplate.queryForList(startsWith("SELECT id, user_id FROM notification_unread_outbox"))).willReturn(
+                List.of(Map.of("id", 1L, "user_id", 5L), Map.of("id", 2L, "user_id", 7L), Map.of("id", 3L, "user_id", 5L)));
+        final NotificationDeliveryQueue deliveryQueue = newDeliveryQueue();
+
+        assertEquals(3, deliveryQueue.drain());
+
+        final ArgumentCaptor<List<Object[]>> increments = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(UPSERT_SQL), increments.capture());
+        assertEquals(2, increments.getValue().size());
+        assertArrayEquals(new Object[] { 5L, 2 }, increments.getValue().get(0));
+        assertArrayEquals(new Object[] { 7L, 1 }, increments.getValue().get(1));
+        verify(jdbcTemplate).update("DELETE FROM notification_unread_outbox WHERE id IN (1,2,3)");
+        deliveryQueue.destroy();
+    }
+
+    @Test
+    public void retriesATenantWhoseDrainFailed() {
+        final AtomicInteger attempts = new AtomicInteger();
+        willAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+            final TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        }).given(transactionTemplate).execute(any());
+        final NotificationDeliveryQueue deliveryQueue = newDeliveryQueue();
+        deliveryQueue.deliver(10L, List.of(5L));
+
+        deliveryQueue.drainPendingTenants();
+        deliveryQueue.drainPendingTenants();
+
+        verify(transactionTemplate, times(2)).execute(any());
+        deliveryQueue.drainPendingTenants();
+        verify(transactionTemplate, times(2)).execute(any());
+        deliveryQueue.destroy();
+    }
+
+    @Test
+    public void acceptsDeliveriesAfterShutdown() {
+        notification.setBatchSize(1);
+        final NotificationDeliveryQueue deliveryQueue = newDeliveryQueue();
+        deliveryQueue.destroy();
+
+        deliveryQueue.deliver(10L, List.of(5L));
+
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO notification_unread_outbox"), any(List.class));
+    }
+
+    @Test
+    public void ignoresNotificationsWithoutRecipients() {
+        final NotificationDeliveryQueue deliveryQueue = newDeliveryQueue();
+
+        deliveryQueue.deliver(10L, List.of());
+        deliveryQueue.drainPendingTenants();
+
+        verify(transactionTemplate, never()).execute(any());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(List.class));
+        deliveryQueue.destroy();
+    }
+
+    private NotificationDeliveryQueue newDeliveryQueue() {
+        final FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setNotification(notification);
+        return new NotificationDeliveryQueue(fineractProperties, jdbcTemplate, transactionTemplate, tenantDetailsService, sqlGenerator);
+    }
+}
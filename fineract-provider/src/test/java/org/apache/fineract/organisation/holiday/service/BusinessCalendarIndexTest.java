@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.holiday.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.junit.jupiter.api.Test;
+
+public class BusinessCalendarIndexTest {
+
+    @Test
+    public void indexesHolidaysAcrossTheYearEnd() {
+        final Holiday newYear = holiday(LocalDate.of(2022, 12, 30), LocalDate.of(2023, 1, 2));
+        final Holiday easter = holiday(LocalDate.of(2023, 4, 7), LocalDate.of(2023, 4, 10));
+        final BusinessCalendarIndex calendar = new BusinessCalendarIndex(List.of(newYear, easter), workingDays());
+
+        assertFalse(calendar.isHoliday(LocalDate.of(2022, 12, 29)));
+        assertSame(newYear, calendar.getApplicableHoliday(LocalDate.of(2022, 12, 31)));
+        assertSame(newYear, calendar.getApplicableHoliday(LocalDate.of(2023, 1, 2)));
+        assertNull(calendar.getApplicableHoliday(LocalDate.of(2023, 1, 3)));
+        assertSame(easter, calendar.getApplicableHoliday(LocalDate.of(2023, 4, 7)));
+        assertNull(calendar.getApplicableHoliday(LocalDate.of(2023, 4, 11)));
+    }
+
+    @Test
+    public void checksWorkingDaysOfTheWeek() {
+        final BusinessCalendarIndex calendar = new BusinessCalendarIndex(null, workingDays());
+
+        // 2023-01-06 is a Friday
+        assertFalse(calendar.isNonWorkingDay(LocalDate.of(2023, 1, 6)));
+        assertTrue(calendar.isNonWorkingDay(LocalDate.of(2023, 1, 7)));
+        assertTrue(calendar.isNonWorkingDay(LocalDate.of(2023, 1, 8)));
+        assertFalse(calendar.isNonWorkingDay(LocalDate.of(2023, 1, 9)));
+        assertFalse(calendar.isHoliday(LocalDate.of(2023, 1, 9)));
+    }
+
+    private static Holiday holiday(final LocalDate fromDate, final LocalDate toDate) {
+        final Holiday holiday = mock(Holiday.class);
+        when(holiday.getFromDateLocalDate()).thenReturn(fromDate);
+        when(holiday.getToDateLocalDate()).thenReturn(toDate);
+        return holiday;
+    }
+
+    private static WorkingDays workingDays() {
+        final WorkingDays workingDays = mock(WorkingDays.class);
+        when(workingDays.getRecurrence()).thenReturn("FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR");
+        return workingDays;
+    }
+}
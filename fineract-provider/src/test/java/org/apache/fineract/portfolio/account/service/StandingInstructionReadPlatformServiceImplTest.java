@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.service.PaginationHelper;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.security.utils.ColumnValidator;
+import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
+import org.apache.fineract.portfolio.account.domain.StandingInstructionStatus;
+import org.apache.fineract.portfolio.client.service.ClientReadPlatformService;
+import org.apache.fineract.portfolio.common.service.DropdownReadPlatformService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+public class StandingInstructionReadPlatformServiceImplTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final StandingInstructionReadPlatformServiceImpl readService = new StandingInstructionReadPlatformServiceImpl(jdbcTemplate,
+            mock(ClientReadPlatformService.class), mock(OfficeReadPlatformService.class), mock(PortfolioAccountReadPlatformService.class),
+            mock(DropdownReadPlatformService.class), mock(ColumnValidator.class), mock(DatabaseSpecificSQLGenerator.class),
+            mock(PaginationHelper.class));
+
+    @Test
+    public void skipsInstructionsThatAlreadyRanOnTheDate() {
+        final LocalDate date = LocalDate.of(2022, 5, 17);
+
+        readService.retrieveAllDueOn(StandingInstructionStatus.ACTIVE.getValue(), date);
+
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<Object> params = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), params.capture());
+        final String prefilter = "(atsi.last_run_date <> ? or atsi.last_run_date IS NULL)";
+        assertTrue(sql.getValue().contains(prefilter));
+        // the prefilter is bound to the date the job runs for, after the status and the validity dates
+        final String beforePrefilter = sql.getValue().substring(0, sql.getValue().indexOf(prefilter) + prefilter.indexOf('?'));
+        final int position = (int) beforePrefilter.chars().filter(c -> c == '?').count();
+        assertEquals(3, position);
+        final List<Object> values = params.getAllValues();
+        assertEquals(Arrays.asList(StandingInstructionStatus.ACTIVE.getValue(), date, date, date), values.subList(0, 4));
+        assertEquals(values.size(), (int) sql.getValue().chars().filter(c -> c == '?').count());
+    }
+
+    @Test
+    public void onlyMatchesTheDayOfMonthOnTheLastDayOfTheMonth() {
+
+        readService.retrieveAllDueOn(StandingInstructionStatus.ACTIVE.getValue(), LocalDate.of(2022, 2, 28));
+
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), ArgumentCaptor.forClass(Object.class).capture());
+        assertTrue(sql.getValue().contains("atsi.recurrence_on_day >= ?"));
+        assertTrue(sql.getValue().contains("(atsi.last_run_date <> ? or atsi.last_run_date IS NULL)"));
+    }
+}
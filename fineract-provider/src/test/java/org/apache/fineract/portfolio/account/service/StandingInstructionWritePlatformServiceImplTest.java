@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.fineract.portfolio.account.PortfolioAccountType;
+import org.apache.fineract.portfolio.account.data.PortfolioAccountData;
+import org.apache.fineract.portfolio.account.data.StandingInstructionData;
+import org.junit.jupiter.api.Test;
+
+public class StandingInstructionWritePlatformServiceImplTest {
+
+    @Test
+    public void keepsEverySourceAccountInOnePartition() {
+        final List<StandingInstructionData> instructions = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            // ten source accounts with four instructions each, in priority order
+            instructions.add(instruction(id, id % 10));
+        }
+
+        final List<List<StandingInstructionData>> partitions = StandingInstructionWritePlatformServiceImpl
+                .partitionByConnectedAccounts(instructions, 4);
+
+        assertTrue(partitions.size() <= 4);
+        assertEquals(40, partitions.stream().mapToInt(List::size).sum());
+        for (long accountId = 0; accountId < 10; accountId++) {
+            final long account = accountId;
+            assertEquals(1, partitions.stream()
+                    .filter(partition -> partition.stream().anyMatch(data -> data.fromAccount().accountId() == account)).count());
+        }
+        for (final List<StandingInstructionData> partition : partitions) {
+            final List<Long> ids = partition.stream().map(StandingInstructionData::getId).collect(Collectors.toList());
+            assertEquals(ids.stream().sorted().collect(Collectors.toList()), ids);
+        }
+    }
+
+    @Test
+    public void dropsEmptyPartitions() {
+        final List<List<StandingInstructionData>> partitions = StandingInstructionWritePlatformServiceImpl
+                .partitionByConnectedAccounts(List.of(instruction(1L, 7L), instruction(2L, 7L)), 8);
+
+        assertEquals(1, partitions.size());
+        assertEquals(2, partitions.get(0).size());
+    }
+
+    @Test
+    public void keepsAccountsLinkedByInstructionsInOnePartition() {
+        // 1 -> 2, 3 -> 2 and 2 -> 4 link savings accounts 1 to 4, 5 -> 6 is on its own
+        final List<StandingInstructionData> instructions = List.of(instruction(1L, 1L, 2L), instruction(2L, 5L, 6L),
+                instruction(3L, 3L, 2L), instruction(4L, 2L, 4L));
+
+        final List<List<StandingInstructionData>> partitions = StandingInstructionWritePlatformServiceImpl
+                .partitionByConnectedAccounts(instructions, 4);
+
+        assertEquals(2, partitions.size());
+        assertEquals(List.of(1L, 3L, 4L), partitions.get(0).stream().map(StandingInstructionData::getId).collect(Collectors.toList()));
+        assertEquals(List.of(2L), partitions.get(1).stream().map(StandingInstructionData::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void separatesSavingsAndLoanAccountsWithTheSameId() {
+        final StandingInstructionData toLoan = StandingInstructionData.instance(2L, null, "SI 2", null, null, null, null,
+                AccountTransferEnumerations.accountType(PortfolioAccountType.SAVINGS), account(9L),
+                AccountTransferEnumerations.accountType(PortfolioAccountType.LOAN), account(1L), null, null, null, null, null, null, null,
+                null, null, null, null);
+
+        final List<List<StandingInstructionData>> partitions = StandingInstructionWritePlatformServiceImpl
+                .partitionByConnectedAccounts(List.of(instruction(1L, 1L, null), toLoan), 2);
+
+        assertEquals(2, partitions.size());
+    }
+
+    private static StandingInstructionData instruction(final Long id, final Long fromAccountId) {
+        return instruction(id, fromAccountId, null);
+    }
+
+    private static StandingInstructionData instruction(final Long id, final Long fromAccountId, final Long toAccountId) {
+        return StandingInstructionData.instance(id, null, "SI " + id, null, null, null, null,
+                AccountTransferEnumerations.accountType(PortfolioAccountType.SAVINGS), account(fromAccountId),
+                toAccountId == null ? null : AccountTransferEnumerations.accountType(PortfolioAccountType.SAVINGS),
+                toAccountId == null ? null : account(toAccountId), null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    private static PortfolioAccountData account(final Long accountId) {
+        return new PortfolioAccountData(accountId, null, null, null, null, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.calendar.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import net.fortuna.ical4j.model.Recur;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CalendarUtilsTest {
+
+    private static final String WEEKLY_ON_MONDAY = "FREQ=WEEKLY;INTERVAL=1;BYDAY=MO";
+
+    @BeforeEach
+    public void init() {
+        ThreadLocalContextUtil
+                .setTenant(new FineractPlatformTenant(1L, "default", "Default", ZoneId.systemDefault().getId(), null));
+    }
+
+    @Test
+    public void parsedRuleIsReused() {
+        final Recur recur = CalendarUtils.getICalRecur(WEEKLY_ON_MONDAY);
+
+        assertSame(recur, CalendarUtils.getICalRecur(WEEKLY_ON_MONDAY));
+        assertEquals(1, CalendarUtils.getInterval(WEEKLY_ON_MONDAY));
+    }
+
+    @Test
+    public void cachedRuleStillExpandsDates() {
+        final LocalDate seed = LocalDate.of(2022, 1, 3);
+
+        assertEquals(List.of(seed, seed.plusWeeks(1), seed.plusWeeks(2)), List.copyOf(
+                CalendarUtils.getRecurringDates(WEEKLY_ON_MONDAY, seed, seed, seed.plusWeeks(2).plusDays(1))));
+        assertTrue(CalendarUtils.isValidRedurringDate(WEEKLY_ON_MONDAY, seed, seed.plusWeeks(3)));
+        assertFalse(CalendarUtils.isValidRedurringDate(WEEKLY_ON_MONDAY, seed, seed.plusDays(1)));
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.collectionsheet.service;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.sql.ResultSet;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.businessevent.BusinessEventListener;
+import org.apache.fineract.portfolio.businessevent.domain.savings.transaction.SavingsDepositBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.service.BusinessEventNotifierService;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+@ExtendWith(MockitoExtension.class)
+public class CenterCollectionSheetSnapshotServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private RuntimeDelegatingCacheManager cacheManager;
+    @Mock
+    private BusinessEventNotifierService businessEventNotifierService;
+    @Captor
+    private ArgumentCaptor<BusinessEventListener<SavingsDepositBusinessEvent>> depositListener;
+
+    private final Cache cache = new ConcurrentMapCache(CenterCollectionSheetSnapshotServiceImpl.CACHE_NAME);
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        given(cacheManager.getCache(CenterCollectionSheetSnapshotServiceImpl.CACHE_NAME)).willReturn(cache);
+    }
+
+    @Test
+    public void savingsDepositEvictsTheCenterOfTheClientsGroup() throws Exception {
+        cache.put("default:1", "center sheet");
+        cache.put("default:2", "other center sheet");
+
+        // savings account 7 belongs to a client of group 3 in center 1
+        final ResultSet row = mock(ResultSet.class);
+        given(row.getLong("groupId")).willReturn(3L);
+        given(row.getLong("parentId")).willReturn(1L);
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(7L), eq(7L));
+
+        final CenterCollectionSheetSnapshotServiceImpl service = new CenterCollectionSheetSnapshotServiceImpl(jdbcTemplate, cacheManager,
+                businessEventNotifierService);
+        service.addListeners();
+        verify(businessEventNotifierService).addPostBusinessEventListener(eq(SavingsDepositBusinessEvent.class),
+                depositListener.capture());
+
+        final SavingsAccount account = mock(SavingsAccount.class);
+        given(account.getId()).willReturn(7L);
+        final SavingsAccountTransaction deposit = mock(SavingsAccountTransaction.class);
+        given(deposit.getSavingsAccount()).willReturn(account);
+        depositListener.getValue().onBusinessEvent(new SavingsDepositBusinessEvent(deposit));
+
+        assertNull(cache.get("default:1"));
+        assertNotNull(cache.get("default:2"));
+    }
+}
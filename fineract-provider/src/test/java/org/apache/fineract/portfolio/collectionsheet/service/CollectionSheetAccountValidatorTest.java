@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.collectionsheet.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.portfolio.collectionsheet.command.CollectionSheetBulkRepaymentCommand;
+import org.apache.fineract.portfolio.collectionsheet.command.SingleRepaymentCommand;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+public class CollectionSheetAccountValidatorTest {
+
+    private static final LocalDate TRANSACTION_DATE = LocalDate.of(2022, 3, 1);
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final CollectionSheetAccountValidator validator = new CollectionSheetAccountValidator(this.namedParameterJdbcTemplate);
+
+    @Test
+    public void acceptsActiveAccounts() {
+        givenRows("select id, loan_status_id from m_loan", List.of(Map.of("id", 1L, "loan_status_id", 300)));
+        givenRows("select id, status_enum, deposit_type_enum from m_savings_account",
+                List.of(Map.of("id", 7L, "status_enum", 300, "deposit_type_enum", 100)));
+
+        this.validator.validateAccounts(repayments(1L), List.of(deposit(7L, 100)));
+    }
+
+    @Test
+    public void reportsEveryBadRowInOneValidationError() {
+        givenRows("select id, loan_status_id from m_loan", List.of(Map.of("id", 1L, "loan_status_id", 300),
+                Map.of("id", 2L, "loan_status_id", 600)));
+        givenRows("select id, status_enum, deposit_type_enum from m_savings_account",
+                List.of(Map.of("id", 7L, "status_enum", 600, "deposit_type_enum", 100),
+                        Map.of("id", 8L, "status_enum", 300, "deposit_type_enum", 300)));
+
+        final PlatformApiDataValidationException exception = assertThrows(PlatformApiDataValidationException.class,
+                () -> this.validator.validateAccounts(repayments(1L, 2L, 3L),
+                        List.of(deposit(7L, 100), deposit(8L, 100), deposit(9L, 100))));
+
+        final List<String> errors = new ArrayList<>();
+        for (final ApiParameterError error : exception.getErrors()) {
+            final String prefix = "validation.msg.collectionsheet." + error.getParameterName() + ".";
+            errors.add(error.getParameterName() + " " + error.getUserMessageGlobalisationCode().substring(prefix.length()));
+        }
+        assertEquals(List.of("bulkRepaymentTransactions[1].loanId loan.not.active", "bulkRepaymentTransactions[2].loanId loan.not.found",
+                "bulkSavingsDueTransactions[0].savingsId savings.account.not.active",
+                "bulkSavingsDueTransactions[1].savingsId deposit.account.type.mismatch",
+                "bulkSavingsDueTransactions[2].savingsId savings.account.not.found"), errors);
+    }
+
+    @Test
+    public void emptySheetNeedsNoQuery() {
+        this.validator.validateAccounts(new CollectionSheetBulkRepaymentCommand(null, TRANSACTION_DATE, null), List.of());
+
+        verifyNoInteractions(this.namedParameterJdbcTemplate);
+    }
+
+    private void givenRows(final String sqlPrefix, final List<Map<String, Object>> rows) {
+        doAnswer(invocation -> {
+            final RowCallbackHandler handler = invocation.getArgument(2);
+            for (final Map<String, Object> row : rows) {
+                final ResultSet rs = mock(ResultSet.class);
+                for (final Map.Entry<String, Object> column : row.entrySet()) {
+                    if (column.getValue() instanceof Long value) {
+                        when(rs.getLong(column.getKey())).thenReturn(value);
+                    } else {
+                        when(rs.getInt(column.getKey())).thenReturn((Integer) column.getValue());
+                    }
+                }
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(this.namedParameterJdbcTemplate).query(startsWith(sqlPrefix), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+    }
+
+    private static CollectionSheetBulkRepaymentCommand repayments(final Long... loanIds) {
+        final SingleRepaymentCommand[] repaymentCommands = new SingleRepaymentCommand[loanIds.length];
+        for (int i = 0; i < loanIds.length; i++) {
+            repaymentCommands[i] = new SingleRepaymentCommand(loanIds[i], BigDecimal.TEN, TRANSACTION_DATE, null);
+        }
+        return new CollectionSheetBulkRepaymentCommand(null, TRANSACTION_DATE, repaymentCommands);
+    }
+
+    private static SavingsAccountTransactionDTO deposit(final Long savingsId, final Integer depositType) {
+        return new SavingsAccountTransactionDTO(null, TRANSACTION_DATE, BigDecimal.TEN, null, null, savingsId, null, depositType);
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.collectionsheet.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.fineract.portfolio.collectionsheet.data.JLGClientData;
+import org.apache.fineract.portfolio.collectionsheet.data.JLGCollectionSheetData;
+import org.apache.fineract.portfolio.collectionsheet.data.JLGCollectionSheetFlatData;
+import org.apache.fineract.portfolio.collectionsheet.data.JLGGroupData;
+import org.apache.fineract.portfolio.collectionsheet.data.SavingsDueData;
+import org.junit.jupiter.api.Test;
+
+public class JLGCollectionSheetAssemblerTest {
+
+    @Test
+    public void mergesLoanAndSavingsDuesByGroupAndClient() {
+        final JLGCollectionSheetAssembler assembler = new JLGCollectionSheetAssembler();
+        assembler.addLoanRow(loanRow(1L, 10L, 100L));
+        assembler.addLoanRow(loanRow(1L, 10L, 101L));
+        assembler.addLoanRow(loanRow(1L, 11L, 102L));
+        assembler.addLoanRow(loanRow(2L, 20L, 200L));
+
+        // client 10 has both, client 12 and group 3 only have savings due
+        assembler.addSavingsGroups(List.of(savingsGroup(1L, 10L, 12L), savingsGroup(3L, 30L)));
+
+        final JLGCollectionSheetData sheet = assembler.build(LocalDate.of(2022, 3, 1), Collections.emptyList(), Collections.emptyList());
+
+        final List<JLGGroupData> groups = new ArrayList<>(sheet.getGroups());
+        assertEquals(List.of(1L, 2L, 3L), groups.stream().map(JLGGroupData::getGroupId).toList());
+
+        final List<JLGClientData> clients = new ArrayList<>(groups.get(0).getClients());
+        assertEquals(List.of(10L, 11L, 12L), clients.stream().map(JLGClientData::getClientId).toList());
+        assertEquals(2, clients.get(0).getLoans().size());
+        assertEquals(1, clients.get(0).getSavings().size());
+        assertNull(clients.get(1).getSavings());
+        assertNull(clients.get(2).getLoans());
+
+        assertEquals(1, groups.get(2).getClients().size());
+        assertEquals(3, sheet.getLoanProducts().size());
+    }
+
+    private static JLGCollectionSheetFlatData loanRow(final Long groupId, final Long clientId, final Long loanId) {
+        return new JLGCollectionSheetFlatData("group " + groupId, groupId, null, null, 1L, "Group", "client " + clientId, clientId, loanId,
+                "L" + loanId, 300, "P" + loanId % 3, loanId % 3, null, null, BigDecimal.TEN, BigDecimal.ZERO, BigDecimal.ONE,
+                BigDecimal.ZERO, BigDecimal.ZERO, null, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    private static JLGGroupData savingsGroup(final Long groupId, final Long... clientIds) {
+        final JLGGroupData group = JLGGroupData.instance(groupId, "group " + groupId, null, null, 1L, "Group");
+        final List<JLGClientData> clients = new ArrayList<>();
+        for (final Long clientId : clientIds) {
+            final SavingsDueData savings = SavingsDueData.instance(clientId * 10, "S" + clientId, 300, "RD", 7L, null, BigDecimal.TEN,
+                    "Recurring Deposit");
+            clients.add(JLGClientData.withSavings(JLGClientData.instance(clientId, "client " + clientId, null), List.of(savings)));
+        }
+        group.setClients(clients);
+        return group;
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.LoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.FineractStyleLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRelatedDetail;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Tests when a repayment on an interest recalculation {@link Loan} may skip regenerating the schedule: only when the
+ * incremental result is the same as regenerating the schedule and replaying every transaction.
+ */
+public class LoanInterestRecalculationRepaymentTest {
+
+    private static final MonetaryCurrency CURRENCY = new MonetaryCurrency("USD", 2, null);
+    private static final LocalDate DISBURSEMENT_DATE = LocalDate.of(2022, 1, 1);
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2022, 4, 1);
+
+    private final LoanRepaymentScheduleTransactionProcessor processor = new FineractStyleLoanRepaymentScheduleTransactionProcessor();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(MoneyHelper.class, "roundingMode", RoundingMode.HALF_EVEN);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(
+                Map.of(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE, BusinessDateType.COB_DATE, BUSINESS_DATE.minusDays(1))));
+    }
+
+    @Test
+    public void onTimeInterestPaymentOnTheBusinessDateSkipsRegeneration() {
+        final Loan loan = loanWith(List.of(repayment("270", LocalDate.of(2022, 2, 1)), repayment("270", LocalDate.of(2022, 3, 1))));
+        final LoanTransaction interestPayment = repayment("20", BUSINESS_DATE);
+
+        assertTrue(appliesWithoutRegeneration(loan, interestPayment));
+
+        // the schedule does not move, so replaying every transaction over it gives the same allocation
+        final List<LoanTransaction> replayed = new ArrayList<>(List.of(repayment("270", LocalDate.of(2022, 2, 1)),
+                repayment("270", LocalDate.of(2022, 3, 1)), repayment("20", BUSINESS_DATE)));
+        final List<LoanRepaymentScheduleInstallment> replayedSchedule = schedule();
+        this.processor.handleTransaction(DISBURSEMENT_DATE, replayed, CURRENCY, replayedSchedule, new HashSet<>());
+        for (int i = 0; i < replayedSchedule.size(); i++) {
+            assertEquals(replayedSchedule.get(i).getInterestPaid(CURRENCY).getAmount(),
+                    loan.getRepaymentScheduleInstallments().get(i).getInterestPaid(CURRENCY).getAmount());
+            assertEquals(replayedSchedule.get(i).getPrincipalCompleted(CURRENCY).getAmount(),
+                    loan.getRepaymentScheduleInstallments().get(i).getPrincipalCompleted(CURRENCY).getAmount());
+        }
+    }
+
+    @Test
+    public void backdatedInterestPaymentRegeneratesTheSchedule() {
+        final Loan loan = loanWith(List.of(repayment("270", LocalDate.of(2022, 2, 1)), repayment("270", LocalDate.of(2022, 3, 1))));
+
+        assertFalse(appliesWithoutRegeneration(loan, repayment("20", LocalDate.of(2022, 3, 25))));
+    }
+
+    @Test
+    public void lateInterestPaymentRegeneratesTheSchedule() {
+        // the second installment fell due on 2022-03-01 and is still open
+        final Loan loan = loanWith(List.of(repayment("270", LocalDate.of(2022, 2, 1))));
+
+        assertTrue(loan.hasInstallmentsOverdueOn(BUSINESS_DATE));
+        assertFalse(appliesWithoutRegeneration(loan, repayment("20", BUSINESS_DATE)));
+    }
+
+    @Test
+    public void partialPrincipalPaymentRegeneratesTheSchedule() {
+        final Loan loan = loanWith(List.of(repayment("270", LocalDate.of(2022, 2, 1)), repayment("270", LocalDate.of(2022, 3, 1))));
+
+        assertFalse(appliesWithoutRegeneration(loan, repayment("100", BUSINESS_DATE)));
+    }
+
+    /**
+     * Mirrors the incremental path of {@link Loan#makeRepayment}: the installment due on the payment date and the
+     * overdue state are taken before the payment is applied, then the loan decides whether that result can be kept.
+     */
+    private boolean appliesWithoutRegeneration(final Loan loan, final LoanTransaction payment) {
+        final LoanRepaymentScheduleInstallment currentInstallment = loan.getRepaymentScheduleInstallments().stream()
+                .filter(installment -> installment.getDueDate().equals(payment.getTransactionDate())).findFirst().orElse(null);
+        final boolean paysOffCurrentInstallment = currentInstallment != null
+                && currentInstallment.getTotalOutstanding(CURRENCY).isEqualTo(payment.getAmount(CURRENCY));
+        final boolean hadOverdueInstallments = loan.hasInstallmentsOverdueOn(payment.getTransactionDate());
+        this.processor.handleTransaction(payment, CURRENCY, loan.getRepaymentScheduleInstallments(), new HashSet<>());
+        return loan.isRecalculatedScheduleUnaffectedBy(payment, hadOverdueInstallments, currentInstallment, paysOffCurrentInstallment);
+    }
+
+    private Loan loanWith(final List<LoanTransaction> previousTransactions) {
+        final LoanProductRelatedDetail productRelatedDetail = mock(LoanProductRelatedDetail.class);
+        when(productRelatedDetail.getCurrency()).thenReturn(CURRENCY);
+        when(productRelatedDetail.isInterestRecalculationEnabled()).thenReturn(true);
+        final Loan loan = new Loan();
+        ReflectionTestUtils.setField(loan, "loanRepaymentScheduleDetail", productRelatedDetail);
+        final List<LoanRepaymentScheduleInstallment> installments = schedule();
+        ReflectionTestUtils.setField(loan, "repaymentScheduleInstallments", installments);
+        this.processor.handleTransaction(DISBURSEMENT_DATE, new ArrayList<>(previousTransactions), CURRENCY, installments, new HashSet<>());
+        return loan;
+    }
+
+    private static List<LoanRepaymentScheduleInstallment> schedule() {
+        final List<LoanRepaymentScheduleInstallment> installments = new ArrayList<>();
+        LocalDate fromDate = DISBURSEMENT_DATE;
+        for (int number = 1; number <= 4; number++) {
+            final LocalDate dueDate = fromDate.plusMonths(1);
+            installments.add(new LoanRepaymentScheduleInstallment(null, number, fromDate, dueDate, new BigDecimal("250"),
+                    new BigDecimal("20"), BigDecimal.ZERO, BigDecimal.ZERO, false, new HashSet<>()));
+            fromDate = dueDate;
+        }
+        return installments;
+    }
+
+    private static LoanTransaction repayment(final String amount, final LocalDate date) {
+        return LoanTransaction.repayment(null, Money.of(CURRENCY, new BigDecimal(amount)), null, date, null);
+    }
+}
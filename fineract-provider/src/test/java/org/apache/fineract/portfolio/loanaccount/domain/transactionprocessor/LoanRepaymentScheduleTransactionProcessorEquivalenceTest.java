@@ -0,0 +1,162 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanCharge;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.CreocoreLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.EarlyPaymentLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.FineractStyleLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.HeavensFamilyLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.InterestPrincipalPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.PrincipalInterestPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.RBILoanRepaymentScheduleTransactionProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Checks that applying a transaction dated after all existing ones to the current installment state gives the same
+ * result as replaying every transaction over a fresh schedule, for every repayment strategy.
+ */
+public class LoanRepaymentScheduleTransactionProcessorEquivalenceTest {
+
+    private static final MonetaryCurrency CURRENCY = new MonetaryCurrency("USD", 2, null);
+    private static final LocalDate DISBURSEMENT_DATE = LocalDate.of(2022, 1, 1);
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(MoneyHelper.class, "roundingMode", RoundingMode.HALF_EVEN);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(
+                Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2022, 12, 31), BusinessDateType.COB_DATE, LocalDate.of(2022, 12, 30))));
+    }
+
+    private static Stream<Arguments> processors() {
+        return Stream.of(processor(CreocoreLoanRepaymentScheduleTransactionProcessor::new),
+                processor(EarlyPaymentLoanRepaymentScheduleTransactionProcessor::new),
+                processor(FineractStyleLoanRepaymentScheduleTransactionProcessor::new),
+                processor(HeavensFamilyLoanRepaymentScheduleTransactionProcessor::new),
+                processor(InterestPrincipalPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor::new),
+                processor(PrincipalInterestPenaltyFeesOrderLoanRepaymentScheduleTransactionProcessor::new),
+                processor(RBILoanRepaymentScheduleTransactionProcessor::new));
+    }
+
+    private static Arguments processor(final Supplier<LoanRepaymentScheduleTransactionProcessor> processorSupplier) {
+        return Arguments.of(processorSupplier);
+    }
+
+    @ParameterizedTest
+    @MethodSource("processors")
+    public void testAppendedTransactionMatchesFullReplay(final Supplier<LoanRepaymentScheduleTransactionProcessor> processorSupplier) {
+        final List<LocalDate> dates = List.of(LocalDate.of(2022, 1, 20), LocalDate.of(2022, 2, 10), LocalDate.of(2022, 3, 1),
+                LocalDate.of(2022, 3, 15), LocalDate.of(2022, 4, 1), LocalDate.of(2022, 6, 5));
+        final List<String> amounts = List.of("100", "300", "150", "400", "75.50", "500");
+
+        for (int count = 1; count <= dates.size(); count++) {
+            final List<LoanTransaction> replayed = buildRepayments(dates, amounts, count);
+            final List<LoanRepaymentScheduleInstallment> replayedSchedule = buildSchedule();
+            processorSupplier.get().handleTransaction(DISBURSEMENT_DATE, replayed, CURRENCY, replayedSchedule, charges());
+
+            final List<LoanTransaction> appended = buildRepayments(dates, amounts, count);
+            final LoanTransaction latest = appended.remove(appended.size() - 1);
+            final List<LoanRepaymentScheduleInstallment> appendedSchedule = buildSchedule();
+            final LoanRepaymentScheduleTransactionProcessor processor = processorSupplier.get();
+            processor.handleTransaction(DISBURSEMENT_DATE, appended, CURRENCY, appendedSchedule, charges());
+            processor.handleTransaction(latest, CURRENCY, appendedSchedule, charges());
+            latest.adjustInterestComponent(CURRENCY);
+
+            assertTransactionsMatch(replayed.get(replayed.size() - 1), latest);
+            assertSchedulesMatch(replayedSchedule, appendedSchedule);
+        }
+    }
+
+    private List<LoanTransaction> buildRepayments(final List<LocalDate> dates, final List<String> amounts, final int count) {
+        final List<LoanTransaction> transactions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            transactions.add(LoanTransaction.repayment(null, Money.of(CURRENCY, new BigDecimal(amounts.get(i))), null, dates.get(i), null));
+        }
+        return transactions;
+    }
+
+    private List<LoanRepaymentScheduleInstallment> buildSchedule() {
+        final List<LoanRepaymentScheduleInstallment> installments = new ArrayList<>();
+        LocalDate fromDate = DISBURSEMENT_DATE;
+        for (int number = 1; number <= 4; number++) {
+            final LocalDate dueDate = fromDate.plusMonths(1);
+            installments.add(new LoanRepaymentScheduleInstallment(null, number, fromDate, dueDate, new BigDecimal("250"),
+                    new BigDecimal("20"), BigDecimal.ZERO, BigDecimal.ZERO, false, new HashSet<>()));
+            fromDate = dueDate;
+        }
+        return installments;
+    }
+
+    private Set<LoanCharge> charges() {
+        return new HashSet<>();
+    }
+
+    private void assertTransactionsMatch(final LoanTransaction expected, final LoanTransaction actual) {
+        assertMoneyEquals(expected.getPrincipalPortion(CURRENCY), actual.getPrincipalPortion(CURRENCY));
+        assertMoneyEquals(expected.getInterestPortion(CURRENCY), actual.getInterestPortion(CURRENCY));
+        assertMoneyEquals(expected.getFeeChargesPortion(CURRENCY), actual.getFeeChargesPortion(CURRENCY));
+        assertMoneyEquals(expected.getPenaltyChargesPortion(CURRENCY), actual.getPenaltyChargesPortion(CURRENCY));
+        assertMoneyEquals(expected.getOverPaymentPortion(CURRENCY), actual.getOverPaymentPortion(CURRENCY));
+    }
+
+    private void assertSchedulesMatch(final List<LoanRepaymentScheduleInstallment> expected,
+            final List<LoanRepaymentScheduleInstallment> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final LoanRepaymentScheduleInstallment expectedInstallment = expected.get(i);
+            final LoanRepaymentScheduleInstallment actualInstallment = actual.get(i);
+            assertMoneyEquals(expectedInstallment.getPrincipalCompleted(CURRENCY), actualInstallment.getPrincipalCompleted(CURRENCY));
+            assertMoneyEquals(expectedInstallment.getInterestPaid(CURRENCY), actualInstallment.getInterestPaid(CURRENCY));
+            assertMoneyEquals(expectedInstallment.getInterestWaived(CURRENCY), actualInstallment.getInterestWaived(CURRENCY));
+            assertMoneyEquals(expectedInstallment.getFeeChargesPaid(CURRENCY), actualInstallment.getFeeChargesPaid(CURRENCY));
+            assertMoneyEquals(expectedInstallment.getPenaltyChargesPaid(CURRENCY), actualInstallment.getPenaltyChargesPaid(CURRENCY));
+            assertMoneyEquals(expectedInstallment.getTotalPaidInAdvance(CURRENCY), actualInstallment.getTotalPaidInAdvance(CURRENCY));
+            assertMoneyEquals(expectedInstallment.getTotalPaidLate(CURRENCY), actualInstallment.getTotalPaidLate(CURRENCY));
+            assertEquals(expectedInstallment.isObligationsMet(), actualInstallment.isObligationsMet());
+        }
+    }
+
+    private void assertMoneyEquals(final Money expected, final Money actual) {
+        assertEquals(expected.getAmount(), actual.getAmount());
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.businessevent.BusinessEventListener;
+import org.apache.fineract.portfolio.businessevent.domain.loan.transaction.LoanTransactionMakeRepaymentPostBusinessEvent;
+import org.apache.fineract.portfolio.businessevent.service.BusinessEventNotifierService;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+@ExtendWith(MockitoExtension.class)
+public class LoanScheduleSnapshotServiceImplTest {
+
+    private static final Long LOAN_ID = 5L;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private RuntimeDelegatingCacheManager cacheManager;
+    @Mock
+    private BusinessEventNotifierService businessEventNotifierService;
+    @Captor
+    private ArgumentCaptor<BusinessEventListener<LoanTransactionMakeRepaymentPostBusinessEvent>> repaymentListener;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<LoanScheduleData> scheduleLoader = () -> {
+        loads.incrementAndGet();
+        return new LoanScheduleData(null, List.of(), 30, null, null, null, null, null, null);
+    };
+
+    private LoanScheduleSnapshotServiceImpl service;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2022, 4, 1))));
+        given(cacheManager.getCache(LoanScheduleSnapshotServiceImpl.CACHE_NAME))
+                .willReturn(new ConcurrentMapCache(LoanScheduleSnapshotServiceImpl.CACHE_NAME));
+        given(jdbcTemplate.queryForObject("select version from m_loan where id = ?", Integer.class, LOAN_ID)).willReturn(1);
+
+        service = new LoanScheduleSnapshotServiceImpl(jdbcTemplate, cacheManager, businessEventNotifierService);
+        service.addListeners();
+    }
+
+    @Test
+    public void snapshotIsServedUntilARepaymentEvictsIt() {
+        final LoanScheduleData first = service.retrieveRepaymentSchedule(LOAN_ID, scheduleLoader);
+        final LoanScheduleData second = service.retrieveRepaymentSchedule(LOAN_ID, scheduleLoader);
+        assertEquals(1, loads.get());
+        assertNotSame(first, second);
+
+        verify(businessEventNotifierService).addPostBusinessEventListener(eq(LoanTransactionMakeRepaymentPostBusinessEvent.class),
+                repaymentListener.capture());
+        final Loan loan = mock(Loan.class);
+        given(loan.getId()).willReturn(LOAN_ID);
+        final LoanTransaction repayment = mock(LoanTransaction.class);
+        given(repayment.getLoan()).willReturn(loan);
+        repaymentListener.getValue().onBusinessEvent(new LoanTransactionMakeRepaymentPostBusinessEvent(repayment));
+
+        service.retrieveRepaymentSchedule(LOAN_ID, scheduleLoader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void snapshotOfAnOlderLoanVersionIsRebuilt() {
+        service.retrieveRepaymentSchedule(LOAN_ID, scheduleLoader);
+        given(jdbcTemplate.queryForObject("select version from m_loan where id = ?", Integer.class, LOAN_ID)).willReturn(2);
+
+        service.retrieveRepaymentSchedule(LOAN_ID, scheduleLoader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void snapshotIsRebuiltWhenOnlyAnInstallmentChanged() throws Exception {
+        final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        given(metaData.getColumnCount()).willReturn(1);
+        final ResultSet installment = mock(ResultSet.class);
+        given(installment.getMetaData()).willReturn(metaData);
+        given(installment.getObject(1)).willReturn(BigDecimal.ZERO);
+        willAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(installment);
+            return null;
+        }).given(jdbcTemplate).query(eq(LoanScheduleSnapshotServiceImpl.INSTALLMENTS_SQL), any(RowCallbackHandler.class), eq(LOAN_ID));
+
+        service.retrieveRepaymentSchedule(LOAN_ID, scheduleLoader);
+        service.retrieveRepaymentSchedule(LOAN_ID, scheduleLoader);
+        assertEquals(1, loads.get());
+
+        // e.g. an installment paid by a direct write, the loan version is unchanged and no event is raised
+        given(installment.getObject(1)).willReturn(BigDecimal.TEN);
+        service.retrieveRepaymentSchedule(LOAN_ID, scheduleLoader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void snapshotOfAnEarlierBusinessDateIsRebuilt() {
+        service.retrieveRepaymentSchedule(LOAN_ID, scheduleLoader);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2022, 4, 2))));
+
+        service.retrieveRepaymentSchedule(LOAN_ID, scheduleLoader);
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.apache.fineract.portfolio.savings.DepositAccountType;
+import org.apache.fineract.portfolio.savings.service.DepositMaturityProcessor.MaturityCandidate;
+import org.junit.jupiter.api.Test;
+
+public class DepositMaturityProcessorTest {
+
+    @Test
+    public void keepsDepositsOfOneTransferTargetTogetherInProductOrder() {
+        final List<MaturityCandidate> candidates = List.of(candidate(1L, 10L, 100L), candidate(2L, 10L, null),
+                candidate(3L, 11L, 100L), candidate(4L, 11L, null), candidate(5L, 12L, 100L), candidate(6L, 12L, null));
+
+        final List<List<MaturityCandidate>> partitions = DepositMaturityProcessor.partition(candidates, 4);
+
+        int total = 0;
+        for (final List<MaturityCandidate> partition : partitions) {
+            total += partition.size();
+            for (int i = 1; i < partition.size(); i++) {
+                assertTrue(partition.get(i - 1).getProductId() <= partition.get(i).getProductId());
+            }
+            final boolean hasTransferTarget = partition.stream().anyMatch(c -> List.of(1L, 3L, 5L).contains(c.getId()));
+            if (hasTransferTarget) {
+                assertEquals(List.of(1L, 3L, 5L),
+                        partition.stream().map(MaturityCandidate::getId).filter(id -> id % 2 == 1).toList());
+            }
+        }
+        assertEquals(candidates.size(), total);
+    }
+
+    private static MaturityCandidate candidate(final Long id, final Long productId, final Long transferToSavingsId) {
+        return new MaturityCandidate(id, "00000000" + id, DepositAccountType.FIXED_DEPOSIT, productId, transferToSavingsId);
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractDepositProperties;
+import org.apache.fineract.infrastructure.jobs.service.JobExecuter;
+import org.apache.fineract.portfolio.savings.service.RecurringDepositScheduleGenerator.RunSummary;
+import org.apache.fineract.portfolio.savings.service.RecurringDepositScheduleGenerator.ScheduleBatchWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class RecurringDepositScheduleGeneratorTest {
+
+    @Test
+    public void writesMissingInstallmentsInFullBatches() {
+        final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        final List<List<Object[]>> batches = new ArrayList<>();
+        doAnswer(invocation -> {
+            batches.add(new ArrayList<>(invocation.<List<Object[]>>getArgument(1)));
+            return new int[0];
+        }).when(jdbcTemplate).batchUpdate(eq(RecurringDepositScheduleGenerator.INSERT_SQL), anyList());
+
+        final ScheduleBatchWriter writer = new ScheduleBatchWriter(jdbcTemplate, 2);
+        final LocalDateTime now = LocalDateTime.of(2022, 1, 10, 8, 0);
+        RecurringDepositScheduleGenerator.addFutureInstallments(account(1L, 2L, LocalDate.of(2022, 1, 31), 12), now, writer);
+        RecurringDepositScheduleGenerator.addFutureInstallments(account(2L, 5L, LocalDate.of(2022, 2, 1), 4), now, writer);
+        RecurringDepositScheduleGenerator.addFutureInstallments(account(3L, 0L, LocalDate.of(2022, 1, 15), 1), now, writer);
+        // nothing is written while the accounts are read
+        assertTrue(batches.isEmpty());
+        writer.flush();
+
+        assertEquals(8, writer.getWritten());
+        assertEquals(List.of(2, 2, 2, 2), batches.stream().map(List::size).toList());
+
+        final Object[] first = batches.get(0).get(0);
+        assertEquals(1L, first[0]);
+        assertEquals(LocalDate.of(2022, 2, 28), first[1]);
+        assertEquals(13, first[2]);
+        assertEquals(Boolean.FALSE, first[4]);
+        final Object[] last = batches.get(3).get(1);
+        assertEquals(3L, last[0]);
+        assertEquals(LocalDate.of(2022, 6, 15), last[1]);
+        assertEquals(6, last[2]);
+    }
+
+    @Test
+    public void readsAccountsInKeysetPagesAndWritesEachPage() {
+        final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        final List<String> events = new ArrayList<>();
+        doAnswer(invocation -> {
+            events.add("write " + invocation.<List<Object[]>>getArgument(1).size());
+            return new int[0];
+        }).when(jdbcTemplate).batchUpdate(eq(RecurringDepositScheduleGenerator.INSERT_SQL), anyList());
+
+        final Map<Long, List<Map<String, Object>>> pages = Map.of(0L,
+                List.of(account(4L, 4L, LocalDate.of(2022, 1, 31), 12), account(7L, 4L, LocalDate.of(2022, 1, 31), 12)), 7L,
+                List.of(account(9L, 3L, LocalDate.of(2022, 1, 31), 12)));
+        final DepositAccountReadPlatformService readService = mock(DepositAccountReadPlatformService.class);
+        doAnswer(invocation -> {
+            final Long afterSavingsId = invocation.getArgument(1);
+            events.add("read after " + afterSavingsId + " limit " + invocation.getArgument(2));
+            pages.get(afterSavingsId).forEach(invocation.<Consumer<Map<String, Object>>>getArgument(3));
+            return null;
+        }).when(readService).retriveDataForRDScheduleCreation(eq(3L), any(Long.class), anyInt(), any());
+
+        final FineractProperties properties = new FineractProperties();
+        properties.setDeposit(new FineractDepositProperties());
+        properties.getDeposit().setRdScheduleBatchSize(2);
+        final RecurringDepositScheduleGenerator generator = new RecurringDepositScheduleGenerator(jdbcTemplate, readService,
+                new JobExecuter(), properties);
+        final RunSummary summary = new RunSummary(1);
+        generator.generateForProduct(3L, LocalDateTime.of(2022, 1, 10, 8, 0), summary);
+
+        // the second page is short, so no third read is issued
+        assertEquals(List.of("read after 0 limit 2", "write 2", "read after 7 limit 2", "write 2"), events);
+        assertEquals(3, summary.getAccounts());
+        assertEquals(4, summary.getInstallments());
+        assertTrue(summary.getFailedProductIds().isEmpty());
+    }
+
+    @Test
+    public void spreadsProductsOverPartitions() {
+        assertEquals(List.of(List.of(1L, 3L, 5L), List.of(2L, 4L)),
+                RecurringDepositScheduleGenerator.partition(List.of(1L, 2L, 3L, 4L, 5L), 2));
+        assertEquals(List.of(List.of(1L), List.of(2L)), RecurringDepositScheduleGenerator.partition(List.of(1L, 2L), 4));
+    }
+
+    private static Map<String, Object> account(final Long savingsId, final Long futureInstallments, final LocalDate lastDueDate,
+            final int lastInstallment) {
+        final Map<String, Object> details = new HashMap<>();
+        details.put("savingsId", savingsId);
+        details.put("amount", BigDecimal.TEN);
+        details.put("recurrence", "FREQ=MONTHLY;INTERVAL=1");
+        details.put("dueDate", lastDueDate);
+        details.put("installment", lastInstallment);
+        details.put("futureInstallemts", futureInstallments);
+        return details;
+    }
+}
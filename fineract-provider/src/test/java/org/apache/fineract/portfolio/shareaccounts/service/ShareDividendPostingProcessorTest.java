@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.shareaccounts.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.jobs.service.JobExecuter;
+import org.junit.jupiter.api.Test;
+
+public class ShareDividendPostingProcessorTest {
+
+    @Test
+    public void creditsEachSavingsAccountOnceAndCollectsFailures() {
+        final ShareAccountDividendReadPlatformService readService = mock(ShareAccountDividendReadPlatformService.class);
+        final ShareAccountSchedularService schedularService = mock(ShareAccountSchedularService.class);
+        when(readService.retriveDividendDetailsForPostDividents()).thenReturn(List.of(row(1L, 20L), row(2L, 20L),
+                Map.of("id", BigInteger.valueOf(3L), "savingsAccountId", BigInteger.valueOf(21L)), row(4L, 22L)));
+        when(schedularService.postDividends(20L, List.of(1L, 2L))).thenReturn(2);
+        when(schedularService.postDividends(21L, List.of(3L))).thenThrow(new IllegalStateException("closed"));
+        when(schedularService.postDividends(22L, List.of(4L))).thenReturn(1);
+
+        final ShareDividendPostingProcessor processor = new ShareDividendPostingProcessor(readService, schedularService, new JobExecuter());
+        final List<Throwable> errors = processor.postDividends();
+
+        verify(schedularService).postDividends(20L, List.of(1L, 2L));
+        verify(schedularService).postDividends(21L, List.of(3L));
+        verify(schedularService).postDividends(22L, List.of(4L));
+        assertEquals(1, errors.size());
+        assertEquals("closed", errors.get(0).getMessage());
+    }
+
+    @Test
+    public void spreadsSavingsAccountsOverPartitions() {
+        final List<List<Long>> partitions = ShareDividendPostingProcessor.partition(List.of(20L, 21L, 22L, 23L, 24L), 2);
+
+        assertEquals(List.of(List.of(20L, 22L, 24L), List.of(21L, 23L)), partitions);
+    }
+
+    private static Map<String, Object> row(final Long id, final Long savingsAccountId) {
+        return Map.of("id", id, "savingsAccountId", savingsAccountId);
+    }
+}
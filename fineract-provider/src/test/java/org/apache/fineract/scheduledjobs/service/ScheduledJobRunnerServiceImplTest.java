@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.scheduledjobs.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.infrastructure.jobs.service.JobExecuter;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountAnnualFeeData;
+import org.apache.fineract.portfolio.savings.service.SavingsAccountChargeReadPlatformService;
+import org.apache.fineract.portfolio.savings.service.SavingsAccountWritePlatformService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ScheduledJobRunnerServiceImplTest {
+
+    private static final LocalDate DUE_DATE = LocalDate.of(2022, 3, 1);
+
+    @Mock
+    private SavingsAccountWritePlatformService savingsAccountWritePlatformService;
+    @Mock
+    private SavingsAccountChargeReadPlatformService savingsAccountChargeReadPlatformService;
+    @Spy
+    private JobExecuter jobExecuter = new JobExecuter();
+    @InjectMocks
+    private ScheduledJobRunnerServiceImpl scheduledJobRunnerService;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void groupByAccountKeepsTheChargesOfAnAccountTogether() {
+        final Map<Long, List<SavingsAccountAnnualFeeData>> chargesByAccount = ScheduledJobRunnerServiceImpl
+                .groupByAccount(List.of(charge(1L, 10L), charge(2L, 20L), charge(3L, 10L)));
+
+        assertEquals(2, chargesByAccount.size());
+        assertEquals(List.of(1L, 3L), chargesByAccount.get(10L).stream().map(SavingsAccountAnnualFeeData::getId).toList());
+        assertEquals(List.of(2L), chargesByAccount.get(20L).stream().map(SavingsAccountAnnualFeeData::getId).toList());
+    }
+
+    @Test
+    public void annualFeeFailuresAreReportedAfterTheOtherAccountsAreCharged() {
+        given(savingsAccountChargeReadPlatformService.retrieveChargesWithAnnualFeeDue())
+                .willReturn(List.of(charge(1L, 10L), charge(2L, 20L), charge(3L, 10L)));
+        willThrow(new IllegalStateException("insufficient balance")).given(savingsAccountWritePlatformService).applyAnnualFees(20L,
+                List.of(2L));
+
+        assertThrows(JobExecutionException.class, () -> scheduledJobRunnerService.applyAnnualFeeForSavings());
+
+        verify(savingsAccountWritePlatformService).applyAnnualFees(10L, List.of(1L, 3L));
+        verify(savingsAccountWritePlatformService).applyAnnualFees(20L, List.of(2L));
+    }
+
+    @Test
+    public void dueChargeFailuresAreReportedAfterTheOtherAccountsAreCharged() {
+        given(savingsAccountChargeReadPlatformService.retrieveChargesWithDue()).willReturn(List.of(charge(1L, 10L), charge(2L, 20L)));
+        willThrow(new IllegalStateException("insufficient balance")).given(savingsAccountWritePlatformService).applyChargesDue(10L,
+                List.of(1L));
+
+        assertThrows(JobExecutionException.class, () -> scheduledJobRunnerService.applyDueChargesForSavings());
+
+        verify(savingsAccountWritePlatformService).applyChargesDue(20L, List.of(2L));
+    }
+
+    private static SavingsAccountAnnualFeeData charge(final Long id, final Long accountId) {
+        return SavingsAccountAnnualFeeData.instance(id, accountId, "0000" + accountId, DUE_DATE);
+    }
+}
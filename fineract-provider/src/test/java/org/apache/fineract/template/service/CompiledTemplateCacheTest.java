@@ -0,0 +1,63 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.template.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class CompiledTemplateCacheTest {
+
+    private final CompiledTemplateCache cache = new CompiledTemplateCache(new FineractProperties());
+
+    @AfterEach
+    public void tearDown() {
+        this.cache.destroy();
+    }
+
+    @Test
+    public void reusesCompiledTemplateUntilTextChanges() {
+        assertSame(this.cache.compile("campaign", "Hello {{name}}"), this.cache.compile("campaign", "Hello {{name}}"));
+        assertNotSame(this.cache.compile("campaign", "Hello {{name}}"), this.cache.compile("campaign", "Hi {{name}}"));
+
+        assertEquals("Hi Ann", this.cache.render("campaign", "Hi {{name}}", Map.of("name", "Ann")));
+    }
+
+    @Test
+    public void rendersAllScopesInOrderAcrossChunks() {
+        final List<Map<String, Object>> scopes = new ArrayList<>();
+        for (int i = 0; i < CompiledTemplateCache.RENDER_CHUNK_SIZE * 3 + 7; i++) {
+            scopes.add(Map.of("id", i));
+        }
+
+        final List<String> rendered = this.cache.renderAll("campaign", "client {{id}}", scopes);
+
+        assertEquals(scopes.size(), rendered.size());
+        for (int i = 0; i < scopes.size(); i++) {
+            assertEquals("client " + i, rendered.get(i));
+        }
+    }
+}
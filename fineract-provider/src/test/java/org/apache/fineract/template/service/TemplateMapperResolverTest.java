@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.template.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.portfolio.client.api.ClientsApiResource;
+import org.apache.fineract.portfolio.group.api.GroupsApiResource;
+import org.apache.fineract.portfolio.loanaccount.api.LoansApiResource;
+import org.apache.fineract.portfolio.savings.api.SavingsAccountsApiResource;
+import org.junit.jupiter.api.Test;
+
+public class TemplateMapperResolverTest {
+
+    private static final String BASE_URI = "https://localhost:8443/fineract-provider/api/v1/";
+
+    private final LoansApiResource loansApiResource = mock(LoansApiResource.class);
+    private final TemplateMapperResolver resolver = new TemplateMapperResolver(this.loansApiResource, mock(ClientsApiResource.class),
+            mock(SavingsAccountsApiResource.class), mock(GroupsApiResource.class));
+
+    @Test
+    public void resolvesLoanPathInProcess() throws JsonProcessingException {
+        when(this.loansApiResource.retrieveLoan(eq(7L), eq(false), eq("repaymentSchedule"), eq(null), eq(null), any()))
+                .thenReturn("{\"id\":7,\"accountNo\":\"000000007\"}");
+
+        final Map<String, Object> loan = this.resolver
+                .resolve(BASE_URI + "loans/7?associations=repaymentSchedule&tenantIdentifier=default", BASE_URI);
+
+        assertEquals(7, loan.get("id"));
+        assertEquals("000000007", loan.get("accountNo"));
+        verify(this.loansApiResource).retrieveLoan(eq(7L), eq(false), eq("repaymentSchedule"), eq(null), eq(null), any());
+    }
+
+    @Test
+    public void leavesUnknownAndExternalUrlsToHttp() throws JsonProcessingException {
+        assertNull(this.resolver.resolve(BASE_URI + "offices/1", BASE_URI));
+        assertNull(this.resolver.resolve(BASE_URI + "loans/7/transactions/1", BASE_URI));
+        assertNull(this.resolver.resolve("https://example.org/loans/7", BASE_URI));
+    }
+
+    @Test
+    public void decodesQueryParameters() {
+        assertEquals(List.of("a b", "c"), TemplateMapperResolver.parseQueryParameters("x=a+b&x=c&flag").get("x"));
+        assertEquals(List.of(""), TemplateMapperResolver.parseQueryParameters("x=a+b&x=c&flag").get("flag"));
+    }
+}
@@ -32,12 +32,15 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.io.IOUtils;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.template.domain.Template;
 import org.apache.fineract.template.domain.TemplateMapper;
+import org.mockito.Mockito;
 
 public class TemplateServiceStepDefinitions implements En {
 
-    private TemplateMergeService tms = new TemplateMergeService();
+    private TemplateMergeService tms = new TemplateMergeService(new CompiledTemplateCache(new FineractProperties()),
+            Mockito.mock(TemplateMapperResolver.class));
 
     private String template;
 